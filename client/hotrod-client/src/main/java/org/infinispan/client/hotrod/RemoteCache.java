@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -292,6 +293,23 @@
    @Override
    void putAll(Map<? extends K, ? extends V> m);
 
+   /**
+    * Stores all the entries returned by the given iterator, without holding all of them in memory. Entries are
+    * consumed in windows which are split by owner and sent to the servers as size-bounded putAll requests, so this is
+    * the preferred way of loading large data sets. As with {@link #putAll(java.util.Map)}, the operation is not atomic.
+    *
+    * @param entries the entries to store
+    */
+   void putAll(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries);
+
+   /**
+    * Same as {@link #putAll(java.util.Iterator)}, applying the given expiration to all the stored entries.
+    *
+    * @see #putAll(java.util.Map, long, java.util.concurrent.TimeUnit, long, java.util.concurrent.TimeUnit)
+    */
+   void putAll(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries, long lifespan, TimeUnit lifespanUnit,
+               long maxIdleTime, TimeUnit maxIdleTimeUnit);
+
    ServerStatistics stats();
 
    /**
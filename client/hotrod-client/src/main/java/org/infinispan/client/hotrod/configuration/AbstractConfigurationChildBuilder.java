@@ -165,6 +165,16 @@ public ConfigurationBuilder maxRetries(int retriesPerServer) {
       return builder.maxRetries(retriesPerServer);
    }
 
+   @Override
+   public ConfigurationBuilder bulkChunkSize(int bulkChunkSize) {
+      return builder.bulkChunkSize(bulkChunkSize);
+   }
+
+   @Override
+   public ConfigurationBuilder bulkMaxInFlight(int bulkMaxInFlight) {
+      return builder.bulkMaxInFlight(bulkMaxInFlight);
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       return builder.withProperties(properties);
@@ -46,6 +46,8 @@ public class Configuration {
    private final Class<? extends TransportFactory> transportFactory;
    private final int valueSizeEstimate;
    private final int maxRetries;
+   private final int bulkChunkSize;
+   private final int bulkMaxInFlight;
    private final NearCacheConfiguration nearCache;
    private final List<ClusterConfiguration> clusters;
 
@@ -53,12 +55,14 @@ public class Configuration {
          ClientIntelligence clientIntelligence, ConnectionPoolConfiguration connectionPool, int connectionTimeout, Class<? extends ConsistentHash>[] consistentHashImpl, boolean forceReturnValues, int keySizeEstimate,
          Marshaller marshaller, Class<? extends Marshaller> marshallerClass,
          ProtocolVersion protocolVersion, List<ServerConfiguration> servers, int socketTimeout, SecurityConfiguration security, boolean tcpNoDelay, boolean tcpKeepAlive,
-         Class<? extends TransportFactory> transportFactory, int valueSizeEstimate, int maxRetries, NearCacheConfiguration nearCache,
+         Class<? extends TransportFactory> transportFactory, int valueSizeEstimate, int maxRetries, int bulkChunkSize, int bulkMaxInFlight, NearCacheConfiguration nearCache,
          List<ClusterConfiguration> clusters) {
       this.asyncExecutorFactory = asyncExecutorFactory;
       this.balancingStrategyClass = balancingStrategyClass;
       this.balancingStrategy = balancingStrategy;
       this.maxRetries = maxRetries;
+      this.bulkChunkSize = bulkChunkSize;
+      this.bulkMaxInFlight = bulkMaxInFlight;
       this.classLoader = new WeakReference<ClassLoader>(classLoader);
       this.clientIntelligence = clientIntelligence;
       this.connectionPool = connectionPool;
@@ -185,6 +189,14 @@ public int maxRetries() {
       return maxRetries;
    }
 
+   public int bulkChunkSize() {
+      return bulkChunkSize;
+   }
+
+   public int bulkMaxInFlight() {
+      return bulkMaxInFlight;
+   }
+
    @Override
    public String toString() {
       return "Configuration [asyncExecutorFactory=" + asyncExecutorFactory + ", balancingStrategyClass=" + balancingStrategyClass + ", balancingStrategy=" + balancingStrategy
@@ -193,7 +205,7 @@ public String toString() {
             + forceReturnValues + ", keySizeEstimate=" + keySizeEstimate + ", marshallerClass=" + marshallerClass + ", marshaller=" + marshaller + ", protocolVersion="
             + protocolVersion + ", servers=" + servers + ", socketTimeout=" + socketTimeout + ", security=" + security + ", tcpNoDelay=" + tcpNoDelay + ", tcpKeepAlive=" + tcpKeepAlive
             + ", transportFactory=" + transportFactory + ", valueSizeEstimate=" + valueSizeEstimate + ", maxRetries=" + maxRetries
-            + "nearCache=" + nearCache + "]";
+            + ", bulkChunkSize=" + bulkChunkSize + ", bulkMaxInFlight=" + bulkMaxInFlight + ", nearCache=" + nearCache + "]";
    }
 
    public Properties properties() {
@@ -227,6 +239,8 @@ public Properties properties() {
       properties.setProperty(ConfigurationProperties.TRANSPORT_FACTORY, transportFactory().getName());
       properties.setProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, Integer.toString(valueSizeEstimate()));
       properties.setProperty(ConfigurationProperties.MAX_RETRIES, Integer.toString(maxRetries()));
+      properties.setProperty(ConfigurationProperties.BULK_CHUNK_SIZE, Integer.toString(bulkChunkSize()));
+      properties.setProperty(ConfigurationProperties.BULK_MAX_IN_FLIGHT, Integer.toString(bulkMaxInFlight()));
 
       properties.setProperty("exhaustedAction", Integer.toString(connectionPool().exhaustedAction().ordinal()));
       properties.setProperty("maxActive", Integer.toString(connectionPool().maxActive()));
@@ -67,6 +67,8 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private Class<? extends TransportFactory> transportFactory = TcpTransportFactory.class;
    private int valueSizeEstimate = ConfigurationProperties.DEFAULT_VALUE_SIZE;
    private int maxRetries = ConfigurationProperties.DEFAULT_MAX_RETRIES;
+   private int bulkChunkSize = ConfigurationProperties.DEFAULT_BULK_CHUNK_SIZE;
+   private int bulkMaxInFlight = ConfigurationProperties.DEFAULT_BULK_MAX_IN_FLIGHT;
    private final NearCacheConfigurationBuilder nearCache;
 
    private final List<ClusterConfigurationBuilder> clusters = new ArrayList<ClusterConfigurationBuilder>();
@@ -281,6 +283,18 @@ public ConfigurationBuilder maxRetries(int maxRetries) {
       return this;
    }
 
+   @Override
+   public ConfigurationBuilder bulkChunkSize(int bulkChunkSize) {
+      this.bulkChunkSize = bulkChunkSize;
+      return this;
+   }
+
+   @Override
+   public ConfigurationBuilder bulkMaxInFlight(int bulkMaxInFlight) {
+      this.bulkMaxInFlight = bulkMaxInFlight;
+      return this;
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       TypedProperties typed = TypedProperties.toTypedProperties(properties);
@@ -320,6 +334,8 @@ public ConfigurationBuilder withProperties(Properties properties) {
       }
       this.valueSizeEstimate(typed.getIntProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, valueSizeEstimate, true));
       this.maxRetries(typed.getIntProperty(ConfigurationProperties.MAX_RETRIES, maxRetries, true));
+      this.bulkChunkSize(typed.getIntProperty(ConfigurationProperties.BULK_CHUNK_SIZE, bulkChunkSize, true));
+      this.bulkMaxInFlight(typed.getIntProperty(ConfigurationProperties.BULK_MAX_IN_FLIGHT, bulkMaxInFlight, true));
       this.security.ssl().withProperties(properties);
       this.security.authentication().withProperties(properties);
       return this;
@@ -334,6 +350,12 @@ public void validate() {
       if (maxRetries < 0) {
          throw log.invalidMaxRetries(maxRetries);
       }
+      if (bulkChunkSize <= 0) {
+         throw log.invalidBulkChunkSize(bulkChunkSize);
+      }
+      if (bulkMaxInFlight <= 0) {
+         throw log.invalidBulkMaxInFlight(bulkMaxInFlight);
+      }
       Set<String> clusterNameSet = new HashSet<String>(clusters.size());
       for (ClusterConfigurationBuilder clusterConfigBuilder : clusters) {
          if (!clusterNameSet.add(clusterConfigBuilder.getClusterName())) {
@@ -362,7 +384,7 @@ public Configuration create() {
 
       return new Configuration(asyncExecutorFactory.create(), balancingStrategyClass, balancingStrategy, classLoader == null ? null : classLoader.get(), clientIntelligence, connectionPool.create(), connectionTimeout,
             consistentHashImpl, forceReturnValues, keySizeEstimate, marshaller, marshallerClass, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive, transportFactory,
-            valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs);
+            valueSizeEstimate, maxRetries, bulkChunkSize, bulkMaxInFlight, nearCache.create(), serverClusterConfigs);
    }
 
    @Override
@@ -404,6 +426,8 @@ public ConfigurationBuilder read(Configuration template) {
       this.transportFactory = template.transportFactory();
       this.valueSizeEstimate = template.valueSizeEstimate();
       this.maxRetries = template.maxRetries();
+      this.bulkChunkSize = template.bulkChunkSize();
+      this.bulkMaxInFlight = template.bulkMaxInFlight();
       this.nearCache.read(template.nearCache());
       return this;
    }
@@ -182,6 +182,18 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder maxRetries(int maxRetries);
 
+   /**
+    * Sets the maximum number of entries sent to a server in a single getAll/putAll request. Bulk operations
+    * exceeding this size are split into multiple requests per owner. It defaults to 1000.
+    */
+   ConfigurationBuilder bulkChunkSize(int bulkChunkSize);
+
+   /**
+    * Sets the maximum number of bulk operation requests which can be in flight at the same time towards a single
+    * server. It defaults to 2.
+    */
+   ConfigurationBuilder bulkMaxInFlight(int bulkMaxInFlight);
+
    /**
     * Configures this builder using the specified properties
     */
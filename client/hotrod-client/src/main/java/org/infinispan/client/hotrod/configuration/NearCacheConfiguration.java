@@ -4,10 +4,18 @@ public class NearCacheConfiguration {
    // TODO: Consider an option to configure key equivalence function for near cache (e.g. for byte arrays)
    private final NearCacheMode mode;
    private final int maxEntries;
+   private final boolean bloomFilter;
+   private final int bloomFilterUpdateThreshold;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries) {
+      this(mode, maxEntries, false, NearCacheConfigurationBuilder.DEFAULT_BLOOM_FILTER_UPDATE_THRESHOLD);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, boolean bloomFilter, int bloomFilterUpdateThreshold) {
       this.mode = mode;
       this.maxEntries = maxEntries;
+      this.bloomFilter = bloomFilter;
+      this.bloomFilterUpdateThreshold = bloomFilterUpdateThreshold;
    }
 
    public int maxEntries() {
@@ -18,11 +26,28 @@ public NearCacheMode mode() {
       return mode;
    }
 
+   /**
+    * Whether the near cache subscribes to invalidations with a bloom filter of its keys, so that the server only
+    * sends invalidations for keys the client might have cached.
+    */
+   public boolean bloomFilter() {
+      return bloomFilter;
+   }
+
+   /**
+    * Number of keys that are waiting to be covered by the bloom filter before it's sent to the server again.
+    */
+   public int bloomFilterUpdateThreshold() {
+      return bloomFilterUpdateThreshold;
+   }
+
    @Override
    public String toString() {
       return "NearCacheConfiguration{" +
             "mode=" + mode +
             ", maxEntries=" + maxEntries +
+            ", bloomFilter=" + bloomFilter +
+            ", bloomFilterUpdateThreshold=" + bloomFilterUpdateThreshold +
             '}';
    }
 }
@@ -8,8 +8,12 @@ public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBui
       implements Builder<NearCacheConfiguration> {
    private static final Log log = LogFactory.getLog(NearCacheConfigurationBuilder.class);
 
+   static final int DEFAULT_BLOOM_FILTER_UPDATE_THRESHOLD = 32;
+
    private NearCacheMode mode = NearCacheMode.DISABLED;
    private Integer maxEntries = null; // undefined
+   private boolean bloomFilter = false;
+   private int bloomFilterUpdateThreshold = DEFAULT_BLOOM_FILTER_UPDATE_THRESHOLD;
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -25,21 +29,47 @@ public NearCacheConfigurationBuilder mode(NearCacheMode mode) {
       return this;
    }
 
+   /**
+    * Enables the bloom filter subscription, where the near cache registers a bloom filter of its keys with the
+    * server so that only invalidations for keys that might be cached locally are sent. Requires
+    * {@link NearCacheMode#INVALIDATED} mode and a positive number of {@link #maxEntries(int)}, which is used to size
+    * the filter.
+    */
+   public NearCacheConfigurationBuilder bloomFilter(boolean enable) {
+      this.bloomFilter = enable;
+      return this;
+   }
+
+   /**
+    * Number of newly read keys not yet covered by the bloom filter after which the filter is rebuilt and sent to
+    * the server. Lower values populate the near cache sooner at the cost of more listener registrations. Defaults
+    * to 32.
+    */
+   public NearCacheConfigurationBuilder bloomFilterUpdateThreshold(int bloomFilterUpdateThreshold) {
+      this.bloomFilterUpdateThreshold = bloomFilterUpdateThreshold;
+      return this;
+   }
+
    @Override
    public void validate() {
       if (mode.enabled() && maxEntries == null)
          throw log.nearCacheMaxEntriesUndefined();
+      if (bloomFilter && mode.enabled() && (!mode.invalidated() || maxEntries <= 0 || bloomFilterUpdateThreshold <= 0))
+         throw log.nearCacheBloomFilterRequiresBoundedInvalidatedMode();
    }
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries);
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, bloomFilter,
+            bloomFilterUpdateThreshold);
    }
 
    @Override
    public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
+      bloomFilter = template.bloomFilter();
+      bloomFilterUpdateThreshold = template.bloomFilterUpdateThreshold();
       return this;
    }
 }
@@ -50,6 +50,8 @@ public class ConfigurationProperties {
    public static final String SSL_PROTOCOL = "infinispan.client.hotrod.ssl_protocol";
    public static final String SSL_CONTEXT = "infinispan.client.hotrod.ssl_context";
    public static final String MAX_RETRIES = "infinispan.client.hotrod.max_retries";
+   public static final String BULK_CHUNK_SIZE = "infinispan.client.hotrod.bulk_chunk_size";
+   public static final String BULK_MAX_IN_FLIGHT = "infinispan.client.hotrod.bulk_max_in_flight";
    public static final String USE_AUTH = "infinispan.client.hotrod.use_auth";
    public static final String SASL_MECHANISM = "infinispan.client.hotrod.sasl_mechanism";
    public static final String AUTH_CALLBACK_HANDLER = "infinispan.client.hotrod.auth_callback_handler";
@@ -70,6 +72,8 @@ public class ConfigurationProperties {
    public static final int DEFAULT_SO_TIMEOUT = 60000;
    public static final int DEFAULT_CONNECT_TIMEOUT = 60000;
    public static final int DEFAULT_MAX_RETRIES = 10;
+   public static final int DEFAULT_BULK_CHUNK_SIZE = 1000;
+   public static final int DEFAULT_BULK_MAX_IN_FLIGHT = 2;
 
    private final TypedProperties props;
 
@@ -187,6 +191,14 @@ public int getMaxRetries() {
       return props.getIntProperty(MAX_RETRIES, DEFAULT_MAX_RETRIES);
    }
 
+   public int getBulkChunkSize() {
+      return props.getIntProperty(BULK_CHUNK_SIZE, DEFAULT_BULK_CHUNK_SIZE);
+   }
+
+   public int getBulkMaxInFlight() {
+      return props.getIntProperty(BULK_MAX_IN_FLIGHT, DEFAULT_BULK_MAX_IN_FLIGHT);
+   }
+
    /**
     * Is version previous to, and not including, 1.2?
     */
@@ -1,5 +1,6 @@
 package org.infinispan.client.hotrod.impl;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -57,6 +58,24 @@ public void putAll(Map<? extends K, ? extends V> map, long lifespan, TimeUnit li
       map.keySet().forEach(nearcache::remove);
    }
 
+   @Override
+   public void putAll(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      // Keys are invalidated as they are consumed, the remote write is not atomic anyway
+      super.putAll(new Iterator<Map.Entry<? extends K, ? extends V>>() {
+         @Override
+         public boolean hasNext() {
+            return entries.hasNext();
+         }
+
+         @Override
+         public Map.Entry<? extends K, ? extends V> next() {
+            Map.Entry<? extends K, ? extends V> entry = entries.next();
+            nearcache.remove(entry.getKey());
+            return entry;
+         }
+      }, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+   }
+
    @Override
    public V replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
       boolean hasForceReturnValue = operationsFactory.hasFlag(Flag.FORCE_RETURN_VALUE);
@@ -7,6 +7,7 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -97,6 +98,13 @@ public OperationsFactory getOperationsFactory() {
       return operationsFactory;
    }
 
+   /**
+    * @return the executor running the asynchronous operations of this cache
+    */
+   public ExecutorService getExecutorService() {
+      return executorService;
+   }
+
    @Override
    public RemoteCacheManager getRemoteCacheManager() {
       return remoteCacheManager;
@@ -225,6 +233,27 @@ public void putAll(Map<? extends K, ? extends V> map, long lifespan, TimeUnit li
       op.execute();
    }
 
+   @Override
+   public void putAll(Iterator<? extends Entry<? extends K, ? extends V>> entries, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      assertRemoteCacheManagerIsStarted();
+      if (trace) {
+         log.tracef("About to stream entries lifespan:%d (%s), maxIdle:%d (%s)", lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+      }
+      int window = operationsFactory.getBulkStreamWindow();
+      Map<byte[], byte[]> byteMap = new HashMap<>();
+      while (entries.hasNext()) {
+         Entry<? extends K, ? extends V> entry = entries.next();
+         byteMap.put(obj2bytes(entry.getKey(), true), obj2bytes(entry.getValue(), false));
+         if (byteMap.size() >= window) {
+            operationsFactory.newPutAllOperation(byteMap, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit).execute();
+            byteMap = new HashMap<>();
+         }
+      }
+      if (!byteMap.isEmpty()) {
+         operationsFactory.newPutAllOperation(byteMap, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit).execute();
+      }
+   }
+
    @Override
    public CompletableFuture<Void> putAllAsync(final Map<? extends K, ? extends V> data, final long lifespan, final TimeUnit lifespanUnit, final long maxIdle, final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
@@ -8,7 +8,7 @@
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
@@ -22,28 +22,30 @@
    private final Set<byte[]> keys;
 
    protected GetAllParallelOperation(Codec codec, TransportFactory transportFactory, Set<byte[]> keys, byte[]
-         cacheName, AtomicInteger topologyId, int flags, ClientIntelligence clientIntelligence, ExecutorService executorService) {
-      super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence, executorService);
+         cacheName, AtomicInteger topologyId, int flags, ClientIntelligence clientIntelligence, ExecutorService executorService,
+                                     int chunkSize, int maxInFlight) {
+      super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence, executorService, chunkSize, maxInFlight);
       this.keys = keys;
    }
 
    @Override
-   protected List<GetAllOperation<K, V>> mapOperations() {
-      Map<SocketAddress, Set<byte[]>> splittedKeys = new HashMap<>();
-
-      for (byte[] key : keys) {
-         SocketAddress socketAddress = transportFactory.getSocketAddress(key, cacheName);
-         Set<byte[]> keys = splittedKeys.get(socketAddress);
-         if (keys == null) {
-            keys = new HashSet<>();
-            splittedKeys.put(socketAddress, keys);
-         }
-         keys.add(key);
-      }
-
-      return splittedKeys.values().stream().map(
-            keysSubset -> new GetAllOperation<K, V>(codec, transportFactory, keysSubset, cacheName, topologyId,
-                  flags, clientIntelligence)).collect(Collectors.toList());
+   protected Map<SocketAddress, List<GetAllOperation<K, V>>> mapOperations() {
+      return splitByOwner(keys, Function.identity(), this::newGetAllOperation);
+   }
+
+   @Override
+   protected Map<SocketAddress, List<GetAllOperation<K, V>>> remapOperation(GetAllOperation<K, V> failed) {
+      return splitByOwner(failed.keys, Function.identity(), this::newGetAllOperation);
+   }
+
+   @Override
+   protected int size(GetAllOperation<K, V> operation) {
+      return operation.keys.size();
+   }
+
+   private GetAllOperation<K, V> newGetAllOperation(List<byte[]> keysSubset) {
+      return new GetAllOperation<>(codec, transportFactory, new HashSet<>(keysSubset), cacheName, topologyId, flags,
+            clientIntelligence);
    }
 
    @Override
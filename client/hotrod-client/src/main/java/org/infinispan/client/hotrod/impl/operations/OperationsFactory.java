@@ -11,6 +11,8 @@
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.ConfigurationProperties;
+import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
 import org.infinispan.client.hotrod.impl.iteration.KeyTracker;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
@@ -49,8 +51,19 @@ public class OperationsFactory implements HotRodConstants {
 
    private final ClientIntelligence clientIntelligence;
 
+   private final int bulkChunkSize;
+
+   private final int bulkMaxInFlight;
+
    public OperationsFactory(TransportFactory transportFactory, String cacheName, boolean forceReturnValue, Codec
            codec, ClientListenerNotifier listenerNotifier, ExecutorService executorService, ClientIntelligence clientIntelligence) {
+      this(transportFactory, cacheName, forceReturnValue, codec, listenerNotifier, executorService, clientIntelligence,
+            ConfigurationProperties.DEFAULT_BULK_CHUNK_SIZE, ConfigurationProperties.DEFAULT_BULK_MAX_IN_FLIGHT);
+   }
+
+   public OperationsFactory(TransportFactory transportFactory, String cacheName, boolean forceReturnValue, Codec
+           codec, ClientListenerNotifier listenerNotifier, ExecutorService executorService, ClientIntelligence clientIntelligence,
+                            int bulkChunkSize, int bulkMaxInFlight) {
       this.transportFactory = transportFactory;
       this.executorService = executorService;
       this.cacheNameBytes = cacheName == null ? null : RemoteCacheManager.cacheNameBytes(cacheName);
@@ -62,12 +75,24 @@ public OperationsFactory(TransportFactory transportFactory, String cacheName, bo
       this.codec = codec;
       this.listenerNotifier = listenerNotifier;
       this.clientIntelligence = clientIntelligence;
+      this.bulkChunkSize = bulkChunkSize;
+      this.bulkMaxInFlight = bulkMaxInFlight;
    }
 
    public OperationsFactory(TransportFactory transportFactory, Codec codec, ExecutorService executorService, ClientIntelligence clientIntelligence) {
       this(transportFactory, null, false, codec, null, executorService, clientIntelligence);
    }
 
+   /**
+    * @return the maximum number of entries which are buffered when streaming entries into the cache, enough to keep
+    * {@code bulkMaxInFlight} chunks busy towards every server known by the consistent hash.
+    */
+   public int getBulkStreamWindow() {
+      ConsistentHash consistentHash = transportFactory.getConsistentHash(cacheNameBytes);
+      int numServers = consistentHash != null ? consistentHash.getSegmentsByServer().size() : 1;
+      return bulkChunkSize * bulkMaxInFlight * Math.max(1, numServers);
+   }
+
    public ClientListenerNotifier getListenerNotifier() {
       return listenerNotifier;
    }
@@ -83,7 +108,7 @@ public <V> GetOperation<V> newGetKeyOperation(Object key, byte[] keyBytes) {
 
    public <K, V> GetAllParallelOperation<K, V> newGetAllOperation(Set<byte[]> keys) {
       return new GetAllParallelOperation<>(codec, transportFactory, keys, cacheNameBytes, topologyId, flags(),
-            clientIntelligence, executorService);
+            clientIntelligence, executorService, bulkChunkSize, bulkMaxInFlight);
    }
 
    public <V> RemoveOperation<V> newRemoveOperation(Object key, byte[] keyBytes) {
@@ -129,7 +154,7 @@ public PutAllParallelOperation newPutAllOperation(Map<byte[], byte[]> map,
                                                      long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
       return new PutAllParallelOperation(
             codec, transportFactory, map, cacheNameBytes, topologyId, flags(lifespan, maxIdle), clientIntelligence,
-              lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, executorService);
+              lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, executorService, bulkChunkSize, bulkMaxInFlight);
    }
 
    public <V> PutIfAbsentOperation<V> newPutIfAbsentOperation(Object key, byte[] keyBytes, byte[] value,
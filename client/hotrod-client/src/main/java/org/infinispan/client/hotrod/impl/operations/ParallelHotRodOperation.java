@@ -1,17 +1,26 @@
 package org.infinispan.client.hotrod.impl.operations;
 
-import java.util.HashSet;
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.exceptions.ParallelOperationException;
+import org.infinispan.client.hotrod.exceptions.RemoteIllegalLifecycleStateException;
+import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 import org.infinispan.client.hotrod.logging.Log;
@@ -19,76 +28,203 @@
 
 /**
  * An HotRod operation that span across multiple remote nodes concurrently (like getAll / putAll).
+ * <p>
+ * The work is split by key owner and then in chunks of at most {@code chunkSize} elements, so that a large bulk
+ * operation never produces a single huge frame. At most {@code maxInFlight} chunks are sent to the same server at
+ * any time. When a chunk fails after exhausting its own retries because of a transport level problem, only the keys
+ * of that chunk are re-routed against the current topology and retried once, while the results of the successful
+ * chunks are kept.
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  */
 public abstract class ParallelHotRodOperation<T, SUBOP extends HotRodOperation> extends HotRodOperation {
 
    private static final Log log = LogFactory.getLog(ParallelHotRodOperation.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private static final int MAX_REMAP_ATTEMPTS = 1;
 
    protected final TransportFactory transportFactory;
    protected final CompletionService<T> completionService;
+   protected final int chunkSize;
+   private final int maxInFlight;
 
    protected ParallelHotRodOperation(Codec codec, TransportFactory transportFactory, byte[] cacheName, AtomicInteger
-         topologyId, int flags, ClientIntelligence clientIntelligence, ExecutorService executorService) {
+         topologyId, int flags, ClientIntelligence clientIntelligence, ExecutorService executorService,
+                                     int chunkSize, int maxInFlight) {
       super(codec, flags, clientIntelligence, cacheName, topologyId);
       this.transportFactory = transportFactory;
       this.completionService = new ExecutorCompletionService<>(executorService);
+      this.chunkSize = chunkSize;
+      this.maxInFlight = maxInFlight;
    }
 
    @Override
    public T execute() {
-      List<SUBOP> operations = mapOperations();
+      Map<SocketAddress, List<SUBOP>> operations = mapOperations();
+
+      int count = 0;
+      SUBOP single = null;
+      for (List<SUBOP> ops : operations.values()) {
+         count += ops.size();
+         if (!ops.isEmpty()) single = ops.get(0);
+      }
 
-      if (operations.isEmpty()) {
+      if (count == 0) {
          return createCollector();
-      } else if (operations.size() == 1) {
+      } else if (count == 1) {
          // Only one operation to do, we stay in the caller thread
-         return executeSequential(operations.get(0));
+         return executeSequential(single);
       } else {
          // Multiple operation, submit to the thread poll
-         return executeParallel(operations);
+         return executeParallel(operations, createCollector(), 0);
       }
    }
 
    private T executeSequential(SUBOP subop) {
       T collector = createCollector();
-      combine(collector, (T) subop.execute());
+      try {
+         combine(collector, (T) subop.execute());
+      } catch (RuntimeException e) {
+         if (!isRemappable(e)) {
+            throw e;
+         }
+         log.retryingFailedBulkChunk(size(subop), e);
+         return executeParallel(remapOperation(subop), collector, MAX_REMAP_ATTEMPTS);
+      }
       return collector;
    }
 
-   private T executeParallel(List<SUBOP> operations) {
-      Set<Future<T>> remainingTasks = new HashSet<>(operations.size());
-      for (SUBOP operation : operations) {
-         remainingTasks.add(completionService.submit(() -> (T) operation.execute()));
-      }
+   private T executeParallel(Map<SocketAddress, List<SUBOP>> operations, T collector, int attempt) {
+      Map<SocketAddress, Deque<Dispatch>> pending = new HashMap<>();
+      Map<SocketAddress, Integer> inFlightPerServer = new HashMap<>();
+      Map<Future<T>, Dispatch> inFlight = new HashMap<>();
 
-      T collector = createCollector();
+      enqueue(pending, operations, attempt);
+      for (SocketAddress server : pending.keySet()) {
+         dispatch(server, pending, inFlightPerServer, inFlight);
+      }
 
-      for (int i = 0; i < operations.size(); i++) {
+      while (!inFlight.isEmpty()) {
+         Dispatch completed;
          try {
             Future<T> result = completionService.take();
-            combine(collector, result.get());
-            remainingTasks.remove(result);
+            completed = inFlight.remove(result);
+            inFlightPerServer.merge(completed.server, -1, Integer::sum);
+            try {
+               combine(collector, result.get());
+            } catch (ExecutionException e) {
+               Throwable cause = e.getCause();
+               if (completed.attempt >= MAX_REMAP_ATTEMPTS || !isRemappable(cause)) {
+                  throw e;
+               }
+               log.retryingFailedBulkChunk(size(completed.operation), cause);
+               Map<SocketAddress, List<SUBOP>> remapped = remapOperation(completed.operation);
+               enqueue(pending, remapped, completed.attempt + 1);
+               for (SocketAddress server : remapped.keySet()) {
+                  dispatch(server, pending, inFlightPerServer, inFlight);
+               }
+            }
          } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            cancelRemainingTasks(remainingTasks);
+            cancelRemainingTasks(inFlight.keySet());
             throw new ParallelOperationException(e);
          } catch (ExecutionException | RuntimeException e) {
-            cancelRemainingTasks(remainingTasks);
+            cancelRemainingTasks(inFlight.keySet());
             throw new ParallelOperationException(e);
          }
+         dispatch(completed.server, pending, inFlightPerServer, inFlight);
       }
       return collector;
    }
 
-   private void cancelRemainingTasks(Set<Future<T>> remainingTasks) {
+   private void enqueue(Map<SocketAddress, Deque<Dispatch>> pending, Map<SocketAddress, List<SUBOP>> operations, int attempt) {
+      operations.forEach((server, ops) -> {
+         Deque<Dispatch> queue = pending.computeIfAbsent(server, s -> new ArrayDeque<>());
+         for (SUBOP op : ops) {
+            queue.add(new Dispatch(server, op, attempt));
+         }
+      });
+   }
+
+   private void dispatch(SocketAddress server, Map<SocketAddress, Deque<Dispatch>> pending,
+                         Map<SocketAddress, Integer> inFlightPerServer, Map<Future<T>, Dispatch> inFlight) {
+      Deque<Dispatch> queue = pending.get(server);
+      if (queue == null) {
+         return;
+      }
+      int running = inFlightPerServer.getOrDefault(server, 0);
+      while (running < maxInFlight && !queue.isEmpty()) {
+         Dispatch next = queue.poll();
+         inFlight.put(completionService.submit(() -> (T) next.operation.execute()), next);
+         running++;
+      }
+      inFlightPerServer.put(server, running);
+      if (trace) {
+         log.tracef("%d bulk requests in flight to %s, %d queued", running, server, queue.size());
+      }
+   }
+
+   private void cancelRemainingTasks(Collection<Future<T>> remainingTasks) {
       remainingTasks.forEach(task -> task.cancel(true));
    }
 
-   protected abstract List<SUBOP> mapOperations();
+   private static boolean isRemappable(Throwable t) {
+      return t instanceof TransportException || t instanceof RemoteNodeSuspectException
+            || t instanceof RemoteIllegalLifecycleStateException;
+   }
+
+   /**
+    * Groups the elements by the server owning their key and splits every group in chunks of at most
+    * {@link #chunkSize} elements, creating one sub-operation per chunk.
+    */
+   protected <E> Map<SocketAddress, List<SUBOP>> splitByOwner(Collection<E> elements, Function<E, byte[]> keyFunction,
+                                                              Function<List<E>, SUBOP> operationFactory) {
+      Map<SocketAddress, List<E>> grouped = new HashMap<>();
+      for (E element : elements) {
+         SocketAddress socketAddress = transportFactory.getSocketAddress(keyFunction.apply(element), cacheName);
+         grouped.computeIfAbsent(socketAddress, s -> new ArrayList<>()).add(element);
+      }
+
+      Map<SocketAddress, List<SUBOP>> operations = new HashMap<>(grouped.size());
+      grouped.forEach((server, group) -> {
+         List<SUBOP> ops = new ArrayList<>((group.size() + chunkSize - 1) / chunkSize);
+         for (int from = 0; from < group.size(); from += chunkSize) {
+            ops.add(operationFactory.apply(group.subList(from, Math.min(from + chunkSize, group.size()))));
+         }
+         operations.put(server, ops);
+      });
+      return operations;
+   }
+
+   /**
+    * Splits the work of this operation by key owner and chunk size.
+    */
+   protected abstract Map<SocketAddress, List<SUBOP>> mapOperations();
+
+   /**
+    * Re-routes the keys of a failed sub-operation against the current topology.
+    */
+   protected abstract Map<SocketAddress, List<SUBOP>> remapOperation(SUBOP failed);
+
+   /**
+    * @return the number of entries handled by the given sub-operation, for logging purposes.
+    */
+   protected abstract int size(SUBOP operation);
 
    protected abstract T createCollector();
 
    protected abstract void combine(T collector, T result);
+
+   private final class Dispatch {
+      final SocketAddress server;
+      final SUBOP operation;
+      final int attempt;
+
+      Dispatch(SocketAddress server, SUBOP operation, int attempt) {
+         this.server = server;
+         this.operation = operation;
+         this.attempt = attempt;
+      }
+   }
 }
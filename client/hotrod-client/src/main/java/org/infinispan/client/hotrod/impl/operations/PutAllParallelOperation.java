@@ -4,10 +4,10 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
@@ -27,8 +27,8 @@ public class PutAllParallelOperation extends ParallelHotRodOperation<Void, PutAl
    public PutAllParallelOperation(Codec codec, TransportFactory transportFactory, Map<byte[], byte[]> map, byte[]
          cacheName, AtomicInteger topologyId, int flags, ClientIntelligence clientIntelligence, long lifespan,
                                   TimeUnit lifespanTimeUnit, long maxIdle,
-                                  TimeUnit maxIdleTimeUnit, ExecutorService executorService) {
-      super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence, executorService);
+                                  TimeUnit maxIdleTimeUnit, ExecutorService executorService, int chunkSize, int maxInFlight) {
+      super(codec, transportFactory, cacheName, topologyId, flags, clientIntelligence, executorService, chunkSize, maxInFlight);
       this.map = map;
       this.lifespan = lifespan;
       this.lifespanTimeUnit = lifespanTimeUnit;
@@ -37,22 +37,27 @@ public PutAllParallelOperation(Codec codec, TransportFactory transportFactory, M
    }
 
    @Override
-   protected List<PutAllOperation> mapOperations() {
-      Map<SocketAddress, Map<byte[], byte[]>> splittedMaps = new HashMap<>();
+   protected Map<SocketAddress, List<PutAllOperation>> mapOperations() {
+      return splitByOwner(map.entrySet(), Entry::getKey, this::newPutAllOperation);
+   }
 
-      for (Map.Entry<byte[], byte[]> entry : map.entrySet()) {
-         SocketAddress socketAddress = transportFactory.getSocketAddress(entry.getKey(), cacheName);
-         Map<byte[], byte[]> keyValueMap = splittedMaps.get(socketAddress);
-         if (keyValueMap == null) {
-            keyValueMap = new HashMap<>();
-            splittedMaps.put(socketAddress, keyValueMap);
-         }
-         keyValueMap.put(entry.getKey(), entry.getValue());
-      }
+   @Override
+   protected Map<SocketAddress, List<PutAllOperation>> remapOperation(PutAllOperation failed) {
+      return splitByOwner(failed.map.entrySet(), Entry::getKey, this::newPutAllOperation);
+   }
 
-      return splittedMaps.values().stream().map(
-            mapSubset -> new PutAllOperation(codec, transportFactory, mapSubset, cacheName, topologyId, flags,
-                  clientIntelligence, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit)).collect(Collectors.toList());
+   @Override
+   protected int size(PutAllOperation operation) {
+      return operation.map.size();
+   }
+
+   private PutAllOperation newPutAllOperation(List<Entry<byte[], byte[]>> entries) {
+      Map<byte[], byte[]> mapSubset = new HashMap<>(entries.size());
+      for (Entry<byte[], byte[]> entry : entries) {
+         mapSubset.put(entry.getKey(), entry.getValue());
+      }
+      return new PutAllOperation(codec, transportFactory, mapSubset, cacheName, topologyId, flags,
+            clientIntelligence, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
    }
 
    @Override
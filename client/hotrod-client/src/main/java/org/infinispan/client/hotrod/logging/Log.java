@@ -252,4 +252,21 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Cannot specify both a callback handler and a username for authentication", id = 4067)
    CacheConfigurationException callbackHandlerAndUsernameMutuallyExclusive();
+
+   @Message(value = "Invalid bulk_chunk_size (value=%s). Value should be greater than zero.", id = 4068)
+   CacheConfigurationException invalidBulkChunkSize(int bulkChunkSize);
+
+   @Message(value = "Invalid bulk_max_in_flight (value=%s). Value should be greater than zero.", id = 4069)
+   CacheConfigurationException invalidBulkMaxInFlight(int bulkMaxInFlight);
+
+   @LogMessage(level = DEBUG)
+   @Message(value = "Bulk operation chunk of %d entries failed, retrying it against the current topology", id = 4070)
+   void retryingFailedBulkChunk(int size, @Cause Throwable t);
+
+   @Message(value = "Near cache bloom filter requires INVALIDATED mode, a positive number of max entries and a positive update threshold", id = 4071)
+   CacheConfigurationException nearCacheBloomFilterRequiresBoundedInvalidatedMode();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to update the near cache bloom filter listener, keeping the previous one", id = 4072)
+   void unableToUpdateNearCacheBloomFilter(@Cause Throwable t);
 }
@@ -1,6 +1,13 @@
 package org.infinispan.client.hotrod.near;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.VersionedValue;
@@ -16,15 +23,25 @@
 import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.RemoteCacheImpl;
 import org.infinispan.client.hotrod.impl.VersionedValueImpl;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.client.hotrod.marshall.MarshallerUtil;
 import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.util.BloomFilter;
 import org.infinispan.commons.util.Util;
 
 /**
  * Near cache service, manages the lifecycle of the near cache.
+ * <p>
+ * When the bloom filter subscription is enabled, the invalidation listener is registered with a bloom filter of the
+ * near cached keys, so that the server skips events for keys this client never cached. Keys which are not covered
+ * by the filter registered in the server are not stored in the near cache, since their invalidations would be lost.
+ * Instead, they are collected and once there are enough of them, the filter is rebuilt from the current near cache
+ * contents plus the collected keys and registered again on the client's asynchronous executor, replacing the previous
+ * listener once the new one is registered, so that reads and writes never wait for the server.
  *
  * @since 7.1
  */
@@ -32,12 +49,23 @@
    private static final Log log = LogFactory.getLog(NearCacheService.class);
    private static final boolean trace = log.isTraceEnabled();
 
+   static final String BLOOM_FILTER_FACTORY_NAME = "___near-cache-bloom-filter";
+   private static final double BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY = 0.03;
+
    private final NearCacheConfiguration config;
    private final ClientListenerNotifier listenerNotifier;
-   private Object listener;
-   private byte[] listenerId;
+   private volatile Object listener;
+   private volatile byte[] listenerId;
    private NearCache<K, V> cache;
 
+   // Bloom filter subscription state
+   private RemoteCache<K, V> remote;
+   private Marshaller marshaller;
+   private volatile BloomFilter bloomFilter;
+   private final Set<K> uncoveredKeys = ConcurrentHashMap.newKeySet();
+   private final AtomicBoolean updatingBloomFilter = new AtomicBoolean();
+   private boolean stopped;
+
    protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       this.config = config;
       this.listenerNotifier = listenerNotifier;
@@ -46,6 +74,13 @@ protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier
    public void start(RemoteCache<K, V> remote) {
       // Create near cache
       cache = createNearCache(config);
+      if (config.bloomFilter()) {
+         this.remote = remote;
+         this.marshaller = remote.getRemoteCacheManager().getMarshaller();
+         // Start with an empty filter, keys are subscribed to as they are read
+         subscribe(BloomFilter.create(config.maxEntries(), BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY));
+         return;
+      }
       // Add a listener that updates the near cache
       listener = createListener(remote);
       remote.addClientListener(listener);
@@ -53,6 +88,64 @@ public void start(RemoteCache<K, V> remote) {
       listenerId = listenerNotifier.findListenerId(listener);
    }
 
+   private synchronized void subscribe(BloomFilter filter) {
+      if (stopped)
+         return;
+
+      Object newListener = new BloomFilterNearCacheListener<K, V>(this);
+      ((RemoteCacheImpl<K, V>) remote).getOperationsFactory()
+            .newAddClientListenerOperation(newListener, new byte[][]{filter.toBytes()}, null).execute();
+      Object oldListener = listener;
+      // The new listener is registered before the old one is removed, so no invalidation is missed
+      listener = newListener;
+      listenerId = listenerNotifier.findListenerId(newListener);
+      bloomFilter = filter;
+      if (oldListener != null)
+         remote.removeClientListener(oldListener);
+
+      if (trace)
+         log.tracef("Registered near cache %s (listenerId=%s)", filter, Util.printArray(listenerId));
+   }
+
+   private boolean isCovered(K key) {
+      if (bloomFilter.mightContain(keyToBytes(key)))
+         return true;
+
+      uncoveredKeys.add(key);
+      if (uncoveredKeys.size() >= config.bloomFilterUpdateThreshold()
+            && updatingBloomFilter.compareAndSet(false, true)) {
+         // The previous filter stays registered until the new listener is added
+         try {
+            ((RemoteCacheImpl<K, V>) remote).getExecutorService().execute(this::updateBloomFilter);
+         } catch (RejectedExecutionException e) {
+            updatingBloomFilter.set(false);
+            log.unableToUpdateNearCacheBloomFilter(e);
+         }
+      }
+      return false;
+   }
+
+   private void updateBloomFilter() {
+      try {
+         List<K> pending = new ArrayList<>(uncoveredKeys);
+         BloomFilter filter = BloomFilter.create(config.maxEntries(), BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY);
+         Consumer<K> addKey = k -> filter.add(keyToBytes(k));
+         // Rebuilding from scratch drops keys that have been evicted or invalidated since the last update
+         cache.forEachKey(addKey);
+         pending.forEach(addKey);
+         subscribe(filter);
+         uncoveredKeys.removeAll(pending);
+      } catch (RuntimeException e) {
+         log.unableToUpdateNearCacheBloomFilter(e);
+      } finally {
+         updatingBloomFilter.set(false);
+      }
+   }
+
+   private byte[] keyToBytes(K key) {
+      return MarshallerUtil.obj2bytes(marshaller, key, true, 64, 512);
+   }
+
    private Object createListener(RemoteCache<K, V> remote) {
       return config.mode().invalidated()
             ? new InvalidatedNearCacheListener<K, V>(this)
@@ -63,10 +156,14 @@ public void stop(RemoteCache<K, V> remote) {
       if (trace)
          log.tracef("Stop near cache, remove underlying listener id %s", Util.printArray(listenerId));
 
-      // Remove listener
-      remote.removeClientListener(listener);
+      // Remove listener, waiting for a bloom filter update in progress
+      synchronized (this) {
+         stopped = true;
+         remote.removeClientListener(listener);
+      }
       // Empty cache
       cache.clear();
+      uncoveredKeys.clear();
    }
 
    protected NearCache<K, V> createNearCache(NearCacheConfiguration config) {
@@ -82,7 +179,10 @@ public static <K, V> NearCacheService<K, V> create(
 
    @Override
    public void put(K key, VersionedValue<V> value) {
-       cache.put(key, value);
+      if (config.bloomFilter() && !isCovered(key))
+         return;
+
+      cache.put(key, value);
 
       if (trace)
          log.tracef("Put key=%s and value=%s in near cache (listenerId=%s)",
@@ -91,6 +191,9 @@ public void put(K key, VersionedValue<V> value) {
 
    @Override
    public void putIfAbsent(K key, VersionedValue<V> value) {
+      if (config.bloomFilter() && !isCovered(key))
+         return;
+
       cache.putIfAbsent(key, value);
 
       if (trace)
@@ -130,6 +233,11 @@ public void clear() {
       if (trace) log.tracef("Cleared near cache (listenerId=%s)", Util.printArray(listenerId));
    }
 
+   @Override
+   public void forEachKey(Consumer<? super K> action) {
+      cache.forEachKey(action);
+   }
+
    private boolean isConnected() {
       return listenerNotifier.isListenerConnected(listenerId);
    }
@@ -139,7 +247,7 @@ private boolean isConnected() {
       private static final Log log = LogFactory.getLog(InvalidatedNearCacheListener.class);
       private final NearCache<K, V> cache;
 
-      private InvalidatedNearCacheListener(NearCache<K, V> cache) {
+      InvalidatedNearCacheListener(NearCache<K, V> cache) {
          this.cache = cache;
       }
 
@@ -175,6 +283,17 @@ private void invalidate(K key) {
       }
    }
 
+   /**
+    * An invalidation listener whose events are filtered in the server by a bloom filter of the near cached keys,
+    * sent as raw filter parameter. Events are still unmarshalled on the client, raw data only affects the filter.
+    */
+   @ClientListener(filterFactoryName = BLOOM_FILTER_FACTORY_NAME, useRawData = true)
+   private static class BloomFilterNearCacheListener<K, V> extends InvalidatedNearCacheListener<K, V> {
+      private BloomFilterNearCacheListener(NearCache<K, V> cache) {
+         super(cache);
+      }
+   }
+
    /**
     * An near cache listener that eagerly populates the near cache as cache
     * entries are created/modified in the server. It uses a converter in order
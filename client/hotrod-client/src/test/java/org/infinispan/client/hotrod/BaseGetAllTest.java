@@ -52,7 +52,8 @@ protected void createCacheManagers() throws Throwable {
       String servers = HotRodClientTestingUtil.getServersString(hotrodServers);
       org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder =
             new org.infinispan.client.hotrod.configuration.ConfigurationBuilder();
-      clientBuilder.addServers(servers);
+      // Small chunks so that bulk operations are split in several requests per server
+      clientBuilder.addServers(servers).bulkChunkSize(7);
       remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
       remoteCache = remoteCacheManager.getCache();
    }
@@ -81,6 +82,19 @@ public void testBulkGetKeys() {
       }
    }
 
+   public void testStreamingPutAll() {
+      Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+      for (int i = 0; i < 1000; i++) {
+         entries.put(i, i);
+      }
+      remoteCache.putAll(entries.entrySet().iterator());
+      Map<Object, Object> map = remoteCache.getAll(entries.keySet());
+      assertEquals(1000, map.size());
+      for (int i = 0; i < 1000; i++) {
+         assertEquals(i, map.get(i));
+      }
+   }
+
    public void testBulkGetAfterLifespanExpire() throws InterruptedException {
       Map<String, String> dataIn = new HashMap<String, String>();
       dataIn.put("aKey", "aValue");
@@ -4,6 +4,8 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CALLBACK_HANDLER;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CLIENT_SUBJECT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_SERVER_NAME;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BULK_CHUNK_SIZE;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BULK_MAX_IN_FLIGHT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECT_TIMEOUT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HASH_FUNCTION_PREFIX;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_SIZE_ESTIMATE;
@@ -90,6 +92,8 @@ public class ConfigurationTest {
       OPTIONS.put(KEY_SIZE_ESTIMATE, Configuration::keySizeEstimate);
       OPTIONS.put(VALUE_SIZE_ESTIMATE, Configuration::valueSizeEstimate);
       OPTIONS.put(MAX_RETRIES, Configuration::maxRetries);
+      OPTIONS.put(BULK_CHUNK_SIZE, Configuration::bulkChunkSize);
+      OPTIONS.put(BULK_MAX_IN_FLIGHT, Configuration::bulkMaxInFlight);
       OPTIONS.put(USE_SSL, c -> c.security().ssl().enabled());
       OPTIONS.put(KEY_STORE_FILE_NAME, c -> c.security().ssl().keyStoreFileName());
       OPTIONS.put(SNI_HOST_NAME, c -> c.security().ssl().sniHostName());
@@ -166,6 +170,8 @@ public void testConfiguration() {
          .keySizeEstimate(128)
          .valueSizeEstimate(1024)
          .maxRetries(0)
+         .bulkChunkSize(500)
+         .bulkMaxInFlight(4)
          .tcpKeepAlive(true)
          .transportFactory(SomeTransportfactory.class)
          .security()
@@ -223,6 +229,8 @@ public void testWithProperties() {
       p.setProperty(KEY_SIZE_ESTIMATE, "128");
       p.setProperty(VALUE_SIZE_ESTIMATE, "1024");
       p.setProperty(MAX_RETRIES, "0");
+      p.setProperty(BULK_CHUNK_SIZE, "500");
+      p.setProperty(BULK_MAX_IN_FLIGHT, "4");
       p.setProperty(USE_SSL, "true");
       p.setProperty(KEY_STORE_FILE_NAME, "my-key-store.file");
       p.setProperty(KEY_STORE_PASSWORD, "my-key-store.password");
@@ -390,6 +398,15 @@ public void testNegativeRetriesPerServer() {
       builder.build();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Invalid bulk_chunk_size \\(value=0\\). " +
+               "Value should be greater than zero.")
+   public void testInvalidBulkChunkSize() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.bulkChunkSize(0);
+      builder.build();
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class)
    public void testMissingClusterNameDefinition() {
       ConfigurationBuilder builder = new ConfigurationBuilder();
@@ -485,6 +502,8 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(128, KEY_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(1024, VALUE_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(0, MAX_RETRIES, configuration);
+      assertEqualsConfig(500, BULK_CHUNK_SIZE, configuration);
+      assertEqualsConfig(4, BULK_MAX_IN_FLIGHT, configuration);
       assertEqualsConfig(true, USE_SSL, configuration);
       assertEqualsConfig("my-key-store.file", KEY_STORE_FILE_NAME, configuration);
       assertEqualsConfig("my-key-store.password", KEY_STORE_PASSWORD, configuration);
@@ -0,0 +1,80 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.commons.CacheConfigurationException;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "client.hotrod.near.BloomFilterNearCacheTest")
+public class BloomFilterNearCacheTest extends SingleHotRodServerTest {
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(100)
+            .bloomFilter(true).bloomFilterUpdateThreshold(1);
+      return new RemoteCacheManager(builder.build());
+   }
+
+   public void testSubscribedKeyIsInvalidated() {
+      RemoteCache<Integer, String> nearCache = remoteCacheManager.getCache();
+      RemoteCacheManager writerManager = createWriter();
+      try {
+         RemoteCache<Integer, String> writer = writerManager.getCache();
+         writer.put(1, "v1");
+         // First read subscribes the key, the second one is cached
+         assertEquals("v1", nearCache.get(1));
+         assertEquals("v1", nearCache.get(1));
+         writer.put(1, "v2");
+         eventually(() -> "v2".equals(nearCache.get(1)));
+         writer.remove(1);
+         eventually(() -> nearCache.get(1) == null);
+      } finally {
+         killRemoteCacheManager(writerManager);
+      }
+   }
+
+   public void testKeysAreSubscribedAfterFilterUpdates() {
+      RemoteCache<Integer, String> nearCache = remoteCacheManager.getCache();
+      RemoteCacheManager writerManager = createWriter();
+      try {
+         RemoteCache<Integer, String> writer = writerManager.getCache();
+         for (int i = 10; i < 20; i++) {
+            writer.put(i, "v" + i);
+            assertEquals("v" + i, nearCache.get(i));
+         }
+         for (int i = 10; i < 20; i++) {
+            writer.put(i, "w" + i);
+         }
+         for (int i = 10; i < 20; i++) {
+            final int key = i;
+            eventually(() -> ("w" + key).equals(nearCache.get(key)));
+         }
+      } finally {
+         killRemoteCacheManager(writerManager);
+      }
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = ".*Near cache bloom filter requires INVALIDATED mode.*")
+   public void testConfigurationWithoutMaxEntries() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(-1).bloomFilter(true);
+      builder.build();
+   }
+
+   private RemoteCacheManager createWriter() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      return new RemoteCacheManager(builder.build());
+   }
+
+}
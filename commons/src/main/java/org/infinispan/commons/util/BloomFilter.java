@@ -0,0 +1,93 @@
+package org.infinispan.commons.util;
+
+import java.nio.ByteBuffer;
+
+import org.infinispan.commons.hash.MurmurHash3;
+
+/**
+ * A Bloom filter over byte array keys.
+ *
+ * Both the bit layout and the hashing scheme, double hashing of a 128 bit {@link MurmurHash3}, are part of the
+ * contract between Hot Rod clients and servers, so the serialized form produced by {@link #toBytes()} can be
+ * evaluated on either side.
+ *
+ * @since 9.1
+ */
+public final class BloomFilter {
+   private static final int SEED = 0x9747b28c;
+
+   private final long[] bits;
+   private final int numBits;
+   private final int numHashes;
+
+   private BloomFilter(long[] bits, int numHashes) {
+      this.bits = bits;
+      this.numBits = bits.length * Long.SIZE;
+      this.numHashes = numHashes;
+   }
+
+   /**
+    * Creates an empty filter sized for the given number of entries and false positive probability.
+    */
+   public static BloomFilter create(int expectedEntries, double falsePositiveProbability) {
+      int entries = Math.max(1, expectedEntries);
+      long optimalBits = (long) (-entries * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+      int numLongs = (int) Math.max(1, Math.min(Integer.MAX_VALUE / Long.SIZE, (optimalBits + Long.SIZE - 1) / Long.SIZE));
+      int numHashes = Math.max(1, (int) Math.round((double) numLongs * Long.SIZE / entries * Math.log(2)));
+      return new BloomFilter(new long[numLongs], Math.min(numHashes, 255));
+   }
+
+   /**
+    * Reads a filter previously serialized with {@link #toBytes()}.
+    */
+   public static BloomFilter fromBytes(byte[] bytes) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      int numHashes = buffer.get() & 0xFF;
+      long[] bits = new long[buffer.remaining() / 8];
+      for (int i = 0; i < bits.length; i++) {
+         bits[i] = buffer.getLong();
+      }
+      return new BloomFilter(bits, numHashes);
+   }
+
+   public void add(byte[] key) {
+      long[] hash = MurmurHash3.MurmurHash3_x64_128(key, SEED);
+      for (int i = 0; i < numHashes; i++) {
+         int bit = bitIndex(hash, i);
+         bits[bit >>> 6] |= 1L << bit;
+      }
+   }
+
+   /**
+    * @return false if the key was definitely never added, true if it might have been.
+    */
+   public boolean mightContain(byte[] key) {
+      long[] hash = MurmurHash3.MurmurHash3_x64_128(key, SEED);
+      for (int i = 0; i < numHashes; i++) {
+         int bit = bitIndex(hash, i);
+         if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private int bitIndex(long[] hash, int i) {
+      long combined = hash[0] + i * hash[1];
+      return (int) ((combined & Long.MAX_VALUE) % numBits);
+   }
+
+   public byte[] toBytes() {
+      ByteBuffer buffer = ByteBuffer.allocate(1 + bits.length * 8);
+      buffer.put((byte) numHashes);
+      for (long l : bits) {
+         buffer.putLong(l);
+      }
+      return buffer.array();
+   }
+
+   @Override
+   public String toString() {
+      return "BloomFilter{numBits=" + numBits + ", numHashes=" + numHashes + '}';
+   }
+}
@@ -44,8 +44,10 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
 import org.infinispan.commands.tx.CommitCommand;
+import org.infinispan.commands.tx.GroupCommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
+import org.infinispan.commands.tx.TransactionBoundaryCommand;
 import org.infinispan.commands.tx.VersionedCommitCommand;
 import org.infinispan.commands.tx.VersionedPrepareCommand;
 import org.infinispan.commands.write.ApplyDeltaCommand;
@@ -67,6 +69,7 @@
 import org.infinispan.commons.api.functional.EntryView.ReadEntryView;
 import org.infinispan.commons.api.functional.EntryView.ReadWriteEntryView;
 import org.infinispan.commons.api.functional.EntryView.WriteEntryView;
+import org.infinispan.conflict.impl.ConflictResolutionCommand;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.functional.impl.Params;
@@ -504,4 +507,33 @@ <K, V> WriteOnlyKeyValueCommand<K, V> buildWriteOnlyKeyValueCommand(
    BackupWriteRpcCommand buildBackupWriteRpcCommand(DataWriteCommand command);
 
    BackupPutMapRpcCommand buildBackupPutMapRpcCommand(PutMapCommand command);
+
+   /**
+    * Builds a GroupCommitCommand used to send the prepare or commit commands of several transactions in one RPC.
+    * @param commands the prepare or commit commands, all targeting the same owners
+    * @return a GroupCommitCommand
+    */
+   GroupCommitCommand buildGroupCommitCommand(List<TransactionBoundaryCommand> commands);
+
+   /**
+    * Builds a ConflictResolutionCommand used to request the digests of some segments of a replica after a merge.
+    * @param segments the segments to digest
+    * @return a ConflictResolutionCommand
+    */
+   ConflictResolutionCommand buildSegmentDigestsCommand(Set<Integer> segments);
+
+   /**
+    * Builds a ConflictResolutionCommand used to request the hashes of the entries of a replica in some buckets of
+    * several segments.
+    * @param bucketsPerSegment the buckets with conflicting digests of each segment
+    * @return a ConflictResolutionCommand
+    */
+   ConflictResolutionCommand buildEntryHashesCommand(Map<Integer, Set<Integer>> bucketsPerSegment);
+
+   /**
+    * Builds a ConflictResolutionCommand used to request the entries of a replica which conflict with the local ones.
+    * @param keys the keys with conflicting hashes
+    * @return a ConflictResolutionCommand
+    */
+   ConflictResolutionCommand buildConflictEntriesCommand(Collection<Object> keys);
 }
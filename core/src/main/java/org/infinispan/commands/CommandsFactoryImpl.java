@@ -46,8 +46,10 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
 import org.infinispan.commands.tx.CommitCommand;
+import org.infinispan.commands.tx.GroupCommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
+import org.infinispan.commands.tx.TransactionBoundaryCommand;
 import org.infinispan.commands.tx.VersionedCommitCommand;
 import org.infinispan.commands.tx.VersionedPrepareCommand;
 import org.infinispan.commands.tx.totalorder.TotalOrderCommitCommand;
@@ -82,6 +84,8 @@
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.EnumUtil;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.conflict.impl.ConflictResolutionCommand;
+import org.infinispan.conflict.impl.ConflictResolutionManager;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.InternalEntryFactory;
 import org.infinispan.context.InvocationContextFactory;
@@ -98,6 +102,7 @@
 import org.infinispan.marshall.core.GlobalMarshaller;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.remoting.responses.ResponseGenerator;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.statetransfer.StateChunk;
 import org.infinispan.statetransfer.StateConsumer;
@@ -168,6 +173,8 @@ public class CommandsFactoryImpl implements CommandsFactory {
    private ClusterStreamManager clusterStreamManager;
    private ClusteringDependentLogic clusteringDependentLogic;
    private CommandAckCollector commandAckCollector;
+   private ConflictResolutionManager conflictResolutionManager;
+   private ResponseGenerator responseGenerator;
 
    private Map<Byte, ModuleCommandInitializer> moduleCommandInitializers;
    private StreamingMarshaller marshaller;
@@ -185,7 +192,9 @@ public void setupDependencies(DataContainer container, CacheNotifier<Object, Obj
                                  GroupManager groupManager,
                                  LocalStreamManager localStreamManager, ClusterStreamManager clusterStreamManager,
                                  ClusteringDependentLogic clusteringDependentLogic, StreamingMarshaller marshaller,
-                                 CommandAckCollector commandAckCollector) {
+                                 CommandAckCollector commandAckCollector,
+                                 ConflictResolutionManager conflictResolutionManager,
+                                 ResponseGenerator responseGenerator) {
       this.dataContainer = container;
       this.notifier = notifier;
       this.cache = cache;
@@ -212,6 +221,8 @@ public void setupDependencies(DataContainer container, CacheNotifier<Object, Obj
       this.clusteringDependentLogic = clusteringDependentLogic;
       this.marshaller = marshaller;
       this.commandAckCollector = commandAckCollector;
+      this.conflictResolutionManager = conflictResolutionManager;
+      this.responseGenerator = responseGenerator;
    }
 
    @Start(priority = 1)
@@ -428,6 +439,12 @@ public void initializeReplicableCommand(ReplicableCommand c, boolean isRemote) {
          case StateResponseCommand.COMMAND_ID:
             ((StateResponseCommand) c).init(stateConsumer);
             break;
+         case ConflictResolutionCommand.COMMAND_ID:
+            ((ConflictResolutionCommand) c).init(conflictResolutionManager);
+            break;
+         case GroupCommitCommand.COMMAND_ID:
+            ((GroupCommitCommand) c).init(this, responseGenerator);
+            break;
          case GetInDoubtTransactionsCommand.COMMAND_ID:
             GetInDoubtTransactionsCommand gptx = (GetInDoubtTransactionsCommand) c;
             gptx.init(recoveryManager);
@@ -750,6 +767,26 @@ public BackupPutMapRpcCommand buildBackupPutMapRpcCommand(PutMapCommand command)
       return new BackupPutMapRpcCommand(cacheName, command);
    }
 
+   @Override
+   public GroupCommitCommand buildGroupCommitCommand(List<TransactionBoundaryCommand> commands) {
+      return new GroupCommitCommand(cacheName, commands);
+   }
+
+   @Override
+   public ConflictResolutionCommand buildSegmentDigestsCommand(Set<Integer> segments) {
+      return ConflictResolutionCommand.segmentDigests(cacheName, segments);
+   }
+
+   @Override
+   public ConflictResolutionCommand buildEntryHashesCommand(Map<Integer, Set<Integer>> bucketsPerSegment) {
+      return ConflictResolutionCommand.entryHashes(cacheName, bucketsPerSegment);
+   }
+
+   @Override
+   public ConflictResolutionCommand buildConflictEntriesCommand(Collection<Object> keys) {
+      return ConflictResolutionCommand.entries(cacheName, keys);
+   }
+
    private ValueMatcher getValueMatcher(Object o) {
       SerializeFunctionWith ann = o.getClass().getAnnotation(SerializeFunctionWith.class);
       if (ann != null)
@@ -29,6 +29,7 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
 import org.infinispan.commands.tx.CommitCommand;
+import org.infinispan.commands.tx.GroupCommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
 import org.infinispan.commands.tx.VersionedCommitCommand;
@@ -50,6 +51,7 @@
 import org.infinispan.commands.write.RemoveExpiredCommand;
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.conflict.impl.ConflictResolutionCommand;
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
@@ -316,6 +318,12 @@ public CacheRpcCommand fromStream(byte id, byte type, ByteString cacheName) {
             case BackupPutMapRpcCommand.COMMAND_ID:
                command = new BackupPutMapRpcCommand(cacheName);
                break;
+            case GroupCommitCommand.COMMAND_ID:
+               command = new GroupCommitCommand(cacheName);
+               break;
+            case ConflictResolutionCommand.COMMAND_ID:
+               command = new ConflictResolutionCommand(cacheName);
+               break;
             default:
                throw new CacheException("Unknown command id " + id + "!");
          }
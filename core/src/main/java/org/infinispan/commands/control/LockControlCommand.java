@@ -236,4 +236,9 @@ public boolean hasZeroLockAcquisition() {
    public boolean hasSkipLocking() {
       return hasAnyFlag(FlagBitSets.SKIP_LOCKING); //is it possible??
    }
+
+   @Override
+   public boolean hasSharedLocking() {
+      return hasAnyFlag(FlagBitSets.FORCE_READ_LOCK) && !hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK);
+   }
 }
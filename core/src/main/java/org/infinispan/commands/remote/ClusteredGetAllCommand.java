@@ -73,7 +73,7 @@ public void init(InvocationContextFactory icf, CommandsFactory commandsFactory,
 
    @Override
    public CompletableFuture<Object> invokeAsync() throws Throwable {
-      if (!hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK)) {
+      if (!hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK | FlagBitSets.FORCE_READ_LOCK)) {
          return invokeGetAll();
       } else {
          return acquireLocks().thenCompose(o -> invokeGetAll());
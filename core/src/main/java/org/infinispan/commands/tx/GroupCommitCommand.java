@@ -0,0 +1,124 @@
+package org.infinispan.commands.tx;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.remote.BaseRpcCommand;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.remoting.responses.ExceptionResponse;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.ResponseGenerator;
+import org.infinispan.util.ByteString;
+import org.infinispan.util.concurrent.CompletableFutures;
+
+/**
+ * Carries the prepare or commit commands of several transactions to the same owners in a single RPC.
+ * <p>
+ * The receiver handles each command as if it was received on its own and replies with the list of their responses, in
+ * the same order as the commands. A group received from another node is split by the
+ * {@link org.infinispan.remoting.inboundhandler.GlobalInboundInvocationHandler}, which hands each command to the
+ * per-cache handler so that it is ordered and executed like any other command. When the group is invoked directly,
+ * {@link #invokeAsync()} invokes the commands one after the other instead.
+ *
+ * @since 9.1
+ * @see org.infinispan.transaction.impl.GroupCommitManager
+ */
+public class GroupCommitCommand extends BaseRpcCommand {
+
+   public static final byte COMMAND_ID = 67;
+
+   private List<TransactionBoundaryCommand> commands;
+   private CommandsFactory commandsFactory;
+   private ResponseGenerator responseGenerator;
+
+   private GroupCommitCommand() {
+      super(null); // For command id uniqueness test
+   }
+
+   public GroupCommitCommand(ByteString cacheName) {
+      super(cacheName);
+   }
+
+   public GroupCommitCommand(ByteString cacheName, List<TransactionBoundaryCommand> commands) {
+      super(cacheName);
+      this.commands = commands;
+   }
+
+   public void init(CommandsFactory commandsFactory, ResponseGenerator responseGenerator) {
+      this.commandsFactory = commandsFactory;
+      this.responseGenerator = responseGenerator;
+   }
+
+   public List<TransactionBoundaryCommand> getCommands() {
+      return commands;
+   }
+
+   @Override
+   public CompletableFuture<Object> invokeAsync() throws Throwable {
+      List<Response> responses = new ArrayList<>(commands.size());
+      CompletableFuture<Void> future = CompletableFutures.completedNull();
+      for (TransactionBoundaryCommand command : commands) {
+         future = future.thenCompose(ignored -> invoke(command)).thenAccept(responses::add);
+      }
+      return future.thenApply(ignored -> responses);
+   }
+
+   /**
+    * @return the response of the command, generated as the per-cache handler would
+    */
+   private CompletableFuture<Response> invoke(TransactionBoundaryCommand command) {
+      command.setOrigin(getOrigin());
+      commandsFactory.initializeReplicableCommand(command, true);
+      try {
+         return command.invokeAsync().handle((rv, throwable) -> throwable == null ?
+               responseGenerator.getResponse(command, rv) :
+               exceptionResponse(CompletableFutures.extractException(throwable)));
+      } catch (Throwable t) {
+         return CompletableFuture.completedFuture(exceptionResponse(t));
+      }
+   }
+
+   private static Response exceptionResponse(Throwable throwable) {
+      return new ExceptionResponse(throwable instanceof Exception ? (Exception) throwable :
+            new CacheException("Problems invoking command.", throwable));
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return true;
+   }
+
+   @Override
+   public boolean canBlock() {
+      return true;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      MarshallUtil.marshallCollection(commands, output);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      commands = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+   }
+
+   @Override
+   public String toString() {
+      return "GroupCommitCommand{" +
+            "cacheName=" + cacheName +
+            ", commands=" + commands +
+            '}';
+   }
+}
@@ -16,9 +16,12 @@ public class BackupConfiguration {
    public static final AttributeDefinition<String> FAILURE_POLICY_CLASS = AttributeDefinition.builder("failurePolicyClass", null, String.class).immutable().build();
    public static final AttributeDefinition<Boolean> USE_TWO_PHASE_COMMIT = AttributeDefinition.builder("useTwoPhaseCommit", false).immutable().xmlName("two-phase-commit").build();
    public static final AttributeDefinition<Boolean> ENABLED = AttributeDefinition.builder("enabled", true).immutable().build();
+   public static final AttributeDefinition<Integer> ASYNC_BATCH_SIZE = AttributeDefinition.builder("asyncBatchSize", 0).immutable().build();
+   public static final AttributeDefinition<Long> ASYNC_BATCH_MAX_DELAY = AttributeDefinition.builder("asyncBatchMaxDelay", 100l).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(BackupConfiguration.class, SITE, STRATEGY, REPLICATION_TIMEOUT, FAILURE_POLICY,  FAILURE_POLICY_CLASS, USE_TWO_PHASE_COMMIT, ENABLED);
+      return new AttributeSet(BackupConfiguration.class, SITE, STRATEGY, REPLICATION_TIMEOUT, FAILURE_POLICY,  FAILURE_POLICY_CLASS, USE_TWO_PHASE_COMMIT, ENABLED,
+            ASYNC_BATCH_SIZE, ASYNC_BATCH_MAX_DELAY);
    }
 
    private final Attribute<String> site;
@@ -28,6 +31,8 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<String> failurePolicyClass;
    private final Attribute<Boolean> useTwoPhaseCommit;
    private final Attribute<Boolean> enabled;
+   private final Attribute<Integer> asyncBatchSize;
+   private final Attribute<Long> asyncBatchMaxDelay;
    private final AttributeSet attributes;
    private final TakeOfflineConfiguration takeOfflineConfiguration;
    private final XSiteStateTransferConfiguration xSiteStateTransferConfiguration ;
@@ -43,6 +48,8 @@ public BackupConfiguration(AttributeSet attributes, TakeOfflineConfiguration tak
       this.failurePolicyClass = attributes.attribute(FAILURE_POLICY_CLASS);
       this.useTwoPhaseCommit = attributes.attribute(USE_TWO_PHASE_COMMIT);
       this.enabled = attributes.attribute(ENABLED);
+      this.asyncBatchSize = attributes.attribute(ASYNC_BATCH_SIZE);
+      this.asyncBatchMaxDelay = attributes.attribute(ASYNC_BATCH_MAX_DELAY);
    }
 
    /**
@@ -103,6 +110,27 @@ public boolean enabled() {
       return enabled.get();
    }
 
+   /**
+    * @see BackupConfigurationBuilder#asyncBatchSize(int)
+    */
+   public int asyncBatchSize() {
+      return asyncBatchSize.get();
+   }
+
+   /**
+    * @see BackupConfigurationBuilder#asyncBatchMaxDelay(long)
+    */
+   public long asyncBatchMaxDelay() {
+      return asyncBatchMaxDelay.get();
+   }
+
+   /**
+    * @return {@code true} if the modifications are sent to this site in batches.
+    */
+   public boolean isAsyncBatching() {
+      return isAsyncBackup() && asyncBatchSize() > 0;
+   }
+
    public XSiteStateTransferConfiguration stateTransfer() {
       return xSiteStateTransferConfiguration;
    }
@@ -1,5 +1,7 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.BackupConfiguration.ASYNC_BATCH_MAX_DELAY;
+import static org.infinispan.configuration.cache.BackupConfiguration.ASYNC_BATCH_SIZE;
 import static org.infinispan.configuration.cache.BackupConfiguration.ENABLED;
 import static org.infinispan.configuration.cache.BackupConfiguration.FAILURE_POLICY;
 import static org.infinispan.configuration.cache.BackupConfiguration.FAILURE_POLICY_CLASS;
@@ -120,6 +122,26 @@ public BackupConfigurationBuilder enabled(boolean isEnabled) {
       return this;
    }
 
+   /**
+    * Enables the batching of the modifications sent to an asynchronous backup site. The modifications are queued and
+    * the updates to the same key are merged, keeping the most recent one, until this many keys are pending or
+    * {@link #asyncBatchMaxDelay(long)} elapses. Only applies to async backups. The default value is 0, which disables
+    * batching.
+    */
+   public BackupConfigurationBuilder asyncBatchSize(int asyncBatchSize) {
+      attributes.attribute(ASYNC_BATCH_SIZE).set(asyncBatchSize);
+      return this;
+   }
+
+   /**
+    * The maximum time (millis) a modification waits in the batch queue before being sent to the backup site. Only
+    * applies when {@link #asyncBatchSize(int)} is set. The default value is 100.
+    */
+   public BackupConfigurationBuilder asyncBatchMaxDelay(long asyncBatchMaxDelay) {
+      attributes.attribute(ASYNC_BATCH_MAX_DELAY).set(asyncBatchMaxDelay);
+      return this;
+   }
+
    public XSiteStateTransferConfigurationBuilder stateTransfer() {
       return this.stateTransferBuilder;
    }
@@ -136,6 +158,14 @@ public void validate() {
       if (attributes.attribute(USE_TWO_PHASE_COMMIT).get() && attributes.attribute(STRATEGY).get() == BackupConfiguration.BackupStrategy.ASYNC) {
          throw log.twoPhaseCommitAsyncBackup();
       }
+      if (attributes.attribute(ASYNC_BATCH_SIZE).get() > 0) {
+         if (attributes.attribute(STRATEGY).get() == BackupConfiguration.BackupStrategy.SYNC) {
+            throw log.asyncBatchingSyncBackup();
+         }
+         if (attributes.attribute(ASYNC_BATCH_MAX_DELAY).get() <= 0) {
+            throw log.invalidAsyncBatchMaxDelay(attributes.attribute(ASYNC_BATCH_MAX_DELAY).get());
+         }
+      }
    }
 
    @Override
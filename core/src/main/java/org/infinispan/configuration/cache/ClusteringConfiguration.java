@@ -17,12 +17,15 @@ public class ClusteringConfiguration {
    public static final AttributeDefinition<CacheMode> CACHE_MODE = AttributeDefinition.builder("cacheMode",  CacheMode.LOCAL).immutable().build();
    public static final AttributeDefinition<Long> REMOTE_TIMEOUT =
          AttributeDefinition.builder("remoteTimeout", TimeUnit.SECONDS.toMillis(15)).build();
+   public static final AttributeDefinition<Long> CLUSTER_LISTENER_BATCH_WINDOW =
+         AttributeDefinition.builder("clusterListenerBatchWindow", 0L).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT);
+      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, CLUSTER_LISTENER_BATCH_WINDOW);
    }
 
    private final Attribute<CacheMode> cacheMode;
+   private final Attribute<Long> clusterListenerBatchWindow;
    private final HashConfiguration hashConfiguration;
    private final L1Configuration l1Configuration;
    private final StateTransferConfiguration stateTransferConfiguration;
@@ -35,6 +38,7 @@ static AttributeSet attributeDefinitionSet() {
          PartitionHandlingConfiguration partitionHandlingStrategy) {
       this.attributes = attributes.checkProtection();
       this.cacheMode = attributes.attribute(CACHE_MODE);
+      this.clusterListenerBatchWindow = attributes.attribute(CLUSTER_LISTENER_BATCH_WINDOW);
       this.hashConfiguration = hashConfiguration;
       this.l1Configuration = l1Configuration;
       this.stateTransferConfiguration = stateTransferConfiguration;
@@ -65,6 +69,16 @@ public void remoteTimeout(long timeoutMillis) {
       syncConfiguration.replTimeout(timeoutMillis);
    }
 
+   /**
+    * The time window (millis) during which the events of the asynchronous cluster listeners are buffered on the node
+    * raising them, so that a single RPC per listener node carries the events of several operations.
+    *
+    * @see ClusteringConfigurationBuilder#clusterListenerBatchWindow(long)
+    */
+   public long clusterListenerBatchWindow() {
+      return clusterListenerBatchWindow.get();
+   }
+
    /**
     * Configures cluster's behaviour in the presence of partitions or node failures.
     */
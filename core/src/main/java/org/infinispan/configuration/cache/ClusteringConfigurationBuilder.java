@@ -1,6 +1,7 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.ClusteringConfiguration.CACHE_MODE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.CLUSTER_LISTENER_BATCH_WINDOW;
 
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
@@ -67,6 +68,27 @@ public ClusteringConfigurationBuilder remoteTimeout(long l, TimeUnit unit) {
       return remoteTimeout(unit.toMillis(l));
    }
 
+   /**
+    * The time window (millis) during which the events of the asynchronous cluster listeners are buffered on the node
+    * raising them, so that a single RPC per listener node carries the events of several operations. The events are
+    * still delivered in order, and the listeners annotated with
+    * {@link org.infinispan.notifications.Listener#coalesce()} only receive the latest event of each key in the window.
+    * Defaults to 0, which sends the events at the end of each operation.
+    */
+   public ClusteringConfigurationBuilder clusterListenerBatchWindow(long window) {
+      attributes.attribute(CLUSTER_LISTENER_BATCH_WINDOW).set(window);
+      return this;
+   }
+
+   /**
+    * The time window during which the events of the asynchronous cluster listeners are buffered.
+    *
+    * @see #clusterListenerBatchWindow(long)
+    */
+   public ClusteringConfigurationBuilder clusterListenerBatchWindow(long window, TimeUnit unit) {
+      return clusterListenerBatchWindow(unit.toMillis(window));
+   }
+
 
    /**
     * Configure hash sub element
@@ -109,6 +131,9 @@ public PartitionHandlingConfigurationBuilder partitionHandling() {
    @Override
    public
    void validate() {
+      if (attributes.attribute(CLUSTER_LISTENER_BATCH_WINDOW).get() < 0) {
+         throw log.invalidClusterListenerBatchWindow(attributes.attribute(CLUSTER_LISTENER_BATCH_WINDOW).get());
+      }
       for (Builder<?> validatable : Arrays.asList(hashConfigurationBuilder, l1ConfigurationBuilder,
                           syncConfigurationBuilder, stateTransferConfigurationBuilder, partitionHandlingConfigurationBuilder)) {
          validatable.validate();
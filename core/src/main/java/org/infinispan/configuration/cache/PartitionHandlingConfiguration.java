@@ -3,6 +3,7 @@
 import org.infinispan.commons.configuration.attributes.Attribute;
 import org.infinispan.commons.configuration.attributes.AttributeDefinition;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.conflict.EntryMergePolicy;
 
 /**
  * Controls how the cache handles partitioning and/or multiple node failures.
@@ -14,23 +15,46 @@ public class PartitionHandlingConfiguration {
 
    public static final AttributeDefinition<Boolean> ENABLED = AttributeDefinition.builder("enabled", false).immutable()
          .build();
+   public static final AttributeDefinition<EntryMergePolicy> MERGE_POLICY = AttributeDefinition.builder("mergePolicy", null, EntryMergePolicy.class)
+         .immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Integer> CONFLICT_RESOLUTION_CONCURRENCY = AttributeDefinition.builder("conflictResolutionConcurrency", 4)
+         .immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(PartitionHandlingConfiguration.class, ENABLED);
+      return new AttributeSet(PartitionHandlingConfiguration.class, ENABLED, MERGE_POLICY, CONFLICT_RESOLUTION_CONCURRENCY);
    }
 
    private final Attribute<Boolean> enabled;
+   private final Attribute<EntryMergePolicy> mergePolicy;
+   private final Attribute<Integer> conflictResolutionConcurrency;
    private final AttributeSet attributes;
 
    public PartitionHandlingConfiguration(AttributeSet attributes) {
       this.attributes = attributes.checkProtection();
       enabled = attributes.attribute(ENABLED);
+      mergePolicy = attributes.attribute(MERGE_POLICY);
+      conflictResolutionConcurrency = attributes.attribute(CONFLICT_RESOLUTION_CONCURRENCY);
    }
 
    public boolean enabled() {
       return enabled.get();
    }
 
+   /**
+    * @return the policy resolving the conflicting replicas after a merge, or {@code null} if the conflicts are not
+    * resolved
+    */
+   public EntryMergePolicy mergePolicy() {
+      return mergePolicy.get();
+   }
+
+   /**
+    * @return the maximum number of segments compared in parallel by each node during conflict resolution
+    */
+   public int conflictResolutionConcurrency() {
+      return conflictResolutionConcurrency.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -1,10 +1,13 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.PartitionHandlingConfiguration.CONFLICT_RESOLUTION_CONCURRENCY;
 import static org.infinispan.configuration.cache.PartitionHandlingConfiguration.ENABLED;
+import static org.infinispan.configuration.cache.PartitionHandlingConfiguration.MERGE_POLICY;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.conflict.EntryMergePolicy;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 /**
@@ -32,8 +35,32 @@ public PartitionHandlingConfigurationBuilder enabled(boolean enabled) {
       return this;
    }
 
+   /**
+    * @param mergePolicy The policy deciding the value of the keys whose replicas diverged, invoked when the partitions
+    *                    merge. Conflicts are only resolved when partition handling is disabled, and by default they are
+    *                    not resolved at all.
+    * @see org.infinispan.conflict.MergePolicies
+    */
+   public PartitionHandlingConfigurationBuilder mergePolicy(EntryMergePolicy mergePolicy) {
+      attributes.attribute(MERGE_POLICY).set(mergePolicy);
+      return this;
+   }
+
+   /**
+    * @param concurrency The maximum number of segments each node compares in parallel while resolving conflicts.
+    *                    Defaults to 4.
+    */
+   public PartitionHandlingConfigurationBuilder conflictResolutionConcurrency(int concurrency) {
+      attributes.attribute(CONFLICT_RESOLUTION_CONCURRENCY).set(concurrency);
+      return this;
+   }
+
    @Override
    public void validate() {
+      int concurrency = attributes.attribute(CONFLICT_RESOLUTION_CONCURRENCY).get();
+      if (concurrency <= 0) {
+         throw log.invalidConflictResolutionConcurrency(concurrency);
+      }
    }
 
    @Override
@@ -3,6 +3,7 @@
 import static org.infinispan.configuration.cache.TransactionConfiguration.AUTO_COMMIT;
 import static org.infinispan.configuration.cache.TransactionConfiguration.CACHE_STOP_TIMEOUT;
 import static org.infinispan.configuration.cache.TransactionConfiguration.COMPLETED_TX_TIMEOUT;
+import static org.infinispan.configuration.cache.TransactionConfiguration.GROUP_COMMIT_WINDOW;
 import static org.infinispan.configuration.cache.TransactionConfiguration.LOCKING_MODE;
 import static org.infinispan.configuration.cache.TransactionConfiguration.NOTIFICATIONS;
 import static org.infinispan.configuration.cache.TransactionConfiguration.REAPER_WAKE_UP_INTERVAL;
@@ -267,6 +268,15 @@ public TransactionConfigurationBuilder notifications(boolean enabled) {
       return this;
    }
 
+   /**
+    * The time window (millis) during which the prepare and commit commands of concurrent optimistic transactions with
+    * disjoint write sets are grouped in a single RPC per set of owners. Defaults to 0, which disables the grouping.
+    */
+   public TransactionConfigurationBuilder groupCommitWindow(long window) {
+      attributes.attribute(GROUP_COMMIT_WINDOW).set(window);
+      return this;
+   }
+
    @Override
    public void validate() {
       Attribute<Long> reaperWakeUpInterval = attributes.attribute(REAPER_WAKE_UP_INTERVAL);
@@ -275,6 +285,8 @@ public void validate() {
          throw log.invalidReaperWakeUpInterval(reaperWakeUpInterval.get());
       if (completedTxTimeout.get() < 0)
          throw log.invalidCompletedTxTimeout(completedTxTimeout.get());
+      if (attributes.attribute(GROUP_COMMIT_WINDOW).get() < 0)
+         throw log.invalidGroupCommitWindow(attributes.attribute(GROUP_COMMIT_WINDOW).get());
       CacheMode cacheMode = clustering().cacheMode();
       if(attributes.attribute(TRANSACTION_PROTOCOL).get() == TransactionProtocol.TOTAL_ORDER) {
          //total order only supports transactional caches
@@ -17,20 +17,27 @@ public class XSiteStateTransferConfiguration {
    public static final long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(20);
    public static final int DEFAULT_MAX_RETRIES = 30;
    public static final long DEFAULT_WAIT_TIME = TimeUnit.SECONDS.toMillis(2);
+   public static final int DEFAULT_CONCURRENCY = 1;
+   public static final int DEFAULT_MAX_ENTRIES_PER_SECOND = 0;
 
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder("chunkSize", DEFAULT_CHUNK_SIZE).immutable().build();
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder("timeout", DEFAULT_TIMEOUT).build();
    public static final AttributeDefinition<Integer> MAX_RETRIES = AttributeDefinition.builder("maxRetries", DEFAULT_MAX_RETRIES).build();
    public static final AttributeDefinition<Long> WAIT_TIME = AttributeDefinition.builder("waitTime", DEFAULT_WAIT_TIME).build();
+   public static final AttributeDefinition<Integer> CONCURRENCY = AttributeDefinition.builder("concurrency", DEFAULT_CONCURRENCY).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_ENTRIES_PER_SECOND = AttributeDefinition.builder("maxEntriesPerSecond", DEFAULT_MAX_ENTRIES_PER_SECOND).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(XSiteStateTransferConfiguration.class, CHUNK_SIZE, TIMEOUT, MAX_RETRIES, WAIT_TIME);
+      return new AttributeSet(XSiteStateTransferConfiguration.class, CHUNK_SIZE, TIMEOUT, MAX_RETRIES, WAIT_TIME,
+            CONCURRENCY, MAX_ENTRIES_PER_SECOND);
    }
 
    private final Attribute<Integer> chunkSize;
    private final Attribute<Long> timeout;
    private final Attribute<Integer> maxRetries;
    private final Attribute<Long> waitTime;
+   private final Attribute<Integer> concurrency;
+   private final Attribute<Integer> maxEntriesPerSecond;
    private final AttributeSet attributes;
 
    public XSiteStateTransferConfiguration(AttributeSet attributes) {
@@ -39,6 +46,8 @@ public XSiteStateTransferConfiguration(AttributeSet attributes) {
       timeout = attributes.attribute(TIMEOUT);
       maxRetries = attributes.attribute(MAX_RETRIES);
       waitTime = attributes.attribute(WAIT_TIME);
+      concurrency = attributes.attribute(CONCURRENCY);
+      maxEntriesPerSecond = attributes.attribute(MAX_ENTRIES_PER_SECOND);
    }
 
    public int chunkSize() {
@@ -57,6 +66,14 @@ public long waitTime() {
       return waitTime.get();
    }
 
+   public int concurrency() {
+      return concurrency.get();
+   }
+
+   public int maxEntriesPerSecond() {
+      return maxEntriesPerSecond.get();
+   }
+
    @Override
    public boolean equals(Object obj) {
       if (this == obj)
@@ -1,6 +1,8 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.CHUNK_SIZE;
+import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.CONCURRENCY;
+import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.MAX_ENTRIES_PER_SECOND;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.MAX_RETRIES;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.TIMEOUT;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.WAIT_TIME;
@@ -38,6 +40,9 @@ public void validate() {
       if (attributes.attribute(WAIT_TIME).get() <= 0) {
          throw log.invalidXSiteStateTransferWaitTime();
       }
+      if (attributes.attribute(CONCURRENCY).get() <= 0) {
+         throw log.invalidXSiteStateTransferConcurrency(attributes.attribute(CONCURRENCY).get());
+      }
    }
 
    @Override
@@ -79,6 +84,25 @@ public final XSiteStateTransferConfigurationBuilder waitTime(long waitingTimeBet
       return this;
    }
 
+   /**
+    * The number of groups of segments sent in parallel by each node. The segments are split in groups and each group
+    * is sent once all its entries are acknowledged by the remote site, so a transfer interrupted by a failure only
+    * sends the remaining groups when it is started again in the same topology. Default value is 1.
+    */
+   public final XSiteStateTransferConfigurationBuilder concurrency(int concurrency) {
+      attributes.attribute(CONCURRENCY).set(concurrency);
+      return this;
+   }
+
+   /**
+    * The maximum number of cache entries sent per second by each node. A value <= 0 (zero) means no limit. Default
+    * value is 0.
+    */
+   public final XSiteStateTransferConfigurationBuilder maxEntriesPerSecond(int maxEntriesPerSecond) {
+      attributes.attribute(MAX_ENTRIES_PER_SECOND).set(maxEntriesPerSecond);
+      return this;
+   }
+
    public final BackupConfigurationBuilder backup() {
       return backupConfigurationBuilder;
    }
@@ -19,6 +19,8 @@ public enum Attribute {
     AFTER("after"),
     ALIASES("aliases"),
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
+    ASYNC_BATCH_MAX_DELAY("async-batch-max-delay"),
+    ASYNC_BATCH_SIZE("async-batch-size"),
     ASYNC_EXECUTOR("async-executor"),
     @Deprecated
     ASYNC_MARSHALLING("async-marshalling"),
@@ -32,9 +34,12 @@ public enum Attribute {
     CHUNK_SIZE("chunk-size"),
     CLASS("class"),
     CLUSTER("cluster"),
+    CLUSTER_LISTENER_BATCH_WINDOW("cluster-listener-batch-window"),
     COMPLETED_TX_TIMEOUT("complete-timeout"),
+    CONCURRENCY("concurrency"),
     CONCURRENCY_LEVEL("concurrency-level"),
     CONFIGURATION("configuration"),
+    CONFLICT_RESOLUTION_CONCURRENCY("conflict-resolution-concurrency"),
     CONSISTENT_HASH_FACTORY("consistent-hash-factory"),
     CORE_THREADS("core-threads"),
     DATA_CONTAINER("data-container"),
@@ -49,6 +54,7 @@ public enum Attribute {
     FETCH_STATE("fetch-state"),
     @Deprecated
     FLUSH_LOCK_TIMEOUT("flush-lock-timeout"),
+    GROUP_COMMIT_WINDOW("group-commit-window"),
     GROUP_NAME("group-name"),
     ID("id"),
     INDEX("index"),
@@ -72,10 +78,12 @@ public enum Attribute {
     MAPPER("mapper"),
     MARSHALLER_CLASS("marshaller"),
     MAX_ENTRIES("max-entries"),
+    MAX_ENTRIES_PER_SECOND("max-entries-per-second"),
     MAX_IDLE("max-idle"),
     MAX_RETRIES("max-retries"),
     MAX_THREADS("max-threads"),
     MBEAN_SERVER_LOOKUP("mbean-server-lookup"),
+    MERGE_POLICY("merge-policy"),
     MODE("mode"),
     NODE_NAME("node-name"),
     MODIFICATION_QUEUE_SIZE("modification-queue-size"),
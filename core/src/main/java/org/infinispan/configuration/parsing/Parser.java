@@ -58,6 +58,8 @@
 import org.infinispan.configuration.global.ThreadPoolConfiguration;
 import org.infinispan.configuration.global.ThreadPoolConfigurationBuilder;
 import org.infinispan.configuration.global.TransportConfigurationBuilder;
+import org.infinispan.conflict.EntryMergePolicy;
+import org.infinispan.conflict.MergePolicies;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionThreadPolicy;
 import org.infinispan.eviction.EvictionType;
@@ -1244,7 +1246,7 @@ private void parseBackups(XMLExtendedStreamReader reader, ConfigurationBuilder b
       }
    }
 
-   private void parsePartitionHandling(XMLExtendedStreamReader reader, ConfigurationBuilder builder) throws XMLStreamException {
+   private void parsePartitionHandling(XMLExtendedStreamReader reader, ConfigurationBuilder builder, ConfigurationBuilderHolder holder) throws XMLStreamException {
       PartitionHandlingConfigurationBuilder ph = builder.clustering().partitionHandling();
       for (int i = 0; i < reader.getAttributeCount(); i++) {
          String value = replaceProperties(reader.getAttributeValue(i));
@@ -1254,6 +1256,18 @@ private void parsePartitionHandling(XMLExtendedStreamReader reader, Configuratio
                ph.enabled(Boolean.valueOf(value));
                break;
             }
+            case MERGE_POLICY: {
+               EntryMergePolicy mergePolicy = MergePolicies.fromString(value);
+               if (mergePolicy == null) {
+                  mergePolicy = Util.getInstance(value, holder.getClassLoader());
+               }
+               ph.mergePolicy(mergePolicy);
+               break;
+            }
+            case CONFLICT_RESOLUTION_CONCURRENCY: {
+               ph.conflictResolutionConcurrency(Integer.parseInt(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1296,6 +1310,14 @@ private void parseBackup(XMLExtendedStreamReader reader, ConfigurationBuilder bu
                backup.failurePolicyClass(value);
                break;
             }
+            case ASYNC_BATCH_SIZE: {
+               backup.asyncBatchSize(Integer.parseInt(value));
+               break;
+            }
+            case ASYNC_BATCH_MAX_DELAY: {
+               backup.asyncBatchMaxDelay(Long.parseLong(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1362,6 +1384,12 @@ private void parseXSiteStateTransfer(XMLExtendedStreamReader reader, BackupConfi
             case WAIT_TIME:
                backup.stateTransfer().waitTime(Long.parseLong(value));
                break;
+            case CONCURRENCY:
+               backup.stateTransfer().concurrency(Integer.parseInt(value));
+               break;
+            case MAX_ENTRIES_PER_SECOND:
+               backup.stateTransfer().maxEntriesPerSecond(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1499,7 +1527,7 @@ protected void parseCacheElement(XMLExtendedStreamReader reader, Element element
             break;
          }
          case PARTITION_HANDLING: {
-            this.parsePartitionHandling(reader, builder);
+            this.parsePartitionHandling(reader, builder, holder);
             break;
          }
          case SECURITY: {
@@ -1814,6 +1842,10 @@ protected void parseTransaction(XMLExtendedStreamReader reader, ConfigurationBui
                builder.transaction().completedTxTimeout(Long.parseLong(value));
                break;
             }
+            case GROUP_COMMIT_WINDOW: {
+               builder.transaction().groupCommitWindow(Long.parseLong(value));
+               break;
+            }
             case TRANSACTION_PROTOCOL: {
                builder.transaction().transactionProtocol(TransactionProtocol.valueOf(value));
                break;
@@ -1959,6 +1991,10 @@ private void parseClusteredCacheAttribute(XMLExtendedStreamReader reader,
             builder.clustering().remoteTimeout(Long.parseLong(value));
             break;
          }
+         case CLUSTER_LISTENER_BATCH_WINDOW: {
+            builder.clustering().clusterListenerBatchWindow(Long.parseLong(value));
+            break;
+         }
          default: {
             this.parseCacheAttribute(reader, index, attribute, value, builder);
          }
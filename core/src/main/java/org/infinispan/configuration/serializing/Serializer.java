@@ -37,6 +37,7 @@
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.JMXStatisticsConfiguration;
 import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.RecoveryConfiguration;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
@@ -55,6 +56,8 @@
 import org.infinispan.configuration.parsing.Attribute;
 import org.infinispan.configuration.parsing.Element;
 import org.infinispan.configuration.parsing.Parser.TransactionMode;
+import org.infinispan.conflict.EntryMergePolicy;
+import org.infinispan.conflict.MergePolicies;
 import org.infinispan.distribution.group.Grouper;
 import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.util.logging.Log;
@@ -396,6 +399,7 @@ private void writeCommonClusteredCacheAttributes(XMLExtendedStreamWriter writer,
 
       AttributeSet syncAttributes = clustering.sync().attributes();
       syncAttributes.write(writer, ClusteringConfiguration.REMOTE_TIMEOUT, Attribute.REMOTE_TIMEOUT);
+      clustering.attributes().write(writer, ClusteringConfiguration.CLUSTER_LISTENER_BATCH_WINDOW, Attribute.CLUSTER_LISTENER_BATCH_WINDOW);
    }
 
    private void writeCommonCacheAttributesElements(XMLExtendedStreamWriter writer, String name, Configuration configuration) throws XMLStreamException {
@@ -423,7 +427,23 @@ private void writeCommonCacheAttributesElements(XMLExtendedStreamWriter writer,
       if (configuration.clustering().cacheMode().needsStateTransfer()) {
          configuration.clustering().stateTransfer().attributes().write(writer, Element.STATE_TRANSFER.getLocalName());
       }
-      configuration.clustering().partitionHandling().attributes().write(writer, Element.PARTITION_HANDLING.getLocalName());
+      writePartitionHandling(writer, configuration);
+   }
+
+   private void writePartitionHandling(XMLExtendedStreamWriter writer, Configuration configuration) throws XMLStreamException {
+      PartitionHandlingConfiguration partitionHandling = configuration.clustering().partitionHandling();
+      AttributeSet attributes = partitionHandling.attributes();
+      if (attributes.isModified()) {
+         writer.writeStartElement(Element.PARTITION_HANDLING);
+         attributes.write(writer);
+         EntryMergePolicy mergePolicy = partitionHandling.mergePolicy();
+         if (mergePolicy != null) {
+            // the parser reads the built-in policies by name and the custom ones by class name
+            writer.writeAttribute(Attribute.MERGE_POLICY, mergePolicy instanceof MergePolicies ?
+                  ((MergePolicies) mergePolicy).name() : mergePolicy.getClass().getName());
+         }
+         writer.writeEndElement();
+      }
    }
 
    private void writeCustomInterceptors(XMLExtendedStreamWriter writer, Configuration configuration) throws XMLStreamException {
@@ -533,6 +553,8 @@ private void writeBackup(XMLExtendedStreamWriter writer, Configuration configura
                stateTransfer.write(writer, XSiteStateTransferConfiguration.MAX_RETRIES, Attribute.MAX_RETRIES);
                stateTransfer.write(writer, XSiteStateTransferConfiguration.TIMEOUT, Attribute.TIMEOUT);
                stateTransfer.write(writer, XSiteStateTransferConfiguration.WAIT_TIME, Attribute.WAIT_TIME);
+               stateTransfer.write(writer, XSiteStateTransferConfiguration.CONCURRENCY, Attribute.CONCURRENCY);
+               stateTransfer.write(writer, XSiteStateTransferConfiguration.MAX_ENTRIES_PER_SECOND, Attribute.MAX_ENTRIES_PER_SECOND);
                writer.writeEndElement();
             }
             AttributeSet takeOffline = backup.takeOffline().attributes();
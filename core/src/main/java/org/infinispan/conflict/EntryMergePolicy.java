@@ -0,0 +1,29 @@
+package org.infinispan.conflict;
+
+import java.util.List;
+
+import org.infinispan.container.entries.CacheEntry;
+
+/**
+ * Decides the value of a key whose replicas diverged while the cluster was split.
+ * <p>
+ * After a merge, the replicas of each segment are compared and the policy is invoked once for every key with
+ * conflicting replicas. The returned entry is written to all the owners of the key, while a {@code null} return value
+ * removes the key from all of them.
+ * <p>
+ * Implementations must be thread-safe, as the segments are resolved in parallel.
+ *
+ * @see MergePolicies
+ * @since 9.1
+ */
+public interface EntryMergePolicy<K, V> {
+
+   /**
+    * @param preferredEntry the entry of the owner from the partition with the most members, or {@code null} if that
+    *                       owner does not have the key
+    * @param otherEntries   the entries of the other owners which have the key, and which differ from the preferred
+    *                       entry
+    * @return the entry to keep on all the owners, or {@code null} to remove the key
+    */
+   CacheEntry<K, V> merge(CacheEntry<K, V> preferredEntry, List<CacheEntry<K, V>> otherEntries);
+}
@@ -0,0 +1,55 @@
+package org.infinispan.conflict;
+
+import java.util.List;
+
+import org.infinispan.container.entries.CacheEntry;
+
+/**
+ * The built-in {@link EntryMergePolicy} implementations.
+ *
+ * @since 9.1
+ */
+public enum MergePolicies implements EntryMergePolicy<Object, Object> {
+   /**
+    * Always keeps the entry of the partition with the most members, removing the key if that partition does not have
+    * it.
+    */
+   PREFERRED_ALWAYS {
+      @Override
+      public CacheEntry<Object, Object> merge(CacheEntry<Object, Object> preferredEntry, List<CacheEntry<Object, Object>> otherEntries) {
+         return preferredEntry;
+      }
+   },
+   /**
+    * Keeps the entry of the partition with the most members, or the first of the other entries if that partition does
+    * not have the key.
+    */
+   PREFERRED_NON_NULL {
+      @Override
+      public CacheEntry<Object, Object> merge(CacheEntry<Object, Object> preferredEntry, List<CacheEntry<Object, Object>> otherEntries) {
+         if (preferredEntry != null || otherEntries.isEmpty())
+            return preferredEntry;
+         return otherEntries.get(0);
+      }
+   },
+   /**
+    * Removes all the keys with conflicting replicas.
+    */
+   REMOVE_ALL {
+      @Override
+      public CacheEntry<Object, Object> merge(CacheEntry<Object, Object> preferredEntry, List<CacheEntry<Object, Object>> otherEntries) {
+         return null;
+      }
+   };
+
+   /**
+    * @return the built-in policy with the given name, or {@code null} if there is no such policy
+    */
+   public static MergePolicies fromString(String name) {
+      for (MergePolicies policy : values()) {
+         if (policy.name().equalsIgnoreCase(name))
+            return policy;
+      }
+      return null;
+   }
+}
@@ -0,0 +1,177 @@
+package org.infinispan.conflict.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.commands.remote.BaseRpcCommand;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.util.SmallIntSet;
+import org.infinispan.util.ByteString;
+
+/**
+ * Requests the hashes or the entries of a replica, so that the {@link ConflictResolutionManager} of the primary owner
+ * can compare them with its own after a merge.
+ *
+ * @since 9.1
+ */
+public class ConflictResolutionCommand extends BaseRpcCommand {
+
+   public enum Type {
+      /**
+       * The digest of each segment in {@code segments}.
+       */
+      GET_SEGMENT_DIGESTS,
+      /**
+       * The hash of each entry in the buckets of each segment in {@code bucketsPerSegment}.
+       */
+      GET_ENTRY_HASHES,
+      /**
+       * The entries of the given {@code keys}.
+       */
+      GET_ENTRIES;
+
+      private static final Type[] CACHED_VALUES = values();
+   }
+
+   public static final byte COMMAND_ID = 68;
+
+   private Type type;
+   private Set<Integer> segments;
+   private Map<Integer, Set<Integer>> bucketsPerSegment;
+   private Collection<Object> keys;
+
+   private ConflictResolutionManager conflictResolutionManager;
+
+   private ConflictResolutionCommand() {
+      super(null); // for command id uniqueness test
+   }
+
+   public ConflictResolutionCommand(ByteString cacheName) {
+      super(cacheName);
+   }
+
+   private ConflictResolutionCommand(ByteString cacheName, Type type) {
+      super(cacheName);
+      this.type = type;
+   }
+
+   public static ConflictResolutionCommand segmentDigests(ByteString cacheName, Set<Integer> segments) {
+      ConflictResolutionCommand command = new ConflictResolutionCommand(cacheName, Type.GET_SEGMENT_DIGESTS);
+      command.segments = segments;
+      return command;
+   }
+
+   public static ConflictResolutionCommand entryHashes(ByteString cacheName, Map<Integer, Set<Integer>> bucketsPerSegment) {
+      ConflictResolutionCommand command = new ConflictResolutionCommand(cacheName, Type.GET_ENTRY_HASHES);
+      command.bucketsPerSegment = bucketsPerSegment;
+      return command;
+   }
+
+   public static ConflictResolutionCommand entries(ByteString cacheName, Collection<Object> keys) {
+      ConflictResolutionCommand command = new ConflictResolutionCommand(cacheName, Type.GET_ENTRIES);
+      command.keys = keys;
+      return command;
+   }
+
+   public void init(ConflictResolutionManager conflictResolutionManager) {
+      this.conflictResolutionManager = conflictResolutionManager;
+   }
+
+   @Override
+   public CompletableFuture<Object> invokeAsync() throws Throwable {
+      switch (type) {
+         case GET_SEGMENT_DIGESTS:
+            return CompletableFuture.completedFuture(conflictResolutionManager.getSegmentDigests(segments));
+         case GET_ENTRY_HASHES:
+            return CompletableFuture.completedFuture(conflictResolutionManager.getEntryHashes(bucketsPerSegment));
+         case GET_ENTRIES:
+            return CompletableFuture.completedFuture(conflictResolutionManager.getEntries(keys));
+         default:
+            throw new CacheException("Unknown conflict resolution command type: " + type);
+      }
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return true;
+   }
+
+   @Override
+   public boolean canBlock() {
+      // digests iterate over the whole data container
+      return true;
+   }
+
+   public Type getType() {
+      return type;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      MarshallUtil.marshallEnum(type, output);
+      switch (type) {
+         case GET_SEGMENT_DIGESTS:
+            MarshallUtil.marshallCollection(segments, output);
+            return;
+         case GET_ENTRY_HASHES:
+            output.writeInt(bucketsPerSegment.size());
+            for (Map.Entry<Integer, Set<Integer>> e : bucketsPerSegment.entrySet()) {
+               output.writeInt(e.getKey());
+               MarshallUtil.marshallCollection(e.getValue(), output);
+            }
+            return;
+         case GET_ENTRIES:
+            MarshallUtil.marshallCollection(keys, output);
+            return;
+         default:
+            throw new IllegalStateException("Unknown conflict resolution command type: " + type);
+      }
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      type = MarshallUtil.unmarshallEnum(input, ordinal -> Type.CACHED_VALUES[ordinal]);
+      switch (type) {
+         case GET_SEGMENT_DIGESTS:
+            segments = MarshallUtil.unmarshallCollectionUnbounded(input, SmallIntSet::new);
+            return;
+         case GET_ENTRY_HASHES:
+            int size = input.readInt();
+            bucketsPerSegment = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+               int segment = input.readInt();
+               bucketsPerSegment.put(segment, MarshallUtil.unmarshallCollectionUnbounded(input, SmallIntSet::new));
+            }
+            return;
+         case GET_ENTRIES:
+            keys = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+            return;
+         default:
+            throw new IllegalStateException("Unknown conflict resolution command type: " + type);
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "ConflictResolutionCommand{" +
+            "cache=" + cacheName +
+            ", type=" + type +
+            ", segments=" + segments +
+            ", bucketsPerSegment=" + bucketsPerSegment +
+            ", keys=" + keys +
+            '}';
+   }
+}
@@ -0,0 +1,573 @@
+package org.infinispan.conflict.impl;
+
+import static org.infinispan.factories.KnownComponentNames.STATE_TRANSFER_EXECUTOR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.transaction.TransactionManager;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.write.RemoveCommand;
+import org.infinispan.commands.write.ValueMatcher;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.SmallIntSet;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.conflict.EntryMergePolicy;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.InternalCacheValue;
+import org.infinispan.context.Flag;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.InvocationContextFactory;
+import org.infinispan.context.impl.FlagBitSets;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.executors.LimitedExecutor;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.SuccessfulResponse;
+import org.infinispan.remoting.rpc.ResponseMode;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcOptions;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.topology.CacheTopology;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Resolves the conflicts between the replicas of the partitions which merged, using the configured
+ * {@link EntryMergePolicy}.
+ * <p>
+ * When the partitions merge, the coordinator installs the union of their consistent hashes, so every node keeps its
+ * data, and each node resolves the segments for which it is the primary owner. The replicas are compared in three
+ * steps, each one only transferring the differences found by the previous one:
+ * <ol>
+ *    <li>The digest of each segment, made of the hashes of its {@link #NUM_BUCKETS} buckets. Each bucket hash
+ *    combines the hashes of the keys, values and versions in the bucket, independently of their order.</li>
+ *    <li>The hash of each entry in the buckets whose hashes differ.</li>
+ *    <li>The entries of the keys whose hashes differ, which are merged and written to all the owners.</li>
+ * </ol>
+ * At most {@link org.infinispan.configuration.cache.PartitionHandlingConfiguration#conflictResolutionConcurrency()}
+ * segments are resolved in parallel, and the rebalance following the merge is only confirmed once all the segments
+ * have been resolved, because it discards the data of the extra owners.
+ * <p>
+ * The hashes rely on {@link Object#hashCode()}, so values with an identity hash code are always seen as conflicting
+ * and handed to the merge policy.
+ *
+ * @since 9.1
+ */
+@MBean(objectName = "ConflictResolutionManager", description = "Resolves the conflicting replicas after a merge")
+public class ConflictResolutionManager {
+
+   private static final Log log = LogFactory.getLog(ConflictResolutionManager.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   /**
+    * The number of buckets in a segment digest.
+    */
+   static final int NUM_BUCKETS = 64;
+   /**
+    * The maximum number of entries requested from an owner at once.
+    */
+   static final int ENTRIES_BATCH_SIZE = 128;
+
+   private Cache<Object, Object> cache;
+   private Configuration configuration;
+   private DataContainer<Object, Object> dataContainer;
+   private RpcManager rpcManager;
+   private CommandsFactory commandsFactory;
+   private KeyPartitioner keyPartitioner;
+   private ExecutorService stateTransferExecutor;
+   private InvocationContextFactory invocationContextFactory;
+   private AsyncInterceptorChain invoker;
+   private TransactionManager transactionManager;
+   private EntryMergePolicy<Object, Object> mergePolicy;
+   private AdvancedCache<Object, Object> writeCache;
+   private RpcOptions rpcOptions;
+   private volatile boolean running;
+
+   private volatile CompletableFuture<Void> resolutionFuture = CompletableFutures.completedNull();
+   private volatile CompletableFuture<Void> topologyInstalled;
+   private final AtomicInteger segmentsToCompare = new AtomicInteger();
+   private final AtomicInteger segmentsCompared = new AtomicInteger();
+   private final AtomicInteger conflictingSegments = new AtomicInteger();
+   private final LongAdder conflictsResolved = new LongAdder();
+
+   @Inject
+   public void init(Cache<Object, Object> cache, Configuration configuration, DataContainer<Object, Object> dataContainer,
+                    RpcManager rpcManager, CommandsFactory commandsFactory, KeyPartitioner keyPartitioner,
+                    @ComponentName(STATE_TRANSFER_EXECUTOR) ExecutorService stateTransferExecutor,
+                    InvocationContextFactory invocationContextFactory, AsyncInterceptorChain invoker,
+                    TransactionManager transactionManager) {
+      this.cache = cache;
+      this.configuration = configuration;
+      this.dataContainer = dataContainer;
+      this.rpcManager = rpcManager;
+      this.commandsFactory = commandsFactory;
+      this.keyPartitioner = keyPartitioner;
+      this.stateTransferExecutor = stateTransferExecutor;
+      this.invocationContextFactory = invocationContextFactory;
+      this.invoker = invoker;
+      this.transactionManager = transactionManager;
+   }
+
+   @Start
+   @SuppressWarnings("unchecked")
+   public void start() {
+      mergePolicy = configuration.clustering().partitionHandling().mergePolicy();
+      if (mergePolicy == null || rpcManager == null)
+         return;
+
+      writeCache = cache.getAdvancedCache().withFlags(Flag.SKIP_CACHE_LOAD);
+      rpcOptions = rpcManager.getRpcOptionsBuilder(ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS)
+            .timeout(configuration.clustering().stateTransfer().timeout(), TimeUnit.MILLISECONDS).build();
+      running = true;
+   }
+
+   @Stop
+   public void stop() {
+      running = false;
+      onTopologyInstalled();
+   }
+
+   /**
+    * Prepares the resolution of the conflicts if the new topology merges several partitions, i.e. if its current
+    * consistent hash contains owners which were not members of the previous topology.
+    * <p>
+    * Must be invoked before the topology is installed, so that the end of the rebalance is not confirmed before the
+    * resolution completes. The resolution itself starts in {@link #onTopologyInstalled()}, so that the merged entries
+    * are written to the owners of the new topology.
+    */
+   public void onTopologyUpdate(CacheTopology oldTopology, CacheTopology newTopology) {
+      if (!running || oldTopology == null)
+         return;
+
+      Set<Address> knownMembers = new HashSet<>(oldTopology.getCurrentCH().getMembers());
+      if (oldTopology.getPendingCH() != null) {
+         knownMembers.addAll(oldTopology.getPendingCH().getMembers());
+      }
+      ConsistentHash mergedCH = newTopology.getCurrentCH();
+      if (knownMembers.containsAll(mergedCH.getMembers()))
+         return;
+
+      log.debugf("Cache %s merged with members %s, resolving conflicts in topology %d", cache.getName(),
+            mergedCH.getMembers(), newTopology.getTopologyId());
+      CompletableFuture<Void> installed = new CompletableFuture<>();
+      topologyInstalled = installed;
+      resolutionFuture = CompletableFuture.allOf(getResolutionFuture(), installed)
+            .thenCompose(ignored -> resolveConflicts(mergedCH))
+            .whenComplete((ignored, throwable) -> {
+               if (throwable != null) {
+                  log.failedToResolveConflicts(cache.getName(), throwable);
+               } else {
+                  log.debugf("Resolved %d conflicts in %d segments of cache %s", conflictsResolved.sum(),
+                        conflictingSegments.get(), cache.getName());
+               }
+            });
+   }
+
+   /**
+    * Starts the conflict resolution prepared by {@link #onTopologyUpdate(CacheTopology, CacheTopology)}, if any.
+    */
+   public void onTopologyInstalled() {
+      CompletableFuture<Void> installed = topologyInstalled;
+      if (installed != null) {
+         topologyInstalled = null;
+         installed.complete(null);
+      }
+   }
+
+   /**
+    * @return a stage completed when the current conflict resolution, if any, completes
+    */
+   public CompletableFuture<Void> getResolutionFuture() {
+      return resolutionFuture.handle((ignored, throwable) -> (Void) null);
+   }
+
+   private CompletableFuture<Void> resolveConflicts(ConsistentHash mergedCH) {
+      segmentsToCompare.set(0);
+      segmentsCompared.set(0);
+      conflictingSegments.set(0);
+      conflictsResolved.reset();
+
+      return CompletableFuture.supplyAsync(() -> findConflicts(mergedCH), stateTransferExecutor)
+            .thenCompose(conflicts -> {
+               LimitedExecutor executor = new LimitedExecutor("ConflictResolution-" + cache.getName(),
+                     stateTransferExecutor, configuration.clustering().partitionHandling().conflictResolutionConcurrency());
+               CompletableFuture<?>[] futures = new CompletableFuture[conflicts.size()];
+               int i = 0;
+               for (SegmentConflicts segmentConflicts : conflicts.values()) {
+                  futures[i++] = CompletableFuture.runAsync(() -> resolveSegment(segmentConflicts), executor);
+               }
+               return CompletableFuture.allOf(futures);
+            });
+   }
+
+   /**
+    * Compares the digests of the segments owned by other nodes as well, and then the entry hashes of the buckets whose
+    * digests differ. Each node iterates over its data container once for the digests of all the segments and once for
+    * the entry hashes of all the buckets.
+    *
+    * @return the conflicting keys and the owners with conflicting replicas, for each segment with conflicts
+    */
+   private Map<Integer, SegmentConflicts> findConflicts(ConsistentHash mergedCH) {
+      if (!running)
+         return Collections.emptyMap();
+
+      Address localAddress = rpcManager.getAddress();
+      Map<Address, Set<Integer>> segmentsByOwner = new HashMap<>();
+      Set<Integer> segments = new SmallIntSet(mergedCH.getNumSegments());
+      for (int segment : mergedCH.getPrimarySegmentsForOwner(localAddress)) {
+         for (Address owner : mergedCH.locateOwnersForSegment(segment)) {
+            if (!owner.equals(localAddress)) {
+               segmentsByOwner.computeIfAbsent(owner, o -> new SmallIntSet(mergedCH.getNumSegments())).add(segment);
+               segments.add(segment);
+            }
+         }
+      }
+      segmentsToCompare.set(segments.size());
+      if (segments.isEmpty())
+         return Collections.emptyMap();
+
+      Map<Address, ConflictResolutionCommand> digestCommands = new HashMap<>();
+      segmentsByOwner.forEach((owner, ownerSegments) ->
+            digestCommands.put(owner, commandsFactory.buildSegmentDigestsCommand(ownerSegments)));
+      Map<Address, CompletableFuture<Map<Address, Response>>> digestRequests = invokeAll(digestCommands);
+      Map<Integer, long[]> localDigests = getSegmentDigests(segments);
+      Map<Address, Map<Integer, Set<Integer>>> bucketsByOwner = new HashMap<>();
+      Map<Integer, Set<Integer>> localBuckets = new HashMap<>();
+      for (Map.Entry<Address, CompletableFuture<Map<Address, Response>>> e : digestRequests.entrySet()) {
+         Address owner = e.getKey();
+         Map<Integer, long[]> remoteDigests = result(owner, e.getValue());
+         if (remoteDigests == null)
+            continue;
+
+         for (Map.Entry<Integer, long[]> digest : remoteDigests.entrySet()) {
+            Integer segment = digest.getKey();
+            long[] localDigest = localDigests.get(segment);
+            long[] remoteDigest = digest.getValue();
+            for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+               if (remoteDigest[bucket] != localDigest[bucket]) {
+                  bucketsByOwner.computeIfAbsent(owner, o -> new HashMap<>())
+                        .computeIfAbsent(segment, s -> new SmallIntSet(NUM_BUCKETS)).add(bucket);
+                  localBuckets.computeIfAbsent(segment, s -> new SmallIntSet(NUM_BUCKETS)).add(bucket);
+               }
+            }
+         }
+      }
+      segmentsCompared.set(segments.size() - localBuckets.size());
+      conflictingSegments.set(localBuckets.size());
+      if (trace) log.tracef("Segments %s of cache %s have conflicts", localBuckets.keySet(), cache.getName());
+      if (localBuckets.isEmpty())
+         return Collections.emptyMap();
+
+      Map<Address, ConflictResolutionCommand> hashCommands = new HashMap<>();
+      bucketsByOwner.forEach((owner, buckets) -> hashCommands.put(owner, commandsFactory.buildEntryHashesCommand(buckets)));
+      Map<Address, CompletableFuture<Map<Address, Response>>> hashRequests = invokeAll(hashCommands);
+      Map<Integer, Map<Object, Long>> localHashes = getEntryHashes(localBuckets);
+      Map<Integer, SegmentConflicts> conflicts = new HashMap<>();
+      for (Map.Entry<Address, CompletableFuture<Map<Address, Response>>> e : hashRequests.entrySet()) {
+         Address owner = e.getKey();
+         Map<Integer, Map<Object, Long>> remoteHashes = result(owner, e.getValue());
+         if (remoteHashes == null)
+            continue;
+
+         for (Map.Entry<Integer, Set<Integer>> segmentBuckets : bucketsByOwner.get(owner).entrySet()) {
+            Integer segment = segmentBuckets.getKey();
+            Set<Integer> buckets = segmentBuckets.getValue();
+            Map<Object, Long> local = localHashes.getOrDefault(segment, Collections.emptyMap());
+            Map<Object, Long> remote = remoteHashes.getOrDefault(segment, Collections.emptyMap());
+            SegmentConflicts segmentConflicts = conflicts.computeIfAbsent(segment, SegmentConflicts::new);
+            segmentConflicts.owners.add(owner);
+            for (Map.Entry<Object, Long> hash : remote.entrySet()) {
+               if (!hash.getValue().equals(local.get(hash.getKey()))) {
+                  segmentConflicts.keys.add(hash.getKey());
+               }
+            }
+            for (Object key : local.keySet()) {
+               if (buckets.contains(bucket(key)) && !remote.containsKey(key)) {
+                  segmentConflicts.keys.add(key);
+               }
+            }
+         }
+      }
+      // the owners with differing digests left, the segments have nothing left to resolve
+      segmentsCompared.addAndGet(localBuckets.size() - conflicts.size());
+      return conflicts;
+   }
+
+   private void resolveSegment(SegmentConflicts conflicts) {
+      if (trace) log.tracef("Keys %s of segment %d have conflicts", conflicts.keys, conflicts.segment);
+
+      Iterator<Object> it = conflicts.keys.iterator();
+      while (it.hasNext() && running) {
+         List<Object> batch = new ArrayList<>(ENTRIES_BATCH_SIZE);
+         while (it.hasNext() && batch.size() < ENTRIES_BATCH_SIZE) {
+            batch.add(it.next());
+         }
+         resolveKeys(batch, conflicts.owners);
+      }
+      segmentsCompared.incrementAndGet();
+   }
+
+   private void resolveKeys(List<Object> keys, List<Address> owners) {
+      Map<Address, ConflictResolutionCommand> commands = new LinkedHashMap<>();
+      owners.forEach(owner -> commands.put(owner, commandsFactory.buildConflictEntriesCommand(keys)));
+      List<Map<Object, InternalCacheValue<Object>>> remoteEntries = new ArrayList<>(owners.size());
+      invokeAll(commands).forEach((owner, request) -> {
+         Map<Object, InternalCacheValue<Object>> entries = result(owner, request);
+         if (entries != null) {
+            remoteEntries.add(entries);
+         }
+      });
+
+      for (Object key : keys) {
+         InternalCacheEntry<Object, Object> preferredEntry = dataContainer.get(key);
+         long preferredHash = preferredEntry != null ? entryHash(preferredEntry) : 0;
+         List<CacheEntry<Object, Object>> otherEntries = new ArrayList<>(remoteEntries.size());
+         for (Map<Object, InternalCacheValue<Object>> entries : remoteEntries) {
+            InternalCacheValue<Object> value = entries.get(key);
+            if (value != null) {
+               InternalCacheEntry<Object, Object> entry = value.toInternalCacheEntry(key);
+               if (preferredEntry == null || entryHash(entry) != preferredHash) {
+                  otherEntries.add(entry);
+               }
+            }
+         }
+         if (otherEntries.isEmpty() && preferredEntry == null)
+            continue;
+
+         CacheEntry<Object, Object> mergedEntry = mergePolicy.merge(preferredEntry, otherEntries);
+         if (trace) log.tracef("Merged the entries of key %s into %s", key, mergedEntry);
+         if (writeMergedEntry(key, preferredEntry, otherEntries, mergedEntry)) {
+            conflictsResolved.increment();
+         } else if (trace) {
+            log.tracef("Key %s was modified during the conflict resolution, keeping its new value", key);
+         }
+      }
+   }
+
+   /**
+    * Writes the merged entry to all the owners, unless the key was modified since the preferred entry was read: a user
+    * write during the resolution already replaced the conflicting replicas, so it must not be overwritten.
+    *
+    * @return {@code false} if the key was modified since the preferred entry was read
+    */
+   private boolean writeMergedEntry(Object key, CacheEntry<Object, Object> preferredEntry,
+                                    List<CacheEntry<Object, Object>> otherEntries, CacheEntry<Object, Object> mergedEntry) {
+      if (preferredEntry != null) {
+         if (mergedEntry == null) {
+            return writeCache.remove(key, preferredEntry.getValue());
+         }
+         return writeCache.replace(key, preferredEntry.getValue(), mergedEntry.getValue(), mergedEntry.getMetadata());
+      }
+      if (mergedEntry != null) {
+         return writeCache.putIfAbsent(key, mergedEntry.getValue(), mergedEntry.getMetadata()) == null;
+      }
+      return removeIfAbsent(key);
+   }
+
+   /**
+    * Removes the key from the other owners if the primary owner still has no value. The primary owner checks the absence
+    * of the value under the key lock, and the backup owners then apply the remove whatever their value is.
+    *
+    * @return {@code false} if the key was written since the preferred entry was read
+    */
+   private boolean removeIfAbsent(Object key) {
+      RemoveCommand command = commandsFactory.buildRemoveCommand(key, null, FlagBitSets.SKIP_CACHE_LOAD);
+      command.setValueMatcher(ValueMatcher.MATCH_EXPECTED);
+      if (transactionManager == null) {
+         InvocationContext ctx = invocationContextFactory.createInvocationContext(true, 1);
+         ctx.setLockOwner(command.getKeyLockOwner());
+         invoker.invoke(ctx, command);
+         return command.isSuccessful();
+      }
+      try {
+         transactionManager.begin();
+         try {
+            InvocationContext ctx = invocationContextFactory.createInvocationContext(transactionManager.getTransaction(), true);
+            invoker.invoke(ctx, command);
+         } catch (Throwable t) {
+            transactionManager.rollback();
+            throw t;
+         }
+         transactionManager.commit();
+      } catch (RuntimeException e) {
+         throw e;
+      } catch (Throwable t) {
+         throw new CacheException(t);
+      }
+      return command.isSuccessful();
+   }
+
+   /**
+    * Sends the commands to their owners in parallel.
+    */
+   private Map<Address, CompletableFuture<Map<Address, Response>>> invokeAll(Map<Address, ConflictResolutionCommand> commands) {
+      Map<Address, CompletableFuture<Map<Address, Response>>> requests = new LinkedHashMap<>();
+      commands.forEach((owner, command) ->
+            requests.put(owner, rpcManager.invokeRemotelyAsync(Collections.singleton(owner), command, rpcOptions)));
+      return requests;
+   }
+
+   /**
+    * @return the value returned by the owner, or {@code null} if it did not reply successfully
+    */
+   @SuppressWarnings("unchecked")
+   private <T> T result(Address owner, CompletableFuture<Map<Address, Response>> request) {
+      Response response = request.join().get(owner);
+      if (response instanceof SuccessfulResponse) {
+         return (T) ((SuccessfulResponse) response).getResponseValue();
+      }
+      // the owner left, the rebalance will take its segments
+      if (trace) log.tracef("Ignoring owner %s of cache %s, which replied %s", owner, cache.getName(), response);
+      return null;
+   }
+
+   /**
+    * @return the digest of each of the given segments, in a single pass over the data container
+    */
+   Map<Integer, long[]> getSegmentDigests(Set<Integer> segments) {
+      Map<Integer, long[]> digests = new HashMap<>();
+      for (Integer segment : segments) {
+         digests.put(segment, new long[NUM_BUCKETS]);
+      }
+      for (InternalCacheEntry<Object, Object> entry : dataContainer) {
+         long[] digest = digests.get(keyPartitioner.getSegment(entry.getKey()));
+         if (digest != null) {
+            // addition is commutative, so the digest doesn't depend on the iteration order
+            digest[bucket(entry.getKey())] += entryHash(entry);
+         }
+      }
+      return digests;
+   }
+
+   /**
+    * @return the hash of each entry in the given buckets of each segment, in a single pass over the data container
+    */
+   Map<Integer, Map<Object, Long>> getEntryHashes(Map<Integer, Set<Integer>> bucketsPerSegment) {
+      Map<Integer, Map<Object, Long>> hashes = new HashMap<>();
+      for (InternalCacheEntry<Object, Object> entry : dataContainer) {
+         Object key = entry.getKey();
+         int segment = keyPartitioner.getSegment(key);
+         Set<Integer> buckets = bucketsPerSegment.get(segment);
+         if (buckets != null && buckets.contains(bucket(key))) {
+            hashes.computeIfAbsent(segment, s -> new HashMap<>()).put(key, entryHash(entry));
+         }
+      }
+      return hashes;
+   }
+
+   /**
+    * @return the entries of the given keys, missing keys excluded
+    */
+   Map<Object, InternalCacheValue<Object>> getEntries(Collection<Object> keys) {
+      Map<Object, InternalCacheValue<Object>> entries = new HashMap<>();
+      for (Object key : keys) {
+         InternalCacheEntry<Object, Object> entry = dataContainer.get(key);
+         if (entry != null) {
+            entries.put(key, entry.toInternalCacheValue());
+         }
+      }
+      return entries;
+   }
+
+   /**
+    * The keys with conflicting replicas in a segment, and the owners whose replicas differ from the local one.
+    */
+   private static class SegmentConflicts {
+      final int segment;
+      final Set<Object> keys = new HashSet<>();
+      final List<Address> owners = new ArrayList<>();
+
+      SegmentConflicts(int segment) {
+         this.segment = segment;
+      }
+   }
+
+   private static int bucket(Object key) {
+      return (int) (mix(hash(key)) >>> (Long.SIZE - Integer.numberOfTrailingZeros(NUM_BUCKETS)));
+   }
+
+   private static long entryHash(InternalCacheEntry<Object, Object> entry) {
+      long hash = hash(entry.getKey());
+      hash = 31 * hash + hash(entry.getValue());
+      if (entry.getMetadata() != null) {
+         hash = 31 * hash + Objects.hashCode(entry.getMetadata().version());
+      }
+      return mix(hash);
+   }
+
+   private static int hash(Object o) {
+      return o instanceof byte[] ? Arrays.hashCode((byte[]) o) : Objects.hashCode(o);
+   }
+
+   /**
+    * The finalizer of MurmurHash3, spreading the bits of the hash codes over the whole long.
+    */
+   private static long mix(long h) {
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return h;
+   }
+
+   @ManagedAttribute(description = "Shows whether the conflicts of a merge are being resolved", displayName = "Is conflict resolution in progress")
+   public boolean isConflictResolutionInProgress() {
+      return !resolutionFuture.isDone();
+   }
+
+   @ManagedAttribute(description = "Number of segments to compare in the last conflict resolution", displayName = "Segments to compare",
+         measurementType = MeasurementType.DYNAMIC, dataType = DataType.MEASUREMENT)
+   public int getSegmentsToCompare() {
+      return segmentsToCompare.get();
+   }
+
+   @ManagedAttribute(description = "Number of segments compared and resolved in the last conflict resolution", displayName = "Segments compared",
+         measurementType = MeasurementType.DYNAMIC, dataType = DataType.MEASUREMENT)
+   public int getSegmentsCompared() {
+      return segmentsCompared.get();
+   }
+
+   @ManagedAttribute(description = "Number of segments with conflicting replicas in the last conflict resolution", displayName = "Conflicting segments",
+         measurementType = MeasurementType.DYNAMIC, dataType = DataType.MEASUREMENT)
+   public int getConflictingSegments() {
+      return conflictingSegments.get();
+   }
+
+   @ManagedAttribute(description = "Number of keys merged in the last conflict resolution", displayName = "Conflicts resolved",
+         measurementType = MeasurementType.DYNAMIC, dataType = DataType.MEASUREMENT)
+   public long getConflictsResolved() {
+      return conflictsResolved.sum();
+   }
+}
@@ -272,7 +272,17 @@ public enum Flag {
    /**
     * Flag to identity that data is being written as part of a Rolling Upgrade.
     */
-   ROLLING_UPGRADE
+   ROLLING_UPGRADE,
+
+   /**
+    * Forces a shared lock on a read operation in a pessimistic transaction. Unlike {@link #FORCE_WRITE_LOCK}, other
+    * transactions are still able to acquire the shared lock and read the entry, but they are not able to update it
+    * until this transaction completes. Writing the entry later in the same transaction upgrades the lock to an
+    * exclusive lock. It is analogous to a <tt>select ... for share</tt> SQL statement.
+    * <p>
+    * If used together with {@link #FORCE_WRITE_LOCK}, the exclusive lock is acquired.
+    */
+   FORCE_READ_LOCK
 
    ;
 
@@ -38,6 +38,7 @@ public class FlagBitSets {
    public static final long SKIP_INDEX_CLEANUP = EnumUtil.bitSetOf(Flag.SKIP_INDEX_CLEANUP);
    public static final long COMMAND_RETRY = EnumUtil.bitSetOf(Flag.COMMAND_RETRY);
    public static final long ROLLING_UPGRADE = EnumUtil.bitSetOf(Flag.ROLLING_UPGRADE);
+   public static final long FORCE_READ_LOCK = EnumUtil.bitSetOf(Flag.FORCE_READ_LOCK);
 
    /**
     * Creates a copy of a Flag BitSet removing instances of FAIL_SILENTLY.
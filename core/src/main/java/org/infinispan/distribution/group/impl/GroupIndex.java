@@ -0,0 +1,110 @@
+package org.infinispan.distribution.group.impl;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+
+/**
+ * Keeps track of the keys of each group present in the {@link DataContainer}, so that the keys of a group can be
+ * found without iterating over the whole container.
+ * <p>
+ * The index is updated after each commit, after each entry loaded from a store, and after each entry evicted or
+ * expired, by looking up the key in the data container. The off-heap container doesn't report its evictions, so the
+ * index may still contain keys no longer in the container. They are removed when their group is read.
+ *
+ * @since 9.1
+ */
+@Scope(Scopes.NAMED_CACHE)
+public class GroupIndex {
+
+   private final ConcurrentMap<String, Set<Object>> groups = new ConcurrentHashMap<>();
+   private DataContainer<Object, Object> dataContainer;
+   private GroupManager groupManager;
+
+   @Inject
+   public void inject(DataContainer<Object, Object> dataContainer, GroupManager groupManager) {
+      this.dataContainer = dataContainer;
+      this.groupManager = groupManager;
+   }
+
+   /**
+    * Updates the index after the key has been written, removed or loaded in the data container.
+    *
+    * @param key the key.
+    */
+   public void update(Object key) {
+      String group = groupManager.getGroup(key);
+      if (group == null) {
+         return;
+      }
+      if (dataContainer.peek(key) != null) {
+         add(group, key);
+      } else {
+         remove(group, key);
+      }
+   }
+
+   /**
+    * Removes all the keys from the index, after the data container has been cleared.
+    */
+   public void clear() {
+      groups.clear();
+   }
+
+   /**
+    * Executes the action for each entry in the data container belonging to the group.
+    *
+    * @param group  the group name.
+    * @param action the action to execute.
+    */
+   public void forEach(String group, BiConsumer<Object, InternalCacheEntry<Object, Object>> action) {
+      Set<Object> keys = groups.get(group);
+      if (keys == null) {
+         return;
+      }
+      for (Object key : keys) {
+         InternalCacheEntry<Object, Object> entry = dataContainer.peek(key);
+         if (entry != null) {
+            action.accept(key, entry);
+         } else {
+            remove(group, key);
+         }
+      }
+   }
+
+   /**
+    * @return the number of keys indexed for the group, including the ones no longer in the data container.
+    */
+   public int size(String group) {
+      Set<Object> keys = groups.get(group);
+      return keys == null ? 0 : keys.size();
+   }
+
+   private void add(String group, Object key) {
+      groups.compute(group, (g, keys) -> {
+         if (keys == null) {
+            keys = ConcurrentHashMap.newKeySet();
+         }
+         keys.add(key);
+         return keys;
+      });
+   }
+
+   private void remove(String group, Object key) {
+      groups.computeIfPresent(group, (g, keys) -> {
+         keys.remove(key);
+         return keys.isEmpty() ? null : keys;
+      });
+      // a concurrent write may have added the key to the container before it was removed from the index
+      if (dataContainer.peek(key) != null) {
+         add(group, key);
+      }
+   }
+}
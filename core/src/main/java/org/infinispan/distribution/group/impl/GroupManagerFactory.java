@@ -8,7 +8,7 @@
 import org.infinispan.factories.scopes.Scopes;
 
 @Scope(Scopes.NAMED_CACHE)
-@DefaultFactoryFor(classes = GroupManager.class)
+@DefaultFactoryFor(classes = {GroupManager.class, GroupIndex.class})
 public class GroupManagerFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
 
    @Override
@@ -17,6 +17,9 @@ public <T> T construct(Class<T> componentType) {
       if (!groupsConfiguration.enabled())
          return null;
 
+      if (componentType.equals(GroupIndex.class))
+         return componentType.cast(new GroupIndex());
+
       return componentType.cast(new GroupManagerImpl(groupsConfiguration.groupers()));
    }
 }
@@ -6,6 +6,7 @@
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.ImmutableContext;
+import org.infinispan.distribution.group.impl.GroupIndex;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.interceptors.AsyncInterceptorChain;
@@ -20,6 +21,7 @@
    private CacheNotifier<K, V> cacheNotifier;
    private AsyncInterceptorChain interceptorChain;
    private Configuration cfg;
+   private GroupIndex groupIndex;
 
    @Inject
    public void initialize(CacheNotifier<K, V> cacheNotifier, Configuration cfg,  AsyncInterceptorChain chain) {
@@ -28,6 +30,11 @@ public void initialize(CacheNotifier<K, V> cacheNotifier, Configuration cfg,  As
       this.interceptorChain = chain;
    }
 
+   @Inject
+   public void injectGroupIndex(GroupIndex groupIndex) {
+      this.groupIndex = groupIndex;
+   }
+
    @Override
    public void onEntryEviction(Map<? extends K, InternalCacheEntry<? extends K, ? extends V>> evicted) {
       // don't reuse the threadlocal context as we don't want to include eviction
@@ -45,6 +52,13 @@ public void onEntryEviction(Map<? extends K, InternalCacheEntry<? extends K, ? e
       if (cfg.jmxStatistics().enabled()) {
          updateEvictionStatistics(evicted);
       }
+
+      // the evicted entries are already removed from the data container, so the index drops them
+      if (groupIndex != null) {
+         for (K key : evicted.keySet()) {
+            groupIndex.update(key);
+         }
+      }
    }
 
    private void updateEvictionStatistics(Map<? extends K, InternalCacheEntry<? extends K, ? extends V>> evicted) {
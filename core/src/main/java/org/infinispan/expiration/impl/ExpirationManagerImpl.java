@@ -12,6 +12,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.group.impl.GroupIndex;
 import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
@@ -43,6 +44,7 @@
    protected TimeService timeService;
    protected boolean enabled;
    protected String cacheName;
+   protected GroupIndex groupIndex;
 
    /**
     * This map is used for performance reasons.  Essentially when an expiration event should not be raised this
@@ -74,6 +76,11 @@ void initialize(ScheduledExecutorService executor, String cacheName, Configurati
       this.expiring = new ConcurrentHashMap<>();
    }
 
+   @Inject
+   public void injectGroupIndex(GroupIndex groupIndex) {
+      this.groupIndex = groupIndex;
+   }
+
 
    @Start(priority = 55)
    // make sure this starts after the PersistenceManager
@@ -142,6 +149,7 @@ public void handleInMemoryExpiration(InternalCacheEntry<K, V> entry, long curren
          }
          return oldEntry;
       }));
+      updateGroupIndex(entry.getKey());
    }
 
    @Override
@@ -183,6 +191,16 @@ private void handleInStoreExpiration(K key, V value, Metadata metadata) {
          }
          return oldEntry;
       });
+      updateGroupIndex(key);
+   }
+
+   /**
+    * Removes the key from the group index if it was expired, the index is not notified by the data container.
+    */
+   private void updateGroupIndex(K key) {
+      if (groupIndex != null) {
+         groupIndex.update(key);
+      }
    }
 
    /**
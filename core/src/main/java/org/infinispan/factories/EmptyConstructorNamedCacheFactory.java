@@ -11,6 +11,7 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.io.ByteBufferFactoryImpl;
 import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.conflict.impl.ConflictResolutionManager;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.NonTransactionalInvocationContextFactory;
 import org.infinispan.context.TransactionalInvocationContextFactory;
@@ -38,6 +39,7 @@
 import org.infinispan.statetransfer.CommitManager;
 import org.infinispan.statetransfer.StateTransferLock;
 import org.infinispan.statetransfer.StateTransferLockImpl;
+import org.infinispan.transaction.impl.GroupCommitManager;
 import org.infinispan.transaction.impl.TransactionCoordinator;
 import org.infinispan.transaction.totalorder.TotalOrderManager;
 import org.infinispan.transaction.xa.TransactionFactory;
@@ -68,7 +70,8 @@
                               TotalOrderManager.class, ByteBufferFactory.class, MarshalledEntryFactory.class,
                               RemoteValueRetrievedListener.class, InvocationContextFactory.class, CommitManager.class,
                               XSiteStateTransferManager.class, XSiteStateConsumer.class, XSiteStateProvider.class,
-                              FunctionalNotifier.class, CommandAckCollector.class, TriangleOrderManager.class})
+                              FunctionalNotifier.class, CommandAckCollector.class, TriangleOrderManager.class,
+                              GroupCommitManager.class, ConflictResolutionManager.class})
 public class EmptyConstructorNamedCacheFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
 
    @Override
@@ -108,6 +111,10 @@ public <T> T construct(Class<T> componentType) {
             return (T) new BatchContainer();
          } else if (componentType.equals(TransactionCoordinator.class)) {
             return (T) new TransactionCoordinator();
+         } else if (componentType.equals(GroupCommitManager.class)) {
+            return (T) new GroupCommitManager();
+         } else if (componentType.equals(ConflictResolutionManager.class)) {
+            return (T) new ConflictResolutionManager();
          } else if (componentType.equals(RecoveryAdminOperations.class)) {
             return (T) new RecoveryAdminOperations();
          } else if (componentType.equals(StateTransferLock.class)) {
@@ -5,6 +5,7 @@
 import org.infinispan.util.concurrent.locks.PendingLockManager;
 import org.infinispan.util.concurrent.locks.impl.DefaultLockManager;
 import org.infinispan.util.concurrent.locks.impl.DefaultPendingLockManager;
+import org.infinispan.util.concurrent.locks.impl.LockProfiler;
 import org.infinispan.util.concurrent.locks.impl.NoOpPendingLockManager;
 
 /**
@@ -13,7 +14,7 @@
  * @author Manik Surtani (<a href="mailto:manik@jboss.org">manik@jboss.org</a>)
  * @since 4.0
  */
-@DefaultFactoryFor(classes = {LockManager.class, PendingLockManager.class} )
+@DefaultFactoryFor(classes = {LockManager.class, PendingLockManager.class, LockProfiler.class} )
 public class LockManagerFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
 
    @Override
@@ -24,6 +25,8 @@ public <T> T construct(Class<T> componentType) {
                                          NoOpPendingLockManager.getInstance());
       } else if (LockManager.class.equals(componentType)) {
          return componentType.cast(new DefaultLockManager());
+      } else if (LockProfiler.class.equals(componentType)) {
+         return componentType.cast(new LockProfiler());
       }
       throw new IllegalArgumentException("Unexpected component type " + componentType + ".");
    }
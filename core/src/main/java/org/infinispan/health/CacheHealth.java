@@ -1,5 +1,8 @@
 package org.infinispan.health;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Cache health information.
  *
@@ -17,4 +20,15 @@ public interface CacheHealth {
      * Returns Cache health status.
      */
     HealthStatus getStatus();
+
+    /**
+     * Returns a description of the keys whose locks have been waited on the most, hottest first. The list is empty
+     * if the lock profiler is disabled or no lock contention has been seen. The default implementation returns an
+     * empty list.
+     *
+     * @since 9.1
+     */
+    default List<String> getHotLocks() {
+        return Collections.emptyList();
+    }
 }
@@ -1,11 +1,16 @@
 package org.infinispan.health.impl;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
 import org.infinispan.distribution.DistributionManager;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.health.CacheHealth;
 import org.infinispan.health.HealthStatus;
 import org.infinispan.partitionhandling.AvailabilityMode;
+import org.infinispan.util.concurrent.locks.impl.LockProfiler;
 
 public class CacheHealthImpl implements CacheHealth {
 
@@ -32,6 +37,16 @@ public HealthStatus getStatus() {
         return HealthStatus.HEALTHY;
     }
 
+    @Override
+    public List<String> getHotLocks() {
+        ComponentRegistry componentRegistry = cache.getComponentRegistry();
+        LockProfiler lockProfiler = componentRegistry == null ? null : componentRegistry.getComponent(LockProfiler.class);
+        if (lockProfiler == null || !lockProfiler.isEnabled()) {
+            return Collections.emptyList();
+        }
+        return lockProfiler.getHotLocks();
+    }
+
     private boolean isComponentHealthy() {
         switch (cache.getStatus()) {
             case INSTANTIATED:
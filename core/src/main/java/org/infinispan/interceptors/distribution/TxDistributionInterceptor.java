@@ -68,6 +68,7 @@
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.statetransfer.OutdatedTopologyException;
+import org.infinispan.transaction.impl.GroupCommitManager;
 import org.infinispan.transaction.impl.LocalTransaction;
 import org.infinispan.transaction.xa.GlobalTransaction;
 import org.infinispan.util.concurrent.CompletableFutures;
@@ -87,14 +88,16 @@ public class TxDistributionInterceptor extends BaseDistributionInterceptor {
    private static final long SKIP_REMOTE_FLAGS = FlagBitSets.CACHE_MODE_LOCAL | FlagBitSets.SKIP_REMOTE_LOOKUP;
 
    private PartitionHandlingManager partitionHandlingManager;
+   private GroupCommitManager groupCommitManager;
 
    private final TxReadOnlyManyHelper txReadOnlyManyHelper = new TxReadOnlyManyHelper();
    private final ReadWriteManyHelper readWriteManyHelper = new ReadWriteManyHelper();
    private final ReadWriteManyEntriesHelper readWriteManyEntriesHelper = new ReadWriteManyEntriesHelper();
 
    @Inject
-   public void inject(PartitionHandlingManager partitionHandlingManager) {
+   public void inject(PartitionHandlingManager partitionHandlingManager, GroupCommitManager groupCommitManager) {
       this.partitionHandlingManager = partitionHandlingManager;
+      this.groupCommitManager = groupCommitManager;
    }
 
    @Override
@@ -235,7 +238,7 @@ protected CompletableFuture<Object> prepareOnAffectedNodes(TxInvocationContext<?
       try {
          // this method will return immediately if we're the only member (because exclude_self=true)
          CompletableFuture<Map<Address, Response>>
-               remoteInvocation = rpcManager.invokeRemotelyAsync(recipients, command, createRpcOptions());
+               remoteInvocation = invokeTxCommandRemotely(ctx, recipients, command);
          return remoteInvocation.handle((responses, t) -> {
             transactionRemotelyPrepared(ctx);
             CompletableFutures.rethrowException(t);
@@ -257,8 +260,9 @@ public Object visitRollbackCommand(TxInvocationContext ctx, RollbackCommand comm
    private Object handleSecondPhaseCommand(TxInvocationContext ctx, TransactionBoundaryCommand command) {
       if (shouldInvokeRemoteTxCommand(ctx)) {
          Collection<Address> recipients = getCommitNodes(ctx);
-         CompletableFuture<Map<Address, Response>>
-               remoteInvocation = rpcManager.invokeRemotelyAsync(recipients, command, createRpcOptions());
+         CompletableFuture<Map<Address, Response>> remoteInvocation = command instanceof CommitCommand ?
+               invokeTxCommandRemotely(ctx, recipients, command) :
+               rpcManager.invokeRemotelyAsync(recipients, command, createRpcOptions());
          return asyncValue(remoteInvocation.thenApply(responses -> {
             checkTxCommandResponses(responses, command, ctx, recipients);
             return null;
@@ -540,6 +544,20 @@ protected CompletableFuture<Void> remoteGetAll(InvocationContext ctx, GetAllComm
       return cf;
    }
 
+   /**
+    * Sends a prepare or commit command to the recipients, grouped with the commands of other transactions if group
+    * commit is enabled.
+    */
+   protected CompletableFuture<Map<Address, Response>> invokeTxCommandRemotely(TxInvocationContext<?> ctx,
+                                                                             Collection<Address> recipients,
+                                                                             TransactionBoundaryCommand command) {
+      if (groupCommitManager.isEnabled()) {
+         return groupCommitManager.invokeRemotelyAsync(recipients, command, getAffectedKeysFromContext(ctx),
+               createRpcOptions());
+      }
+      return rpcManager.invokeRemotelyAsync(recipients, command, createRpcOptions());
+   }
+
    protected RpcOptions createRpcOptions() {
       return rpcManager.getRpcOptionsBuilder(ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS, DeliverOrder.NONE).build();
    }
@@ -145,7 +145,7 @@ private void checkAndAddReadVersion(AbstractCacheTransaction tx, Object key, Ent
    protected CompletableFuture<Object> prepareOnAffectedNodes(TxInvocationContext<?> ctx, PrepareCommand command, Collection<Address> recipients) {
       // Perform the RPC
       CompletableFuture<Map<Address, Response>>
-            remoteInvocation = rpcManager.invokeRemotelyAsync(recipients, command, createRpcOptions());
+            remoteInvocation = invokeTxCommandRemotely(ctx, recipients, command);
       return remoteInvocation.handle((responses, t) -> {
          transactionRemotelyPrepared(ctx);
          CompletableFutures.rethrowException(t);
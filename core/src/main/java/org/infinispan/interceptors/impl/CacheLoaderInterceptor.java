@@ -49,6 +49,7 @@
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.FlagBitSets;
 import org.infinispan.distribution.group.impl.GroupFilter;
+import org.infinispan.distribution.group.impl.GroupIndex;
 import org.infinispan.distribution.group.impl.GroupManager;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
@@ -93,6 +94,7 @@
    private InternalEntryFactory iceFactory;
    private DataContainer<K, V> dataContainer;
    private GroupManager groupManager;
+   private GroupIndex groupIndex;
    private ExecutorService executorService;
    private Cache<K, V> cache;
    private boolean activation;
@@ -104,7 +106,7 @@
    protected void injectDependencies(PersistenceManager clm, EntryFactory entryFactory, CacheNotifier notifier,
                                      TimeService timeService, InternalEntryFactory iceFactory, DataContainer<K, V> dataContainer,
                                      GroupManager groupManager, @ComponentName(PERSISTENCE_EXECUTOR) ExecutorService persistenceExecutor,
-                                     Cache<K, V> cache) {
+                                     Cache<K, V> cache, GroupIndex groupIndex) {
       this.persistenceManager = clm;
       this.notifier = notifier;
       this.entryFactory = entryFactory;
@@ -112,6 +114,7 @@ protected void injectDependencies(PersistenceManager clm, EntryFactory entryFact
       this.iceFactory = iceFactory;
       this.dataContainer = dataContainer;
       this.groupManager = groupManager;
+      this.groupIndex = groupIndex;
       this.executorService = persistenceExecutor;
       this.cache = cache;
    }
@@ -351,6 +354,10 @@ private Boolean loadInContext(InvocationContext ctx, Object key, FlagAffectedCom
       if (entry != null) {
          entryFactory.wrapExternalEntry(ctx, key, entry, true, cmd instanceof WriteCommand);
 
+         if (groupIndex != null && isLoadedValue != null && isLoadedValue.booleanValue()) {
+            groupIndex.update(key);
+         }
+
          if (isLoadedValue != null && isLoadedValue.booleanValue()) {
             Object value = entry.getValue();
             // FIXME: There's no point to trigger the entryLoaded/Activated event twice.
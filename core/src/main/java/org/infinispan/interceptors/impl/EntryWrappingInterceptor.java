@@ -57,6 +57,7 @@
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.group.impl.GroupFilter;
+import org.infinispan.distribution.group.impl.GroupIndex;
 import org.infinispan.distribution.group.impl.GroupManager;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -102,6 +103,7 @@ public class EntryWrappingInterceptor extends DDAsyncInterceptor {
    private StateTransferLock stateTransferLock;
    private XSiteStateConsumer xSiteStateConsumer;
    private GroupManager groupManager;
+   private GroupIndex groupIndex;
    private CacheNotifier notifier;
    private StateTransferManager stateTransferManager;
    private boolean useRepeatableRead;
@@ -149,7 +151,8 @@ protected Log getLog() {
    public void init(EntryFactory entryFactory, DataContainer<Object, Object> dataContainer, ClusteringDependentLogic cdl,
                     StateConsumer stateConsumer, StateTransferLock stateTransferLock,
                     XSiteStateConsumer xSiteStateConsumer, GroupManager groupManager, CacheNotifier notifier,
-                    StateTransferManager stateTransferManager, VersionGenerator versionGenerator, DistributionManager distributionManager) {
+                    StateTransferManager stateTransferManager, VersionGenerator versionGenerator, DistributionManager distributionManager,
+                    GroupIndex groupIndex) {
       this.entryFactory = entryFactory;
       this.dataContainer = dataContainer;
       this.cdl = cdl;
@@ -157,6 +160,7 @@ public void init(EntryFactory entryFactory, DataContainer<Object, Object> dataCo
       this.stateTransferLock = stateTransferLock;
       this.xSiteStateConsumer = xSiteStateConsumer;
       this.groupManager = groupManager;
+      this.groupIndex = groupIndex;
       this.notifier = notifier;
       this.stateTransferManager = stateTransferManager;
       this.versionGenerator = versionGenerator;
@@ -407,7 +411,13 @@ public Object visitEvictCommand(InvocationContext ctx, EvictCommand command) thr
    public Object visitGetKeysInGroupCommand(final InvocationContext ctx, GetKeysInGroupCommand command)
          throws Throwable {
       final String groupName = command.getGroupName();
-      if (command.isGroupOwner()) {
+      if (command.isGroupOwner() && groupIndex != null) {
+         groupIndex.forEach(groupName, (key, internalCacheEntry) -> {
+            if (ctx.lookupEntry(key) == null) {
+               entryFactory.wrapExternalEntry(ctx, key, internalCacheEntry, true, false);
+            }
+         });
+      } else if (command.isGroupOwner()) {
          final KeyFilter<Object> keyFilter = new CompositeKeyFilter<>(new GroupFilter<>(groupName, groupManager),
                new CollectionKeyFilter<>(ctx.getLookedUpEntries().keySet()));
          dataContainer.executeTask(keyFilter, (o, internalCacheEntry) -> {
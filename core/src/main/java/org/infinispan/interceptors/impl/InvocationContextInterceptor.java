@@ -4,6 +4,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import javax.transaction.Status;
 import javax.transaction.SystemException;
@@ -28,10 +29,12 @@
 import org.infinispan.interceptors.totalorder.RetryPrepareException;
 import org.infinispan.lifecycle.ComponentStatus;
 import org.infinispan.manager.CacheContainer;
+import org.infinispan.notifications.impl.SyncListenerStages;
 import org.infinispan.statetransfer.OutdatedTopologyException;
 import org.infinispan.transaction.WriteSkewException;
 import org.infinispan.transaction.impl.AbstractCacheTransaction;
 import org.infinispan.transaction.impl.TransactionTable;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -91,7 +94,24 @@ public Object visitCommand(InvocationContext ctx, VisitableCommand command) thro
          ignoreCommand(ctx, command, status);
       }
 
-      return invokeNextAndExceptionally(ctx, command, suppressExceptionsHandler);
+      // the stages returned by the synchronous listeners are composed into the invocation instead of blocking
+      SyncListenerStages.begin(ctx);
+      Object rv;
+      CompletableFuture<Void> listenersDone;
+      try {
+         rv = invokeNextAndExceptionally(ctx, command, suppressExceptionsHandler);
+      } finally {
+         listenersDone = SyncListenerStages.end(ctx);
+      }
+      if (listenersDone == null) {
+         return rv;
+      }
+      return asyncValue(listenersDone).andHandle(ctx, command, (rCtx, rCommand, ignored, throwable) -> {
+         if (throwable != null) {
+            return suppressExceptionsHandler.apply(rCtx, rCommand, CompletableFutures.extractException(throwable));
+         }
+         return rv;
+      });
    }
 
    private void ignoreCommand(InvocationContext ctx, VisitableCommand command, ComponentStatus status)
@@ -225,8 +225,17 @@ protected final boolean shouldLockKey(Object key) {
    }
 
    protected final void lockAndRecord(InvocationContext context, Object key, long timeout) throws InterruptedException {
+      lockAndRecord(context, key, timeout, false);
+   }
+
+   protected final void lockAndRecord(InvocationContext context, Object key, long timeout, boolean shared)
+         throws InterruptedException {
       context.addLockedKey(key);
-      lockManager.lock(key, context.getLockOwner(), timeout, TimeUnit.MILLISECONDS).lock();
+      if (shared) {
+         lockManager.lockShared(key, context.getLockOwner(), timeout, TimeUnit.MILLISECONDS).lock();
+      } else {
+         lockManager.lock(key, context.getLockOwner(), timeout, TimeUnit.MILLISECONDS).lock();
+      }
    }
 
    protected final void lockAllAndRecord(InvocationContext context, Stream<?> keys, long timeout) throws InterruptedException {
@@ -234,8 +243,17 @@ protected final void lockAllAndRecord(InvocationContext context, Stream<?> keys,
    }
 
    protected final void lockAllAndRecord(InvocationContext context, Collection<?> keys, long timeout) throws InterruptedException {
+      lockAllAndRecord(context, keys, timeout, false);
+   }
+
+   protected final void lockAllAndRecord(InvocationContext context, Collection<?> keys, long timeout, boolean shared)
+         throws InterruptedException {
       keys.forEach(context::addLockedKey);
-      lockManager.lockAll(keys, context.getLockOwner(), timeout, TimeUnit.MILLISECONDS).lock();
+      if (shared) {
+         lockManager.lockAllShared(keys, context.getLockOwner(), timeout, TimeUnit.MILLISECONDS).lock();
+      } else {
+         lockManager.lockAll(keys, context.getLockOwner(), timeout, TimeUnit.MILLISECONDS).lock();
+      }
    }
 
    protected final boolean hasSkipLocking(FlagAffectedCommand command) {
@@ -86,12 +86,21 @@ public Object visitCommitCommand(TxInvocationContext ctx, CommitCommand command)
     */
    protected final boolean lockOrRegisterBackupLock(TxInvocationContext<?> ctx, Object key, long lockTimeout)
          throws InterruptedException {
+      return lockOrRegisterBackupLock(ctx, key, lockTimeout, false);
+   }
+
+   /**
+    * Same as {@link #lockOrRegisterBackupLock(TxInvocationContext, Object, long)} but the lock is acquired in shared
+    * mode if {@code shared} is {@code true}.
+    */
+   protected final boolean lockOrRegisterBackupLock(TxInvocationContext<?> ctx, Object key, long lockTimeout,
+                                                    boolean shared) throws InterruptedException {
       switch (LockUtil.getLockOwnership(key, cdl)) {
          case PRIMARY:
             if (trace) {
                getLog().tracef("Acquiring locks on %s.", toStr(key));
             }
-            checkPendingAndLockKey(ctx, key, lockTimeout);
+            checkPendingAndLockKey(ctx, key, lockTimeout, shared);
             return true;
          case BACKUP:
             if (trace) {
@@ -111,6 +120,16 @@ protected final boolean lockOrRegisterBackupLock(TxInvocationContext<?> ctx, Obj
     */
    protected final Collection<Object> lockAllOrRegisterBackupLock(TxInvocationContext<?> ctx, Collection<?> keys,
                                                                   long lockTimeout) throws InterruptedException {
+      return lockAllOrRegisterBackupLock(ctx, keys, lockTimeout, false);
+   }
+
+   /**
+    * Same as {@link #lockAllOrRegisterBackupLock(TxInvocationContext, Collection, long)} but the locks are acquired in
+    * shared mode if {@code shared} is {@code true}.
+    */
+   protected final Collection<Object> lockAllOrRegisterBackupLock(TxInvocationContext<?> ctx, Collection<?> keys,
+                                                                  long lockTimeout, boolean shared)
+         throws InterruptedException {
       if (keys.isEmpty()) {
          return Collections.emptyList();
       }
@@ -141,7 +160,7 @@ protected final Collection<Object> lockAllOrRegisterBackupLock(TxInvocationConte
          return Collections.emptyList();
       }
 
-      checkPendingAndLockAllKeys(ctx, keysToLock, lockTimeout);
+      checkPendingAndLockAllKeys(ctx, keysToLock, lockTimeout, shared);
       return keysToLock;
    }
 
@@ -165,17 +184,18 @@ protected final Collection<Object> lockAllOrRegisterBackupLock(TxInvocationConte
     * Note: The algorithm described below only when nodes leave the cluster, so it doesn't add a performance burden
     * when the cluster is stable.
     */
-   private void checkPendingAndLockKey(InvocationContext ctx, Object key, long lockTimeout) throws InterruptedException {
+   private void checkPendingAndLockKey(InvocationContext ctx, Object key, long lockTimeout, boolean shared)
+         throws InterruptedException {
       final long remaining = pendingLockManager.awaitPendingTransactionsForKey((TxInvocationContext<?>) ctx, key,
                                                                                lockTimeout, TimeUnit.MILLISECONDS);
-      lockAndRecord(ctx, key, remaining);
+      lockAndRecord(ctx, key, remaining, shared);
    }
 
-   private void checkPendingAndLockAllKeys(InvocationContext ctx, Collection<Object> keys, long lockTimeout)
-         throws InterruptedException {
+   private void checkPendingAndLockAllKeys(InvocationContext ctx, Collection<Object> keys, long lockTimeout,
+                                           boolean shared) throws InterruptedException {
       final long remaining = pendingLockManager.awaitPendingTransactionsForAllKeys((TxInvocationContext<?>) ctx, keys,
                                                                                    lockTimeout, TimeUnit.MILLISECONDS);
-      lockAllAndRecord(ctx, keys, remaining);
+      lockAllAndRecord(ctx, keys, remaining, shared);
    }
 
    protected void releaseLockOnTxCompletion(TxInvocationContext ctx) {
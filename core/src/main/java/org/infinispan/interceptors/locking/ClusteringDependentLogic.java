@@ -30,6 +30,7 @@
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.group.impl.GroupIndex;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
@@ -154,12 +155,15 @@ abstract class AbstractClusteringDependentLogic implements ClusteringDependentLo
       protected PersistenceManager persistenceManager;
       protected TimeService timeService;
       protected FunctionalNotifier<Object, Object> functionalNotifier;
+      private GroupIndex groupIndex;
 
       @Inject
       public void init(DataContainer<Object, Object> dataContainer, CacheNotifier<Object, Object> notifier, Configuration configuration,
                        CommitManager commitManager, PersistenceManager persistenceManager, TimeService timeService,
-                       FunctionalNotifier<Object, Object> functionalNotifier, DistributionManager distributionManager) {
+                       FunctionalNotifier<Object, Object> functionalNotifier, DistributionManager distributionManager,
+                       GroupIndex groupIndex) {
          this.dataContainer = dataContainer;
+         this.groupIndex = groupIndex;
          this.notifier = notifier;
          this.totalOrder = configuration.transaction().transactionProtocol().isTotalOrder();
          this.distributionManager = distributionManager;
@@ -192,6 +196,9 @@ private void commitClearCommand(DataContainer<Object, Object> dataContainer, Cle
          List<InternalCacheEntry<Object, Object>> copyEntries = new ArrayList<>(dataContainer.sizeIncludingExpired());
          dataContainer.iterator().forEachRemaining(copyEntries::add);
          cacheEntry.commit(dataContainer, null);
+         if (groupIndex != null) {
+            groupIndex.clear();
+         }
          for (InternalCacheEntry entry : copyEntries) {
             notifier.notifyCacheEntryRemoved(entry.getKey(), entry.getValue(), entry.getMetadata(), false, context, command);
          }
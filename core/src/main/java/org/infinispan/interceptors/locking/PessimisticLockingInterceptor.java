@@ -2,6 +2,7 @@
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -73,8 +74,9 @@ protected final Object visitDataReadCommand(InvocationContext ctx, DataCommand c
          }
 
          Object key = command.getKey();
-         if (!needRemoteLocks(ctx, key, command)) {
-            acquireLocalLock(ctx, command);
+         boolean shared = isSharedLock(command);
+         if (!needRemoteLocks(ctx, key, command, shared)) {
+            acquireLocalLock(ctx, command, shared);
             return invokeNext(ctx, command);
          }
 
@@ -86,7 +88,7 @@ protected final Object visitDataReadCommand(InvocationContext ctx, DataCommand c
             if (t != null) {
                rethrowAndReleaseLocksIfNeeded(rCtx, t);
             } else {
-               acquireLocalLock(rCtx, (DataCommand) rCommand);
+               acquireLocalLock(rCtx, (DataCommand) rCommand, shared);
             }
          });
       } catch (Throwable t) {
@@ -97,16 +99,46 @@ protected final Object visitDataReadCommand(InvocationContext ctx, DataCommand c
    }
 
    private boolean readNeedsLock(InvocationContext ctx, FlagAffectedCommand command) {
-      return ctx.isInTxScope() && command.hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK) && !hasSkipLocking(command);
+      return ctx.isInTxScope() && command.hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK | FlagBitSets.FORCE_READ_LOCK) &&
+            !hasSkipLocking(command);
    }
 
-   private void acquireLocalLock(InvocationContext ctx, DataCommand command) throws InterruptedException {
+   /**
+    * @return {@code true} if the read command only needs the shared locks.
+    */
+   private static boolean isSharedLock(FlagAffectedCommand command) {
+      return command.hasAnyFlag(FlagBitSets.FORCE_READ_LOCK) && !command.hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK);
+   }
+
+   /**
+    * @return the flags of the {@link LockControlCommand} sent for a write command, which always needs exclusive locks.
+    */
+   private static long writeLockFlags(FlagAffectedCommand command) {
+      return command.getFlagsBitSet() & ~FlagBitSets.FORCE_READ_LOCK;
+   }
+
+   private void acquireLocalLock(InvocationContext ctx, DataCommand command, boolean shared)
+         throws InterruptedException {
       if (trace)
          log.tracef("acquireLocalLock");
-      final TxInvocationContext txContext = (TxInvocationContext) ctx;
+      final TxInvocationContext<?> txContext = (TxInvocationContext<?>) ctx;
       Object key = command.getKey();
-      lockOrRegisterBackupLock(txContext, key, getLockTimeoutMillis(command));
-      txContext.addAffectedKey(key);
+      lockOrRegisterBackupLock(txContext, key, getLockTimeoutMillis(command), shared);
+      addAffectedKeys(txContext, Collections.singleton(key), shared);
+   }
+
+   private static void addAffectedKeys(TxInvocationContext<?> ctx, Collection<?> keys, boolean shared) {
+      if (ctx.isOriginLocal()) {
+         LocalTransaction localTransaction = (LocalTransaction) ctx.getCacheTransaction();
+         for (Object key : keys) {
+            if (shared) {
+               localTransaction.addSharedLockedKey(key);
+            } else {
+               localTransaction.removeSharedLockedKey(key);
+            }
+         }
+      }
+      ctx.addAllAffectedKeys(keys);
    }
 
    @Override
@@ -117,8 +149,9 @@ public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) t
             stage = invokeNext(ctx, command);
          } else {
             Collection<?> keys = command.getKeys();
-            if (!needRemoteLocks(ctx, keys, command)) {
-               acquireLocalLocks(ctx, command, keys);
+            boolean shared = isSharedLock(command);
+            if (!needRemoteLocks(ctx, keys, command, shared)) {
+               acquireLocalLocks(ctx, command, keys, shared);
                stage = invokeNext(ctx, command);
             } else {
                // Acquire the remote locks first, then the local locks
@@ -126,7 +159,7 @@ public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) t
                LockControlCommand lcc = cf.buildLockControlCommand(keys, command.getFlagsBitSet(),
                      txContext.getGlobalTransaction());
                stage = invokeNextThenApply(ctx, lcc, (rCtx, rLockCommand, rv) -> {
-                  acquireLocalLocks(rCtx, command, keys);
+                  acquireLocalLocks(rCtx, command, keys, shared);
                   return invokeNext(rCtx, command);
                });
             }
@@ -141,10 +174,10 @@ public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) t
       }
    }
 
-   private void acquireLocalLocks(InvocationContext ctx, FlagAffectedCommand command, Collection<?> keys)
-         throws InterruptedException {
-      lockAllOrRegisterBackupLock((TxInvocationContext<?>) ctx, keys, getLockTimeoutMillis(command));
-      ((TxInvocationContext<?>) ctx).addAllAffectedKeys(keys);
+   private void acquireLocalLocks(InvocationContext ctx, FlagAffectedCommand command, Collection<?> keys,
+                                  boolean shared) throws InterruptedException {
+      lockAllOrRegisterBackupLock((TxInvocationContext<?>) ctx, keys, getLockTimeoutMillis(command), shared);
+      addAffectedKeys((TxInvocationContext<?>) ctx, keys, shared);
    }
 
    @Override
@@ -164,15 +197,15 @@ protected <K> Object handleWriteManyCommand(InvocationContext ctx, FlagAffectedC
          if (hasSkipLocking(command)) {
             stage = invokeNext(ctx, command);
          } else {
-            if (!needRemoteLocks(ctx, keys, command)) {
-               acquireLocalLocks(ctx, command, keys);
+            if (!needRemoteLocks(ctx, keys, command, false)) {
+               acquireLocalLocks(ctx, command, keys, false);
                stage = invokeNext(ctx, command);
             } else {
                final TxInvocationContext txContext = (TxInvocationContext) ctx;
-               LockControlCommand lcc = cf.buildLockControlCommand(keys, command.getFlagsBitSet(),
+               LockControlCommand lcc = cf.buildLockControlCommand(keys, writeLockFlags(command),
                      txContext.getGlobalTransaction());
                stage = invokeNextThenApply(ctx, lcc, (rCtx, rCommand, rv) -> {
-                  acquireLocalLocks(rCtx, command, keys);
+                  acquireLocalLocks(rCtx, command, keys, false);
                   return invokeNext(rCtx, command);
                });
             }
@@ -201,16 +234,16 @@ protected Object visitDataWriteCommand(InvocationContext ctx, DataWriteCommand c
             }
             stage = invokeNext(ctx, command);
          } else {
-            if (!needRemoteLocks(ctx, key, command)) {
-               acquireLocalLock(ctx, command);
+            if (!needRemoteLocks(ctx, key, command, false)) {
+               acquireLocalLock(ctx, command, false);
                stage = invokeNext(ctx, command);
             } else {
                final TxInvocationContext txContext = (TxInvocationContext) ctx;
-               LockControlCommand lcc = cf.buildLockControlCommand(key, command.getFlagsBitSet(),
+               LockControlCommand lcc = cf.buildLockControlCommand(key, writeLockFlags(command),
                      txContext.getGlobalTransaction());
                return invokeNextAndHandle(ctx, lcc, (rCtx, rCommand, rv, t) -> {
                   rethrowAndReleaseLocksIfNeeded(rCtx, t);
-                  acquireLocalLock(rCtx, command);
+                  acquireLocalLock(rCtx, command, false);
                   return invokeNext(rCtx, command);
                });
             }
@@ -235,13 +268,13 @@ public Object visitApplyDeltaCommand(InvocationContext ctx, ApplyDeltaCommand co
          } else {
             Object[] compositeKeys = command.getCompositeKeys();
             Set<Object> keysToLock = new HashSet<>(Arrays.asList(compositeKeys));
-            if (!needRemoteLocks(ctx, keysToLock, command)) {
+            if (!needRemoteLocks(ctx, keysToLock, command, false)) {
                ((TxInvocationContext<?>) ctx).addAllAffectedKeys(keysToLock);
                acquireLocalCompositeLocks(command, keysToLock, ctx);
                stage = invokeNext(ctx, command);
             } else {
                final TxInvocationContext txContext = (TxInvocationContext) ctx;
-               LockControlCommand lcc = cf.buildLockControlCommand(keysToLock, command.getFlagsBitSet(),
+               LockControlCommand lcc = cf.buildLockControlCommand(keysToLock, writeLockFlags(command),
                      txContext.getGlobalTransaction());
                stage = invokeNextThenApply(ctx, lcc, (rCtx, rCommand, rv) -> {
                   ((TxInvocationContext<?>) rCtx).addAllAffectedKeys(keysToLock);
@@ -292,7 +325,8 @@ public Object visitLockControlCommand(TxInvocationContext ctx, LockControlComman
          boolean needBackupLocks = !isSingleKeyAndLocal || isStateTransferInProgress();
          if (needBackupLocks && !command.hasAnyFlag(FlagBitSets.CACHE_MODE_LOCAL)) {
             LocalTransaction localTx = (LocalTransaction) ctx.getCacheTransaction();
-            if (localTx.getAffectedKeys().containsAll(command.getKeys())) {
+            if (localTx.getAffectedKeys().containsAll(command.getKeys()) &&
+                  (command.hasSharedLocking() || !localTx.hasSharedLockedKey(command.getKeys()))) {
                if (trace)
                   log.tracef("Already own locks on keys: %s, skipping remote call", command.getKeys());
                return true;
@@ -313,8 +347,9 @@ public Object visitLockControlCommand(TxInvocationContext ctx, LockControlComman
    private boolean localLockCommandWork(InvocationContext ctx, LockControlCommand command)
          throws InterruptedException {
       TxInvocationContext<?> txInvocationContext = (TxInvocationContext<?>) ctx;
+      boolean shared = command.hasSharedLocking();
       if (ctx.isOriginLocal()) {
-         txInvocationContext.addAllAffectedKeys(command.getKeys());
+         addAffectedKeys(txInvocationContext, command.getKeys(), shared);
       }
 
       if (command.isUnlock()) {
@@ -325,7 +360,7 @@ private boolean localLockCommandWork(InvocationContext ctx, LockControlCommand c
       }
 
       try {
-         lockAllOrRegisterBackupLock(txInvocationContext, command.getKeys(), getLockTimeoutMillis(command));
+         lockAllOrRegisterBackupLock(txInvocationContext, command.getKeys(), getLockTimeoutMillis(command), shared);
       } catch (Throwable t) {
          releaseLocksOnFailureBeforePrepare(ctx);
          throw t;
@@ -345,13 +380,15 @@ private void rethrowAndReleaseLocksIfNeeded(InvocationContext ctx, Throwable thr
    }
 
    private boolean needRemoteLocks(InvocationContext ctx, Collection<?> keys,
-         FlagAffectedCommand command) throws Throwable {
+         FlagAffectedCommand command, boolean shared) throws Throwable {
       boolean needBackupLocks = ctx.isOriginLocal() && (!isLockOwner(keys) || isStateTransferInProgress());
       boolean needRemoteLock = false;
       if (needBackupLocks && !command.hasAnyFlag(FlagBitSets.CACHE_MODE_LOCAL)) {
          final TxInvocationContext txContext = (TxInvocationContext) ctx;
          LocalTransaction localTransaction = (LocalTransaction) txContext.getCacheTransaction();
-         needRemoteLock = !localTransaction.getAffectedKeys().containsAll(keys);
+         //a key locked in shared mode needs the exclusive remote lock
+         needRemoteLock = !localTransaction.getAffectedKeys().containsAll(keys) ||
+               (!shared && localTransaction.hasSharedLockedKey(keys));
          if (!needRemoteLock) {
             if (trace) log.tracef("We already have lock for keys %s, skip remote lock acquisition", keys);
          }
@@ -359,14 +396,15 @@ private boolean needRemoteLocks(InvocationContext ctx, Collection<?> keys,
       return needRemoteLock;
    }
 
-   private boolean needRemoteLocks(InvocationContext ctx, Object key, FlagAffectedCommand command)
+   private boolean needRemoteLocks(InvocationContext ctx, Object key, FlagAffectedCommand command, boolean shared)
          throws Throwable {
       boolean needBackupLocks = ctx.isOriginLocal() && (!isLockOwner(key) || isStateTransferInProgress());
       boolean needRemoteLock = false;
       if (needBackupLocks && !command.hasAnyFlag(FlagBitSets.CACHE_MODE_LOCAL)) {
          final TxInvocationContext txContext = (TxInvocationContext) ctx;
          LocalTransaction localTransaction = (LocalTransaction) txContext.getCacheTransaction();
-         needRemoteLock = !localTransaction.getAffectedKeys().contains(key);
+         needRemoteLock = !localTransaction.getAffectedKeys().contains(key) ||
+               (!shared && localTransaction.hasSharedLockedKey(Collections.singleton(key)));
          if (!needRemoteLock) {
             if (trace)
                log.tracef("We already have lock for key %s, skip remote lock acquisition", key);
@@ -35,6 +35,13 @@
  * made in a <i>separate</i> thread, which will not cause any blocking on the caller or network thread.  The separate
  * thread is taken from a pool, which can be configured using {@link org.infinispan.config.GlobalConfiguration#setAsyncListenerExecutorProperties(java.util.Properties)}
  * and {@link org.infinispan.config.GlobalConfiguration#setAsyncListenerExecutorFactoryClass(String)}.
+ * The events of an asynchronous listener are delivered one at a time, in the order they were raised, and a listener
+ * that falls too far behind loses the new events instead of holding them in memory.
+ * <p/>
+ * A listener method may return a {@link java.util.concurrent.CompletionStage} instead of <tt>void</tt>, to signal that
+ * it completes the processing of the event asynchronously. The next event is delivered to an asynchronous listener
+ * once the stage completes, without keeping a notification thread busy, while the operation which raised the event of
+ * a synchronous listener completes after the stage.
  * <p/>
  * <b>Summary of Notification Annotations</b> <table border="1" cellpadding="1" cellspacing="1" summary="Summary of
  * notification annotations"> <tr> <th bgcolor="#CCCCFF" align="left">Annotation</th> <th bgcolor="#CCCCFF"
@@ -249,6 +256,17 @@
     */
    Observation observation() default Observation.BOTH;
 
+   /**
+    * If set to true, the events buffered for an asynchronous {@link #clustered()} listener during the
+    * {@link org.infinispan.configuration.cache.ClusteringConfiguration#clusterListenerBatchWindow() batch window} are
+    * coalesced by key, so that the listener only receives the latest event of each key modified in the window.
+    * <p>
+    * This is ignored if the listener is not clustered, is synchronous, or if the batch window is not configured.
+    * @return true if the listener only needs the latest event of each key
+    * @since 9.1
+    */
+   boolean coalesce() default false;
+
 
    /**
     * Enumeration that defines when a listener event can be observed. A listener can receive an event before and/or
@@ -64,6 +64,9 @@
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.Listener;
@@ -87,6 +90,7 @@
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerRemoveCallable;
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerReplicateCallable;
 import org.infinispan.notifications.cachelistener.cluster.RemoteClusterListener;
+import org.infinispan.notifications.cachelistener.cluster.impl.BatchingClusterEventManagerImpl;
 import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
 import org.infinispan.notifications.cachelistener.event.CacheEntryActivatedEvent;
 import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
@@ -117,6 +121,7 @@
 import org.infinispan.notifications.cachelistener.filter.IndexedFilter;
 import org.infinispan.notifications.cachelistener.filter.KeyFilterAsCacheEventFilter;
 import org.infinispan.notifications.impl.AbstractListenerImpl;
+import org.infinispan.notifications.impl.AsyncListenerQueue;
 import org.infinispan.notifications.impl.ListenerInvocation;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.remoting.transport.Address;
@@ -135,6 +140,7 @@
  * @author anistor@redhat.com
  * @since 4.0
  */
+@MBean(objectName = "CacheNotifier", description = "Delivers the cache events to the registered listeners")
 public final class CacheNotifierImpl<K, V> extends AbstractListenerImpl<Event<K, V>, CacheEntryListenerInvocation<K, V>>
       implements ClusterCacheNotifier<K, V> {
 
@@ -366,6 +372,11 @@ protected final void resumeIfNeeded(Transaction transaction) {
       }
    }
 
+   @Override
+   protected InvocationContext getInvocationContext(Object event) {
+      return event instanceof EventImpl ? ((EventImpl<?, ?>) event).getInvocationContext() : null;
+   }
+
    @Override
    public void notifyCacheEntryCreated(K key, V value, Metadata metadata, boolean pre,
                                        InvocationContext ctx, FlagAffectedCommand command) {
@@ -467,6 +478,7 @@ private void configureEvent(EventImpl<K, V> e, K key, V value, Metadata metadata
          e.setCommandRetried(true);
       }
       e.setKey(key);
+      e.setInvocationContext(ctx);
       setTx(ctx, e);
    }
 
@@ -478,6 +490,7 @@ private void configureEvent(EventImpl<K, V> e, K key, V value, boolean pre, Invo
       e.setKey(convertKey(key));
       e.setValue(convertValue(value));
       e.setOriginLocal(ctx.isOriginLocal());
+      e.setInvocationContext(ctx);
       setTx(ctx, e);
    }
 
@@ -768,9 +781,10 @@ private void registerClusterListenerCallablesToInstall(Set<Object> enlistedAlrea
             // If clustered means it is local - so use our address
             if (listener.isClustered()) {
                Set<Class<? extends Annotation>> filterAnnotations = listener.getFilterAnnotations();
+               boolean coalesce = testListenerClassValidity(listener.getTarget().getClass()).coalesce();
                callables.add(new ClusterListenerReplicateCallable(listener.getIdentifier(),
                                                                   cache.getCacheManager().getAddress(), listener.getFilter(),
-                                                                  listener.getConverter(), listener.isSync(),
+                                                                  listener.getConverter(), listener.isSync(), coalesce,
                                                                   filterAnnotations));
                enlistedAlready.add(listener.getTarget());
             }
@@ -779,7 +793,7 @@ else if (listener.getTarget() instanceof RemoteClusterListener) {
                Set<Class<? extends Annotation>> filterAnnotations = listener.getFilterAnnotations();
                callables.add(new ClusterListenerReplicateCallable(lcl.getId(), lcl.getOwnerAddress(), listener.getFilter(),
                                                                   listener.getConverter(), listener.isSync(),
-                                                                  filterAnnotations));
+                                                                  lcl.isCoalesce(), filterAnnotations));
                enlistedAlready.add(listener.getTarget());
             }
          }
@@ -882,7 +896,7 @@ public <C> void addListener(Object listener, CacheEventFilter<? super K, ? super
                              members, generatedId);
                }
                Callable callable = new ClusterListenerReplicateCallable(
-                     generatedId, ourAddress, filter, converter, l.sync(),
+                     generatedId, ourAddress, filter, converter, l.sync(), l.coalesce(),
                      findListenerCallbacks(listener));
                for (Address member : members) {
                   if (!member.equals(ourAddress)) {
@@ -1105,7 +1119,7 @@ public <C> void addFilteredListener(Object listener, CacheEventFilter<? super K,
                         members, generatedId);
                }
                Callable callable = new ClusterListenerReplicateCallable(
-                     generatedId, ourAddress, filter, converter, l.sync(),
+                     generatedId, ourAddress, filter, converter, l.sync(), l.coalesce(),
                      filterAnnotations);
                for (Address member : members) {
                   if (!member.equals(ourAddress)) {
@@ -1643,6 +1657,29 @@ public boolean isSync() {
       }
    }
 
+   @ManagedAttribute(description = "The pending, delivered and dropped events and the delivery lag of each asynchronous listener", displayName = "Asynchronous listener statistics")
+   public String[] getAsyncListenerStatistics() {
+      List<AsyncListenerQueue> queues = getAsyncListenerQueues();
+      String[] statistics = new String[queues.size()];
+      for (int i = 0; i < statistics.length; i++) {
+         statistics[i] = queues.get(i).toString();
+      }
+      return statistics;
+   }
+
+   @ManagedAttribute(description = "The number of events dropped because an asynchronous listener fell behind",
+         displayName = "Dropped asynchronous listener events", measurementType = MeasurementType.TRENDSUP)
+   public long getDroppedAsyncListenerEvents() {
+      return getDroppedAsyncEvents();
+   }
+
+   @ManagedAttribute(description = "The number of asynchronous cluster listener events dropped because a node did not receive the previous ones in time",
+         displayName = "Dropped cluster listener events", measurementType = MeasurementType.TRENDSUP)
+   public long getDroppedClusterListenerEvents() {
+      return eventManager instanceof BatchingClusterEventManagerImpl ?
+            ((BatchingClusterEventManagerImpl<K, V>) eventManager).getDroppedEvents() : 0;
+   }
+
    @Override
    public void removeListener(Object listener) {
       super.removeListener(listener);
@@ -18,6 +18,21 @@
     */
    public void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
 
+   /**
+    * Same as {@link #addEvents(Address, UUID, Collection, boolean)}, but if {@code coalesce} is true the asynchronous
+    * events may be merged with the events of the same key that are not sent yet, keeping only the latest one.
+    * @param target The target node this event was meant for
+    * @param identifier The cluster listener that is identified for these events
+    * @param events The events that were generated
+    * @param sync Whether these events need to be sent synchronously or not
+    * @param coalesce Whether the listener only needs the latest event of each key
+    * @since 9.1
+    */
+   default void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                          boolean coalesce) {
+      addEvents(target, identifier, events, sync);
+   }
+
    /**
     * Sends all previously added events on this thread
     */
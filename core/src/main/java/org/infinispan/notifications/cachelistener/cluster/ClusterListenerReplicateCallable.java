@@ -50,16 +50,18 @@
    private final CacheEventConverter<K, V, ?> converter;
    private final Address origin;
    private final boolean sync;
+   private final boolean coalesce;
    private final Set<Class<? extends Annotation>> filterAnnotations;
 
    public ClusterListenerReplicateCallable(UUID identifier, Address origin, CacheEventFilter<K, V> filter,
-                                           CacheEventConverter<K, V, ?> converter, boolean sync,
+                                           CacheEventConverter<K, V, ?> converter, boolean sync, boolean coalesce,
                                            Set<Class<? extends Annotation>> filterAnnotations) {
       this.identifier = identifier;
       this.origin = origin;
       this.filter = filter;
       this.converter = converter;
       this.sync = sync;
+      this.coalesce = coalesce;
       this.filterAnnotations = filterAnnotations;
       if (trace)
          log.tracef("Created clustered listener replicate callable for: %s", filterAnnotations);
@@ -103,7 +105,8 @@ public Void call() throws Exception {
                }
                if (!alreadyInstalled) {
                   RemoteClusterListener listener = new RemoteClusterListener(identifier, origin, distExecutor, cacheNotifier,
-                                                                             cacheManagerNotifier, eventManager, sync);
+                                                                             cacheManagerNotifier, eventManager, sync,
+                                                                             coalesce);
                   cacheNotifier.addFilteredListener(listener, filter, converter, filterAnnotations);
                   cacheManagerNotifier.addListener(listener);
                   // It is possible the member is now gone after registered, if so we have to remove just to be sure
@@ -150,6 +153,7 @@ public void writeObject(ObjectOutput output, ClusterListenerReplicateCallable ob
             output.writeObject(object.converter);
          }
          output.writeBoolean(object.sync);
+         output.writeBoolean(object.coalesce);
          MarshallUtil.marshallCollection(object.filterAnnotations, output);
       }
 
@@ -166,8 +170,9 @@ public ClusterListenerReplicateCallable readObject(ObjectInput input) throws IOE
             converter = (CacheEventConverter)input.readObject();
          }
          boolean sync = input.readBoolean();
+         boolean coalesce = input.readBoolean();
          Set<Class<? extends Annotation>> listenerAnnots = MarshallUtil.unmarshallCollection(input, HashSet::new);
-         return new ClusterListenerReplicateCallable(id, address, filter, converter, sync, listenerAnnots);
+         return new ClusterListenerReplicateCallable(id, address, filter, converter, sync, coalesce, listenerAnnots);
       }
 
       @Override
@@ -48,12 +48,14 @@ public class RemoteClusterListener {
    private final CacheManagerNotifier cacheManagerNotifier;
    private final ClusterEventManager eventManager;
    private final boolean sync;
+   private final boolean coalesce;
 
    private final ConcurrentMap<GlobalTransaction, Queue<CacheEntryEvent>> transactionChanges =
          CollectionFactory.makeConcurrentMap();
 
    public RemoteClusterListener(UUID id, Address origin, DistributedExecutorService distExecService, CacheNotifier cacheNotifier,
-                                CacheManagerNotifier cacheManagerNotifier, ClusterEventManager eventManager, boolean sync) {
+                                CacheManagerNotifier cacheManagerNotifier, ClusterEventManager eventManager, boolean sync,
+                                boolean coalesce) {
       this.id = id;
       this.origin = origin;
       this.distExecService = distExecService;
@@ -61,6 +63,7 @@ public RemoteClusterListener(UUID id, Address origin, DistributedExecutorService
       this.cacheManagerNotifier = cacheManagerNotifier;
       this.eventManager = eventManager;
       this.sync = sync;
+      this.coalesce = coalesce;
    }
 
    public UUID getId() {
@@ -71,6 +74,10 @@ public Address getOwnerAddress() {
       return origin;
    }
 
+   public boolean isCoalesce() {
+      return coalesce;
+   }
+
    @ViewChanged
    public void viewChange(ViewChangedEvent event) {
       if (!event.getNewMembers().contains(origin)) {
@@ -108,7 +115,7 @@ public void handleClusterEvents(CacheEntryEvent event) throws Exception {
          if (trace) {
             log.tracef("Passing Event to manager %s to send to %s", event, origin);
          }
-         eventManager.addEvents(origin, id, Collections.singleton(ClusterEvent.fromEvent(event)), sync);
+         eventManager.addEvents(origin, id, Collections.singleton(ClusterEvent.fromEvent(event)), sync, coalesce);
       }
    }
 
@@ -124,7 +131,7 @@ public void transactionCompleted(TransactionCompletedEvent event) throws Excepti
                log.tracef("Passing Event(s) to manager %s to send to %s", eventsToSend, origin);
             }
          }
-         eventManager.addEvents(origin, id, eventsToSend, sync);
+         eventManager.addEvents(origin, id, eventsToSend, sync, coalesce);
       }
    }
 }
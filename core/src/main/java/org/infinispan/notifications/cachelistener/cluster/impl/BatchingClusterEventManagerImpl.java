@@ -1,46 +1,116 @@
 package org.infinispan.notifications.cachelistener.cluster.impl;
 
+import static org.infinispan.factories.KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR;
+
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.infinispan.Cache;
 import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.distexec.DistributedExecutionCompletionService;
 import org.infinispan.distexec.DistributedExecutorService;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEvent;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEventCallable;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEventManager;
 import org.infinispan.notifications.cachelistener.cluster.MultiClusterEventCallable;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
 public class BatchingClusterEventManagerImpl<K, V> implements ClusterEventManager<K, V> {
+   private static final Log log = LogFactory.getLog(BatchingClusterEventManagerImpl.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   /**
+    * The maximum number of asynchronous events buffered for a node. When it is reached the events are sent without
+    * waiting for the end of the batch window, and if a batch is still in flight the threads adding more events wait
+    * for it to complete, for at most the remote timeout. The events that still don't fit are dropped.
+    */
+   static final int MAX_PENDING_EVENTS = 1024;
+
    private final Cache<K, V> cache;
 
    private DistributedExecutorService distExecService;
+   private Configuration configuration;
+   private ScheduledExecutorService scheduler;
+   private long batchWindow;
+   private long remoteTimeout;
+   private volatile boolean stopped;
+   private final LongAdder droppedEvents = new LongAdder();
 
    private final ThreadLocal<EventContext<K, V>> localContext = new ThreadLocal<>();
+   private final ConcurrentMap<Address, TargetBuffer> buffers = new ConcurrentHashMap<>();
 
    public BatchingClusterEventManagerImpl(Cache<K, V> cache) {
       this.cache = cache;
    }
 
+   @Inject
+   public void inject(Configuration configuration,
+                      @ComponentName(TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService scheduler) {
+      this.configuration = configuration;
+      this.scheduler = scheduler;
+   }
+
    @Start
    public void start() {
+      stopped = false;
       distExecService = SecurityActions.getDefaultExecutorService(cache);
+      batchWindow = configuration.clustering().clusterListenerBatchWindow();
+      remoteTimeout = configuration.clustering().remoteTimeout();
+   }
+
+   /**
+    * @return the number of asynchronous events dropped because a node did not receive the previous ones in time
+    */
+   public long getDroppedEvents() {
+      return droppedEvents.sum();
+   }
+
+   @Stop
+   public void stop() {
+      stopped = true;
+      // send the buffered events now, the scheduled flushes would run after the cache is stopped
+      for (TargetBuffer buffer : buffers.values()) {
+         buffer.close();
+      }
+      buffers.clear();
    }
 
    @Override
    public void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync) {
+      addEvents(target, identifier, events, sync, false);
+   }
+
+   @Override
+   public void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                         boolean coalesce) {
       EventContext<K, V> ctx = localContext.get();
       if (ctx == null) {
-         ctx = new UnicastEventContext<>();
+         ctx = batchWindow > 0 ? new BufferingEventContext() : new UnicastEventContext<K, V>();
          localContext.set(ctx);
       }
-      ctx.addTargets(target, identifier, events, sync);
+      ctx.addTargets(target, identifier, events, sync, coalesce);
    }
 
    @Override
@@ -58,7 +128,8 @@ public void dropEvents() {
    }
 
    private interface EventContext<K, V> {
-      void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
+      void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                      boolean coalesce);
 
       void sendToTargets(DistributedExecutorService service);
    }
@@ -67,7 +138,8 @@ public void dropEvents() {
       protected final Map<Address, TargetEvents<K, V>> targets = new HashMap<>();
 
       @Override
-      public void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync) {
+      public void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                             boolean coalesce) {
          TargetEvents<K, V> targetEvents = targets.get(address);
          if (targetEvents == null) {
             targetEvents = new TargetEvents<>();
@@ -121,8 +193,245 @@ public void sendToTargets(DistributedExecutorService service) {
       }
    }
 
+   /**
+    * Sends the events of the synchronous listeners at the end of the invocation, like {@link UnicastEventContext},
+    * and hands the events of the asynchronous listeners to the buffer of their target node.
+    */
+   private class BufferingEventContext extends UnicastEventContext<K, V> {
+      private final Map<Address, TargetEvents<K, V>> asyncTargets = new HashMap<>();
+
+      @Override
+      public void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                             boolean coalesce) {
+         if (sync) {
+            super.addTargets(address, identifier, events, true, coalesce);
+            return;
+         }
+         TargetEvents<K, V> targetEvents = asyncTargets.computeIfAbsent(address, a -> new TargetEvents<>());
+         targetEvents.events.computeIfAbsent(identifier, id -> new ArrayList<>()).addAll(events);
+         if (coalesce) {
+            targetEvents.coalesced.add(identifier);
+         }
+      }
+
+      @Override
+      public void sendToTargets(DistributedExecutorService service) {
+         for (Entry<Address, TargetEvents<K, V>> entry : asyncTargets.entrySet()) {
+            Address target = entry.getKey();
+            TargetEvents<K, V> targetEvents = entry.getValue();
+            if (stopped) {
+               // the buffers are not flushed any more, send the events along with the synchronous ones
+               for (Entry<UUID, Collection<ClusterEvent<K, V>>> events : targetEvents.events.entrySet()) {
+                  super.addTargets(target, events.getKey(), events.getValue(), false, false);
+               }
+               continue;
+            }
+            while (!buffers.computeIfAbsent(target, TargetBuffer::new).add(targetEvents)) {
+               // the buffer was closed concurrently, retry with a new one
+            }
+         }
+         super.sendToTargets(service);
+      }
+   }
+
    private static class TargetEvents<K, V> {
       final Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
+      final Set<UUID> coalesced = new HashSet<>();
       boolean sync = false;
    }
+
+   /**
+    * Buffers the events of the asynchronous cluster listeners sent to one node.
+    * <p>
+    * The events are sent when the batch window elapses, or earlier when {@link #MAX_PENDING_EVENTS} are buffered. Only
+    * one batch per node is in flight at any time, and the events added in the meantime are sent as soon as it
+    * completes, so the events of a key are received in the order they were raised. The events of the listeners that
+    * opted in for coalescing are kept by key, so that a newer event replaces the pending event of the same key.
+    */
+   private class TargetBuffer {
+      private final Address target;
+      private Map<UUID, Map<Object, ClusterEvent<K, V>>> coalescedEvents = new HashMap<>();
+      private Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
+      private int pendingCount;
+      private boolean inFlight;
+      private boolean scheduled;
+      private ScheduledFuture<?> scheduledFlush;
+      private boolean closed;
+
+      private TargetBuffer(Address target) {
+         this.target = target;
+      }
+
+      /**
+       * @return {@code false} if the buffer was closed because it was idle, in which case a new buffer must be used
+       */
+      boolean add(TargetEvents<K, V> targetEvents) {
+         boolean flush;
+         synchronized (this) {
+            if (closed) {
+               return false;
+            }
+            if (pendingCount >= MAX_PENDING_EVENTS && inFlight) {
+               awaitInFlightBatch();
+            }
+            // the target did not receive the previous batch in time, only replacing pending events is allowed
+            boolean full = pendingCount >= MAX_PENDING_EVENTS && inFlight;
+            int dropped = 0;
+            for (Entry<UUID, Collection<ClusterEvent<K, V>>> entry : targetEvents.events.entrySet()) {
+               UUID identifier = entry.getKey();
+               if (targetEvents.coalesced.contains(identifier)) {
+                  Map<Object, ClusterEvent<K, V>> keyEvents =
+                        coalescedEvents.computeIfAbsent(identifier, id -> new LinkedHashMap<>());
+                  for (ClusterEvent<K, V> event : entry.getValue()) {
+                     // remove first, so that the latest event also takes the latest position
+                     if (keyEvents.remove(event.getKey()) == null) {
+                        if (full) {
+                           dropped++;
+                           continue;
+                        }
+                        pendingCount++;
+                     }
+                     keyEvents.put(event.getKey(), event);
+                  }
+               } else if (full) {
+                  dropped += entry.getValue().size();
+               } else {
+                  events.computeIfAbsent(identifier, id -> new ArrayList<>()).addAll(entry.getValue());
+                  pendingCount += entry.getValue().size();
+               }
+            }
+            if (dropped > 0) {
+               droppedEvents.add(dropped);
+               log.droppedClusterEvents(dropped, target);
+            }
+            // the manager may have stopped after the events were added, don't wait for a flush that won't run
+            flush = !inFlight && (pendingCount >= MAX_PENDING_EVENTS || stopped);
+            if (!flush && !inFlight && !scheduled) {
+               scheduled = true;
+               scheduledFlush = scheduler.schedule(this::flush, batchWindow, TimeUnit.MILLISECONDS);
+            }
+         }
+         if (flush) {
+            flush();
+         }
+         return true;
+      }
+
+      /**
+       * Waits for the batch in flight, for at most the remote timeout, so that the writers are slowed down to the pace
+       * of the target node.
+       */
+      private void awaitInFlightBatch() {
+         long remainingNanos = TimeUnit.MILLISECONDS.toNanos(remoteTimeout);
+         long deadline = System.nanoTime() + remainingNanos;
+         try {
+            while (inFlight && remainingNanos > 0) {
+               TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+               remainingNanos = deadline - System.nanoTime();
+            }
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for event notifications to complete.", e);
+         }
+         if (trace && inFlight) {
+            log.tracef("Timed out waiting for the cluster events sent to %s, %d events pending", target, pendingCount);
+         }
+      }
+
+      private void flush() {
+         Map<UUID, Collection<ClusterEvent<K, V>>> batch;
+         synchronized (this) {
+            scheduled = false;
+            scheduledFlush = null;
+            if (inFlight) {
+               // the pending events are sent when the batch in flight completes
+               return;
+            }
+            batch = drain();
+         }
+         if (batch != null) {
+            send(batch);
+         }
+      }
+
+      /**
+       * Cancels the scheduled flush and sends the pending events immediately, or as soon as the batch in flight
+       * completes.
+       */
+      void close() {
+         Map<UUID, Collection<ClusterEvent<K, V>>> batch;
+         synchronized (this) {
+            closed = true;
+            if (scheduledFlush != null) {
+               scheduledFlush.cancel(false);
+               scheduledFlush = null;
+            }
+            scheduled = false;
+            if (inFlight) {
+               return;
+            }
+            batch = drain();
+         }
+         if (batch != null) {
+            send(batch);
+         }
+      }
+
+      private void sent() {
+         Map<UUID, Collection<ClusterEvent<K, V>>> batch;
+         synchronized (this) {
+            inFlight = false;
+            notifyAll();
+            batch = drain();
+         }
+         if (batch != null) {
+            send(batch);
+         }
+      }
+
+      /**
+       * Takes the pending events, or closes the buffer if there are none.
+       */
+      private Map<UUID, Collection<ClusterEvent<K, V>>> drain() {
+         if (pendingCount == 0) {
+            if (!scheduled) {
+               closed = true;
+               buffers.remove(target, this);
+            }
+            return null;
+         }
+         Map<UUID, Collection<ClusterEvent<K, V>>> batch = events;
+         for (Entry<UUID, Map<Object, ClusterEvent<K, V>>> entry : coalescedEvents.entrySet()) {
+            batch.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+         }
+         events = new HashMap<>();
+         coalescedEvents = new HashMap<>();
+         pendingCount = 0;
+         inFlight = true;
+         return batch;
+      }
+
+      private void send(Map<UUID, Collection<ClusterEvent<K, V>>> batch) {
+         if (trace) {
+            log.tracef("Sending batched cluster events to %s: %s", target, batch);
+         }
+         CompletableFuture<Void> future;
+         try {
+            if (batch.size() == 1) {
+               Entry<UUID, Collection<ClusterEvent<K, V>>> entry = batch.entrySet().iterator().next();
+               future = distExecService.submit(target, new ClusterEventCallable<>(entry.getKey(), entry.getValue()));
+            } else {
+               future = distExecService.submit(target, new MultiClusterEventCallable<>(batch));
+            }
+         } catch (Throwable t) {
+            future = CompletableFutures.completedExceptionFuture(t);
+         }
+         future.whenComplete((v, t) -> {
+            if (t != null) {
+               log.failedToSendClusterEvents(batch.values().stream().mapToInt(Collection::size).sum(), target, t);
+            }
+            sent();
+         });
+      }
+   }
 }
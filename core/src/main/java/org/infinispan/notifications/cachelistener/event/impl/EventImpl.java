@@ -6,6 +6,7 @@
 
 import org.infinispan.Cache;
 import org.infinispan.commons.util.Util;
+import org.infinispan.context.InvocationContext;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
@@ -56,6 +57,7 @@
    private boolean created;
    private boolean commandRetried;
    private AvailabilityMode mode;
+   private transient InvocationContext invocationContext;
 
    public EventImpl() {
    }
@@ -123,6 +125,18 @@ public void setOriginLocal(boolean originLocal) {
       this.originLocal = originLocal;
    }
 
+   /**
+    * @return the context of the invocation which raised the event, or {@code null} if the event was not raised by an
+    * invocation
+    */
+   public InvocationContext getInvocationContext() {
+      return invocationContext;
+   }
+
+   public void setInvocationContext(InvocationContext invocationContext) {
+      this.invocationContext = invocationContext;
+   }
+
    public void setTransactionSuccessful(boolean transactionSuccessful) {
       this.transactionSuccessful = transactionSuccessful;
    }
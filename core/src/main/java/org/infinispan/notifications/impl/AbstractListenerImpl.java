@@ -2,25 +2,33 @@
 
 import java.lang.annotation.Annotation;
 import java.lang.ref.WeakReference;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.security.auth.Subject;
 import javax.transaction.Transaction;
 
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.ReflectionUtil;
+import org.infinispan.context.InvocationContext;
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
@@ -33,6 +41,7 @@
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
 import org.infinispan.security.Security;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
 
@@ -47,6 +56,8 @@
 public abstract class AbstractListenerImpl<T, L extends ListenerInvocation<T>> {
 
    protected final Map<Class<? extends Annotation>, List<L>> listenersMap = new HashMap<>(16, 0.99f);
+   private final ConcurrentMap<Object, AsyncListenerQueue> asyncListenerQueues = new ConcurrentHashMap<>();
+   private final LongAdder droppedAsyncEvents = new LongAdder();
 
    protected abstract class AbstractInvocationBuilder {
       protected Object target;
@@ -113,11 +124,14 @@ public AbstractInvocationBuilder setSubject(Subject subject) {
    // two separate executor services, one for sync and one for async listeners
    protected ExecutorService syncProcessor;
    protected ExecutorService asyncProcessor;
+   private ScheduledExecutorService timeoutExecutor;
 
    @Inject
    @SuppressWarnings("unused")
-   void injectExecutor(@ComponentName(KnownComponentNames.ASYNC_NOTIFICATION_EXECUTOR) ExecutorService executor) {
+   void injectExecutor(@ComponentName(KnownComponentNames.ASYNC_NOTIFICATION_EXECUTOR) ExecutorService executor,
+                       @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService timeoutExecutor) {
       this.asyncProcessor = executor;
+      this.timeoutExecutor = timeoutExecutor;
    }
 
    @Start(priority = 9)
@@ -133,6 +147,7 @@ public void stop() {
       for (List<L> list : listenersMap.values()) {
          if (list != null) list.clear();
       }
+      asyncListenerQueues.clear();
 
       if (syncProcessor != null) syncProcessor.shutdownNow();
    }
@@ -151,6 +166,8 @@ public void removeListener(Object listener) {
       for (Class<? extends Annotation> annotation :
             getAllowedMethodAnnotations(testListenerClassValidity(listener.getClass())).keySet())
          removeListenerInvocation(annotation, listener);
+      // the events already queued are still delivered
+      asyncListenerQueues.remove(listener);
    }
 
    protected Set<L> removeListenerInvocation(Class<? extends Annotation> annotation, Object listener) {
@@ -163,6 +180,21 @@ protected Set<L> removeListenerInvocation(Class<? extends Annotation> annotation
       return markedForRemoval;
    }
 
+   /**
+    * @return the delivery queues of the asynchronous listeners, with their pending, delivered and dropped events
+    */
+   public List<AsyncListenerQueue> getAsyncListenerQueues() {
+      return new ArrayList<>(asyncListenerQueues.values());
+   }
+
+   /**
+    * @return the number of events dropped because the queue of an asynchronous listener was full, including the
+    * listeners already removed
+    */
+   public long getDroppedAsyncEvents() {
+      return droppedAsyncEvents.sum();
+   }
+
    public Set<Object> getListeners() {
       Set<Object> result = new HashSet<Object>(listenersMap.size());
       for (List<L> list : listenersMap.values()) {
@@ -328,17 +360,28 @@ protected static Listener testListenerClassValidity(Class<?> listenerClass) {
    protected static void testListenerMethodValidity(Method m, Class<?> allowedParameter, String annotationName) {
       if (m.getParameterTypes().length != 1 || !m.getParameterTypes()[0].isAssignableFrom(allowedParameter))
          throw new IncorrectListenerException("Methods annotated with " + annotationName + " must accept exactly one parameter, of assignable from type " + allowedParameter.getName());
-      if (!m.getReturnType().equals(void.class))
-         throw new IncorrectListenerException("Methods annotated with " + annotationName + " should have a return type of void.");
+      if (!m.getReturnType().equals(void.class) && !m.getReturnType().equals(CompletionStage.class))
+         throw new IncorrectListenerException("Methods annotated with " + annotationName + " should have a return type of void or CompletionStage.");
    }
 
    protected abstract Transaction suspendIfNeeded();
 
    protected abstract void resumeIfNeeded(Transaction transaction);
 
+   /**
+    * @return the context of the invocation which raised the event, or {@code null} if unknown
+    */
+   protected InvocationContext getInvocationContext(Object event) {
+      return null;
+   }
+
    /**
     * Class that encapsulates a valid invocation for a given registered listener - containing a reference to the method
     * to be invoked as well as the target object.
+    * <p>
+    * Synchronous listeners are invoked in the caller's thread, and if the method returns a {@link CompletionStage} the
+    * invocation raising the event completes after it, see {@link SyncListenerStages}. The events of an asynchronous
+    * listener go through its {@link AsyncListenerQueue}, which invokes them in order without blocking the caller.
     */
    protected class ListenerInvocationImpl<A> implements ListenerInvocation<A> {
       public final Object target;
@@ -346,6 +389,8 @@ protected static void testListenerMethodValidity(Method m, Class<?> allowedParam
       public final boolean sync;
       public final WeakReference<ClassLoader> classLoader;
       public final Subject subject;
+      private final ListenerMethodInvoker invoker;
+      private final AsyncListenerQueue queue;
 
       public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject) {
          this.target = target;
@@ -353,62 +398,113 @@ public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassL
          this.sync = sync;
          this.classLoader = new WeakReference<>(classLoader);
          this.subject = subject;
+         this.invoker = new ListenerMethodInvoker(method);
+         this.queue = sync ? null : asyncListenerQueues.computeIfAbsent(target, t ->
+               new AsyncListenerQueue(t, asyncProcessor, timeoutExecutor, AsyncListenerQueue.DEFAULT_STAGE_TIMEOUT_MILLIS,
+                                      droppedAsyncEvents));
       }
 
       @Override
       public void invoke(final A event) {
-         Runnable r = () -> {
-            ClassLoader contextClassLoader = null;
-            Transaction transaction = suspendIfNeeded();
-            if (classLoader.get() != null) {
-               contextClassLoader = SecurityActions.setContextClassLoader(classLoader.get());
+         if (sync) {
+            syncProcessor.execute(() -> completeSync(event, deliver(event)));
+         } else {
+            queue.offer(() -> deliver(event));
+         }
+      }
+
+      /**
+       * Invokes the listener method.
+       *
+       * @return the stage returned by the listener method, or {@code null}
+       */
+      private CompletionStage<?> deliver(A event) {
+         ClassLoader contextClassLoader = null;
+         boolean classLoaderSet = false;
+         Transaction transaction = null;
+         Object result = null;
+         try {
+            transaction = suspendIfNeeded();
+            ClassLoader listenerClassLoader = classLoader.get();
+            if (listenerClassLoader != null) {
+               contextClassLoader = SecurityActions.setContextClassLoader(listenerClassLoader);
+               classLoaderSet = true;
             }
-            try {
-               if (subject != null) {
-                  try {
-                     Security.doAs(subject, (PrivilegedExceptionAction<Void>) () -> {
-                        // Don't want to print out Subject as it could have sensitive information
-                        getLog().tracef("Invoking listener: %s passing event %s using subject", target, event);
-                        method.invoke(target, event);
-                        return null;
-                     });
-                  } catch (PrivilegedActionException e) {
-                     Throwable cause = e.getCause();
-                     if (cause instanceof InvocationTargetException) {
-                        throw (InvocationTargetException)cause;
-                     } else if (cause instanceof IllegalAccessException) {
-                        throw (IllegalAccessException)cause;
-                     } else {
-                        throw new InvocationTargetException(cause);
+            if (subject != null) {
+               try {
+                  result = Security.doAs(subject, (PrivilegedExceptionAction<Object>) () -> {
+                     // Don't want to print out Subject as it could have sensitive information
+                     getLog().tracef("Invoking listener: %s passing event %s using subject", target, event);
+                     try {
+                        return invoker.invoke(target, event);
+                     } catch (Exception | Error e) {
+                        throw e;
+                     } catch (Throwable t) {
+                        throw new CacheException(t);
                      }
-                  }
-               } else {
-                  getLog().tracef("Invoking listener: %s passing event %s", target, event);
-                  method.invoke(target, event);
-               }
-            } catch (InvocationTargetException exception) {
-               Throwable cause = getRealException(exception);
-               if (sync) {
-                  throw getLog().exceptionInvokingListener(
-                        cause.getClass().getName(), method, target, cause);
-               } else {
-                  getLog().unableToInvokeListenerMethod(method, target, cause);
+                  });
+               } catch (PrivilegedActionException e) {
+                  throw e.getCause();
                }
-            } catch (IllegalAccessException exception) {
-               getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
-               removeListener(target);
-            } finally {
-               if (classLoader.get() != null) {
-                  SecurityActions.setContextClassLoader(contextClassLoader);
-               }
-               resumeIfNeeded(transaction);
+            } else {
+               getLog().tracef("Invoking listener: %s passing event %s", target, event);
+               result = invoker.invoke(target, event);
+            }
+         } catch (IllegalAccessException exception) {
+            getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
+            removeListener(target);
+         } catch (Throwable throwable) {
+            handleListenerException(throwable);
+         } finally {
+            if (classLoaderSet) {
+               SecurityActions.setContextClassLoader(contextClassLoader);
+            }
+            resumeIfNeeded(transaction);
+         }
+         if (!(result instanceof CompletionStage)) {
+            return null;
+         }
+         CompletionStage<?> stage = (CompletionStage<?>) result;
+         if (sync) {
+            return stage;
+         }
+         return stage.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+               handleListenerException(throwable);
             }
-         };
+         });
+      }
+
+      private void completeSync(A event, CompletionStage<?> stage) {
+         if (stage == null) {
+            return;
+         }
+         CompletableFuture<?> future = stage.toCompletableFuture();
+         if (!future.isDone()) {
+            CompletableFuture<?> checked = future.exceptionally(throwable -> {
+               handleListenerException(CompletableFutures.extractException(throwable));
+               return null;
+            });
+            if (SyncListenerStages.add(getInvocationContext(event), checked)) {
+               return;
+            }
+         }
+         // the event was not raised by an invocation which could complete after the listener
+         try {
+            future.join();
+         } catch (CompletionException e) {
+            handleListenerException(e.getCause());
+         }
+      }
 
-         if (sync)
-            syncProcessor.execute(r);
-         else
-            asyncProcessor.execute(r);
+      private void handleListenerException(Throwable throwable) {
+         Throwable cause = getRealException(throwable);
+         if (sync) {
+            throw getLog().exceptionInvokingListener(
+                  cause.getClass().getName(), method, target, cause);
+         } else {
+            getLog().unableToInvokeListenerMethod(method, target, cause);
+         }
       }
 
       @Override
@@ -0,0 +1,220 @@
+package org.infinispan.notifications.impl;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Delivers the events of one asynchronous listener, in the order they were raised.
+ * <p>
+ * Any thread can add events, but only one task at a time drains the queue on the notification executor, invoking up
+ * to {@link #DRAIN_BATCH_SIZE} events before yielding the thread to the other listeners. When a listener method
+ * returns an incomplete {@link CompletionStage}, the next event is delivered once the stage completes, without holding
+ * a notification thread in the meantime. A stage which does not complete within the stage timeout is logged and no
+ * longer waited for, so a listener which loses a stage does not stop its deliveries.
+ * <p>
+ * The queue holds at most {@link #CAPACITY} events: a listener which can't keep up loses the new events instead of
+ * slowing down the writes or exhausting the memory. The dropped events are counted, and logged when the queue starts
+ * dropping them and again, with their number, once it drains.
+ *
+ * @since 9.1
+ */
+public class AsyncListenerQueue {
+   private static final Log log = LogFactory.getLog(AsyncListenerQueue.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   /**
+    * The maximum number of events waiting to be delivered to a listener.
+    */
+   static final int CAPACITY = 100_000;
+   /**
+    * The maximum number of events delivered by a drain task before it yields the notification thread.
+    */
+   static final int DRAIN_BATCH_SIZE = 64;
+   /**
+    * How long the delivery waits for the stage returned by the listener before moving to the next event, by default.
+    */
+   static final long DEFAULT_STAGE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+   private final Object listener;
+   private final Executor executor;
+   private final ScheduledExecutorService timeoutExecutor;
+   private final long stageTimeoutMillis;
+   private final Queue<PendingEvent> events = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger size = new AtomicInteger();
+   private final AtomicBoolean draining = new AtomicBoolean();
+   private final AtomicBoolean dropping = new AtomicBoolean();
+   private final LongAdder delivered = new LongAdder();
+   private final LongAdder dropped = new LongAdder();
+   private final LongAdder totalDropped;
+   private final AtomicLong droppedSinceFull = new AtomicLong();
+
+   /**
+    * @param timeoutExecutor stops waiting for the stages returned by the listener after {@code stageTimeoutMillis}
+    * @param totalDropped also counts the dropped events, shared by the queues of a notifier
+    */
+   AsyncListenerQueue(Object listener, Executor executor, ScheduledExecutorService timeoutExecutor,
+                      long stageTimeoutMillis, LongAdder totalDropped) {
+      this.listener = listener;
+      this.executor = executor;
+      this.timeoutExecutor = timeoutExecutor;
+      this.stageTimeoutMillis = stageTimeoutMillis;
+      this.totalDropped = totalDropped;
+   }
+
+   /**
+    * Adds an event for delivery.
+    *
+    * @param delivery invokes the listener method and returns the stage it returned, or {@code null}
+    * @return {@code false} if the queue is full and the event was dropped
+    */
+   boolean offer(Supplier<CompletionStage<?>> delivery) {
+      if (size.incrementAndGet() > CAPACITY) {
+         size.decrementAndGet();
+         dropped.increment();
+         totalDropped.increment();
+         droppedSinceFull.incrementAndGet();
+         if (dropping.compareAndSet(false, true)) {
+            log.droppingListenerEvents(listener, CAPACITY);
+         }
+         return false;
+      }
+      events.offer(new PendingEvent(delivery, System.nanoTime()));
+      scheduleDrain();
+      return true;
+   }
+
+   private void scheduleDrain() {
+      if (draining.compareAndSet(false, true)) {
+         try {
+            executor.execute(this::drain);
+         } catch (RejectedExecutionException e) {
+            if (trace) log.tracef("Notification executor rejected the delivery to %s, delivering in the caller thread", listener);
+            drain();
+         }
+      }
+   }
+
+   private void drain() {
+      boolean waiting = false;
+      try {
+         for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+            PendingEvent event = events.poll();
+            if (event == null) {
+               break;
+            }
+            size.decrementAndGet();
+            CompletionStage<?> stage = event.delivery.get();
+            delivered.increment();
+            if (stage != null && !(stage instanceof CompletableFuture && ((CompletableFuture<?>) stage).isDone())) {
+               // resume once the listener has processed the event, keeping the drain flag meanwhile
+               awaitStage(stage);
+               waiting = true;
+               return;
+            }
+         }
+      } finally {
+         if (!waiting) {
+            completeDrain();
+         }
+      }
+   }
+
+   private void awaitStage(CompletionStage<?> stage) {
+      AtomicBoolean resumed = new AtomicBoolean();
+      ScheduledFuture<?> timeout = timeoutExecutor.schedule(() -> {
+         if (resumed.compareAndSet(false, true)) {
+            log.listenerStageTimedOut(listener, stageTimeoutMillis);
+            completeDrain();
+         }
+      }, stageTimeoutMillis, TimeUnit.MILLISECONDS);
+      stage.whenComplete((ignored, throwable) -> {
+         if (resumed.compareAndSet(false, true)) {
+            timeout.cancel(false);
+            completeDrain();
+         }
+      });
+   }
+
+   private void completeDrain() {
+      draining.set(false);
+      if (events.isEmpty()) {
+         if (dropping.compareAndSet(true, false)) {
+            log.droppedListenerEvents(listener, droppedSinceFull.getAndSet(0));
+         }
+      } else {
+         // an event added while the flag was set, or the remainder of the batch
+         scheduleDrain();
+      }
+   }
+
+   /**
+    * @return the listener receiving the events
+    */
+   public Object getListener() {
+      return listener;
+   }
+
+   /**
+    * @return the number of events waiting to be delivered
+    */
+   public int getPendingEvents() {
+      return size.get();
+   }
+
+   /**
+    * @return how long the oldest pending event has been waiting, or 0 if there are no pending events
+    */
+   public long getLag(TimeUnit unit) {
+      PendingEvent oldest = events.peek();
+      return oldest == null ? 0 : unit.convert(System.nanoTime() - oldest.timestamp, TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * @return the number of events delivered to the listener
+    */
+   public long getDeliveredEvents() {
+      return delivered.sum();
+   }
+
+   /**
+    * @return the number of events dropped because the queue was full
+    */
+   public long getDroppedEvents() {
+      return dropped.sum();
+   }
+
+   @Override
+   public String toString() {
+      return "AsyncListenerQueue{listener=" + listener +
+            ", pending=" + getPendingEvents() +
+            ", lag=" + getLag(TimeUnit.MILLISECONDS) + "ms" +
+            ", delivered=" + getDeliveredEvents() +
+            ", dropped=" + getDroppedEvents() +
+            '}';
+   }
+
+   private static class PendingEvent {
+      final Supplier<CompletionStage<?>> delivery;
+      final long timestamp;
+
+      PendingEvent(Supplier<CompletionStage<?>> delivery, long timestamp) {
+         this.delivery = delivery;
+         this.timestamp = timestamp;
+      }
+   }
+}
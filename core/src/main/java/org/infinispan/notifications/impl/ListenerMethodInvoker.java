@@ -0,0 +1,57 @@
+package org.infinispan.notifications.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a listener method through a {@link MethodHandle} adapted once to a generic signature, so that each
+ * invocation skips the access checks and the argument array of {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * Exceptions thrown by the listener method are propagated as they are, without wrapping them in an
+ * {@link InvocationTargetException}.
+ *
+ * @since 9.1
+ */
+final class ListenerMethodInvoker {
+   private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+   private final Method method;
+   private final MethodHandle handle;
+
+   /**
+    * @param method the listener method, which must already be {@link Method#setAccessible(boolean) accessible}
+    */
+   ListenerMethodInvoker(Method method) {
+      this.method = method;
+      MethodHandle methodHandle;
+      try {
+         // a void method returns null
+         methodHandle = MethodHandles.lookup().unreflect(method).asType(GENERIC_TYPE);
+      } catch (IllegalAccessException e) {
+         // fall back to reflection, which reports the access failure on every invocation
+         methodHandle = null;
+      }
+      this.handle = methodHandle;
+   }
+
+   /**
+    * @return the value returned by the listener method, or {@code null} if it is {@code void}
+    */
+   Object invoke(Object target, Object event) throws Throwable {
+      if (handle != null) {
+         return (Object) handle.invokeExact(target, event);
+      }
+      try {
+         return method.invoke(target, event);
+      } catch (InvocationTargetException e) {
+         throw e.getCause();
+      }
+   }
+
+   Method getMethod() {
+      return method;
+   }
+}
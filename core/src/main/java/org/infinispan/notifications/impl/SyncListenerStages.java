@@ -0,0 +1,89 @@
+package org.infinispan.notifications.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.context.InvocationContext;
+
+/**
+ * Collects the incomplete {@link java.util.concurrent.CompletionStage}s returned by the synchronous listeners while a
+ * command runs through the interceptor chain, so that the invocation completes once the listeners are done instead of
+ * blocking the thread that raised the events.
+ * <p>
+ * The stages are collected per invocation context, between {@link #begin(InvocationContext)} and
+ * {@link #end(InvocationContext)} in the thread running the invocation. A stage is only collected by the invocation
+ * whose context raised the event, so the events of another invocation running in the same thread, e.g. the
+ * continuation of an asynchronous command, are not attributed to it. Events raised without a context, or by a part of
+ * the invocation running on another thread, are not collected, and the caller waits for the stage instead.
+ *
+ * @since 9.1
+ */
+public final class SyncListenerStages {
+   private static final ThreadLocal<Collector> collectors = new ThreadLocal<>();
+
+   private SyncListenerStages() {
+   }
+
+   /**
+    * Starts collecting the stages of the events raised for {@code ctx} in the current thread.
+    */
+   public static void begin(InvocationContext ctx) {
+      collectors.set(new Collector(ctx, collectors.get()));
+   }
+
+   /**
+    * Stops collecting the stages of {@code ctx} and restores the collector of the enclosing invocation.
+    *
+    * @return a future completed once all the collected stages complete, or {@code null} if none was collected
+    */
+   public static CompletableFuture<Void> end(InvocationContext ctx) {
+      Collector collector = collectors.get();
+      if (collector == null || collector.ctx != ctx) {
+         throw new IllegalStateException("Not collecting the listener stages of " + ctx);
+      }
+      if (collector.outer == null) {
+         collectors.remove();
+      } else {
+         collectors.set(collector.outer);
+      }
+      List<CompletableFuture<?>> stages = collector.stages;
+      if (stages == null) {
+         return null;
+      }
+      if (stages.size() == 1) {
+         return stages.get(0).thenApply(ignored -> null);
+      }
+      return CompletableFuture.allOf(stages.toArray(new CompletableFuture[stages.size()]));
+   }
+
+   /**
+    * @return {@code false} if no invocation collects the stages of {@code ctx} in the current thread
+    */
+   static boolean add(InvocationContext ctx, CompletableFuture<?> stage) {
+      if (ctx == null) {
+         return false;
+      }
+      for (Collector collector = collectors.get(); collector != null; collector = collector.outer) {
+         if (collector.ctx == ctx) {
+            if (collector.stages == null) {
+               collector.stages = new ArrayList<>(2);
+            }
+            collector.stages.add(stage);
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private static class Collector {
+      final InvocationContext ctx;
+      final Collector outer;
+      List<CompletableFuture<?>> stages;
+
+      Collector(InvocationContext ctx, Collector outer) {
+         this.ctx = ctx;
+         this.outer = outer;
+      }
+   }
+}
@@ -5,6 +5,7 @@
 import org.infinispan.distribution.ch.ConsistentHashFactory;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.topology.CacheJoinInfo;
 import org.infinispan.topology.CacheTopology;
 
 
@@ -19,6 +20,11 @@
 public interface AvailabilityStrategyContext {
    String getCacheName();
 
+   /**
+    * @return The cache configuration shared by all the members, including the {@link ConsistentHashFactory}.
+    */
+   CacheJoinInfo getJoinInfo();
+
    /**
     * @return The current cache topology.
     */
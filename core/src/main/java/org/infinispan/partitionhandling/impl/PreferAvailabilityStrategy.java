@@ -9,6 +9,7 @@
 
 import org.infinispan.commons.util.InfinispanCollections;
 import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.ConsistentHashFactory;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.topology.CacheStatusResponse;
@@ -23,10 +24,21 @@ public class PreferAvailabilityStrategy implements AvailabilityStrategy {
    private static final Log log = LogFactory.getLog(PreferAvailabilityStrategy.class);
    private final EventLogManager eventLogManager;
    private final PersistentUUIDManager persistentUUIDManager;
+   private final boolean resolveConflicts;
 
    public PreferAvailabilityStrategy(EventLogManager eventLogManager, PersistentUUIDManager persistentUUIDManager) {
+      this(eventLogManager, persistentUUIDManager, false);
+   }
+
+   /**
+    * @param resolveConflicts If {@code true}, the owners of all the partitions keep their data after a merge, so that
+    *                         their conflicts can be resolved before the rebalance.
+    */
+   public PreferAvailabilityStrategy(EventLogManager eventLogManager, PersistentUUIDManager persistentUUIDManager,
+                                     boolean resolveConflicts) {
       this.eventLogManager = eventLogManager;
       this.persistentUUIDManager = persistentUUIDManager;
+      this.resolveConflicts = resolveConflicts;
    }
 
    @Override
@@ -139,10 +151,22 @@ public void onPartitionMerge(AvailabilityStrategyContext context, Collection<Cac
       // confirmation status (yet).
       CacheTopology mergedTopology = null;
       if (maxTopology != null) {
+         ConsistentHash mergedCH = maxTopology.getCurrentCH();
+         List<Address> mergedMembers = maxTopology.getActualMembers();
+         if (resolveConflicts) {
+            mergedCH = unionOfPartitions(context, mergedCH, statusResponses);
+            mergedMembers = new ArrayList<>(mergedMembers);
+            for (Address member : mergedCH.getMembers()) {
+               // the members of the other partitions which left are removed from the CH below
+               if (!mergedMembers.contains(member) && context.getExpectedMembers().contains(member)) {
+                  mergedMembers.add(member);
+               }
+            }
+         }
          // There's no pendingCH, therefore the topology is in stable phase
          mergedTopology = new CacheTopology(maxTopologyId + 1, maxRebalanceId + 1,
-               maxTopology.getCurrentCH(), null, CacheTopology.Phase.NO_REBALANCE, maxTopology.getActualMembers(),
-               persistentUUIDManager.mapAddresses(maxTopology.getActualMembers()));
+               mergedCH, null, CacheTopology.Phase.NO_REBALANCE, mergedMembers,
+               persistentUUIDManager.mapAddresses(mergedMembers));
       }
 
       context.updateTopologiesAfterMerge(mergedTopology, maxStableTopology, null);
@@ -159,6 +183,24 @@ public void onPartitionMerge(AvailabilityStrategyContext context, Collection<Cac
       context.queueRebalance(newMembers);
    }
 
+   /**
+    * Adds the owners of the other partitions to each segment, after the owners of the biggest partition, so that no
+    * node discards its data until the conflicts are resolved.
+    */
+   private ConsistentHash unionOfPartitions(AvailabilityStrategyContext context, ConsistentHash maxCH,
+         Collection<CacheStatusResponse> statusResponses) {
+      ConsistentHashFactory chFactory = context.getJoinInfo().getConsistentHashFactory();
+      ConsistentHash unionCH = maxCH;
+      for (CacheStatusResponse response : statusResponses) {
+         CacheTopology topology = response.getCacheTopology();
+         if (topology != null && !unionCH.getMembers().containsAll(topology.getCurrentCH().getMembers())) {
+            unionCH = chFactory.union(unionCH, topology.getCurrentCH());
+         }
+      }
+      log.debugf("Merging the partitions of cache %s with the union consistent hash %s", context.getCacheName(), unionCH);
+      return unionCH;
+   }
+
    @Override
    public void onRebalanceEnd(AvailabilityStrategyContext context) {
       // Do nothing, if we need another rebalance it's already in the queue
@@ -2,14 +2,20 @@
 
 import static org.infinispan.factories.KnownComponentNames.REMOTE_COMMAND_EXECUTOR;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.IllegalLifecycleStateException;
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.tx.GroupCommitCommand;
+import org.infinispan.commands.tx.TransactionBoundaryCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.GlobalComponentRegistry;
@@ -115,11 +121,38 @@ private void handleCacheRpcCommand(Address origin, CacheRpcCommand command, Repl
          reply.reply(CacheNotFoundResponse.INSTANCE);
          return;
       }
-      initializeCacheRpcCommand(command, cr);
       PerCacheInboundInvocationHandler handler = cr.getPerCacheInboundInvocationHandler();
+      if (command.getCommandId() == GroupCommitCommand.COMMAND_ID) {
+         handleGroupCommitCommand(origin, (GroupCommitCommand) command, cr, handler, reply, mode);
+         return;
+      }
+      initializeCacheRpcCommand(command, cr);
       handler.handle(command, reply, mode);
    }
 
+   /**
+    * Handles each transaction command of the group as if it was received on its own and replies once all of them
+    * completed, with their responses in the order of the commands.
+    */
+   private void handleGroupCommitCommand(Address origin, GroupCommitCommand command, ComponentRegistry cr,
+                                         PerCacheInboundInvocationHandler handler, Reply reply, DeliverOrder mode) {
+      List<TransactionBoundaryCommand> commands = command.getCommands();
+      Object[] responses = new Object[commands.size()];
+      AtomicInteger pending = new AtomicInteger(commands.size());
+      for (int i = 0; i < commands.size(); i++) {
+         int index = i;
+         TransactionBoundaryCommand txCommand = commands.get(i);
+         txCommand.setOrigin(origin);
+         initializeCacheRpcCommand(txCommand, cr);
+         handler.handle(txCommand, response -> {
+            responses[index] = response;
+            if (pending.decrementAndGet() == 0) {
+               reply.reply(SuccessfulResponse.create(new ArrayList<>(Arrays.asList(responses))));
+            }
+         }, mode);
+      }
+   }
+
    private void initializeCacheRpcCommand(CacheRpcCommand command, ComponentRegistry componentRegistry) {
       CommandsFactory commandsFactory = componentRegistry.getCommandsFactory();
       // initialize this command with components specific to the intended cache instance
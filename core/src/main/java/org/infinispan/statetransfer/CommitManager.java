@@ -10,6 +10,7 @@
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.context.Flag;
+import org.infinispan.distribution.group.impl.GroupIndex;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.util.logging.Log;
@@ -30,12 +31,14 @@ public class CommitManager {
    private static final boolean trace = log.isTraceEnabled();
    private final ConcurrentMap<Object, DiscardPolicy> tracker = new ConcurrentHashMap<>();
    private DataContainer dataContainer;
+   private GroupIndex groupIndex;
    private volatile boolean trackStateTransfer;
    private volatile boolean trackXSiteStateTransfer;
 
    @Inject
-   public final void inject(DataContainer dataContainer) {
+   public final void inject(DataContainer dataContainer, GroupIndex groupIndex) {
       this.dataContainer = dataContainer;
+      this.groupIndex = groupIndex;
    }
 
    /**
@@ -92,7 +95,7 @@ public final void commit(final CacheEntry entry, final Metadata metadata, final
             log.tracef("Committing key=%s. It is a L1 invalidation or a normal put and no tracking is enabled!",
                   toStr(entry.getKey()));
          }
-         entry.commit(dataContainer, metadata);
+         commitEntry(entry, metadata);
          return;
       }
       if (isTrackDisabled(operation)) {
@@ -112,7 +115,7 @@ public final void commit(final CacheEntry entry, final Metadata metadata, final
             }
             return discardPolicy;
          }
-         entry.commit(dataContainer, metadata);
+         commitEntry(entry, metadata);
          DiscardPolicy newDiscardPolicy = calculateDiscardPolicy();
          if (trace) {
             log.tracef("Committed key=%s. Old discard policy=%s. New discard policy=%s", toStr(entry.getKey()),
@@ -151,6 +154,13 @@ public String toString() {
             '}';
    }
 
+   private void commitEntry(CacheEntry entry, Metadata metadata) {
+      entry.commit(dataContainer, metadata);
+      if (groupIndex != null) {
+         groupIndex.update(entry.getKey());
+      }
+   }
+
    private void setTrack(Flag track, boolean value) {
       if (trace) {
          log.tracef("Set track to %s = %s", track, value);
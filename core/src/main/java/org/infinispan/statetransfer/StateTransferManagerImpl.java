@@ -15,6 +15,7 @@
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.conflict.impl.ConflictResolutionManager;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.LocalizedCacheTopology;
 import org.infinispan.distribution.ch.ConsistentHash;
@@ -57,6 +58,7 @@ public class StateTransferManagerImpl implements StateTransferManager {
    private StateConsumer stateConsumer;
    private StateProvider stateProvider;
    private PartitionHandlingManager partitionHandlingManager;
+   private ConflictResolutionManager conflictResolutionManager;
    private DistributionManager distributionManager;
    private String cacheName;
    private CacheNotifier cacheNotifier;
@@ -87,7 +89,8 @@ public void init(StateConsumer stateConsumer,
                     LocalTopologyManager localTopologyManager,
                     PartitionHandlingManager partitionHandlingManager,
                     GlobalStateManager globalStateManager,
-                    DistributionManager distributionManager) {
+                    DistributionManager distributionManager,
+                    ConflictResolutionManager conflictResolutionManager) {
       this.stateConsumer = stateConsumer;
       this.stateProvider = stateProvider;
       this.cacheName = cache.getName();
@@ -99,6 +102,7 @@ public void init(StateConsumer stateConsumer,
       this.localTopologyManager = localTopologyManager;
       this.partitionHandlingManager = partitionHandlingManager;
       this.distributionManager = distributionManager;
+      this.conflictResolutionManager = conflictResolutionManager;
       if (globalStateManager != null) {
          persistentStateChecksum = globalStateManager.readScopedState(cacheName).map(ScopedPersistentState::getChecksum);
       } else {
@@ -207,8 +211,11 @@ private void doTopologyUpdate(CacheTopology newCacheTopology, boolean isRebalanc
 
       cacheNotifier.notifyTopologyChanged(oldCacheTopology, newCacheTopology, newCacheTopology.getTopologyId(), true);
 
+      // Must happen before the state consumer can confirm the end of the rebalance
+      conflictResolutionManager.onTopologyUpdate(oldCacheTopology, newCacheTopology);
       stateConsumer.onTopologyUpdate(newCacheTopology, isRebalance);
       stateProvider.onTopologyUpdate(newCacheTopology, isRebalance);
+      conflictResolutionManager.onTopologyInstalled();
 
       cacheNotifier.notifyTopologyChanged(oldCacheTopology, newCacheTopology, newCacheTopology.getTopologyId(), false);
 
@@ -320,7 +327,9 @@ public Map<Address, Response> forwardCommandIfNeeded(TopologyAffectedCommand com
 
    @Override
    public void notifyEndOfStateTransfer(int topologyId, int rebalanceId) {
-      localTopologyManager.confirmRebalancePhase(cacheName, topologyId, rebalanceId, null);
+      // The rebalance discards the data of the extra owners installed by a merge, so it must wait for their conflicts
+      conflictResolutionManager.getResolutionFuture().thenRun(() ->
+            localTopologyManager.confirmRebalancePhase(cacheName, topologyId, rebalanceId, null));
    }
 
    // TODO Investigate merging ownsData() and getFirstTopologyAsMember(), as they serve a similar purpose
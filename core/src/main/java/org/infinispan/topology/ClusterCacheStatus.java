@@ -94,6 +94,7 @@ public ClusterCacheStatus(String cacheName, AvailabilityStrategy availabilityStr
       }
    }
 
+   @Override
    public CacheJoinInfo getJoinInfo() {
       return joinInfo;
    }
@@ -422,7 +422,9 @@ private ClusterCacheStatus initCacheStatusIfAbsent(String cacheName) {
          if (cacheConfiguration != null && cacheConfiguration.clustering().partitionHandling().enabled()) {
             availabilityStrategy = new PreferConsistencyStrategy(eventLogManager, persistentUUIDManager);
          } else {
-            availabilityStrategy = new PreferAvailabilityStrategy(eventLogManager, persistentUUIDManager);
+            boolean resolveConflicts = cacheConfiguration != null &&
+                  cacheConfiguration.clustering().partitionHandling().mergePolicy() != null;
+            availabilityStrategy = new PreferAvailabilityStrategy(eventLogManager, persistentUUIDManager, resolveConflicts);
          }
          Optional<GlobalStateManager> globalStateManager = cacheManager.getGlobalComponentRegistry().getOptionalComponent(GlobalStateManager.class);
          Optional<ScopedPersistentState> persistedState = globalStateManager.flatMap(gsm -> gsm.readScopedState(cacheName));
@@ -0,0 +1,224 @@
+package org.infinispan.transaction.impl;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.transaction.impl.TransactionTable.CompletedTransactionStatus;
+import org.infinispan.transaction.xa.GlobalTransaction;
+import org.infinispan.util.TimeService;
+
+/**
+ * Keeps track of the transactions completed on this node for a limited time.
+ * <p>
+ * The transactions are stored in time buckets, each covering a quarter of the completed transaction timeout, and each
+ * bucket is split in shards by the hash of the transaction. Expiring a bucket drops it as a whole, so the cost of the
+ * expiration does not depend on the number of transactions and no large map is ever scanned or resized. Each bucket
+ * records the highest transaction id per originator, which is all that is needed to keep answering for the expired
+ * transactions.
+ *
+ * @since 9.1
+ */
+public class CompletedTransactions {
+
+   /**
+    * Number of buckets covering the completed transaction timeout. A transaction is kept between the timeout and 1/4
+    * more than the timeout.
+    */
+   private static final int BUCKETS_PER_TIMEOUT = 4;
+   private static final int SHARDS = 16;
+
+   private final TimeService timeService;
+   private final long timeoutNanos;
+   private final long bucketNanos;
+   // newest bucket first
+   private final ConcurrentLinkedDeque<Bucket> buckets = new ConcurrentLinkedDeque<>();
+   private volatile Bucket current;
+   // The highest transaction id previously pruned, one per originator
+   private final ConcurrentMap<Address, AtomicLong> nodeMaxPrunedTxIds = new ConcurrentHashMap<>();
+   // The highest transaction id previously pruned, with any originator
+   private volatile long globalMaxPrunedTxId = -1;
+
+   public CompletedTransactions(TimeService timeService, long timeout, TimeUnit unit) {
+      this.timeService = timeService;
+      this.timeoutNanos = unit.toNanos(timeout);
+      this.bucketNanos = Math.max(timeoutNanos / BUCKETS_PER_TIMEOUT, TimeUnit.MILLISECONDS.toNanos(1));
+   }
+
+   public void markCompleted(GlobalTransaction gtx, boolean successful) {
+      currentBucket().put(gtx, successful);
+   }
+
+   public boolean isCompleted(GlobalTransaction gtx) {
+      return getStatus(gtx) != CompletedTransactionStatus.NOT_COMPLETED;
+   }
+
+   public CompletedTransactionStatus getStatus(GlobalTransaction gtx) {
+      for (Bucket bucket : buckets) {
+         Boolean successful = bucket.get(gtx);
+         if (successful != null) {
+            return successful ? CompletedTransactionStatus.COMMITTED : CompletedTransactionStatus.ABORTED;
+         }
+      }
+
+      // Transaction ids are allocated in sequence, so any transaction with a smaller id must have been started
+      // before a transaction that was already pruned because it was too old.
+      // We assume that the transaction was either committed, or it was rolled back (e.g. because the prepare
+      // RPC timed out.
+      // Note: We must check the id *after* verifying that the tx isn't in any bucket.
+      if (gtx.getId() > globalMaxPrunedTxId)
+         return CompletedTransactionStatus.NOT_COMPLETED;
+      AtomicLong nodeMaxPrunedTxId = nodeMaxPrunedTxIds.get(gtx.getAddress());
+      if (nodeMaxPrunedTxId == null || gtx.getId() > nodeMaxPrunedTxId.get()) {
+         // We haven't pruned any transaction for this node, or not this particular transaction yet
+         return CompletedTransactionStatus.NOT_COMPLETED;
+      }
+      // We already pruned the status of this transaction
+      return CompletedTransactionStatus.EXPIRED;
+   }
+
+   /**
+    * Drops the buckets older than the timeout and forgets the originators which are no longer members and have no
+    * completed transactions left. Must not be invoked concurrently.
+    *
+    * @return the number of transactions removed
+    */
+   public int expire(Collection<Address> members) {
+      long now = timeService.time();
+      int removed = 0;
+      Iterator<Bucket> it = buckets.descendingIterator();
+      while (it.hasNext()) {
+         Bucket bucket = it.next();
+         if (now - (bucket.startTime + bucketNanos) <= timeoutNanos) {
+            break;
+         }
+         if (bucket == current) {
+            synchronized (this) {
+               if (current == bucket) {
+                  current = null;
+               }
+            }
+         }
+         // Need to update the pruned ids *before* removing the bucket
+         bucket.nodeMaxTxIds.forEach((address, maxTxId) -> updateMaxPrunedTxId(address, maxTxId.get()));
+         it.remove();
+         removed += bucket.size();
+      }
+
+      Set<Address> leavers = new HashSet<>();
+      for (Address address : nodeMaxPrunedTxIds.keySet()) {
+         if (!members.contains(address)) {
+            leavers.add(address);
+         }
+      }
+      // Nodes with "active" completed transactions are not removed
+      for (Bucket bucket : buckets) {
+         leavers.removeAll(bucket.nodeMaxTxIds.keySet());
+      }
+      leavers.forEach(nodeMaxPrunedTxIds::remove);
+      return removed;
+   }
+
+   /**
+    * @return the number of completed transactions tracked
+    */
+   public int size() {
+      int size = 0;
+      for (Bucket bucket : buckets) {
+         size += bucket.size();
+      }
+      return size;
+   }
+
+   long getGlobalMaxPrunedTxId() {
+      return globalMaxPrunedTxId;
+   }
+
+   private void updateMaxPrunedTxId(Address address, long txId) {
+      // there can't be more than one thread updating the pruned ids
+      if (txId > globalMaxPrunedTxId) {
+         globalMaxPrunedTxId = txId;
+      }
+      AtomicLong nodeMaxPrunedTxId = nodeMaxPrunedTxIds.computeIfAbsent(address, a -> new AtomicLong(-1));
+      if (txId > nodeMaxPrunedTxId.get()) {
+         nodeMaxPrunedTxId.set(txId);
+      }
+   }
+
+   private Bucket currentBucket() {
+      long now = timeService.time();
+      Bucket bucket = current;
+      if (bucket != null && now - bucket.startTime < bucketNanos) {
+         return bucket;
+      }
+      synchronized (this) {
+         bucket = current;
+         if (bucket == null || now - bucket.startTime >= bucketNanos) {
+            bucket = new Bucket(now);
+            buckets.addFirst(bucket);
+            current = bucket;
+         }
+         return bucket;
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "CompletedTransactions{" +
+            "size=" + size() +
+            ", buckets=" + buckets.size() +
+            ", globalMaxPrunedTxId=" + globalMaxPrunedTxId +
+            ", nodeMaxPrunedTxIds=" + nodeMaxPrunedTxIds +
+            '}';
+   }
+
+   private static class Bucket {
+      private final long startTime;
+      private final ConcurrentMap<GlobalTransaction, Boolean>[] shards;
+      private final ConcurrentMap<Address, AtomicLong> nodeMaxTxIds = new ConcurrentHashMap<>();
+
+      @SuppressWarnings("unchecked")
+      private Bucket(long startTime) {
+         this.startTime = startTime;
+         this.shards = new ConcurrentMap[SHARDS];
+         for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+         }
+      }
+
+      void put(GlobalTransaction gtx, boolean successful) {
+         shard(gtx).put(gtx, successful);
+         AtomicLong maxTxId = nodeMaxTxIds.computeIfAbsent(gtx.getAddress(), a -> new AtomicLong(-1));
+         long txId = gtx.getId();
+         long current;
+         while ((current = maxTxId.get()) < txId && !maxTxId.compareAndSet(current, txId)) {
+            // retry
+         }
+      }
+
+      Boolean get(GlobalTransaction gtx) {
+         return shard(gtx).get(gtx);
+      }
+
+      int size() {
+         int size = 0;
+         for (Map<GlobalTransaction, Boolean> shard : shards) {
+            size += shard.size();
+         }
+         return size;
+      }
+
+      private ConcurrentMap<GlobalTransaction, Boolean> shard(GlobalTransaction gtx) {
+         int hash = gtx.hashCode();
+         return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+      }
+   }
+}
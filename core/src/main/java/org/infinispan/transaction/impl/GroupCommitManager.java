@@ -0,0 +1,308 @@
+package org.infinispan.transaction.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.tx.GroupCommitCommand;
+import org.infinispan.commands.tx.TransactionBoundaryCommand;
+import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.partitionhandling.AvailabilityException;
+import org.infinispan.remoting.responses.ExceptionResponse;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.SuccessfulResponse;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcOptions;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.jgroups.SuspectException;
+import org.infinispan.statetransfer.OutdatedTopologyException;
+import org.infinispan.transaction.LockingMode;
+import org.infinispan.transaction.TransactionProtocol;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Groups the prepare and commit commands of concurrent optimistic transactions targeting the same owners, so that a
+ * single {@link GroupCommitCommand} is sent for all of them.
+ * <p>
+ * A group is sent when it holds {@link #MAX_GROUP_SIZE} commands, or when the configured
+ * {@link org.infinispan.configuration.cache.TransactionConfiguration#groupCommitWindow() window} has elapsed since its
+ * first command was added. A transaction whose write set overlaps the write set of a pending transaction sends the
+ * pending group first, so only transactions with disjoint write sets are grouped.
+ *
+ * @since 9.1
+ */
+@MBean(objectName = "GroupCommit", description = "Groups the prepare and commit commands of concurrent transactions")
+public class GroupCommitManager {
+
+   private static final Log log = LogFactory.getLog(GroupCommitManager.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   /**
+    * The maximum number of commands sent in a single group.
+    */
+   static final int MAX_GROUP_SIZE = 64;
+   /**
+    * The target of the groups sent to all the members.
+    */
+   private static final Object ALL_MEMBERS = new Object();
+
+   private final ConcurrentMap<Object, Group> pendingGroups = new ConcurrentHashMap<>();
+   private final LongAdder groupsSent = new LongAdder();
+   private final LongAdder commandsGrouped = new LongAdder();
+   private RpcManager rpcManager;
+   private CommandsFactory commandsFactory;
+   private Configuration configuration;
+   private ScheduledExecutorService scheduler;
+   private long window;
+   private boolean enabled;
+
+   @Inject
+   public void inject(RpcManager rpcManager, CommandsFactory commandsFactory, Configuration configuration,
+                      @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService scheduler) {
+      this.rpcManager = rpcManager;
+      this.commandsFactory = commandsFactory;
+      this.configuration = configuration;
+      this.scheduler = scheduler;
+   }
+
+   @Start
+   public void start() {
+      window = configuration.transaction().groupCommitWindow();
+      enabled = window > 0 && rpcManager != null &&
+            configuration.transaction().transactionMode().isTransactional() &&
+            configuration.transaction().lockingMode() == LockingMode.OPTIMISTIC &&
+            configuration.transaction().transactionProtocol() != TransactionProtocol.TOTAL_ORDER;
+   }
+
+   /**
+    * @return {@code true} if the transaction commands are grouped
+    */
+   public boolean isEnabled() {
+      return enabled;
+   }
+
+   /**
+    * Sends a prepare or commit command, possibly grouped with the commands of other transactions.
+    *
+    * @param recipients the owners of the affected keys, or {@code null} for all the members
+    * @param command    the command to send
+    * @param keys       the keys written by the transaction
+    * @param rpcOptions the options of the RPC, which must be the same for all the commands
+    * @return the responses to the command, as if it was sent on its own
+    */
+   public CompletableFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients,
+                                                                        TransactionBoundaryCommand command,
+                                                                        Collection<?> keys, RpcOptions rpcOptions) {
+      if (!enabled || isLocalOnly(recipients)) {
+         return rpcManager.invokeRemotelyAsync(recipients, command, rpcOptions);
+      }
+      Object target = recipients == null ? ALL_MEMBERS : new HashSet<>(recipients);
+      while (true) {
+         Group group = pendingGroups.computeIfAbsent(target, t -> new Group(t, recipients, rpcOptions));
+         CompletableFuture<Map<Address, Response>> future = null;
+         boolean sendGroup;
+         synchronized (group) {
+            if (group.sent) {
+               continue;
+            }
+            if (group.overlaps(keys)) {
+               // send the pending group first and retry with a new group
+               sendGroup = group.markSent();
+            } else {
+               future = group.add(command, keys);
+               if (group.size() == 1) {
+                  scheduler.schedule(() -> flush(group), window, TimeUnit.MILLISECONDS);
+               }
+               sendGroup = group.size() >= MAX_GROUP_SIZE && group.markSent();
+            }
+         }
+         if (sendGroup) {
+            send(group);
+         }
+         if (future != null) {
+            return future;
+         }
+      }
+   }
+
+   private boolean isLocalOnly(Collection<Address> recipients) {
+      if (recipients == null) {
+         return rpcManager.getMembers().size() <= 1;
+      }
+      return recipients.isEmpty() || recipients.size() == 1 && recipients.contains(rpcManager.getAddress());
+   }
+
+   private void flush(Group group) {
+      boolean send;
+      synchronized (group) {
+         send = group.markSent();
+      }
+      if (send) {
+         send(group);
+      }
+   }
+
+   private void send(Group group) {
+      List<TransactionBoundaryCommand> commands = group.commands;
+      if (trace) {
+         log.tracef("Sending %d transaction commands to %s", commands.size(), group.recipients);
+      }
+      if (commands.size() == 1) {
+         CompletableFuture<Map<Address, Response>> future = group.futures.get(0);
+         try {
+            rpcManager.invokeRemotelyAsync(group.recipients, commands.get(0), group.rpcOptions)
+                  .whenComplete((responses, throwable) -> {
+                     if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                     } else {
+                        future.complete(responses);
+                     }
+                  });
+         } catch (Throwable t) {
+            future.completeExceptionally(t);
+         }
+         return;
+      }
+      groupsSent.increment();
+      commandsGrouped.add(commands.size());
+      GroupCommitCommand groupCommand = commandsFactory.buildGroupCommitCommand(commands);
+      try {
+         rpcManager.invokeRemotelyAsync(group.recipients, groupCommand, group.rpcOptions)
+               .whenComplete((responses, throwable) -> {
+                  if (throwable != null) {
+                     group.futures.forEach(future -> future.completeExceptionally(throwable));
+                  } else {
+                     splitResponses(group, responses);
+                  }
+               });
+      } catch (Throwable t) {
+         group.futures.forEach(future -> future.completeExceptionally(t));
+      }
+   }
+
+   private void splitResponses(Group group, Map<Address, Response> responses) {
+      for (int i = 0; i < group.futures.size(); i++) {
+         CompletableFuture<Map<Address, Response>> future = group.futures.get(i);
+         Map<Address, Response> commandResponses = new HashMap<>(responses.size());
+         try {
+            for (Map.Entry<Address, Response> e : responses.entrySet()) {
+               Response response = e.getValue();
+               if (response instanceof SuccessfulResponse &&
+                     ((SuccessfulResponse) response).getResponseValue() instanceof List) {
+                  List<?> values = (List<?>) ((SuccessfulResponse) response).getResponseValue();
+                  commandResponses.put(e.getKey(), checkResponse(values.get(i), e.getKey()));
+               } else {
+                  // the group was not handled at all, e.g. the cache is not running on the recipient
+                  commandResponses.put(e.getKey(), response);
+               }
+            }
+         } catch (Throwable t) {
+            future.completeExceptionally(t);
+            continue;
+         }
+         future.complete(commandResponses);
+      }
+   }
+
+   /**
+    * Same checks as the transport does for the response of a command sent on its own.
+    */
+   private static Response checkResponse(Object value, Address sender) {
+      if (value == null) {
+         return SuccessfulResponse.SUCCESSFUL_EMPTY_RESPONSE;
+      }
+      if (value instanceof ExceptionResponse) {
+         Exception e = ((ExceptionResponse) value).getException();
+         if (e instanceof SuspectException) throw log.thirdPartySuspected(sender, (SuspectException) e);
+         if (e instanceof AvailabilityException || e instanceof OutdatedTopologyException) throw (CacheException) e;
+         throw log.remoteException(sender, e);
+      }
+      return (Response) value;
+   }
+
+   @ManagedAttribute(description = "The time window, in milliseconds, during which the transaction commands are grouped", displayName = "Group commit window", dataType = DataType.TRAIT)
+   public long getGroupCommitWindow() {
+      return window;
+   }
+
+   @ManagedAttribute(description = "Number of groups of transaction commands sent", displayName = "Number of groups sent", measurementType = MeasurementType.TRENDSUP)
+   public long getNumberOfGroupsSent() {
+      return groupsSent.sum();
+   }
+
+   @ManagedAttribute(description = "Average number of transaction commands per group sent", displayName = "Average group size")
+   public double getAverageGroupSize() {
+      long groups = groupsSent.sum();
+      return groups == 0 ? 0 : (double) commandsGrouped.sum() / groups;
+   }
+
+   private class Group {
+      private final Object target;
+      private final Collection<Address> recipients;
+      private final RpcOptions rpcOptions;
+      private final List<TransactionBoundaryCommand> commands = new ArrayList<>();
+      private final List<CompletableFuture<Map<Address, Response>>> futures = new ArrayList<>();
+      private final Set<Object> keys = new HashSet<>();
+      private boolean sent;
+
+      private Group(Object target, Collection<Address> recipients, RpcOptions rpcOptions) {
+         this.target = target;
+         this.recipients = recipients;
+         this.rpcOptions = rpcOptions;
+      }
+
+      boolean overlaps(Collection<?> otherKeys) {
+         for (Object key : otherKeys) {
+            if (keys.contains(key)) {
+               return true;
+            }
+         }
+         return false;
+      }
+
+      CompletableFuture<Map<Address, Response>> add(TransactionBoundaryCommand command, Collection<?> commandKeys) {
+         CompletableFuture<Map<Address, Response>> future = new CompletableFuture<>();
+         commands.add(command);
+         futures.add(future);
+         keys.addAll(commandKeys);
+         return future;
+      }
+
+      int size() {
+         return commands.size();
+      }
+
+      /**
+       * @return {@code true} if the group was pending, in which case it is no longer visible to new commands
+       */
+      boolean markSent() {
+         if (sent) {
+            return false;
+         }
+         sent = true;
+         pendingGroups.remove(target, this);
+         return true;
+      }
+   }
+}
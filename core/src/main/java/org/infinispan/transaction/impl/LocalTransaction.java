@@ -37,6 +37,8 @@ public abstract class LocalTransaction extends AbstractCacheTransaction {
    private static final boolean trace = log.isTraceEnabled();
 
    private Set<Address> remoteLockedNodes;
+   //the affected keys locked in shared mode only
+   private Set<Object> sharedLockedKeys;
 
    private final Transaction transaction;
 
@@ -74,6 +76,44 @@ public void locksAcquired(Collection<Address> nodes) {
          remoteLockedNodes.addAll(nodes);
    }
 
+   /**
+    * Records a key locked in shared mode. It must be invoked before the key is added to the affected keys.
+    */
+   public void addSharedLockedKey(Object key) {
+      if (affectedKeys != null && affectedKeys.contains(key)) {
+         //already locked in exclusive mode
+         return;
+      }
+      if (sharedLockedKeys == null) {
+         sharedLockedKeys = new HashSet<>(4);
+      }
+      sharedLockedKeys.add(key);
+   }
+
+   /**
+    * Records a key locked in exclusive mode.
+    */
+   public void removeSharedLockedKey(Object key) {
+      if (sharedLockedKeys != null) {
+         sharedLockedKeys.remove(key);
+      }
+   }
+
+   /**
+    * @return {@code true} if any of the keys is locked in shared mode only.
+    */
+   public boolean hasSharedLockedKey(Collection<?> keys) {
+      if (sharedLockedKeys == null || sharedLockedKeys.isEmpty()) {
+         return false;
+      }
+      for (Object key : keys) {
+         if (sharedLockedKeys.contains(key)) {
+            return true;
+         }
+      }
+      return false;
+   }
+
    public Collection<Address> getRemoteLocksAcquired(){
       if (remoteLockedNodes == null) return Collections.emptySet();
       return remoteLockedNodes;
@@ -7,12 +7,10 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -98,7 +96,7 @@ public enum CompletedTransactionStatus {
    protected ClusteringDependentLogic clusteringLogic;
    private CacheNotifier notifier;
    private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
-   private CompletedTransactionsInfo completedTransactionsInfo;
+   private CompletedTransactions completedTransactions;
    private String cacheName;
    private TimeService timeService;
    private CacheManagerNotifier cacheManagerNotifier;
@@ -161,11 +159,12 @@ public void start() {
 
          boolean totalOrder = configuration.transaction().transactionProtocol().isTotalOrder();
          if (!totalOrder) {
-            completedTransactionsInfo = new CompletedTransactionsInfo();
+            completedTransactions = new CompletedTransactions(timeService,
+                  configuration.transaction().completedTxTimeout(), TimeUnit.MILLISECONDS);
 
             // Periodically run a task to cleanup the transaction table of completed transactions.
             long interval = configuration.transaction().reaperWakeUpInterval();
-            timeoutExecutor.scheduleAtFixedRate(() -> completedTransactionsInfo.cleanupCompletedTransactions(),
+            timeoutExecutor.scheduleAtFixedRate(this::cleanupCompletedTransactions,
                                                 interval, interval, TimeUnit.MILLISECONDS);
             timeoutExecutor.scheduleAtFixedRate(this::cleanupTimedOutTransactions,
                                                 interval, interval, TimeUnit.MILLISECONDS);
@@ -641,8 +640,9 @@ private int remoteTransactionsCount() {
     * Once marked as completed (because of commit or rollback) any further prepare received on that transaction are discarded.
     */
    public void markTransactionCompleted(GlobalTransaction gtx, boolean successful) {
-      if (completedTransactionsInfo != null) {
-         completedTransactionsInfo.markTransactionCompleted(gtx, successful);
+      if (completedTransactions != null) {
+         if (trace) log.tracef("Marking transaction %s as completed", gtx);
+         completedTransactions.markCompleted(gtx, successful);
       }
    }
 
@@ -650,7 +650,7 @@ public void markTransactionCompleted(GlobalTransaction gtx, boolean successful)
     * @see #markTransactionCompleted(org.infinispan.transaction.xa.GlobalTransaction, boolean)
     */
    public boolean isTransactionCompleted(GlobalTransaction gtx) {
-      return completedTransactionsInfo != null && completedTransactionsInfo.isTransactionCompleted(gtx);
+      return completedTransactions != null && completedTransactions.isCompleted(gtx);
 
    }
 
@@ -658,142 +658,20 @@ public boolean isTransactionCompleted(GlobalTransaction gtx) {
     * @see #markTransactionCompleted(org.infinispan.transaction.xa.GlobalTransaction, boolean)
     */
    public CompletedTransactionStatus getCompletedTransactionStatus(GlobalTransaction gtx) {
-      if (completedTransactionsInfo == null)
+      if (completedTransactions == null)
          return CompletedTransactionStatus.NOT_COMPLETED;
 
-      return completedTransactionsInfo.getTransactionStatus(gtx);
+      return completedTransactions.getStatus(gtx);
    }
 
-   private class CompletedTransactionsInfo {
-      final ConcurrentMap<GlobalTransaction, CompletedTransactionInfo> completedTransactions;
-      // The ConcurrentMap transaction id previously cleared, one per originator
-      final ConcurrentMap<Address, Long> nodeMaxPrunedTxIds;
-      // The highest transaction id previously cleared, with any originator
-      volatile long globalMaxPrunedTxId;
-
-      public CompletedTransactionsInfo() {
-         nodeMaxPrunedTxIds = new ConcurrentHashMap<>();
-         completedTransactions = new ConcurrentHashMap<>();
-         globalMaxPrunedTxId = -1;
-      }
-
-
-      /**
-       * With the current state transfer implementation it is possible for a transaction to be prepared several times
-       * on a remote node. This might cause leaks, e.g. if the transaction is prepared, committed and prepared again.
-       * Once marked as completed (because of commit or rollback) any further prepare received on that transaction are discarded.
-       */
-      public void markTransactionCompleted(GlobalTransaction globalTx, boolean successful) {
-         if (trace) log.tracef("Marking transaction %s as completed", globalTx);
-         completedTransactions.put(globalTx, new CompletedTransactionInfo(timeService.time(), successful));
-      }
-
-      /**
-       * @see #markTransactionCompleted(GlobalTransaction, boolean)
-       */
-      public boolean isTransactionCompleted(GlobalTransaction gtx) {
-         if (completedTransactions.containsKey(gtx))
-            return true;
-
-         // Transaction ids are allocated in sequence, so any transaction with a smaller id must have been started
-         // before a transaction that was already removed from the completed transactions map because it was too old.
-         // We assume that the transaction was either committed, or it was rolled back (e.g. because the prepare
-         // RPC timed out.
-         // Note: We must check the id *after* verifying that the tx doesn't exist in the map.
-         if (gtx.getId() > globalMaxPrunedTxId)
-            return false;
-         Long nodeMaxPrunedTxId = nodeMaxPrunedTxIds.get(gtx.getAddress());
-         return nodeMaxPrunedTxId != null && gtx.getId() <= nodeMaxPrunedTxId;
-      }
-
-      public CompletedTransactionStatus getTransactionStatus(GlobalTransaction gtx) {
-         CompletedTransactionInfo completedTx = completedTransactions.get(gtx);
-         if (completedTx != null) {
-            return completedTx.successful ? CompletedTransactionStatus.COMMITTED : CompletedTransactionStatus.ABORTED;
-         }
-
-         // Transaction ids are allocated in sequence, so any transaction with a smaller id must have been started
-         // before a transaction that was already removed from the completed transactions map because it was too old.
-         // We assume that the transaction was either committed, or it was rolled back (e.g. because the prepare
-         // RPC timed out.
-         // Note: We must check the id *after* verifying that the tx doesn't exist in the map.
-         if (gtx.getId() > globalMaxPrunedTxId)
-            return CompletedTransactionStatus.NOT_COMPLETED;
-         Long nodeMaxPrunedTxId = nodeMaxPrunedTxIds.get(gtx.getAddress());
-         if (nodeMaxPrunedTxId == null) {
-            // We haven't removed any transaction for this node
-            return CompletedTransactionStatus.NOT_COMPLETED;
-         } else if (gtx.getId() > nodeMaxPrunedTxId) {
-            // We haven't removed this particular transaction yet
-            return CompletedTransactionStatus.NOT_COMPLETED;
-         } else {
-            // We already removed the status of this transaction from the completed transactions map
-            return CompletedTransactionStatus.EXPIRED;
-         }
-      }
-
-      public void cleanupCompletedTransactions() {
-         if (completedTransactions.isEmpty())
-            return;
-
-         try {
-            if (trace) log.tracef("About to cleanup completed transaction. Initial size is %d", completedTransactions.size());
-            long beginning = timeService.time();
-            long minCompleteTimestamp = timeService.time() - TimeUnit.MILLISECONDS.toNanos(configuration.transaction().completedTxTimeout());
-            int removedEntries = 0;
-
-            // Collect the leavers. They will be removed at the end.
-            Set<Address> leavers = new HashSet<>();
-            for (Map.Entry<Address, Long> e : nodeMaxPrunedTxIds.entrySet()) {
-               if (!rpcManager.getMembers().contains(e.getKey())) {
-                  leavers.add(e.getKey());
-               }
-            }
-
-            // Remove stale completed transactions.
-            Iterator<Map.Entry<GlobalTransaction, CompletedTransactionInfo>> txIterator = completedTransactions.entrySet().iterator();
-            while (txIterator.hasNext()) {
-               Map.Entry<GlobalTransaction, CompletedTransactionInfo> e = txIterator.next();
-               CompletedTransactionInfo completedTx = e.getValue();
-               if (minCompleteTimestamp - completedTx.timestamp > 0) {
-                  // Need to update lastPrunedTxId *before* removing the tx from the map
-                  // Don't need atomic operations, there can't be more than one thread updating lastPrunedTxId.
-                  final long txId = e.getKey().getId();
-                  final Address address = e.getKey().getAddress();
-                  updateLastPrunedTxId(txId, address);
-
-                  txIterator.remove();
-                  removedEntries++;
-               } else {
-                  // Nodes with "active" completed transactions are not removed..
-                  leavers.remove(e.getKey().getAddress());
-               }
-            }
-
-            // Finally, remove nodes that are no longer members and don't have any "active" completed transactions.
-            leavers.forEach(nodeMaxPrunedTxIds::remove);
-
-            long duration = timeService.timeDuration(beginning, TimeUnit.MILLISECONDS);
-
-            if (trace) log.tracef("Finished cleaning up completed transactions in %d millis, %d transactions were removed, " +
-                  "current number of completed transactions is %d",
-                  removedEntries, duration, completedTransactions.size());
-            if (trace) log.tracef("Last pruned transaction ids were updated: %d, %s", globalMaxPrunedTxId, nodeMaxPrunedTxIds);
-         } catch (Exception e) {
-            log.errorf(e, "Failed to cleanup completed transactions: %s", e.getMessage());
-         }
-      }
-
-      private void updateLastPrunedTxId(final long txId, Address address) {
-         if (txId > globalMaxPrunedTxId) {
-            globalMaxPrunedTxId = txId;
-         }
-         nodeMaxPrunedTxIds.compute(address, (a, nodeMaxPrunedTxId) -> {
-            if (nodeMaxPrunedTxId != null && txId <= nodeMaxPrunedTxId) {
-               return nodeMaxPrunedTxId;
-            }
-            return txId;
-         });
+   private void cleanupCompletedTransactions() {
+      try {
+         long beginning = timeService.time();
+         int removedEntries = completedTransactions.expire(rpcManager.getMembers());
+         if (trace) log.tracef("Finished cleaning up completed transactions in %d millis, %d transactions were removed: %s",
+               timeService.timeDuration(beginning, TimeUnit.MILLISECONDS), removedEntries, completedTransactions);
+      } catch (Exception e) {
+         log.errorf(e, "Failed to cleanup completed transactions: %s", e.getMessage());
       }
    }
 
@@ -874,14 +752,4 @@ private boolean isOptimisticCache() {
       //a transactional cache that is neither total order nor pessimistic must be optimistic.
       return !isPessimisticLocking && !isTotalOrder;
    }
-
-   private static class CompletedTransactionInfo {
-      public final long timestamp;
-      public final boolean successful;
-
-      private CompletedTransactionInfo(long timestamp, boolean successful) {
-         this.timestamp = timestamp;
-         this.successful = successful;
-      }
-   }
 }
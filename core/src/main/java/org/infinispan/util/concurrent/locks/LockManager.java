@@ -43,6 +43,32 @@ public interface LockManager {
     */
    KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long time, TimeUnit unit);
 
+   /**
+    * Same as {@link #lock(Object, Object, long, TimeUnit)} but the lock is acquired in shared mode.
+    * <p>
+    * A shared lock can be held by multiple lock owners at the same time and it only blocks the exclusive locks. If the
+    * {@code lockOwner} holds the shared lock, invoking {@link #lock(Object, Object, long, TimeUnit)} upgrades it to
+    * an exclusive lock.
+    *
+    * @param key       key to lock.
+    * @param lockOwner the owner of the lock.
+    * @param time      the maximum time to wait for the lock
+    * @param unit      the time unit of the {@code time} argument
+    * @return the {@link KeyAwareLockPromise} associated to this keys.
+    */
+   KeyAwareLockPromise lockShared(Object key, Object lockOwner, long time, TimeUnit unit);
+
+   /**
+    * Same as {@link #lockShared(Object, Object, long, TimeUnit)} but for multiple keys.
+    *
+    * @param keys      keys to lock.
+    * @param lockOwner the owner of the lock.
+    * @param time      the maximum time to wait for the lock
+    * @param unit      the time unit of the {@code time} argument
+    * @return the {@link KeyAwareLockPromise} associated to this keys.
+    */
+   KeyAwareLockPromise lockAllShared(Collection<?> keys, Object lockOwner, long time, TimeUnit unit);
+
    /**
     * Releases the lock for the {@code key} if the {@code lockOwner} is the lock owner.
     *
@@ -67,7 +93,7 @@ public interface LockManager {
    void unlockAll(InvocationContext context);
 
    /**
-    * Tests if the {@code lockOwner} owns a lock on the {@code key}.
+    * Tests if the {@code lockOwner} owns the exclusive lock on the {@code key}.
     *
     * @param key       key to test.
     * @param lockOwner the owner of the lock.
@@ -76,7 +102,7 @@ public interface LockManager {
    boolean ownsLock(Object key, Object lockOwner);
 
    /**
-    * Tests if the {@code key} is locked.
+    * Tests if the {@code key} is locked, in exclusive or shared mode.
     *
     * @param key key to test.
     * @return {@code true} if the key is locked, {@code false} otherwise.
@@ -84,9 +110,9 @@ public interface LockManager {
    boolean isLocked(Object key);
 
    /**
-    * Retrieves the owner of the lock for the {@code key}.
+    * Retrieves the owner of the exclusive lock for the {@code key}.
     *
-    * @return the owner of the lock, or {@code null} if not locked.
+    * @return the owner of the lock, or {@code null} if not locked in exclusive mode.
     */
    Object getOwner(Object key);
 
@@ -46,4 +46,11 @@ public interface RemoteLockCommand extends ReplicableCommand {
     * @return {@code true} if locks should be acquired for the keys in {@link #getKeysToLock()}.
     */
    boolean hasSkipLocking();
+
+   /**
+    * @return {@code true} if the locks should be acquired in shared mode.
+    */
+   default boolean hasSharedLocking() {
+      return false;
+   }
 }
@@ -16,6 +16,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
@@ -26,6 +27,7 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.concurrent.locks.DeadlockDetectedException;
 import org.infinispan.util.concurrent.locks.ExtendedLockPromise;
@@ -56,32 +58,56 @@ public class DefaultLockManager implements LockManager {
    protected LockContainer lockContainer;
    protected Configuration configuration;
    protected ScheduledExecutorService scheduler;
+   protected LockProfiler profiler;
+   private final LongAdder exclusiveLockContentions = new LongAdder();
+   private final LongAdder sharedLockContentions = new LongAdder();
 
    @Inject
    public void inject(LockContainer container, Configuration configuration,
-                      @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService executorService) {
+                      @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService executorService,
+                      LockProfiler profiler) {
       this.lockContainer = container;
       this.configuration = configuration;
       this.scheduler = executorService;
+      this.profiler = profiler;
    }
 
 
    @Override
    public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUnit unit) {
+      return lock(key, lockOwner, time, unit, false);
+   }
+
+   @Override
+   public KeyAwareLockPromise lockShared(Object key, Object lockOwner, long time, TimeUnit unit) {
+      return lock(key, lockOwner, time, unit, true);
+   }
+
+   private KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUnit unit, boolean shared) {
       Objects.requireNonNull(key, "Key must be non null");
       Objects.requireNonNull(lockOwner, "Lock owner must be non null");
       Objects.requireNonNull(unit, "Time unit must be non null");
 
       if (trace) {
-         log.tracef("Lock key=%s for owner=%s. timeout=%s (%s)", toStr(key), lockOwner, time, unit);
+         log.tracef("Lock key=%s for owner=%s. shared=%s, timeout=%s (%s)", toStr(key), lockOwner, shared, time, unit);
       }
 
-      ExtendedLockPromise promise = lockContainer.acquire(key, lockOwner, time, unit);
+      ExtendedLockPromise promise = acquire(key, lockOwner, time, unit, shared);
       return new KeyAwareExtendedLockPromise(promise, key, unit.toMillis(time)).scheduleLockTimeoutTask(scheduler);
    }
 
    @Override
    public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long time, TimeUnit unit) {
+      return lockAll(keys, lockOwner, time, unit, false);
+   }
+
+   @Override
+   public KeyAwareLockPromise lockAllShared(Collection<?> keys, Object lockOwner, long time, TimeUnit unit) {
+      return lockAll(keys, lockOwner, time, unit, true);
+   }
+
+   private KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long time, TimeUnit unit,
+                                       boolean shared) {
       Objects.requireNonNull(keys, "Keys must be non null");
       Objects.requireNonNull(lockOwner, "Lock owner must be non null");
       Objects.requireNonNull(unit, "Time unit must be non null");
@@ -93,19 +119,19 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
          return KeyAwareLockPromise.NO_OP;
       } else if (keys.size() == 1) {
          //although will have the cost of creating an iterator, at least, we don't need to enter the synchronized section.
-         return lock(keys.iterator().next(), lockOwner, time, unit);
+         return lock(keys.iterator().next(), lockOwner, time, unit, shared);
       }
 
       final Set<Object> uniqueKeys = filterDistinctKeys(keys);
 
       if (uniqueKeys.size() == 1) {
          //although will have the cost of creating an iterator, at least, we don't need to enter the synchronized section.
-         return lock(uniqueKeys.iterator().next(), lockOwner, time, unit);
+         return lock(uniqueKeys.iterator().next(), lockOwner, time, unit, shared);
       }
 
       if (trace) {
-         log.tracef("Lock all keys=%s for owner=%s. timeout=%s (%s)", toStr(uniqueKeys), lockOwner, time,
-               unit);
+         log.tracef("Lock all keys=%s for owner=%s. shared=%s, timeout=%s (%s)", toStr(uniqueKeys), lockOwner, shared,
+               time, unit);
       }
 
       final CompositeLockPromise compositeLockPromise = new CompositeLockPromise(uniqueKeys.size());
@@ -113,13 +139,25 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
       //ordering will not solve the problem since acquire() is non-blocking and each lock owner can iterate faster/slower than the other.
       synchronized (this) {
          for (Object key : uniqueKeys) {
-            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(lockContainer.acquire(key, lockOwner, time, unit), key, unit.toMillis(time)));
+            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(acquire(key, lockOwner, time, unit, shared), key, unit.toMillis(time)));
          }
       }
       compositeLockPromise.markListAsFinal();
       return compositeLockPromise.scheduleLockTimeoutTask(scheduler, time, unit);
    }
 
+   private ExtendedLockPromise acquire(Object key, Object lockOwner, long time, TimeUnit unit, boolean shared) {
+      ExtendedLockPromise promise = shared ?
+            lockContainer.acquireShared(key, lockOwner, time, unit) :
+            lockContainer.acquire(key, lockOwner, time, unit);
+      boolean contended = !promise.isAvailable();
+      if (contended) {
+         (shared ? sharedLockContentions : exclusiveLockContentions).increment();
+      }
+      profiler.onAcquire(key, lockOwner, promise, contended);
+      return promise;
+   }
+
    private Set<Object> filterDistinctKeys(Collection<?> collection) {
       if (collection instanceof Set) {
          //noinspection unchecked
@@ -135,6 +173,7 @@ public void unlock(Object key, Object lockOwner) {
          log.tracef("Release lock for key=%s. owner=%s", key, lockOwner);
       }
       lockContainer.release(key, lockOwner);
+      profiler.onRelease(key, lockOwner);
    }
 
    @Override
@@ -147,6 +186,7 @@ public void unlockAll(Collection<?> keys, Object lockOwner) {
       }
       for (Object key : keys) {
          lockContainer.release(key, lockOwner);
+         profiler.onRelease(key, lockOwner);
       }
    }
 
@@ -164,7 +204,7 @@ public boolean ownsLock(Object key, Object lockOwner) {
 
    @Override
    public boolean isLocked(Object key) {
-      return getOwner(key) != null;
+      return lockContainer.isLocked(key);
    }
 
    @Override
@@ -194,6 +234,16 @@ public int getNumberOfLocksAvailable() {
       return lockContainer.size() - lockContainer.getNumLocksHeld();
    }
 
+   @ManagedAttribute(description = "The number of exclusive lock requests which had to wait for the lock.", displayName = "Number of exclusive lock contentions", measurementType = MeasurementType.TRENDSUP)
+   public long getNumberOfExclusiveLockContentions() {
+      return exclusiveLockContentions.sum();
+   }
+
+   @ManagedAttribute(description = "The number of shared lock requests which had to wait for the lock.", displayName = "Number of shared lock contentions", measurementType = MeasurementType.TRENDSUP)
+   public long getNumberOfSharedLockContentions() {
+      return sharedLockContentions.sum();
+   }
+
    @Override
    public InfinispanLock getLock(Object key) {
       return lockContainer.getLock(key);
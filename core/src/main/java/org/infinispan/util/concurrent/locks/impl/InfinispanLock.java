@@ -3,6 +3,7 @@
 import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
 import static org.infinispan.util.concurrent.CompletableFutures.await;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -32,6 +33,9 @@
  * In addition, it has an asynchronous interface. {@link #acquire(Object, long, TimeUnit)}  will not acquire the lock
  * immediately (except if it is free) but will return a {@link ExtendedLockPromise}. This promise allow to test if the
  * lock is acquired asynchronously and cancel the lock acquisition, without any blocking.
+ * <p/>
+ * The lock can be acquired in exclusive or shared mode, see {@link #acquireShared(Object, long, TimeUnit)}. The lock
+ * owners are served in order, so a shared lock request waits for the exclusive lock requests queued before it.
  *
  * @author Pedro Ruivo
  * @since 8.0
@@ -40,8 +44,8 @@ public class InfinispanLock {
 
    private static final Log log = LogFactory.getLog(InfinispanLock.class);
    private static final boolean trace = log.isTraceEnabled();
-   private static final AtomicReferenceFieldUpdater<InfinispanLock, LockPlaceHolder> OWNER_UPDATER =
-         newUpdater(InfinispanLock.class, LockPlaceHolder.class, "current");
+   private static final AtomicReferenceFieldUpdater<InfinispanLock, LockPlaceHolder[]> HOLDERS_UPDATER =
+         newUpdater(InfinispanLock.class, LockPlaceHolder[].class, "holders");
    private static final AtomicReferenceFieldUpdater<LockPlaceHolder, LockState> STATE_UPDATER =
          newUpdater(LockPlaceHolder.class, LockState.class, "lockState");
 
@@ -50,7 +54,8 @@ public class InfinispanLock {
    private final ConcurrentMap<Object, LockPlaceHolder> lockOwners;
    private final Runnable releaseRunnable;
    private TimeService timeService;
-   private volatile LockPlaceHolder current;
+   //a single exclusive lock owner or one or more shared lock owners. null if the lock is free.
+   private volatile LockPlaceHolder[] holders;
 
    /**
     * Creates a new instance.
@@ -61,7 +66,7 @@ public InfinispanLock(TimeService timeService) {
       this.timeService = timeService;
       pendingRequest = new ConcurrentLinkedQueue<>();
       lockOwners = new ConcurrentHashMap<>();
-      current = null;
+      holders = null;
       releaseRunnable = null;
    }
 
@@ -75,7 +80,7 @@ public InfinispanLock(TimeService timeService, Runnable releaseRunnable) {
       this.timeService = timeService;
       pendingRequest = new ConcurrentLinkedQueue<>();
       lockOwners = new ConcurrentHashMap<>();
-      current = null;
+      holders = null;
       this.releaseRunnable = releaseRunnable;
    }
 
@@ -103,11 +108,37 @@ public void setTimeService(TimeService timeService) {
     * @throws NullPointerException if {@code lockOwner} or {@code timeUnit} is {@code null}.
     */
    public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUnit) {
+      return acquire(lockOwner, time, timeUnit, false);
+   }
+
+   /**
+    * It tries to acquire this lock in shared mode.
+    * <p/>
+    * The shared lock can be held by multiple lock owners at the same time, but not while the lock is held in
+    * exclusive mode. If the lock owner already has a lock request, in any mode, the same {@link ExtendedLockPromise}
+    * is returned.
+    * <p/>
+    * A lock owner holding the shared lock can upgrade it to exclusive by invoking {@link #acquire(Object, long,
+    * TimeUnit)}. The upgrade is granted when the other shared lock owners release the lock, before any other queued
+    * request. If the upgrade fails, the lock owner keeps the shared lock until it is released.
+    *
+    * @param lockOwner the lock owner who needs to acquire the lock.
+    * @param time      the timeout value.
+    * @param timeUnit  the timeout unit.
+    * @return an {@link ExtendedLockPromise}.
+    * @throws NullPointerException if {@code lockOwner} or {@code timeUnit} is {@code null}.
+    */
+   public ExtendedLockPromise acquireShared(Object lockOwner, long time, TimeUnit timeUnit) {
+      return acquire(lockOwner, time, timeUnit, true);
+   }
+
+   private ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUnit, boolean shared) {
       Objects.requireNonNull(lockOwner, "Lock Owner should be non-null");
       Objects.requireNonNull(timeUnit, "Time Unit should be non-null");
 
       if (trace) {
-         log.tracef("Acquire lock for %s. Timeout=%s (%s)", lockOwner, time, timeUnit);
+         log.tracef("Acquire %s lock for %s. Timeout=%s (%s)", shared ? "shared" : "exclusive", lockOwner, time,
+                    timeUnit);
       }
 
       LockPlaceHolder lockPlaceHolder = lockOwners.get(lockOwner);
@@ -115,17 +146,17 @@ public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUni
          if (trace) {
             log.tracef("Lock owner already exists: %s", lockPlaceHolder);
          }
-         return lockPlaceHolder;
+         return shared || !lockPlaceHolder.shared ? lockPlaceHolder : upgrade(lockPlaceHolder, time, timeUnit);
       }
 
-      lockPlaceHolder = createLockInfo(lockOwner, time, timeUnit);
+      lockPlaceHolder = createLockInfo(lockOwner, time, timeUnit, shared, null);
       LockPlaceHolder other = lockOwners.putIfAbsent(lockOwner, lockPlaceHolder);
 
       if (other != null) {
          if (trace) {
             log.tracef("Lock owner already exists: %s", other);
          }
-         return other;
+         return shared || !other.shared ? other : upgrade(other, time, timeUnit);
       }
 
       if (trace) {
@@ -133,10 +164,28 @@ public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUni
       }
 
       pendingRequest.add(lockPlaceHolder);
-      tryAcquire(null);
+      tryAcquire();
       return lockPlaceHolder;
    }
 
+   private ExtendedLockPromise upgrade(LockPlaceHolder sharedLock, long time, TimeUnit timeUnit) {
+      //if the shared lock is not acquired, there is nothing to upgrade and the request is replaced
+      boolean acquired = sharedLock.lockState == LockState.ACQUIRED;
+      LockPlaceHolder upgrade = createLockInfo(sharedLock.owner, time, timeUnit, false, acquired ? sharedLock : null);
+      if (!lockOwners.replace(sharedLock.owner, sharedLock, upgrade)) {
+         return acquire(sharedLock.owner, time, timeUnit, false);
+      }
+      if (trace) {
+         log.tracef("Upgrading %s", sharedLock);
+      }
+      if (!acquired) {
+         sharedLock.setReleased();
+      }
+      pendingRequest.add(upgrade);
+      tryAcquire();
+      return upgrade;
+   }
+
    /**
     * It tries to release the lock held by {@code lockOwner}.
     * <p/>
@@ -169,29 +218,36 @@ public void release(Object lockOwner) {
          log.tracef("Release lock for %s? %s", wantToRelease, released);
       }
 
-      LockPlaceHolder currentLocked = current;
-      if (currentLocked == wantToRelease) {
-         tryAcquire(wantToRelease);
+      if (released) {
+         tryAcquire();
       }
    }
 
    /**
-    * @return the current lock owner or {@code null} if it is not acquired.
+    * @return the current exclusive lock owner or {@code null} if it is not acquired in exclusive mode.
     */
    public Object getLockOwner() {
-      LockPlaceHolder lockPlaceHolder = current;
-      return lockPlaceHolder == null ? null : lockPlaceHolder.owner;
+      LockPlaceHolder[] lockHolders = holders;
+      return lockHolders == null || lockHolders[0].shared ? null : lockHolders[0].owner;
    }
 
    /**
-    * It checks if the lock is acquired.
+    * It checks if the lock is acquired, in exclusive or shared mode.
     * <p/>
     * A {@code false} return value does not mean the lock is free since it may have queued lock owners.
     *
     * @return {@code true} if the lock is acquired.
     */
    public boolean isLocked() {
-      return current != null;
+      return holders != null;
+   }
+
+   /**
+    * @return {@code true} if the lock is acquired in shared mode.
+    */
+   public boolean isSharedLocked() {
+      LockPlaceHolder[] lockHolders = holders;
+      return lockHolders != null && lockHolders[0].shared;
    }
 
    /**
@@ -201,10 +257,12 @@ public void deadlockCheck(DeadlockChecker deadlockChecker) {
       if (deadlockChecker == null) {
          return; //no-op
       }
-      LockPlaceHolder holder = current;
-      if (holder != null) {
+      LockPlaceHolder[] lockHolders = holders;
+      if (lockHolders != null) {
          for (LockPlaceHolder pending : pendingRequest) {
-            pending.checkDeadlock(deadlockChecker, holder.owner);
+            for (LockPlaceHolder holder : lockHolders) {
+               pending.checkDeadlock(deadlockChecker, holder.owner);
+            }
          }
       }
    }
@@ -221,22 +279,29 @@ public boolean containsLockOwner(Object lockOwner) {
       return lockOwners.containsKey(lockOwner);
    }
 
+   /**
+    * It tests if the lock owner has a shared lock request, acquired or queued.
+    * <p/>
+    * An exclusive lock request by such a lock owner upgrades its shared lock.
+    *
+    * @param lockOwner the lock owner to test.
+    * @return {@code true} if the lock owner has a shared lock request.
+    */
+   public boolean containsSharedLockOwner(Object lockOwner) {
+      LockPlaceHolder lockPlaceHolder = lockOwners.get(lockOwner);
+      return lockPlaceHolder != null && lockPlaceHolder.shared;
+   }
+
    private void onCanceled(LockPlaceHolder canceled) {
       if (trace) {
          log.tracef("Release lock for %s. It was canceled.", canceled.owner);
       }
-      LockPlaceHolder currentLocked = current;
-      if (currentLocked == canceled) {
-         tryAcquire(canceled);
-      }
+      //a canceled request in the head of the queue may be blocking the following requests
+      tryAcquire();
    }
 
-   private boolean casRelease(LockPlaceHolder lockPlaceHolder) {
-      return cas(lockPlaceHolder, null);
-   }
-
-   private boolean remove(Object lockOwner) {
-      return lockOwners.remove(lockOwner) != null;
+   private boolean remove(LockPlaceHolder lockPlaceHolder) {
+      return lockOwners.remove(lockPlaceHolder.owner, lockPlaceHolder);
    }
 
    private void triggerReleased() {
@@ -245,57 +310,144 @@ private void triggerReleased() {
       }
    }
 
-   private boolean cas(LockPlaceHolder release, LockPlaceHolder acquire) {
-      boolean cas = OWNER_UPDATER.compareAndSet(this, release, acquire);
+   private boolean cas(LockPlaceHolder[] release, LockPlaceHolder[] acquire) {
+      boolean cas = HOLDERS_UPDATER.compareAndSet(this, release, acquire);
       if (trace) {
-         log.tracef("Lock Owner CAS(%s, %s) => %s", release, acquire, cas);
+         log.tracef("Lock Owners CAS(%s, %s) => %s", Arrays.toString(release), Arrays.toString(acquire), cas);
       }
       return cas;
    }
 
-   private void tryAcquire(LockPlaceHolder release) {
-      LockPlaceHolder toRelease = release;
+   private void tryAcquire() {
       do {
+         LockPlaceHolder[] current = holders;
+         LockPlaceHolder[] alive = removeReleased(current);
          LockPlaceHolder toAcquire = pendingRequest.peek();
          if (trace) {
-            log.tracef("Try acquire. Next in queue=%s. Current=%s", toAcquire, current);
+            log.tracef("Try acquire. Next in queue=%s. Current=%s", toAcquire, Arrays.toString(current));
+         }
+         if (toAcquire != null && (toAcquire.lockState != LockState.WAITING || contains(alive, toAcquire))) {
+            //timed-out, deadlocked or released while waiting or acquired by other thread
+            pendingRequest.remove(toAcquire);
+            continue;
+         }
+         LockPlaceHolder upgrade = pendingUpgrade(alive);
+         if (upgrade != null) {
+            toAcquire = upgrade;
+         } else if (toAcquire != null && !canAcquire(alive, toAcquire)) {
+            toAcquire = null;
          }
-         if (toAcquire == null && toRelease == null) {
-            return;
-         } else if (toAcquire == null) {
-            //nothing to acquire, but we have to release the current.
-            if (casRelease(toRelease)) {
-               toRelease = null;
-               continue; //in the meanwhile, we could have a new request. recheck!
+         if (toAcquire == null) {
+            if (alive == current) {
+               return;
             }
-            return;
+            //nothing to acquire, but we have to release the lock owners gone.
+            cas(current, alive);
+            continue; //in the meanwhile, we could have a new request. recheck!
          }
-         if (cas(toRelease, toAcquire)) {
-            //we set the current lock owner, so we must remove it from the queue
+         LockPlaceHolder[] update = toAcquire.shared ? append(alive, toAcquire) : new LockPlaceHolder[]{toAcquire};
+         if (cas(current, update)) {
+            //we set the lock owner, so we must remove it from the queue
             pendingRequest.remove(toAcquire);
             if (toAcquire.setAcquire()) {
                if (trace) {
                   log.tracef("%s successfully acquired the lock.", toAcquire);
                }
-               return;
-            }
-            if (trace) {
+            } else if (trace) {
                log.tracef("%s failed to acquire (invalid state). Retrying.", toAcquire);
             }
-            //oh oh, probably the nextPending Timed-Out. we are going to retry with the next in queue
-            toRelease = toAcquire;
-         } else {
-            if (trace) {
-               log.tracef("Unable to acquire. Lock is held.");
-            }
-            //other thread already set the current lock owner
-            return;
+            //the next in queue may be a shared request too. if it failed to acquire, it is removed in the next round
          }
       } while (true);
    }
 
-   private LockPlaceHolder createLockInfo(Object lockOwner, long time, TimeUnit timeUnit) {
-      return new LockPlaceHolder(lockOwner, timeService.expectedEndTime(time, timeUnit));
+   /**
+    * @return {@code true} if the lock owner can join the {@code alive} lock owners.
+    */
+   private boolean canAcquire(LockPlaceHolder[] alive, LockPlaceHolder toAcquire) {
+      if (alive == null) {
+         return true;
+      }
+      if (!toAcquire.shared || !alive[0].shared) {
+         return false;
+      }
+      //do not starve a lock owner waiting to upgrade its shared lock
+      for (LockPlaceHolder holder : alive) {
+         if (lockOwners.get(holder.owner) != holder) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * @return the upgrade request of the single shared lock owner, or {@code null} if none.
+    */
+   private LockPlaceHolder pendingUpgrade(LockPlaceHolder[] alive) {
+      if (alive == null || !alive[0].shared) {
+         return null;
+      }
+      Object owner = alive[0].owner;
+      for (int i = 1; i < alive.length; ++i) {
+         if (!alive[i].owner.equals(owner)) {
+            return null;
+         }
+      }
+      LockPlaceHolder upgrade = lockOwners.get(owner);
+      return upgrade != null && upgrade.upgradeOf != null && upgrade.lockState == LockState.WAITING ? upgrade : null;
+   }
+
+   /**
+    * @return the lock owners which did not release the lock. It returns the same array if all are alive.
+    */
+   private static LockPlaceHolder[] removeReleased(LockPlaceHolder[] lockHolders) {
+      if (lockHolders == null) {
+         return null;
+      }
+      int alive = 0;
+      for (LockPlaceHolder holder : lockHolders) {
+         if (holder.isHolding()) {
+            alive++;
+         }
+      }
+      if (alive == lockHolders.length) {
+         return lockHolders;
+      } else if (alive == 0) {
+         return null;
+      }
+      LockPlaceHolder[] copy = new LockPlaceHolder[alive];
+      int index = 0;
+      for (LockPlaceHolder holder : lockHolders) {
+         if (holder.isHolding()) {
+            copy[index++] = holder;
+         }
+      }
+      return copy;
+   }
+
+   private static boolean contains(LockPlaceHolder[] lockHolders, LockPlaceHolder lockPlaceHolder) {
+      if (lockHolders != null) {
+         for (LockPlaceHolder holder : lockHolders) {
+            if (holder == lockPlaceHolder) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
+   private static LockPlaceHolder[] append(LockPlaceHolder[] lockHolders, LockPlaceHolder lockPlaceHolder) {
+      if (lockHolders == null) {
+         return new LockPlaceHolder[]{lockPlaceHolder};
+      }
+      LockPlaceHolder[] copy = Arrays.copyOf(lockHolders, lockHolders.length + 1);
+      copy[lockHolders.length] = lockPlaceHolder;
+      return copy;
+   }
+
+   private LockPlaceHolder createLockInfo(Object lockOwner, long time, TimeUnit timeUnit, boolean shared,
+                                          LockPlaceHolder upgradeOf) {
+      return new LockPlaceHolder(lockOwner, timeService.expectedEndTime(time, timeUnit), shared, upgradeOf);
    }
 
    private class LockPlaceHolder implements ExtendedLockPromise {
@@ -303,11 +455,16 @@ private class LockPlaceHolder implements ExtendedLockPromise {
       private final Object owner;
       private final long timeout;
       private final CompletableFuture<Void> notifier;
+      private final boolean shared;
+      //the shared lock held by the owner, if this is an upgrade request
+      private final LockPlaceHolder upgradeOf;
       volatile LockState lockState;
 
-      private LockPlaceHolder(Object owner, long timeout) {
+      private LockPlaceHolder(Object owner, long timeout, boolean shared, LockPlaceHolder upgradeOf) {
          this.owner = owner;
          this.timeout = timeout;
+         this.shared = shared;
+         this.upgradeOf = upgradeOf;
          lockState = LockState.WAITING;
          notifier = new CompletableFuture<>();
       }
@@ -380,8 +537,8 @@ public Object getRequestor() {
 
       @Override
       public Object getOwner() {
-         LockPlaceHolder owner = current;
-         return owner != null ? owner.owner : null;
+         LockPlaceHolder[] lockHolders = holders;
+         return lockHolders != null ? lockHolders[0].owner : null;
       }
 
       @Override
@@ -389,6 +546,7 @@ public String toString() {
          return "LockPlaceHolder{" +
                "lockState=" + lockState +
                ", owner=" + owner +
+               ", shared=" + shared +
                '}';
       }
 
@@ -429,12 +587,27 @@ private void checkDeadlock(DeadlockChecker checker, Object currentOwner) {
 
       private boolean setAcquire() {
          if (casState(LockState.WAITING, LockState.ACQUIRED)) {
+            if (upgradeOf != null) {
+               //the exclusive lock replaces the shared lock
+               upgradeOf.casState(LockState.ACQUIRED, LockState.RELEASED);
+            }
             notifyListeners();
          }
          return lockState == LockState.ACQUIRED;
       }
 
+      /**
+       * @return {@code true} if it holds the lock or it is about to acquire it.
+       */
+      private boolean isHolding() {
+         LockState state = lockState;
+         return state == LockState.ACQUIRED || state == LockState.WAITING;
+      }
+
       private boolean setReleased() {
+         if (upgradeOf != null) {
+            upgradeOf.setReleased();
+         }
          do {
             LockState state = lockState;
             switch (state) {
@@ -470,7 +643,10 @@ private boolean casState(LockState expect, LockState update) {
       }
 
       private void cleanup() {
-         if (remove(owner)) {
+         if (upgradeOf != null && lockState != LockState.RELEASED && upgradeOf.lockState == LockState.ACQUIRED) {
+            //the upgrade failed but the owner still holds the shared lock
+            lockOwners.replace(owner, this, upgradeOf);
+         } else if (remove(this)) {
             triggerReleased();
          }
       }
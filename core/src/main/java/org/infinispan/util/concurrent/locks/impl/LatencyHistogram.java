@@ -0,0 +1,108 @@
+package org.infinispan.util.concurrent.locks.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram with log-linear buckets: each power of two is split in {@link #SUB_BUCKETS} linear buckets,
+ * so the relative error of the reported percentiles is bounded to about 6% whatever the magnitude of the values.
+ * <p>
+ * Recording a value is a couple of bit operations and an atomic increment. Reading is not atomic with respect to the
+ * concurrent updates, which is acceptable for monitoring purposes.
+ *
+ * @since 9.1
+ */
+final class LatencyHistogram {
+
+   private static final int SUB_BUCKET_BITS = 4;
+   private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+   private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+   private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+   private final LongAdder count = new LongAdder();
+   private final LongAdder sum = new LongAdder();
+   private final AtomicLong max = new AtomicLong();
+
+   void record(long value) {
+      if (value < 0) {
+         value = 0;
+      }
+      counts.incrementAndGet(index(value));
+      count.increment();
+      sum.add(value);
+      long currentMax = max.get();
+      while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+         currentMax = max.get();
+      }
+   }
+
+   long count() {
+      return count.sum();
+   }
+
+   long max() {
+      return max.get();
+   }
+
+   double mean() {
+      long n = count.sum();
+      return n == 0 ? 0 : (double) sum.sum() / n;
+   }
+
+   /**
+    * @param percentile the percentile, between 0 and 100
+    * @return the highest value of the bucket holding the percentile, or 0 if nothing was recorded
+    */
+   long percentile(double percentile) {
+      long total = 0;
+      long[] snapshot = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) {
+         snapshot[i] = counts.get(i);
+         total += snapshot[i];
+      }
+      if (total == 0) {
+         return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         seen += snapshot[i];
+         if (seen >= rank) {
+            return Math.min(highestValue(i), max.get());
+         }
+      }
+      return max.get();
+   }
+
+   void reset() {
+      for (int i = 0; i < BUCKETS; i++) {
+         counts.set(i, 0);
+      }
+      count.reset();
+      sum.reset();
+      max.set(0);
+   }
+
+   static int index(long value) {
+      if (value < SUB_BUCKETS) {
+         return (int) value;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(value);
+      int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+      return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+   }
+
+   static long lowestValue(int index) {
+      if (index < SUB_BUCKETS) {
+         return index;
+      }
+      int group = index >>> SUB_BUCKET_BITS;
+      int subBucket = index & (SUB_BUCKETS - 1);
+      return (long) (SUB_BUCKETS + subBucket) << (group - 1);
+   }
+
+   static long highestValue(int index) {
+      return index == BUCKETS - 1 ? Long.MAX_VALUE : lowestValue(index + 1) - 1;
+   }
+}
@@ -21,6 +21,14 @@ public interface LockContainer {
     */
    ExtendedLockPromise acquire(Object key, Object lockOwner, long time, TimeUnit timeUnit);
 
+   /**
+    * Same as {@link #acquire(Object, Object, long, TimeUnit)} but the lock is acquired in shared mode.
+    *
+    * @param key the key to lock.
+    * @return the lock for a specific object to be acquired. If the lock does not exists, it is created.
+    */
+   ExtendedLockPromise acquireShared(Object key, Object lockOwner, long time, TimeUnit timeUnit);
+
    /**
     * @param key the key to lock.
     * @return the lock for a specific object. If the lock does not exists, it return {@code null}.
@@ -0,0 +1,316 @@
+package org.infinispan.util.concurrent.locks.impl;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.concurrent.locks.ExtendedLockPromise;
+import org.infinispan.util.concurrent.locks.LockState;
+
+/**
+ * Profiles the lock contention seen by the {@link DefaultLockManager}.
+ * <p>
+ * Only the acquisitions which have to wait for the lock are timed: their wait time is recorded in a histogram and
+ * accounted to the key in a bounded table of hot locks, which also tracks how many requests queue for each key. The
+ * holding time is measured for a sample of the acquisitions, picked by hashing the key and the owner, so that the
+ * release can tell whether it was sampled without any lookup. The uncontended path costs a hash computation only,
+ * which keeps the profiler cheap enough to be left enabled in production.
+ *
+ * @since 9.1
+ */
+@MBean(objectName = "LockProfiler", description = "Profiles the wait and hold times of the locks")
+public class LockProfiler {
+
+   /**
+    * The maximum number of keys tracked in the hot lock table.
+    */
+   static final int MAX_HOT_LOCKS = 128;
+   /**
+    * The maximum number of keys reported by the hot lock reports.
+    */
+   static final int REPORT_SIZE = 10;
+   /**
+    * One acquisition out of {@code HOLD_SAMPLE_MASK + 1} is sampled for the holding time.
+    */
+   private static final int HOLD_SAMPLE_MASK = 63;
+   /**
+    * The maximum number of sampled acquisitions whose holding time is being measured at the same time.
+    */
+   private static final int MAX_SAMPLED_HOLDS = 1024;
+   /**
+    * The start time of a sampled hold whose lock has been requested but not acquired yet.
+    */
+   private static final Long PENDING = Long.MIN_VALUE;
+
+   private final LatencyHistogram waitTimes = new LatencyHistogram();
+   private final LatencyHistogram holdTimes = new LatencyHistogram();
+   private final Map<Object, HotLock> hotLocks = new ConcurrentHashMap<>();
+   private final Map<Hold, Long> sampledHolds = new ConcurrentHashMap<>();
+   private TimeService timeService;
+   private volatile boolean enabled = true;
+
+   @Inject
+   public void inject(TimeService timeService) {
+      this.timeService = timeService;
+   }
+
+   /**
+    * Invoked after a lock has been requested.
+    *
+    * @param contended {@code true} if the request has to wait for the lock
+    */
+   void onAcquire(Object key, Object owner, ExtendedLockPromise promise, boolean contended) {
+      if (!enabled) {
+         return;
+      }
+      Hold hold = isHoldSampled(key, owner) ? new Hold(key, owner) : null;
+      if (hold != null && sampledHolds.size() < MAX_SAMPLED_HOLDS) {
+         // registered before returning, so that the release always finds it and removes it
+         sampledHolds.putIfAbsent(hold, contended ? PENDING : timeService.time());
+      }
+      if (contended) {
+         long start = timeService.time();
+         HotLock hotLock = hotLock(key);
+         hotLock.enqueue();
+         promise.addListener(state -> {
+            long waitTime = timeService.timeDuration(start, TimeUnit.NANOSECONDS);
+            hotLock.dequeue(waitTime);
+            waitTimes.record(waitTime);
+            if (hold != null) {
+               if (state == LockState.ACQUIRED) {
+                  // does nothing if the lock was already released
+                  sampledHolds.replace(hold, PENDING, timeService.time());
+               } else {
+                  sampledHolds.remove(hold, PENDING);
+               }
+            }
+         });
+      }
+   }
+
+   /**
+    * Invoked after a lock has been released.
+    */
+   void onRelease(Object key, Object owner) {
+      if (!isHoldSampled(key, owner)) {
+         return;
+      }
+      Long start = sampledHolds.remove(new Hold(key, owner));
+      if (start != null && !start.equals(PENDING)) {
+         holdTimes.record(timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+      }
+   }
+
+   private HotLock hotLock(Object key) {
+      HotLock hotLock = hotLocks.get(key);
+      if (hotLock != null) {
+         return hotLock;
+      }
+      // the keys are only added and evicted under the lock, so the table never exceeds its bound
+      synchronized (hotLocks) {
+         hotLock = hotLocks.get(key);
+         if (hotLock == null) {
+            if (hotLocks.size() >= MAX_HOT_LOCKS) {
+               evictColdestLock();
+            }
+            hotLock = new HotLock(key);
+            hotLocks.put(key, hotLock);
+         }
+         return hotLock;
+      }
+   }
+
+   /**
+    * Makes room for a new key by dropping the key with the lowest total wait time, preferring the keys without waiting
+    * requests. The new key starts from zero, so a key contended for a long time is not evicted by a burst of keys
+    * contended once.
+    */
+   private void evictColdestLock() {
+      HotLock coldest = null;
+      HotLock coldestIdle = null;
+      for (HotLock hotLock : hotLocks.values()) {
+         long totalWaitTime = hotLock.totalWaitTime.sum();
+         if (coldest == null || totalWaitTime < coldest.totalWaitTime.sum()) {
+            coldest = hotLock;
+         }
+         if (hotLock.waiting.get() == 0 && (coldestIdle == null || totalWaitTime < coldestIdle.totalWaitTime.sum())) {
+            coldestIdle = hotLock;
+         }
+      }
+      HotLock evicted = coldestIdle != null ? coldestIdle : coldest;
+      if (evicted != null) {
+         hotLocks.remove(evicted.key, evicted);
+      }
+   }
+
+   private static boolean isHoldSampled(Object key, Object owner) {
+      int hash = 31 * key.hashCode() + owner.hashCode();
+      hash ^= hash >>> 16;
+      return (hash & HOLD_SAMPLE_MASK) == 0;
+   }
+
+   @ManagedAttribute(description = "Enables or disables the profiling of the locks", displayName = "Profiling enabled", writable = true)
+   public boolean isEnabled() {
+      return enabled;
+   }
+
+   public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+   }
+
+   @ManagedAttribute(description = "Number of lock requests which had to wait for the lock", displayName = "Number of lock waits", measurementType = MeasurementType.TRENDSUP)
+   public long getNumberOfLockWaits() {
+      return waitTimes.count();
+   }
+
+   @ManagedAttribute(description = "Average time spent waiting for a contended lock", displayName = "Average lock wait time", units = Units.NANOSECONDS)
+   public long getAverageLockWaitTime() {
+      return (long) waitTimes.mean();
+   }
+
+   @ManagedAttribute(description = "Median time spent waiting for a contended lock", displayName = "Median lock wait time", units = Units.NANOSECONDS)
+   public long getMedianLockWaitTime() {
+      return waitTimes.percentile(50);
+   }
+
+   @ManagedAttribute(description = "99th percentile of the time spent waiting for a contended lock", displayName = "99th percentile lock wait time", units = Units.NANOSECONDS)
+   public long getLockWaitTime99thPercentile() {
+      return waitTimes.percentile(99);
+   }
+
+   @ManagedAttribute(description = "99.9th percentile of the time spent waiting for a contended lock", displayName = "99.9th percentile lock wait time", units = Units.NANOSECONDS)
+   public long getLockWaitTime999thPercentile() {
+      return waitTimes.percentile(99.9);
+   }
+
+   @ManagedAttribute(description = "Maximum time spent waiting for a contended lock", displayName = "Maximum lock wait time", units = Units.NANOSECONDS)
+   public long getMaxLockWaitTime() {
+      return waitTimes.max();
+   }
+
+   @ManagedAttribute(description = "Average time a lock is held, measured on a sample of the acquisitions", displayName = "Average lock hold time", units = Units.NANOSECONDS)
+   public long getAverageLockHoldTime() {
+      return (long) holdTimes.mean();
+   }
+
+   @ManagedAttribute(description = "99th percentile of the time a lock is held, measured on a sample of the acquisitions", displayName = "99th percentile lock hold time", units = Units.NANOSECONDS)
+   public long getLockHoldTime99thPercentile() {
+      return holdTimes.percentile(99);
+   }
+
+   @ManagedAttribute(description = "Maximum time a lock is held, measured on a sample of the acquisitions", displayName = "Maximum lock hold time", units = Units.NANOSECONDS)
+   public long getMaxLockHoldTime() {
+      return holdTimes.max();
+   }
+
+   @ManagedAttribute(description = "The keys with the highest total lock wait time", displayName = "Hot locks by wait time")
+   public String[] getHotLocksByWaitTime() {
+      return report(hotLock -> hotLock.totalWaitTime.sum()).toArray(new String[0]);
+   }
+
+   @ManagedAttribute(description = "The keys with the longest queue of lock requests", displayName = "Hot locks by queue length")
+   public String[] getHotLocksByQueueLength() {
+      return report(hotLock -> hotLock.maxWaiting.get()).toArray(new String[0]);
+   }
+
+   @ManagedOperation(description = "Resets the lock profile", displayName = "Reset lock profile")
+   public void resetProfile() {
+      waitTimes.reset();
+      holdTimes.reset();
+      synchronized (hotLocks) {
+         hotLocks.clear();
+      }
+      sampledHolds.clear();
+   }
+
+   /**
+    * @return a description of the keys with the highest total lock wait time, hottest first
+    */
+   public List<String> getHotLocks() {
+      return report(hotLock -> hotLock.totalWaitTime.sum());
+   }
+
+   private List<String> report(ToLongFunction<HotLock> metric) {
+      List<HotLock> snapshot = new ArrayList<>(hotLocks.values());
+      return snapshot.stream()
+            .sorted(Comparator.comparingLong(metric).reversed())
+            .limit(REPORT_SIZE)
+            .map(HotLock::toString)
+            .collect(Collectors.toList());
+   }
+
+   private static class HotLock {
+      private final Object key;
+      private final LongAdder waits = new LongAdder();
+      private final LongAdder totalWaitTime = new LongAdder();
+      private final AtomicInteger waiting = new AtomicInteger();
+      private final AtomicInteger maxWaiting = new AtomicInteger();
+
+      private HotLock(Object key) {
+         this.key = key;
+      }
+
+      void enqueue() {
+         int queueLength = waiting.incrementAndGet();
+         int currentMax = maxWaiting.get();
+         while (queueLength > currentMax && !maxWaiting.compareAndSet(currentMax, queueLength)) {
+            currentMax = maxWaiting.get();
+         }
+      }
+
+      void dequeue(long waitTime) {
+         waiting.decrementAndGet();
+         waits.increment();
+         totalWaitTime.add(waitTime);
+      }
+
+      @Override
+      public String toString() {
+         return "HotLock{key=" + toStr(key) +
+               ", waits=" + waits.sum() +
+               ", totalWaitTime=" + TimeUnit.NANOSECONDS.toMillis(totalWaitTime.sum()) + "ms" +
+               ", maxQueueLength=" + maxWaiting.get() +
+               '}';
+      }
+   }
+
+   private static class Hold {
+      private final Object key;
+      private final Object owner;
+
+      private Hold(Object key, Object owner) {
+         this.key = key;
+         this.owner = owner;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         Hold hold = (Hold) o;
+         return key.equals(hold.key) && owner.equals(hold.owner);
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hash(key, owner);
+      }
+   }
+}
@@ -36,12 +36,23 @@ public void inject(TimeService timeService) {
 
    @Override
    public ExtendedLockPromise acquire(Object key, Object lockOwner, long time, TimeUnit timeUnit) {
+      return acquire(key, lockOwner, time, timeUnit, false);
+   }
+
+   @Override
+   public ExtendedLockPromise acquireShared(Object key, Object lockOwner, long time, TimeUnit timeUnit) {
+      return acquire(key, lockOwner, time, timeUnit, true);
+   }
+
+   private ExtendedLockPromise acquire(Object key, Object lockOwner, long time, TimeUnit timeUnit, boolean shared) {
       ByRef<ExtendedLockPromise> reference = ByRef.create(null);
       lockMap.compute(key, (aKey, lock) -> {
          if (lock == null) {
             lock = createInfinispanLock(aKey);
          }
-         reference.set(lock.acquire(lockOwner, time, timeUnit));
+         reference.set(shared ?
+                             lock.acquireShared(lockOwner, time, timeUnit) :
+                             lock.acquire(lockOwner, time, timeUnit));
          return lock;
       });
       return reference.get();
@@ -1560,4 +1560,50 @@ TimeoutException coordinatorTimeoutWaitingForView(int expectedViewId, int curren
    @LogMessage(level = ERROR)
    @Message(value = "Failure during leaver transactions cleanup", id = 455)
    void transactionCleanupError(@Cause Throwable e);
+
+   @Message(value = "Batching can only be used with asynchronous backup strategy.", id = 456)
+   CacheConfigurationException asyncBatchingSyncBackup();
+
+   @Message(value = "The maximum delay of async backup batches must be greater than zero, was %d.", id = 457)
+   CacheConfigurationException invalidAsyncBatchMaxDelay(long maxDelay);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to send a batch of %d modifications of cache '%s' to site '%s'", id = 458)
+   void warnAsyncBackupBatchFailed(int size, String cacheName, String siteName, @Cause Throwable t);
+
+   @Message(value = "Cross-site state transfer concurrency must be greater than zero, was %d.", id = 459)
+   CacheConfigurationException invalidXSiteStateTransferConcurrency(int concurrency);
+
+   @Message(value = "groupCommitWindow must be >= 0, we got %d", id = 460)
+   CacheConfigurationException invalidGroupCommitWindow(long window);
+
+   @Message(value = "clusterListenerBatchWindow must be >= 0, we got %d", id = 461)
+   CacheConfigurationException invalidClusterListenerBatchWindow(long window);
+
+   @LogMessage(level = WARN)
+   @Message(value = "The event queue of the asynchronous listener %s is full with %d events, dropping the new events until it drains", id = 462)
+   void droppingListenerEvents(Object listener, int capacity);
+
+   @Message(value = "Conflict resolution concurrency must be greater than zero, was %d.", id = 463)
+   CacheConfigurationException invalidConflictResolutionConcurrency(int concurrency);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to resolve the conflicts of cache '%s' after the merge", id = 464)
+   void failedToResolveConflicts(String cacheName, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to send %d batched cluster listener events to %s", id = 465)
+   void failedToSendClusterEvents(int count, Address target, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "The asynchronous listener %s caught up, %d events were dropped while its event queue was full", id = 466)
+   void droppedListenerEvents(Object listener, long dropped);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Dropped %d asynchronous cluster listener events for %s, which did not receive the previous events in time", id = 467)
+   void droppedClusterEvents(int dropped, Address target);
+
+   @LogMessage(level = WARN)
+   @Message(value = "The asynchronous listener %s did not process an event within %d milliseconds, delivering the next events", id = 468)
+   void listenerStageTimedOut(Object listener, long timeoutMillis);
 }
@@ -0,0 +1,114 @@
+package org.infinispan.xsite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.infinispan.commands.write.DataWriteCommand;
+import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.util.TimeService;
+
+/**
+ * The modifications waiting to be sent to an asynchronous backup site.
+ * <p>
+ * Only the most recent modification of each key is kept. When a key is updated again, its modification is moved to the
+ * end of the queue, so the order of the last modifications of the keys is preserved.
+ *
+ * @since 9.1
+ */
+final class AsyncBackupQueue {
+
+   private final XSiteBackup backup;
+   private final int batchSize;
+   private final long maxDelay;
+   private final TimeService timeService;
+   private final Map<Object, WriteCommand> pending = new LinkedHashMap<>();
+   // serializes the batches sent to the site, so they are received in order
+   private final Lock sendLock = new ReentrantLock();
+   private long oldestPendingTime;
+
+   AsyncBackupQueue(XSiteBackup backup, int batchSize, long maxDelay, TimeService timeService) {
+      this.backup = backup;
+      this.batchSize = batchSize;
+      this.maxDelay = maxDelay;
+      this.timeService = timeService;
+   }
+
+   XSiteBackup getBackup() {
+      return backup;
+   }
+
+   /**
+    * @return the maximum time (millis) a modification waits before being sent.
+    */
+   long getMaxDelay() {
+      return maxDelay;
+   }
+
+   Lock getSendLock() {
+      return sendLock;
+   }
+
+   /**
+    * Queues the modifications, replacing the pending modifications of the same keys.
+    *
+    * @return {@code true} if the queue was empty, in which case a flush must be scheduled.
+    */
+   synchronized boolean add(Collection<DataWriteCommand> modifications) {
+      boolean wasEmpty = pending.isEmpty();
+      if (wasEmpty) {
+         oldestPendingTime = timeService.time();
+      }
+      for (DataWriteCommand command : modifications) {
+         pending.remove(command.getKey());
+         pending.put(command.getKey(), command);
+      }
+      return wasEmpty;
+   }
+
+   /**
+    * @return {@code true} if the queue holds enough keys to be sent without waiting.
+    */
+   synchronized boolean isFull() {
+      return pending.size() >= batchSize;
+   }
+
+   /**
+    * Removes and returns the pending modifications, in order.
+    */
+   synchronized List<WriteCommand> drain() {
+      if (pending.isEmpty()) {
+         return null;
+      }
+      List<WriteCommand> batch = new ArrayList<>(pending.values());
+      pending.clear();
+      return batch;
+   }
+
+   /**
+    * @return the number of keys waiting to be sent.
+    */
+   synchronized int size() {
+      return pending.size();
+   }
+
+   /**
+    * @return the time (millis) the oldest pending modification has been waiting, or 0 if the queue is empty.
+    */
+   synchronized long getLag() {
+      return pending.isEmpty() ? 0 : timeService.timeDuration(oldestPendingTime, TimeUnit.MILLISECONDS);
+   }
+
+   @Override
+   public String toString() {
+      return "AsyncBackupQueue{" +
+            "site='" + backup.getSiteName() + '\'' +
+            ", size=" + size() +
+            '}';
+   }
+}
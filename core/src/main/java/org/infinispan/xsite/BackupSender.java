@@ -66,4 +66,16 @@ enum TakeSiteOfflineResponse {
    }
 
    TakeSiteOfflineResponse takeSiteOffline(String siteName);
+
+   /**
+    * @return the number of keys waiting to be sent to the site, or -1 if the modifications are not sent to the site
+    * in batches.
+    */
+   int getAsyncBackupQueueSize(String siteName);
+
+   /**
+    * @return the time (millis) the oldest modification waiting to be sent to the site has been queued, or -1 if the
+    * modifications are not sent to the site in batches.
+    */
+   long getAsyncBackupLag(String siteName);
 }
@@ -11,6 +11,8 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.transaction.Transaction;
 
@@ -22,6 +24,7 @@
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
 import org.infinispan.commands.write.ClearCommand;
+import org.infinispan.commands.write.DataWriteCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commands.write.PutMapCommand;
 import org.infinispan.commands.write.RemoveCommand;
@@ -36,13 +39,18 @@
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.remoting.transport.AggregateBackupResponse;
 import org.infinispan.remoting.transport.BackupResponse;
 import org.infinispan.remoting.transport.Transport;
 import org.infinispan.transaction.impl.LocalTransaction;
 import org.infinispan.transaction.impl.TransactionTable;
+import org.infinispan.transaction.xa.GlobalTransaction;
+import org.infinispan.transaction.xa.TransactionFactory;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -69,6 +77,8 @@ public class BackupSenderImpl implements BackupSender {
    private final Map<String, CustomFailurePolicy> siteFailurePolicy = new HashMap<>();
    private final ConcurrentMap<String, OfflineStatus> offlineStatus = CollectionFactory.makeConcurrentMap();
    private EventLogManager eventLogManager;
+   private ScheduledExecutorService timeoutExecutor;
+   private final Map<String, AsyncBackupQueue> asyncBackupQueues = new HashMap<>();
 
    private final String localSiteName;
    private String cacheName;
@@ -82,7 +92,8 @@ public BackupSenderImpl(String localSiteName) {
 
    @Inject
    public void init(Cache cache, Transport transport, TransactionTable txTable, GlobalConfiguration gc,
-                    TimeService timeService, CommandsFactory commandsFactory, EventLogManager eventLogManager) {
+                    TimeService timeService, CommandsFactory commandsFactory, EventLogManager eventLogManager,
+                    @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService timeoutExecutor) {
       this.cache = cache;
       this.transport = transport;
       this.txTable = txTable;
@@ -90,6 +101,7 @@ public void init(Cache cache, Transport transport, TransactionTable txTable, Glo
       this.timeService = timeService;
       this.commandsFactory = commandsFactory;
       this.eventLogManager = eventLogManager;
+      this.timeoutExecutor = timeoutExecutor;
    }
 
    @Start
@@ -120,6 +132,25 @@ public void siteOffline() {
                                                       }
                                                    });
          offlineStatus.put(siteName, offline);
+         if (bc.isAsyncBatching() && !siteName.equals(localSiteName)) {
+            asyncBackupQueues.put(siteName, new AsyncBackupQueue(new XSiteBackup(siteName, false, bc.replicationTimeout()),
+                                                                 bc.asyncBatchSize(), bc.asyncBatchMaxDelay(), timeService));
+         }
+      }
+   }
+
+   @Stop
+   public void stop() {
+      // send what is still pending, the remote site won't receive it otherwise
+      flushAsyncBackups();
+   }
+
+   /**
+    * Sends the pending modifications of the sites backed up in batches, without waiting for the maximum delay.
+    */
+   void flushAsyncBackups() {
+      for (AsyncBackupQueue queue : asyncBackupQueues.values()) {
+         flush(queue, null);
       }
    }
 
@@ -133,6 +164,9 @@ public BackupResponse backupPrepare(PrepareCommand command) throws Exception {
                                                                    command.isOnePhaseCommit());
       //if we run a 2PC then filter out 1PC prepare backup calls as they will happen during the local commit phase.
       BackupFilter filter = !prepare.isOnePhaseCommit() ? BackupFilter.KEEP_2PC_ONLY : BackupFilter.KEEP_ALL;
+      if (prepare.isOnePhaseCommit()) {
+         backupAsync(prepare, modifications);
+      }
       List<XSiteBackup> backups = calculateBackupInfo(filter);
       return backupCommand(prepare, backups);
    }
@@ -169,6 +203,7 @@ private void updateOfflineSites(BackupResponse backupResponse) {
 
    @Override
    public BackupResponse backupWrite(WriteCommand command) throws Exception {
+      backupAsync(command, Collections.singletonList(command));
       List<XSiteBackup> xSiteBackups = calculateBackupInfo(BackupFilter.KEEP_ALL);
       return backupCommand(command, xSiteBackups);
    }
@@ -212,10 +247,117 @@ public TakeSiteOfflineResponse takeSiteOffline(String siteName) {
       }
    }
 
+   @Override
+   public int getAsyncBackupQueueSize(String siteName) {
+      AsyncBackupQueue queue = asyncBackupQueues.get(siteName);
+      return queue == null ? -1 : queue.size();
+   }
+
+   @Override
+   public long getAsyncBackupLag(String siteName) {
+      AsyncBackupQueue queue = asyncBackupQueues.get(siteName);
+      return queue == null ? -1 : queue.getLag();
+   }
+
    private BackupResponse backupCommand(VisitableCommand command, List<XSiteBackup> xSiteBackups) throws Exception {
+      if (xSiteBackups.isEmpty()) {
+         return EMPTY_RESPONSE;
+      }
       return transport.backupRemotely(xSiteBackups, commandsFactory.buildSingleXSiteRpcCommand(command));
    }
 
+   /**
+    * Queues the modifications for the sites backed up in batches. If some modification can't be merged with the
+    * pending ones, the queue is sent first, followed by the command itself.
+    */
+   private void backupAsync(VisitableCommand command, List<WriteCommand> modifications) {
+      if (asyncBackupQueues.isEmpty()) {
+         return;
+      }
+      List<DataWriteCommand> batchable = toBatchable(modifications);
+      for (AsyncBackupQueue queue : asyncBackupQueues.values()) {
+         if (isOffline(queue.getBackup().getSiteName())) {
+            log.tracef("The site '%s' is offline, not backing up information to it", queue.getBackup().getSiteName());
+            continue;
+         }
+         if (batchable == null) {
+            flush(queue, command);
+            continue;
+         }
+         if (queue.add(batchable)) {
+            timeoutExecutor.schedule(() -> flush(queue, null), queue.getMaxDelay(), TimeUnit.MILLISECONDS);
+         }
+         if (queue.isFull()) {
+            flush(queue, null);
+         }
+      }
+   }
+
+   /**
+    * @return the modifications that can replace the previous modifications of their key, or {@code null} if some
+    * modification depends on the previous value.
+    */
+   private List<DataWriteCommand> toBatchable(List<WriteCommand> modifications) {
+      List<DataWriteCommand> batchable = new ArrayList<>(modifications.size());
+      for (WriteCommand command : modifications) {
+         if ((command instanceof PutKeyValueCommand || command instanceof RemoveCommand) && !command.isConditional()) {
+            batchable.add((DataWriteCommand) command);
+         } else if (command instanceof PutMapCommand) {
+            PutMapCommand putMapCommand = (PutMapCommand) command;
+            for (Map.Entry<Object, Object> entry : putMapCommand.getMap().entrySet()) {
+               batchable.add(commandsFactory.buildPutKeyValueCommand(entry.getKey(), entry.getValue(),
+                                                                     putMapCommand.getMetadata(),
+                                                                     putMapCommand.getFlagsBitSet()));
+            }
+         } else {
+            return null;
+         }
+      }
+      return batchable;
+   }
+
+   /**
+    * Sends the pending modifications of the queue in a single one phase prepare, followed by the command, if any.
+    */
+   private void flush(AsyncBackupQueue queue, VisitableCommand command) {
+      queue.getSendLock().lock();
+      try {
+         List<WriteCommand> batch = queue.drain();
+         if (batch != null) {
+            GlobalTransaction gtx = TransactionFactory.TxFactoryEnum.NODLD_NORECOVERY_XA
+                  .newGlobalTransaction(transport.getAddress(), false, null, false);
+            sendAsync(queue, commandsFactory.buildPrepareCommand(gtx, batch, true), batch.size());
+         }
+         if (command != null) {
+            sendAsync(queue, command, 1);
+         }
+      } finally {
+         queue.getSendLock().unlock();
+      }
+   }
+
+   /**
+    * Nobody waits for the batches, so their outcome is processed here like the responses of the other backups: a failure
+    * counts towards taking the site offline and is handled by the site's failure policy.
+    */
+   private void sendAsync(AsyncBackupQueue queue, VisitableCommand command, int size) {
+      String siteName = queue.getBackup().getSiteName();
+      long sendTimeMillis = TimeUnit.NANOSECONDS.toMillis(timeService.time());
+      Throwable failure = null;
+      try {
+         transport.backupRemotely(Collections.singletonList(queue.getBackup()),
+                                  commandsFactory.buildSingleXSiteRpcCommand(command));
+      } catch (Exception e) {
+         failure = e;
+      }
+      try {
+         processResponses(new AsyncBatchResponse(siteName, failure, sendTimeMillis), command);
+      } catch (Throwable t) {
+         //the writes are already applied locally, so the failure can't be propagated
+         log.warnAsyncBackupBatchFailed(size, cacheName, siteName, t);
+      }
+   }
+
    private BackupResponse sendTo1PCBackups(CommitCommand command) throws Exception {
       final LocalTransaction localTx = txTable.getLocalTransaction(command.getGlobalTransaction());
       List<WriteCommand> modifications = filterModifications(localTx.getModifications());
@@ -225,6 +367,7 @@ private BackupResponse sendTo1PCBackups(CommitCommand command) throws Exception
       List<XSiteBackup> backups = calculateBackupInfo(BackupFilter.KEEP_1PC_ONLY);
       PrepareCommand prepare = commandsFactory.buildPrepareCommand(command.getGlobalTransaction(),
                                                                    modifications, true);
+      backupAsync(prepare, modifications);
       return backupCommand(prepare, backups);
    }
 
@@ -269,6 +412,11 @@ private List<XSiteBackup> calculateBackupInfo(BackupFilter backupFilter) {
                continue;
          }
 
+         if (asyncBackupQueues.containsKey(bc.site())) {
+            //the modifications are sent in batches
+            continue;
+         }
+
          if (isOffline(bc.site())) {
             log.tracef("The site '%s' is offline, not backing up information to it", bc.site());
             continue;
@@ -379,6 +527,13 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
 
       @Override
       public Object visitPrepareCommand(TxInvocationContext ctx, PrepareCommand command) throws Throwable {
+         if (tx == null) {
+            //a batch of modifications sent to an asynchronous backup
+            for (WriteCommand modification : command.getModifications()) {
+               modification.acceptVisitor(ctx, this);
+            }
+            return null;
+         }
          failurePolicy.handlePrepareFailure(site, tx);
          return null;
       }
@@ -445,4 +600,42 @@ public boolean isEmpty() {
          return true;
       }
    }
+
+   private static class AsyncBatchResponse implements BackupResponse {
+
+      private final String siteName;
+      private final Throwable failure;
+      private final long sendTimeMillis;
+
+      AsyncBatchResponse(String siteName, Throwable failure, long sendTimeMillis) {
+         this.siteName = siteName;
+         this.failure = failure;
+         this.sendTimeMillis = sendTimeMillis;
+      }
+
+      @Override
+      public void waitForBackupToFinish() throws Exception {
+         //no-op, the batch is sent asynchronously
+      }
+
+      @Override
+      public Map<String, Throwable> getFailedBackups() {
+         return failure == null ? Collections.emptyMap() : Collections.singletonMap(siteName, failure);
+      }
+
+      @Override
+      public Set<String> getCommunicationErrors() {
+         return failure == null ? Collections.emptySet() : Collections.singleton(siteName);
+      }
+
+      @Override
+      public long getSendTimeMillis() {
+         return sendTimeMillis;
+      }
+
+      @Override
+      public boolean isEmpty() {
+         return false;
+      }
+   }
 }
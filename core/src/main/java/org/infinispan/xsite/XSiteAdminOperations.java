@@ -22,6 +22,7 @@
 import org.infinispan.util.ByteString;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
+import org.infinispan.xsite.statetransfer.XSiteStateProvider;
 import org.infinispan.xsite.statetransfer.XSiteStateTransferManager;
 import org.infinispan.xsite.status.CacheSiteStatusBuilder;
 import org.infinispan.xsite.status.SiteStatus;
@@ -44,15 +45,17 @@ public class XSiteAdminOperations {
 
    private volatile BackupSender backupSender;
    private XSiteStateTransferManager stateTransferManager;
+   private XSiteStateProvider stateProvider;
 
    @Inject
    public void init(RpcManager rpcManager, BackupSender backupSender, Cache cache,
-                    XSiteStateTransferManager stateTransferManager) {
+                    XSiteStateTransferManager stateTransferManager, XSiteStateProvider stateProvider) {
       this.backupSender = backupSender;
       this.rpcManager = rpcManager;
       this.backupSender = backupSender;
       this.cache = cache;
       this.stateTransferManager = stateTransferManager;
+      this.stateProvider = stateProvider;
    }
 
    public Map<String, SiteStatus> clusterStatus()  {
@@ -253,6 +256,20 @@ public String getTakeOfflineAfterFailures(@Parameter(name = "site", description
       return String.valueOf(offlineStatus.getTakeOffline().afterFailures());
    }
 
+   @ManagedOperation(description = "Returns the number of keys waiting to be sent to the asynchronous backup site by this node.", displayName = "Returns the number of keys waiting to be sent to the asynchronous backup site.")
+   public String getAsyncBackupQueueSize(@Parameter(name = "site", description = "The name of the backup site") String site) {
+      int size = backupSender.getAsyncBackupQueueSize(site);
+      if (size < 0) return notBatchedSite(site);
+      return String.valueOf(size);
+   }
+
+   @ManagedOperation(description = "Returns the time (millis) the oldest modification waiting to be sent to the asynchronous backup site by this node has been queued.", displayName = "Returns the lag of the asynchronous backup site.")
+   public String getAsyncBackupLag(@Parameter(name = "site", description = "The name of the backup site") String site) {
+      long lag = backupSender.getAsyncBackupLag(site);
+      if (lag < 0) return notBatchedSite(site);
+      return String.valueOf(lag);
+   }
+
    @ManagedOperation(description = "Brings the given site back online on all the cluster.", displayName = "Brings the given site back online on all the cluster.")
    public String bringSiteOnline(@Parameter(name = "site", description = "The name of the backup site") String site) {
       OfflineStatus offlineStatus = backupSender.getOfflineStatus(site);
@@ -309,6 +326,15 @@ public final Map<String, String> getPushStateStatus() {
       }
    }
 
+   @ManagedOperation(displayName = "Push State Progress",
+                     description = "Returns the number of segments and entries sent by this node to the remote site.",
+                     name = "PushStateProgress")
+   public final String getPushStateProgress(@Parameter(description = "The destination site name", name = "SiteName")
+                                               String siteName) {
+      String progress = stateProvider.getStateTransferProgress(siteName);
+      return progress == null ? String.format("This node is not pushing state to '%s'.", siteName) : progress;
+   }
+
    @ManagedOperation(displayName = "Clear State Status",
                      description = "Clears the state transfer status.",
                      name = "ClearPushStateStatus")
@@ -392,6 +418,10 @@ private String incorrectSiteName(String site) {
       return "Incorrect site name: " + site;
    }
 
+   private String notBatchedSite(String site) {
+      return "Site " + site + " does not exist or is not backed up in batches";
+   }
+
    private Map<Address, Response> invokeRemotely(XSiteAdminCommand command) {
       return rpcManager.invokeRemotely(null, command,
                                        rpcManager.getRpcOptionsBuilder(ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS, DeliverOrder.NONE).build());
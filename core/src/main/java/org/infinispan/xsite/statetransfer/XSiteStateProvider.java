@@ -38,4 +38,11 @@ public interface XSiteStateProvider {
     * @return a site name collection with sites in which the coordinator is not in the {@code currentMembers}.
     */
    Collection<String> getSitesMissingCoordinator(Collection<Address> currentMembers);
+
+   /**
+    * @param siteName the remote site name.
+    * @return the segments and entries sent by this node to the remote site, or {@code null} if this node is not
+    * sending state to the site.
+    */
+   String getStateTransferProgress(String siteName);
 }
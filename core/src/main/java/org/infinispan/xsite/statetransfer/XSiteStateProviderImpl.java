@@ -1,8 +1,7 @@
 package org.infinispan.xsite.statetransfer;
 
 import static org.infinispan.factories.KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR;
-import static org.infinispan.persistence.spi.AdvancedCacheLoader.CacheLoaderTask;
-import static org.infinispan.persistence.spi.AdvancedCacheLoader.TaskContext;
+import static org.infinispan.factories.KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR;
 import static org.infinispan.remoting.transport.RetryOnFailureXSiteCommand.MaxRetriesPolicy;
 import static org.infinispan.remoting.transport.RetryOnFailureXSiteCommand.RetryPolicy;
 import static org.infinispan.xsite.statetransfer.XSiteStateTransferControlCommand.StateTransferControl.FINISH_SEND;
@@ -11,12 +10,21 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
@@ -26,16 +34,19 @@
 import org.infinispan.configuration.cache.XSiteStateTransferConfiguration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.LocalizedCacheTopology;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
 import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.metadata.InternalMetadata;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.RetryOnFailureXSiteCommand;
 import org.infinispan.statetransfer.StateTransferLock;
+import org.infinispan.util.TimeService;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
@@ -57,6 +68,8 @@ public class XSiteStateProviderImpl implements XSiteStateProvider {
    private static final boolean debug = log.isDebugEnabled();
 
    private final ConcurrentMap<String, StatePushTask> runningStateTransfer;
+   //the segments sent by a failed state transfer, not sent again when it is restarted in the same topology
+   private final ConcurrentMap<String, CompletedSegments> completedSegmentsPerSite;
 
    private DataContainer<?, ?> dataContainer;
    private PersistenceManager persistenceManager;
@@ -64,12 +77,15 @@ public class XSiteStateProviderImpl implements XSiteStateProvider {
    private CommandsFactory commandsFactory;
    private RpcManager rpcManager;
    private ExecutorService executorService;
+   private ScheduledExecutorService scheduledExecutor;
    private Configuration configuration;
    private XSiteStateTransferManager stateTransferManager;
    private StateTransferLock stateTransferLock;
+   private TimeService timeService;
 
    public XSiteStateProviderImpl() {
       runningStateTransfer = CollectionFactory.makeConcurrentMap();
+      completedSegmentsPerSite = CollectionFactory.makeConcurrentMap();
    }
 
    @Inject
@@ -77,7 +93,8 @@ public void inject(DataContainer dataContainer, PersistenceManager persistenceMa
                       ClusteringDependentLogic clusteringDependentLogic, CommandsFactory commandsFactory,
                       @ComponentName(value = ASYNC_TRANSPORT_EXECUTOR) ExecutorService executorService,
                       Configuration configuration, XSiteStateTransferManager xSiteStateTransferManager,
-                      StateTransferLock stateTransferLock) {
+                      StateTransferLock stateTransferLock, TimeService timeService,
+                      @ComponentName(value = TIMEOUT_SCHEDULE_EXECUTOR) ScheduledExecutorService scheduledExecutor) {
       this.dataContainer = dataContainer;
       this.persistenceManager = persistenceManager;
       this.clusteringDependentLogic = clusteringDependentLogic;
@@ -87,6 +104,8 @@ public void inject(DataContainer dataContainer, PersistenceManager persistenceMa
       this.configuration = configuration;
       this.stateTransferManager = xSiteStateTransferManager;
       this.stateTransferLock = stateTransferLock;
+      this.timeService = timeService;
+      this.scheduledExecutor = scheduledExecutor;
    }
 
    @Override
@@ -103,7 +122,9 @@ public void startStateTransfer(String siteName, Address origin, int minTopologyI
          throw new CacheException("Unable to start X-Site State Transfer! Backup configuration not found for " +
                                         siteName + "!");
       }
-      StatePushTask task = new StatePushTask(siteName, origin, stateTransferConfiguration, minTopologyId);
+      CompletedSegments completedSegments = completedSegmentsPerSite.computeIfAbsent(siteName, s -> new CompletedSegments());
+      StatePushTask task = new StatePushTask(siteName, origin, stateTransferConfiguration, minTopologyId,
+                                             completedSegments);
       if (runningStateTransfer.putIfAbsent(siteName, task) == null) {
          if (debug) {
             log.debugf("Starting state transfer to site '%s'", siteName);
@@ -125,6 +146,16 @@ public void cancelStateTransfer(String siteName) {
       if (task != null) {
          task.canceled = true;
       }
+      //the coordinator cancels the finished tasks to clean up, keep the sent segments if the task failed
+      if (task == null || !task.finished) {
+         completedSegmentsPerSite.remove(siteName);
+      }
+   }
+
+   @Override
+   public String getStateTransferProgress(String siteName) {
+      StatePushTask task = runningStateTransfer.get(siteName);
+      return task == null ? null : task.progress();
    }
 
    @Override
@@ -166,8 +197,9 @@ private void notifyStateTransferEnd(final String siteName, final Address origin,
       }
    }
 
-   private boolean shouldSendKey(Object key) {
-      return clusteringDependentLogic.getCacheTopology().getDistribution(key).isPrimary();
+   private boolean shouldSendKey(Object key, Set<Integer> segments) {
+      LocalizedCacheTopology cacheTopology = clusteringDependentLogic.getCacheTopology();
+      return segments.contains(cacheTopology.getSegment(key)) && cacheTopology.getDistribution(key).isPrimary();
    }
 
    private void sendFromSharedBuffer(XSiteBackup xSiteBackup, List<XSiteState> sharedBuffer, StatePushTask task) throws Throwable {
@@ -186,6 +218,7 @@ private void sendFromSharedBuffer(XSiteBackup xSiteBackup, List<XSiteState> shar
       XSiteStatePushCommand command = commandsFactory.buildXSiteStatePushCommand(privateBuffer, xSiteBackup.getTimeout());
       RetryOnFailureXSiteCommand remoteSite = RetryOnFailureXSiteCommand.newInstance(xSiteBackup, command, task.retryPolicy);
       remoteSite.execute(rpcManager.getTransport(), task.waitTime, TimeUnit.MILLISECONDS);
+      task.sentEntries.addAndGet(privateBuffer.length);
    }
 
    private class StatePushTask implements Runnable {
@@ -196,17 +229,36 @@ private class StatePushTask implements Runnable {
       private final RetryPolicy retryPolicy;
       private final long waitTime;
       private final int minTopologyId;
+      private final int concurrency;
+      private final long nanosPerEntry;
+      private final CompletedSegments completedSegments;
+      private final Queue<Set<Integer>> pendingSegments;
+      private final Set<Integer> failedSegments;
+      private final AtomicLong sentEntries;
+      private final AtomicInteger runningSenders;
       private volatile boolean finished;
       private volatile boolean canceled;
-      private boolean error;
+      private volatile boolean error;
+      private volatile int numSegments;
+      private long nextSendTime;
 
-      public StatePushTask(String siteName, Address origin, XSiteStateTransferConfiguration configuration, int minTopologyId) {
+      public StatePushTask(String siteName, Address origin, XSiteStateTransferConfiguration configuration,
+                           int minTopologyId, CompletedSegments completedSegments) {
          this.minTopologyId = minTopologyId;
          this.chunkSize = configuration.chunkSize();
          this.waitTime = configuration.waitTime();
          this.retryPolicy = new MaxRetriesPolicy(configuration.maxRetries());
+         this.concurrency = configuration.concurrency();
+         this.nanosPerEntry = configuration.maxEntriesPerSecond() > 0 ?
+               TimeUnit.SECONDS.toNanos(1) / configuration.maxEntriesPerSecond() :
+               0;
          this.origin = origin;
          this.xSiteBackup = new XSiteBackup(siteName, true, configuration.timeout());
+         this.completedSegments = completedSegments;
+         this.pendingSegments = new ConcurrentLinkedQueue<>();
+         this.failedSegments = ConcurrentHashMap.newKeySet();
+         this.sentEntries = new AtomicLong();
+         this.runningSenders = new AtomicInteger();
          this.canceled = false;
          this.finished = false;
          this.error = false;
@@ -221,91 +273,95 @@ public void run() {
 
             CompletableFutures.await(stateTransferLock.topologyFuture(minTopologyId));
 
-            final List<XSiteState> chunk = new ArrayList<>(chunkSize <= 0 ? DEFAULT_CHUNK_SIZE : chunkSize);
-
-            if (debug) {
-               log.debugf("[X-Site State Transfer - %s] start DataContainer iteration", xSiteBackup.getSiteName());
-            }
-
-            for (InternalCacheEntry ice : dataContainer) {
-               if (canceled) {
-                  log.debugf("[X-Site State Transfer - %s] State transfer canceled!", xSiteBackup.getSiteName());
-                  return;
-               }
-               if (chunkSize > 0 && chunk.size() == chunkSize) {
-                  try {
-                     sendFromSharedBuffer(xSiteBackup, chunk, this);
-                  } catch (Throwable t) {
-                     error = true;
-                     log.unableToSendXSiteState(xSiteBackup.getSiteName(), t);
-                     return;
-                  }
-                  chunk.clear();
-               }
-               if (shouldSendKey(ice.getKey())) {
-                  if (trace) {
-                     log.tracef("Added key '%s' to current chunk", ice.getKey());
-                  }
-                  chunk.add(XSiteState.fromDataContainer(ice));
-               }
-            }
-
-            if (canceled) {
+            splitSegments();
+            int senders = Math.min(concurrency, pendingSegments.size());
+            if (senders == 0) {
+               finish();
                return;
             }
-            if (chunk.size() > 0) {
-               try {
-                  sendFromSharedBuffer(xSiteBackup, chunk, this);
-               } catch (Throwable t) {
-                  error = true;
-                  log.unableToSendXSiteState(xSiteBackup.getSiteName(), t);
-                  return;
-               }
-            }
-
-            if (debug) {
-               log.debugf("[X-Site State Transfer - %s] finish DataContainer iteration", xSiteBackup.getSiteName());
-            }
-
-            @SuppressWarnings("unchecked")
-            AdvancedCacheLoader<Object, Object> stProvider = persistenceManager.getStateTransferProvider();
-            if (stProvider != null) {
-               if (debug) {
-                  log.debugf("[X-Site State Transfer - %s] start Persistence iteration", xSiteBackup.getSiteName());
-               }
-               StateTransferCacheLoaderTask task = new StateTransferCacheLoaderTask(xSiteBackup, chunk, this);
-               try {
-                  stProvider.process(k -> shouldSendKey(k) && !dataContainer.containsKey(k), task, EXECUTOR_SERVICE, true, true);
-                  if (canceled) {
-                     log.debugf("[X-Site State Transfer - %s] State transfer canceled!", xSiteBackup.getSiteName());
-                     return;
-                  }
-                  task.sendRemainingState();
-               } catch (CacheException e) {
-                  error = true;
-                  log.failedLoadingKeysFromCacheStore(e);
-                  return;
-               } catch (Throwable t) {
-                  error = true;
-                  log.unableToSendXSiteState(xSiteBackup.getSiteName(), t);
-                  return;
-               }
-               if (debug) {
-                  log.debugf("[X-Site State Transfer - %s] finish Persistence iteration", xSiteBackup.getSiteName());
-               }
-            } else if (debug) {
-               log.debugf("[X-Site State Transfer - %s] skip Persistence iteration", xSiteBackup.getSiteName());
+            runningSenders.set(senders);
+            for (int i = 0; i < senders; ++i) {
+               executorService.execute(new SegmentSender());
             }
          } catch (Throwable e) {
             error = true;
             log.unableToSendXSiteState(xSiteBackup.getSiteName(), e);
-         } finally {
-            finished = true;
-            log.debugf("[X-Site State Transfer - %s] State transfer finished!", xSiteBackup.getSiteName());
-            if (!canceled) {
-               notifyStateTransferEnd(xSiteBackup.getSiteName(), origin, error);
+            finish();
+         }
+      }
+
+      /**
+       * Splits the segments not sent by a previous attempt in the same topology in one group per sender. Each group is
+       * sent with a single iteration over the data container and the persistence. At the end of the iteration, its
+       * segments are recorded as sent, except the ones with a chunk that could not be sent: only those are sent again
+       * when the state transfer is restarted.
+       */
+      private void splitSegments() {
+         LocalizedCacheTopology cacheTopology = clusteringDependentLogic.getCacheTopology();
+         //the primary owners changed, the segments sent before may not include all the keys this node owns now
+         completedSegments.resetIfTopologyChanged(cacheTopology.getTopologyId());
+         numSegments = cacheTopology.getReadConsistentHash().getNumSegments();
+         List<Integer> segments = new ArrayList<>(numSegments);
+         for (int segment = 0; segment < numSegments; ++segment) {
+            if (!completedSegments.segments.contains(segment)) {
+               segments.add(segment);
             }
          }
+         if (debug) {
+            log.debugf("[X-Site State Transfer - %s] %s segments to send, %s already sent", xSiteBackup.getSiteName(),
+                       segments.size(), numSegments - segments.size());
+         }
+         if (segments.isEmpty()) {
+            return;
+         }
+         int groups = Math.min(segments.size(), concurrency);
+         int groupSize = (segments.size() + groups - 1) / groups;
+         for (int from = 0; from < segments.size(); from += groupSize) {
+            pendingSegments.add(new HashSet<>(segments.subList(from, Math.min(from + groupSize, segments.size()))));
+         }
+      }
+
+      private void senderFinished() {
+         if (runningSenders.decrementAndGet() == 0) {
+            finish();
+         }
+      }
+
+      private synchronized void finish() {
+         if (finished) {
+            return;
+         }
+         finished = true;
+         log.debugf("[X-Site State Transfer - %s] State transfer finished!", xSiteBackup.getSiteName());
+         if (!canceled) {
+            if (!error) {
+               completedSegmentsPerSite.remove(xSiteBackup.getSiteName(), completedSegments);
+            }
+            notifyStateTransferEnd(xSiteBackup.getSiteName(), origin, error);
+         }
+      }
+
+      /**
+       * Reserves the sending of the entries without exceeding the configured rate.
+       *
+       * @return the nanoseconds to wait before sending them.
+       */
+      private long reserve(int entries) {
+         if (nanosPerEntry <= 0) {
+            return 0;
+         }
+         long sendTime;
+         synchronized (this) {
+            long now = timeService.time();
+            sendTime = Math.max(now, nextSendTime);
+            nextSendTime = sendTime + entries * nanosPerEntry;
+         }
+         return timeService.timeDuration(timeService.time(), sendTime, TimeUnit.NANOSECONDS);
+      }
+
+      private String progress() {
+         return String.format("Sent segments %d/%d, %d entries, %d failed segments", completedSegments.segments.size(),
+                              numSegments, sentEntries.get(), failedSegments.size());
       }
 
       @Override
@@ -315,44 +371,238 @@ public String toString() {
                ", canceled=" + canceled +
                '}';
       }
-   }
 
-   private class StateTransferCacheLoaderTask implements CacheLoaderTask<Object, Object> {
+      /**
+       * Sends the groups of segments one after the other. It never blocks a thread to respect the rate limit: when a
+       * chunk has to wait, the sender is scheduled again and resumes the iteration where it stopped.
+       */
+      private class SegmentSender implements Runnable {
+
+         private final List<XSiteState> chunk = new ArrayList<>(chunkSize <= 0 ? DEFAULT_CHUNK_SIZE : chunkSize);
+         //the segments of the entries in the chunk, they fail if the chunk can't be sent
+         private final Set<Integer> chunkSegments = new HashSet<>();
+         //the segments of the current group still being sent
+         private Set<Integer> segments;
+         private Iterator<? extends InternalCacheEntry<?, ?>> containerIterator;
+         private Iterator<Object> storeKeys;
+         private AdvancedCacheLoader<Object, Object> stProvider;
+         private boolean exhausted;
+         private boolean reserved;
+
+         @Override
+         public void run() {
+            try {
+               while (!canceled) {
+                  if (segments == null && !nextGroup()) {
+                     break;
+                  }
+                  fillChunk();
+                  if (!chunk.isEmpty() && !canceled) {
+                     if (!reserved) {
+                        reserved = true;
+                        long delayNanos = reserve(chunk.size());
+                        if (delayNanos > 0) {
+                           schedule(delayNanos);
+                           return;
+                        }
+                     }
+                     sendChunk();
+                  }
+                  if (exhausted && chunk.isEmpty()) {
+                     groupCompleted();
+                  }
+               }
+               if (canceled) {
+                  log.debugf("[X-Site State Transfer - %s] State transfer canceled!", xSiteBackup.getSiteName());
+               }
+            } catch (Throwable t) {
+               error = true;
+               log.unableToSendXSiteState(xSiteBackup.getSiteName(), t);
+            }
+            senderFinished();
+         }
 
-      private final List<XSiteState> chunk;
-      private final XSiteBackup xSiteBackup;
-      private final StatePushTask task;
+         private void schedule(long delayNanos) {
+            scheduledExecutor.schedule(() -> {
+               try {
+                  executorService.execute(this);
+               } catch (Throwable t) {
+                  error = true;
+                  log.unableToSendXSiteState(xSiteBackup.getSiteName(), t);
+                  senderFinished();
+               }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+         }
 
-      private StateTransferCacheLoaderTask(XSiteBackup xSiteBackup, List<XSiteState> chunk, StatePushTask task) {
-         this.xSiteBackup = xSiteBackup;
-         this.chunk = chunk;
-         this.task = task;
-      }
+         private boolean nextGroup() {
+            Set<Integer> group = pendingSegments.poll();
+            if (group == null) {
+               return false;
+            }
+            if (debug) {
+               log.debugf("[X-Site State Transfer - %s] start DataContainer iteration for segments %s",
+                          xSiteBackup.getSiteName(), group);
+            }
+            segments = group;
+            containerIterator = dataContainer.iterator();
+            storeKeys = null;
+            exhausted = false;
+            return true;
+         }
 
-      @Override
-      public void processEntry(MarshalledEntry<Object, Object> marshalledEntry, TaskContext taskContext)
-            throws InterruptedException {
-         if (task.canceled) {
-            taskContext.stop();
-            log.debugf("[X-Site State Transfer - %s] State transfer canceled!", xSiteBackup.getSiteName());
-            return;
+         private void groupCompleted() {
+            if (!canceled) {
+               completedSegments.segments.addAll(segments);
+            }
+            segments = null;
+         }
+
+         /**
+          * Adds entries to the chunk until it is full or the group has no more entries to send.
+          */
+         private void fillChunk() {
+            while (!exhausted && !canceled && (chunkSize <= 0 || chunk.size() < chunkSize)) {
+               XSiteState state = nextState();
+               if (state == null) {
+                  exhausted = true;
+               } else {
+                  if (trace) {
+                     log.tracef("Added key '%s' to current chunk", state.key());
+                  }
+                  chunk.add(state);
+                  chunkSegments.add(segmentOf(state.key()));
+               }
+            }
          }
-         if (task.chunkSize > 0 && chunk.size() == task.chunkSize) {
+
+         private void sendChunk() {
             try {
-               sendFromSharedBuffer(xSiteBackup, chunk, task);
+               sendFromSharedBuffer(xSiteBackup, chunk, StatePushTask.this);
             } catch (Throwable t) {
                log.unableToSendXSiteState(xSiteBackup.getSiteName(), t);
-               taskContext.stop();
+               failSegments(chunkSegments);
             }
             chunk.clear();
+            chunkSegments.clear();
+            reserved = false;
          }
 
-         chunk.add(XSiteState.fromCacheLoader(marshalledEntry));
+         /**
+          * Stops sending the segments. The other segments of the group are still sent and the state transfer finishes
+          * with an error.
+          */
+         private void failSegments(Collection<Integer> failed) {
+            if (debug) {
+               log.debugf("[X-Site State Transfer - %s] failed to send segments %s", xSiteBackup.getSiteName(), failed);
+            }
+            error = true;
+            segments.removeAll(failed);
+            failedSegments.addAll(failed);
+         }
+
+         /**
+          * @return the next entry of the group, first from the data container and then from the persistence, or {@code
+          * null} if there are no more entries.
+          */
+         private XSiteState nextState() {
+            while (!segments.isEmpty()) {
+               if (containerIterator != null) {
+                  if (containerIterator.hasNext()) {
+                     InternalCacheEntry<?, ?> ice = containerIterator.next();
+                     if (shouldSendKey(ice.getKey(), segments)) {
+                        return XSiteState.fromDataContainer(ice);
+                     }
+                     continue;
+                  }
+                  containerIterator = null;
+                  if (debug) {
+                     log.debugf("[X-Site State Transfer - %s] finish DataContainer iteration", xSiteBackup.getSiteName());
+                  }
+                  storeKeys = collectStoreKeys();
+               }
+               if (!storeKeys.hasNext()) {
+                  return null;
+               }
+               XSiteState state = loadFromStore(storeKeys.next());
+               if (state != null) {
+                  return state;
+               }
+            }
+            return null;
+         }
+
+         /**
+          * Collects the keys of the group only present in the persistence. Their entries are loaded one by one when the
+          * chunks are filled, so the iteration can be suspended between chunks.
+          */
+         @SuppressWarnings("unchecked")
+         private Iterator<Object> collectStoreKeys() {
+            stProvider = persistenceManager.getStateTransferProvider();
+            if (stProvider == null) {
+               if (debug) {
+                  log.debugf("[X-Site State Transfer - %s] skip Persistence iteration", xSiteBackup.getSiteName());
+               }
+               return Collections.emptyIterator();
+            }
+            if (debug) {
+               log.debugf("[X-Site State Transfer - %s] start Persistence iteration", xSiteBackup.getSiteName());
+            }
+            Set<Integer> groupSegments = segments;
+            Set<Object> keys = ConcurrentHashMap.newKeySet();
+            try {
+               stProvider.process(k -> shouldSendKey(k, groupSegments) && !dataContainer.containsKey(k),
+                                  (marshalledEntry, taskContext) -> {
+                                     if (canceled) {
+                                        taskContext.stop();
+                                     } else {
+                                        keys.add(marshalledEntry.getKey());
+                                     }
+                                  }, EXECUTOR_SERVICE, false, false);
+            } catch (CacheException e) {
+               log.failedLoadingKeysFromCacheStore(e);
+               failSegments(new ArrayList<>(segments));
+            }
+            return keys.iterator();
+         }
+
+         private XSiteState loadFromStore(Object key) {
+            if (!shouldSendKey(key, segments) || dataContainer.containsKey(key)) {
+               return null;
+            }
+            try {
+               MarshalledEntry<Object, Object> marshalledEntry = stProvider.load(key);
+               if (marshalledEntry == null) {
+                  return null;
+               }
+               InternalMetadata metadata = marshalledEntry.getMetadata();
+               if (metadata != null && metadata.isExpired(timeService.wallClockTime())) {
+                  return null;
+               }
+               return XSiteState.fromCacheLoader(marshalledEntry);
+            } catch (CacheException e) {
+               log.failedLoadingKeysFromCacheStore(e);
+               failSegments(Collections.singleton(segmentOf(key)));
+               return null;
+            }
+         }
       }
+   }
+
+   private int segmentOf(Object key) {
+      return clusteringDependentLogic.getCacheTopology().getSegment(key);
+   }
 
-      public void sendRemainingState() throws Throwable {
-         if (chunk.size() > 0) {
-            sendFromSharedBuffer(xSiteBackup, chunk, task);
+   /**
+    * The segments completely sent to a site and the topology in which they were sent.
+    */
+   private static class CompletedSegments {
+      private final Set<Integer> segments = ConcurrentHashMap.newKeySet();
+      private int topologyId = -1;
+
+      private synchronized void resetIfTopologyChanged(int currentTopologyId) {
+         if (topologyId != currentTopologyId) {
+            segments.clear();
+            topologyId = currentTopologyId;
          }
       }
    }
@@ -0,0 +1,95 @@
+package org.infinispan.api;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.transaction.LockingMode;
+import org.infinispan.transaction.impl.LocalTransaction;
+import org.infinispan.transaction.impl.TransactionTable;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.util.concurrent.locks.LockManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the shared locks acquired by {@link Flag#FORCE_READ_LOCK}.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "api.ForceReadLockTest")
+public class ForceReadLockTest extends SingleCacheManagerTest {
+   private TransactionManager tm;
+   private AdvancedCache<String, String> advancedCache;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cacheConfiguration = TestCacheManagerFactory.getDefaultCacheConfiguration(true);
+      cacheConfiguration.transaction().lockingMode(LockingMode.PESSIMISTIC);
+      cacheConfiguration.locking().lockAcquisitionTimeout(100);
+      EmbeddedCacheManager cacheManager = TestCacheManagerFactory.createCacheManager(cacheConfiguration);
+      advancedCache = cacheManager.<String, String>getCache().getAdvancedCache();
+      tm = TestingUtil.getTransactionManager(advancedCache);
+      return cacheManager;
+   }
+
+   public void testSharedLockIsAcquired() throws Exception {
+      advancedCache.put("k", "v");
+      assertEventuallyNotLocked(advancedCache, "k");
+      LockManager lockManager = TestingUtil.extractLockManager(advancedCache);
+
+      tm.begin();
+      assertEquals("v", advancedCache.withFlags(Flag.FORCE_READ_LOCK).get("k"));
+      Transaction tx1 = tm.suspend();
+
+      tm.begin();
+      assertEquals("v", advancedCache.withFlags(Flag.FORCE_READ_LOCK).get("k"));
+      Transaction tx2 = tm.suspend();
+
+      assertLocked(advancedCache, "k");
+      assertNull(lockManager.getOwner("k"));
+
+      tm.begin();
+      try {
+         advancedCache.put("k", "v2");
+         fail("TimeoutException expected");
+      } catch (TimeoutException e) {
+         //expected
+      } finally {
+         tm.rollback();
+      }
+
+      tm.resume(tx1);
+      tm.commit();
+      tm.resume(tx2);
+      tm.commit();
+      assertEventuallyNotLocked(advancedCache, "k");
+   }
+
+   public void testSharedLockUpgrade() throws Exception {
+      advancedCache.put("k", "v");
+      assertEventuallyNotLocked(advancedCache, "k");
+      LockManager lockManager = TestingUtil.extractLockManager(advancedCache);
+
+      tm.begin();
+      assertEquals("v", advancedCache.withFlags(Flag.FORCE_READ_LOCK).get("k"));
+      advancedCache.put("k", "v2");
+      TransactionTable txTable = advancedCache.getComponentRegistry().getComponent(TransactionTable.class);
+      LocalTransaction tx = txTable.getLocalTransaction(tm.getTransaction());
+      assertTrue(lockManager.ownsLock("k", tx.getGlobalTransaction()));
+      tm.commit();
+
+      assertEventuallyNotLocked(advancedCache, "k");
+      assertEquals("v2", advancedCache.get("k"));
+   }
+}
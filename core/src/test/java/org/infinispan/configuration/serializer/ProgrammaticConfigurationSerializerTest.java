@@ -0,0 +1,78 @@
+package org.infinispan.configuration.serializer;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.XSiteStateTransferConfiguration;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
+import org.infinispan.configuration.parsing.ParserRegistry;
+import org.infinispan.conflict.EntryMergePolicy;
+import org.infinispan.conflict.MergePolicies;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the attributes without an example in the configuration files survive a serialize/parse round-trip.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "configuration.serializer.ProgrammaticConfigurationSerializerTest")
+public class ProgrammaticConfigurationSerializerTest extends AbstractInfinispanTest {
+
+   public void testXSiteStateTransfer() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      builder.sites().addBackup().site("NYC").stateTransfer().chunkSize(100).concurrency(3).maxEntriesPerSecond(500);
+
+      Configuration configuration = roundTrip(builder.build());
+
+      XSiteStateTransferConfiguration stateTransfer = configuration.sites().allBackups().get(0).stateTransfer();
+      assertEquals(100, stateTransfer.chunkSize());
+      assertEquals(3, stateTransfer.concurrency());
+      assertEquals(500, stateTransfer.maxEntriesPerSecond());
+   }
+
+   public void testBuiltInMergePolicy() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).partitionHandling().mergePolicy(MergePolicies.REMOVE_ALL);
+
+      Configuration configuration = roundTrip(builder.build());
+
+      assertEquals(MergePolicies.REMOVE_ALL, configuration.clustering().partitionHandling().mergePolicy());
+   }
+
+   public void testCustomMergePolicy() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).partitionHandling().mergePolicy(new CustomMergePolicy())
+            .conflictResolutionConcurrency(2);
+
+      Configuration configuration = roundTrip(builder.build());
+
+      assertEquals(CustomMergePolicy.class, configuration.clustering().partitionHandling().mergePolicy().getClass());
+      assertEquals(2, configuration.clustering().partitionHandling().conflictResolutionConcurrency());
+   }
+
+   private Configuration roundTrip(Configuration configuration) throws Exception {
+      ParserRegistry registry = new ParserRegistry();
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      registry.serialize(baos, new GlobalConfigurationBuilder().build(), Collections.singletonMap("cache", configuration));
+      ConfigurationBuilderHolder holder = registry.parse(new ByteArrayInputStream(baos.toByteArray()));
+      return holder.getNamedConfigurationBuilders().get("cache").build();
+   }
+
+   public static class CustomMergePolicy implements EntryMergePolicy<Object, Object> {
+      @Override
+      public CacheEntry<Object, Object> merge(CacheEntry<Object, Object> preferredEntry, List<CacheEntry<Object, Object>> otherEntries) {
+         return preferredEntry;
+      }
+   }
+}
@@ -19,6 +19,7 @@
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
+import org.infinispan.distribution.group.impl.GroupIndex;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.base.CommandInterceptor;
@@ -138,6 +139,37 @@ public void processEntry(MarshalledEntry marshalledEntry, AdvancedCacheLoader.Ta
       AssertJUnit.assertEquals(expectedGroupSet, groupKeySet);
    }
 
+   public void testGetKeysInGroupAfterRemove() {
+      final TestCache testCache = createTestCacheAndReset(GROUP, this.caches());
+      initCache(testCache.primaryOwner);
+      for (int i = 0; i < 5; ++i) {
+         testCache.primaryOwner.remove(key(i));
+      }
+      Map<GroupKey, String> groupKeySet = testCache.testCache.getGroup(GROUP);
+      Map<GroupKey, String> expectedGroupSet = createMap(5, 10);
+      AssertJUnit.assertEquals(expectedGroupSet, groupKeySet);
+
+      for (Cache<GroupKey, String> cache : this.<GroupKey, String>caches()) {
+         if (isGroupOwner(cache, GROUP)) {
+            AssertJUnit.assertEquals(5, TestingUtil.extractComponent(cache, GroupIndex.class).size(GROUP));
+         }
+      }
+   }
+
+   public void testGroupIndexAfterEviction() {
+      final TestCache testCache = createTestCacheAndReset(GROUP, this.caches(PERSISTENCE_PASSIVATION_CACHE));
+      initCache(testCache.primaryOwner);
+
+      for (Cache<GroupKey, String> cache : this.<GroupKey, String>caches(PERSISTENCE_PASSIVATION_CACHE)) {
+         if (isGroupOwner(cache, GROUP)) {
+            // the data container keeps at most 2 entries, the evicted keys must not stay in the index
+            GroupIndex groupIndex = TestingUtil.extractComponent(cache, GroupIndex.class);
+            eventually(() -> groupIndex.size(GROUP) <= 2);
+         }
+      }
+      AssertJUnit.assertEquals(createMap(0, 10), testCache.testCache.getGroup(GROUP));
+   }
+
    public void testRemoveGroupKeys() {
       final TestCache testCache = createTestCacheAndReset(GROUP, this.caches());
       initCache(testCache.primaryOwner);
@@ -5,11 +5,16 @@
 import static org.mockito.Mockito.spy;
 import static org.testng.Assert.assertEquals;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.infinispan.cache.impl.CacheImpl;
 import org.infinispan.distribution.DistributionManager;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.health.impl.CacheHealthImpl;
 import org.infinispan.lifecycle.ComponentStatus;
 import org.infinispan.partitionhandling.AvailabilityMode;
+import org.infinispan.util.concurrent.locks.impl.LockProfiler;
 import org.testng.annotations.Test;
 
 @Test(testName = "health.CacheHealthImplTest", groups = "functional")
@@ -131,4 +136,25 @@ public void testReturningName() throws Exception {
         //then
         assertEquals(name, "test");
     }
+
+    @Test
+    public void testHotLocks() throws Exception {
+        //given
+        CacheImpl<Object, Object> cache = spy(new CacheImpl<>("test"));
+        ComponentRegistry componentRegistryMock = mock(ComponentRegistry.class);
+        LockProfiler lockProfilerMock = mock(LockProfiler.class);
+
+        doReturn(componentRegistryMock).when(cache).getComponentRegistry();
+        doReturn(lockProfilerMock).when(componentRegistryMock).getComponent(LockProfiler.class);
+        doReturn(true).when(lockProfilerMock).isEnabled();
+        doReturn(Collections.singletonList("HotLock{key=k}")).when(lockProfilerMock).getHotLocks();
+
+        CacheHealth cacheHealth = new CacheHealthImpl(cache);
+
+        //when
+        List<String> hotLocks = cacheHealth.getHotLocks();
+
+        //then
+        assertEquals(hotLocks, Collections.singletonList("HotLock{key=k}"));
+    }
 }
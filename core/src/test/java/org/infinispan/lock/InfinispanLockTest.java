@@ -223,6 +223,141 @@ public void testCancel() throws InterruptedException {
       assertFalse(lock.isLocked());
    }
 
+   public void testSharedLock() throws InterruptedException {
+      final InfinispanLock lock = new InfinispanLock(AbstractCacheTest.TIME_SERVICE);
+      final String lockOwner1 = "LO1";
+      final String lockOwner2 = "LO2";
+      final String lockOwner3 = "LO3";
+      final String lockOwner4 = "LO4";
+
+      ExtendedLockPromise lockPromise1 = lock.acquireShared(lockOwner1, 1, TimeUnit.DAYS);
+      ExtendedLockPromise lockPromise2 = lock.acquireShared(lockOwner2, 1, TimeUnit.DAYS);
+      ExtendedLockPromise lockPromise3 = lock.acquire(lockOwner3, 1, TimeUnit.DAYS);
+      //queued after the exclusive lock request
+      ExtendedLockPromise lockPromise4 = lock.acquireShared(lockOwner4, 1, TimeUnit.DAYS);
+
+      assertTrue(lockPromise1.isAvailable());
+      assertTrue(lockPromise2.isAvailable());
+      assertFalse(lockPromise3.isAvailable());
+      assertFalse(lockPromise4.isAvailable());
+
+      lockPromise1.lock();
+      lockPromise2.lock();
+      assertTrue(lock.isLocked());
+      assertTrue(lock.isSharedLocked());
+      assertNull(lock.getLockOwner());
+
+      lock.release(lockOwner1);
+      assertFalse(lockPromise3.isAvailable());
+
+      lock.release(lockOwner2);
+      assertTrue(lockPromise3.isAvailable());
+      assertFalse(lockPromise4.isAvailable());
+      lockPromise3.lock();
+      assertEquals(lockOwner3, lock.getLockOwner());
+
+      lock.release(lockOwner3);
+      assertTrue(lockPromise4.isAvailable());
+      lockPromise4.lock();
+      assertTrue(lock.isSharedLocked());
+
+      lock.release(lockOwner4);
+      assertFalse(lock.isLocked());
+   }
+
+   public void testUpgrade() throws InterruptedException {
+      final InfinispanLock lock = new InfinispanLock(AbstractCacheTest.TIME_SERVICE);
+      final String lockOwner1 = "LO1";
+      final String lockOwner2 = "LO2";
+      final String lockOwner3 = "LO3";
+
+      lock.acquireShared(lockOwner1, 1, TimeUnit.DAYS).lock();
+      lock.acquireShared(lockOwner2, 1, TimeUnit.DAYS).lock();
+      ExtendedLockPromise lockPromise3 = lock.acquire(lockOwner3, 1, TimeUnit.DAYS);
+      //a shared lock request by the same owner returns the existing promise
+      assertTrue(lock.acquireShared(lockOwner1, 1, TimeUnit.DAYS).isAvailable());
+
+      ExtendedLockPromise upgrade = lock.acquire(lockOwner1, 1, TimeUnit.DAYS);
+      assertFalse(upgrade.isAvailable());
+      assertFalse(lockPromise3.isAvailable());
+
+      //the upgrade goes before the queued exclusive lock request
+      lock.release(lockOwner2);
+      assertTrue(upgrade.isAvailable());
+      upgrade.lock();
+      assertEquals(lockOwner1, lock.getLockOwner());
+      assertFalse(lockPromise3.isAvailable());
+
+      lock.release(lockOwner1);
+      assertTrue(lockPromise3.isAvailable());
+      lockPromise3.lock();
+      assertEquals(lockOwner3, lock.getLockOwner());
+
+      lock.release(lockOwner3);
+      assertFalse(lock.isLocked());
+   }
+
+   public void testUpgradeTimeout() throws InterruptedException {
+      final InfinispanLock lock = new InfinispanLock(AbstractCacheTest.TIME_SERVICE);
+      final String lockOwner1 = "LO1";
+      final String lockOwner2 = "LO2";
+
+      lock.acquireShared(lockOwner1, 1, TimeUnit.DAYS).lock();
+      lock.acquireShared(lockOwner2, 1, TimeUnit.DAYS).lock();
+
+      ExtendedLockPromise upgrade = lock.acquire(lockOwner1, 0, TimeUnit.MILLISECONDS);
+      try {
+         upgrade.lock();
+         fail("TimeoutException expected");
+      } catch (TimeoutException e) {
+         //expected
+      }
+
+      //the shared lock is still held
+      lock.release(lockOwner2);
+      assertTrue(lock.isSharedLocked());
+      assertTrue(lock.containsLockOwner(lockOwner1));
+
+      lock.release(lockOwner1);
+      assertFalse(lock.isLocked());
+   }
+
+   public void testConcurrentUpgrades() throws InterruptedException {
+      final InfinispanLock lock = new InfinispanLock(AbstractCacheTest.TIME_SERVICE);
+      final String lockOwner1 = "LO1";
+      final String lockOwner2 = "LO2";
+
+      lock.acquireShared(lockOwner1, 1, TimeUnit.DAYS).lock();
+      lock.acquireShared(lockOwner2, 1, TimeUnit.DAYS).lock();
+      assertTrue(lock.containsSharedLockOwner(lockOwner1));
+      assertTrue(lock.containsSharedLockOwner(lockOwner2));
+
+      //each upgrade waits for the other shared lock owner
+      ExtendedLockPromise upgrade1 = lock.acquire(lockOwner1, 1, TimeUnit.DAYS);
+      ExtendedLockPromise upgrade2 = lock.acquire(lockOwner2, 0, TimeUnit.MILLISECONDS);
+      assertFalse(upgrade1.isAvailable());
+      assertFalse(lock.containsSharedLockOwner(lockOwner1));
+      try {
+         upgrade2.lock();
+         fail("TimeoutException expected");
+      } catch (TimeoutException e) {
+         //expected
+      }
+
+      //the failed upgrade keeps the shared lock
+      assertFalse(upgrade1.isAvailable());
+      assertTrue(lock.isSharedLocked());
+      assertTrue(lock.containsSharedLockOwner(lockOwner2));
+
+      lock.release(lockOwner2);
+      assertTrue(upgrade1.isAvailable());
+      upgrade1.lock();
+      assertEquals(lockOwner1, lock.getLockOwner());
+
+      lock.release(lockOwner1);
+      assertFalse(lock.isLocked());
+   }
+
    public void testSingleCounter() throws ExecutionException, InterruptedException {
       final NotThreadSafeCounter counter = new NotThreadSafeCounter();
       final InfinispanLock counterLock = new InfinispanLock(AbstractCacheTest.TIME_SERVICE);
@@ -19,6 +19,7 @@
 import org.infinispan.util.concurrent.locks.LockManager;
 import org.infinispan.util.concurrent.locks.LockPromise;
 import org.infinispan.util.concurrent.locks.impl.DefaultLockManager;
+import org.infinispan.util.concurrent.locks.impl.LockProfiler;
 import org.infinispan.util.concurrent.locks.impl.PerKeyLockContainer;
 import org.infinispan.util.concurrent.locks.impl.StripedLockContainer;
 import org.testng.AssertJUnit;
@@ -37,7 +38,7 @@ public void testSingleCounterPerKey() throws ExecutionException, InterruptedExce
       DefaultLockManager lockManager = new DefaultLockManager();
       PerKeyLockContainer lockContainer = new PerKeyLockContainer();
       lockContainer.inject(AbstractCacheTest.TIME_SERVICE);
-      lockManager.inject(lockContainer, null, null);
+      lockManager.inject(lockContainer, null, null, newLockProfiler());
       doSingleCounterTest(lockManager);
    }
 
@@ -45,7 +46,7 @@ public void testSingleCounterStripped() throws ExecutionException, InterruptedEx
       DefaultLockManager lockManager = new DefaultLockManager();
       StripedLockContainer lockContainer = new StripedLockContainer(16);
       lockContainer.inject(AbstractCacheTest.TIME_SERVICE);
-      lockManager.inject(lockContainer, null, null);
+      lockManager.inject(lockContainer, null, null, newLockProfiler());
       doSingleCounterTest(lockManager);
    }
 
@@ -53,7 +54,7 @@ public void testMultipleCounterPerKey() throws ExecutionException, InterruptedEx
       DefaultLockManager lockManager = new DefaultLockManager();
       PerKeyLockContainer lockContainer = new PerKeyLockContainer();
       lockContainer.inject(AbstractCacheTest.TIME_SERVICE);
-      lockManager.inject(lockContainer, null, null);
+      lockManager.inject(lockContainer, null, null, newLockProfiler());
       doMultipleCounterTest(lockManager);
    }
 
@@ -61,7 +62,7 @@ public void testMultipleCounterStripped() throws ExecutionException, Interrupted
       DefaultLockManager lockManager = new DefaultLockManager();
       StripedLockContainer lockContainer = new StripedLockContainer(16);
       lockContainer.inject(AbstractCacheTest.TIME_SERVICE);
-      lockManager.inject(lockContainer, null, null);
+      lockManager.inject(lockContainer, null, null, newLockProfiler());
       doMultipleCounterTest(lockManager);
    }
 
@@ -69,7 +70,7 @@ public void testTimeoutPerKey() throws ExecutionException, InterruptedException
       DefaultLockManager lockManager = new DefaultLockManager();
       PerKeyLockContainer lockContainer = new PerKeyLockContainer();
       lockContainer.inject(AbstractCacheTest.TIME_SERVICE);
-      lockManager.inject(lockContainer, null, null);
+      lockManager.inject(lockContainer, null, null, newLockProfiler());
       doTestWithFailAcquisition(lockManager);
    }
 
@@ -77,10 +78,54 @@ public void testTimeoutStripped() throws ExecutionException, InterruptedExceptio
       DefaultLockManager lockManager = new DefaultLockManager();
       StripedLockContainer lockContainer = new StripedLockContainer(16);
       lockContainer.inject(AbstractCacheTest.TIME_SERVICE);
-      lockManager.inject(lockContainer, null, null);
+      lockManager.inject(lockContainer, null, null, newLockProfiler());
       doTestWithFailAcquisition(lockManager);
    }
 
+   public void testLockProfiler() throws InterruptedException {
+      DefaultLockManager lockManager = new DefaultLockManager();
+      PerKeyLockContainer lockContainer = new PerKeyLockContainer();
+      lockContainer.inject(AbstractCacheTest.TIME_SERVICE);
+      LockProfiler profiler = newLockProfiler();
+      lockManager.inject(lockContainer, null, null, profiler);
+
+      lockManager.lock("key", "LO1", 1, TimeUnit.MINUTES).lock();
+      AssertJUnit.assertEquals(0, profiler.getNumberOfLockWaits());
+      AssertJUnit.assertTrue(profiler.getHotLocks().isEmpty());
+
+      LockPromise lockPromise = lockManager.lock("key", "LO2", 1, TimeUnit.MINUTES);
+      AssertJUnit.assertFalse(lockPromise.isAvailable());
+      AssertJUnit.assertEquals(1, profiler.getHotLocksByQueueLength().length);
+      AssertJUnit.assertTrue(profiler.getHotLocksByQueueLength()[0].contains("maxQueueLength=1"));
+
+      lockManager.unlock("key", "LO1");
+      lockPromise.lock();
+      AssertJUnit.assertEquals(1, profiler.getNumberOfLockWaits());
+      AssertJUnit.assertTrue(profiler.getMaxLockWaitTime() > 0);
+      AssertJUnit.assertTrue(profiler.getMedianLockWaitTime() <= profiler.getMaxLockWaitTime());
+      AssertJUnit.assertEquals(1, profiler.getHotLocks().size());
+      AssertJUnit.assertTrue(profiler.getHotLocks().get(0).contains("waits=1"));
+      lockManager.unlock("key", "LO2");
+
+      profiler.resetProfile();
+      AssertJUnit.assertEquals(0, profiler.getNumberOfLockWaits());
+      AssertJUnit.assertTrue(profiler.getHotLocks().isEmpty());
+
+      profiler.setEnabled(false);
+      lockManager.lock("key", "LO1", 1, TimeUnit.MINUTES).lock();
+      lockPromise = lockManager.lock("key", "LO2", 1, TimeUnit.MINUTES);
+      lockManager.unlock("key", "LO1");
+      lockPromise.lock();
+      lockManager.unlock("key", "LO2");
+      AssertJUnit.assertEquals(0, profiler.getNumberOfLockWaits());
+   }
+
+   private static LockProfiler newLockProfiler() {
+      LockProfiler profiler = new LockProfiler();
+      profiler.inject(AbstractCacheTest.TIME_SERVICE);
+      return profiler;
+   }
+
    private void doSingleCounterTest(LockManager lockManager) throws ExecutionException, InterruptedException {
       final NotThreadSafeCounter counter = new NotThreadSafeCounter();
       final String key = "key";
@@ -0,0 +1,167 @@
+package org.infinispan.notifications;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.CacheNotifierImpl;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
+import org.infinispan.notifications.impl.AsyncListenerQueue;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the ordered, non-blocking delivery of the events to asynchronous listeners.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "notifications.AsyncListenerQueueTest")
+public class AsyncListenerQueueTest extends AbstractInfinispanTest {
+   private static final int NUM_WRITES = 1000;
+
+   Cache<Integer, Integer> c;
+   EmbeddedCacheManager cm;
+
+   @BeforeMethod
+   public void setUp() {
+      cm = TestCacheManagerFactory.createCacheManager(false);
+      c = cm.getCache();
+   }
+
+   @AfterMethod
+   public void tearDown() {
+      TestingUtil.killCacheManagers(cm);
+      cm = null;
+      c = null;
+   }
+
+   public void testEventsAreDeliveredInOrder() {
+      OrderedListener listener = new OrderedListener();
+      c.addListener(listener);
+      for (int i = 0; i < NUM_WRITES; i++) {
+         c.put(i, i);
+      }
+
+      eventuallyEquals(NUM_WRITES, () -> listener.keys().size());
+      List<Integer> keys = listener.keys();
+      for (int i = 0; i < NUM_WRITES; i++) {
+         assertEquals(i, (int) keys.get(i));
+      }
+
+      AsyncListenerQueue queue = findQueue(listener);
+      eventuallyEquals((long) NUM_WRITES, queue::getDeliveredEvents);
+      assertEquals(0, queue.getPendingEvents());
+      assertEquals(0, queue.getDroppedEvents());
+   }
+
+   public void testNextEventWaitsForReturnedStage() {
+      StageListener listener = new StageListener();
+      c.addListener(listener);
+      c.put(1, 1);
+      c.put(2, 2);
+
+      eventuallyEquals(1, () -> listener.stages.size());
+      AsyncListenerQueue queue = findQueue(listener);
+      // the second event is not delivered while the first stage is incomplete
+      eventuallyEquals(1, queue::getPendingEvents);
+      assertTrue(queue.getLag(TimeUnit.NANOSECONDS) > 0);
+      assertEquals(1, listener.stages.size());
+
+      listener.stages.get(0).complete(null);
+      eventuallyEquals(2, () -> listener.stages.size());
+      listener.stages.get(1).complete(null);
+      eventuallyEquals(0, queue::getPendingEvents);
+      assertEquals(2, queue.getDeliveredEvents());
+   }
+
+   public void testSyncListenerStageCompletesInvocation() throws Exception {
+      SyncStageListener listener = new SyncStageListener();
+      c.addListener(listener);
+
+      CompletableFuture<Integer> put = c.putAsync(1, 1);
+      eventuallyEquals(1, () -> listener.stages.size());
+      // the write completes only after the listener, but the writing thread was not blocked
+      assertFalse(put.isDone());
+      assertEquals(1, (int) c.get(1));
+
+      listener.stages.get(0).complete(null);
+      assertEquals(null, put.get(10, TimeUnit.SECONDS));
+   }
+
+   public void testQueueIsRemovedWithListener() {
+      OrderedListener listener = new OrderedListener();
+      c.addListener(listener);
+      c.put(1, 1);
+      eventuallyEquals(1, () -> listener.keys().size());
+      findQueue(listener);
+
+      c.removeListener(listener);
+      assertFalse(notifier().getAsyncListenerQueues().stream().anyMatch(q -> q.getListener() == listener));
+   }
+
+   private CacheNotifierImpl notifier() {
+      return (CacheNotifierImpl) TestingUtil.extractComponent(c, CacheNotifier.class);
+   }
+
+   private AsyncListenerQueue findQueue(Object listener) {
+      return notifier().getAsyncListenerQueues().stream()
+            .filter(q -> q.getListener() == listener)
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No queue for " + listener));
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST)
+   public static class OrderedListener {
+      private final List<Integer> keys = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      public void created(CacheEntryCreatedEvent<Integer, Integer> e) {
+         keys.add(e.getKey());
+      }
+
+      List<Integer> keys() {
+         synchronized (keys) {
+            return new ArrayList<>(keys);
+         }
+      }
+   }
+
+   @Listener(observation = Listener.Observation.POST)
+   public static class SyncStageListener {
+      final List<CompletableFuture<Void>> stages = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      public CompletionStage<Void> created(CacheEntryCreatedEvent<Integer, Integer> e) {
+         CompletableFuture<Void> stage = new CompletableFuture<>();
+         stages.add(stage);
+         return stage;
+      }
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST)
+   public static class StageListener {
+      final List<CompletableFuture<Void>> stages = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      public CompletionStage<Void> created(CacheEntryCreatedEvent<Integer, Integer> e) {
+         CompletableFuture<Void> stage = new CompletableFuture<>();
+         stages.add(stage);
+         return stage;
+      }
+   }
+}
@@ -0,0 +1,159 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distexec.DistributedExecutorService;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.cluster.impl.BatchingClusterEventManagerImpl;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the delivery of the events buffered during the cluster listener batch window.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "notifications.cachelistener.cluster.ClusterListenerBatchingTest")
+public class ClusterListenerBatchingTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_WRITES = 100;
+
+   private static final int MAX_PENDING_EVENTS = 1024;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().clusterListenerBatchWindow(50);
+      createClusteredCaches(2, builder);
+   }
+
+   public void testEventsAreDeliveredInOrder() {
+      AsyncListener listener = new AsyncListener();
+      cache(0).addListener(listener);
+      try {
+         MagicKey key = new MagicKey(cache(1));
+         for (int i = 0; i < NUM_WRITES; i++) {
+            cache(1).put(key, i);
+         }
+
+         eventuallyEquals(NUM_WRITES, () -> listener.values().size());
+         List<Integer> values = listener.values();
+         for (int i = 0; i < NUM_WRITES; i++) {
+            assertEquals(i, (int) values.get(i));
+         }
+      } finally {
+         cache(0).removeListener(listener);
+      }
+   }
+
+   public void testEventsAreCoalesced() {
+      CoalescingListener listener = new CoalescingListener();
+      cache(0).addListener(listener);
+      try {
+         MagicKey key = new MagicKey(cache(1));
+         for (int i = 0; i < NUM_WRITES; i++) {
+            cache(1).put(key, i);
+         }
+
+         eventuallyEquals(NUM_WRITES - 1, () -> {
+            List<Integer> values = listener.values();
+            return values.isEmpty() ? null : values.get(values.size() - 1);
+         });
+         List<Integer> values = listener.values();
+         assertTrue("Expected fewer events than writes, got " + values.size(), values.size() < NUM_WRITES);
+         for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i - 1) < values.get(i));
+         }
+      } finally {
+         cache(0).removeListener(listener);
+      }
+   }
+
+   public void testSlowTargetBlocksWritersThenDropsEvents() {
+      BatchingClusterEventManagerImpl<Object, Object> eventManager =
+            (BatchingClusterEventManagerImpl<Object, Object>) TestingUtil.extractComponent(cache(1), ClusterEventManager.class);
+      DistributedExecutorService originalService = TestingUtil.extractField(eventManager, "distExecService");
+      long originalRemoteTimeout = TestingUtil.extractField(eventManager, "remoteTimeout");
+      // the first batch never completes until the end of the test
+      CompletableFuture<Object> stuckBatch = new CompletableFuture<>();
+      DistributedExecutorService slowService = mock(DistributedExecutorService.class);
+      when(slowService.submit(any(Address.class), any(Callable.class)))
+            .thenReturn(stuckBatch, CompletableFuture.completedFuture(null));
+      long remoteTimeout = 500;
+      TestingUtil.replaceField(slowService, "distExecService", eventManager, BatchingClusterEventManagerImpl.class);
+      TestingUtil.replaceField(remoteTimeout, "remoteTimeout", eventManager, BatchingClusterEventManagerImpl.class);
+      long droppedBefore = eventManager.getDroppedEvents();
+      try {
+         Address target = address(0);
+         UUID identifier = UUID.randomUUID();
+         // a full buffer is sent immediately and stays in flight
+         addEvents(eventManager, target, identifier, MAX_PENDING_EVENTS);
+         // fills the buffer again while the first batch is in flight
+         addEvents(eventManager, target, identifier, MAX_PENDING_EVENTS);
+         assertEquals(droppedBefore, eventManager.getDroppedEvents());
+
+         long start = System.nanoTime();
+         addEvents(eventManager, target, identifier, 10);
+         long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+         assertTrue("The writer waited only " + waitedMillis + " ms", waitedMillis >= remoteTimeout);
+         assertEquals(droppedBefore + 10, eventManager.getDroppedEvents());
+      } finally {
+         // the pending events are sent to the stub once the stuck batch completes
+         stuckBatch.complete(null);
+         TestingUtil.replaceField(originalService, "distExecService", eventManager, BatchingClusterEventManagerImpl.class);
+         TestingUtil.replaceField(originalRemoteTimeout, "remoteTimeout", eventManager, BatchingClusterEventManagerImpl.class);
+      }
+   }
+
+   private void addEvents(BatchingClusterEventManagerImpl<Object, Object> eventManager, Address target,
+                          UUID identifier, int count) {
+      Collection<ClusterEvent<Object, Object>> events = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         events.add(mock(ClusterEvent.class));
+      }
+      eventManager.addEvents(target, identifier, events, false);
+      eventManager.sendEvents();
+   }
+
+   @Listener(clustered = true, sync = false)
+   public static class AsyncListener {
+      private final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Integer> event) {
+         values.add(event.getValue());
+      }
+
+      List<Integer> values() {
+         synchronized (values) {
+            return new ArrayList<>(values);
+         }
+      }
+   }
+
+   @Listener(clustered = true, sync = false, coalesce = true)
+   public static class CoalescingListener extends AsyncListener {
+   }
+}
@@ -0,0 +1,99 @@
+package org.infinispan.notifications.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that an {@link AsyncListenerQueue} keeps delivering the events when a listener fails or loses a stage.
+ *
+ * @since 9.1
+ */
+@Test(groups = "unit", testName = "notifications.impl.AsyncListenerQueueUnitTest")
+public class AsyncListenerQueueUnitTest extends AbstractInfinispanTest {
+   private static final long STAGE_TIMEOUT_MILLIS = 100;
+
+   private ScheduledExecutorService timeoutExecutor;
+
+   @BeforeMethod
+   public void setUp() {
+      timeoutExecutor = Executors.newSingleThreadScheduledExecutor(getTestThreadFactory("Timeout"));
+   }
+
+   @AfterMethod
+   public void tearDown() {
+      timeoutExecutor.shutdownNow();
+   }
+
+   public void testFailedDeliveryDoesNotStopTheQueue() {
+      AsyncListenerQueue queue = newQueue();
+      List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+
+      try {
+         queue.offer(() -> {
+            throw new IllegalStateException("induced failure");
+         });
+      } catch (IllegalStateException expected) {
+         // delivered in the caller thread
+      }
+      queue.offer(() -> {
+         delivered.add(1);
+         return null;
+      });
+
+      assertEquals(Collections.singletonList(1), delivered);
+      assertEquals(0, queue.getPendingEvents());
+   }
+
+   public void testIncompleteStageTimesOut() {
+      AsyncListenerQueue queue = newQueue();
+      List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+      CompletableFuture<Void> lost = new CompletableFuture<>();
+
+      queue.offer(() -> {
+         delivered.add(1);
+         return lost;
+      });
+      queue.offer(() -> {
+         delivered.add(2);
+         return null;
+      });
+      assertEquals(1, queue.getPendingEvents());
+
+      // the second event is delivered although the first stage never completes
+      eventuallyEquals(2, delivered::size);
+      assertEquals(0, queue.getPendingEvents());
+
+      // completing the stage later does not start another drain
+      lost.complete(null);
+      assertEquals(2, queue.getDeliveredEvents());
+   }
+
+   public void testCompletedStageResumesBeforeTimeout() {
+      AsyncListenerQueue queue = newQueue();
+      CompletableFuture<Void> stage = new CompletableFuture<>();
+      queue.offer(() -> stage);
+      queue.offer(() -> null);
+      assertEquals(1, queue.getPendingEvents());
+
+      stage.complete(null);
+      assertEquals(0, queue.getPendingEvents());
+      assertEquals(2, queue.getDeliveredEvents());
+   }
+
+   private AsyncListenerQueue newQueue() {
+      // deliver the events in the caller thread, so the test controls when they run
+      return new AsyncListenerQueue("listener", Runnable::run, timeoutExecutor, STAGE_TIMEOUT_MILLIS, new LongAdder());
+   }
+}
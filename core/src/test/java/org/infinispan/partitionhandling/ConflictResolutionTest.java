@@ -0,0 +1,99 @@
+package org.infinispan.partitionhandling;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.conflict.EntryMergePolicy;
+import org.infinispan.conflict.MergePolicies;
+import org.infinispan.conflict.impl.ConflictResolutionManager;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the conflicting replicas of the partitions are merged with the configured policy after a merge.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "partitionhandling.ConflictResolutionTest")
+public class ConflictResolutionTest extends BasePartitionHandlingTest {
+
+   private static final String STALE = "stale";
+
+   public ConflictResolutionTest() {
+      partitionHandling = false;
+   }
+
+   @Override
+   protected ConfigurationBuilder cacheConfiguration() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().partitionHandling().mergePolicy(new KeepRemovalsMergePolicy());
+      return builder;
+   }
+
+   public void testConflictsResolvedAfterMerge() {
+      MagicKey conflicting = new MagicKey("conflicting", cache(0), cache(3));
+      MagicKey minorityOnly = new MagicKey("minorityOnly", cache(1), cache(3));
+      MagicKey unchanged = new MagicKey("unchanged", cache(2), cache(3));
+      MagicKey removed = new MagicKey("removed", cache(0), cache(3));
+      cache(0).put(conflicting, "before");
+      cache(0).put(unchanged, "before");
+      cache(0).put(removed, STALE);
+
+      splitCluster(new int[]{0, 1, 2}, new int[]{3});
+      for (int i = 0; i < 3; i++) {
+         int index = i;
+         eventually(() -> clusterAndChFormed(index, 3));
+      }
+      eventually(() -> clusterAndChFormed(3, 1));
+
+      cache(0).put(conflicting, "majority");
+      cache(3).put(conflicting, "minority");
+      cache(3).put(minorityOnly, "minority");
+      cache(0).remove(removed);
+
+      partition(0).merge(partition(1));
+      // the rebalance following the merge is only confirmed once the conflicts are resolved
+      TestingUtil.waitForNoRebalance(caches());
+
+      long conflictsResolved = 0;
+      for (int i = 0; i < 4; i++) {
+         ConflictResolutionManager crm = TestingUtil.extractComponent(cache(i), ConflictResolutionManager.class);
+         crm.getResolutionFuture().join();
+         eventually(() -> !crm.isConflictResolutionInProgress(), 10, TimeUnit.SECONDS);
+         assertEquals(crm.getSegmentsToCompare(), crm.getSegmentsCompared());
+         conflictsResolved += crm.getConflictsResolved();
+
+         assertEquals("majority", cache(i).get(conflicting));
+         assertEquals("minority", cache(i).get(minorityOnly));
+         assertEquals("before", cache(i).get(unchanged));
+         assertNull(cache(i).get(removed));
+      }
+      assertEquals(3, conflictsResolved);
+   }
+
+   /**
+    * Keeps the removal of the preferred owner when the other owners have the {@link #STALE} value, and otherwise prefers
+    * the non-null values.
+    */
+   private static class KeepRemovalsMergePolicy implements EntryMergePolicy<Object, Object> {
+      @Override
+      public CacheEntry<Object, Object> merge(CacheEntry<Object, Object> preferredEntry,
+                                              List<CacheEntry<Object, Object>> otherEntries) {
+         if (preferredEntry == null && otherEntries.stream().anyMatch(e -> STALE.equals(e.getValue()))) {
+            return null;
+         }
+         return MergePolicies.PREFERRED_NON_NULL.merge(preferredEntry, otherEntries);
+      }
+   }
+
+   private boolean clusterAndChFormed(int cacheIndex, int memberCount) {
+      return advancedCache(cacheIndex).getRpcManager().getTransport().getMembers().size() == memberCount &&
+            advancedCache(cacheIndex).getDistributionManager().getWriteConsistentHash().getMembers().size() == memberCount;
+   }
+}
@@ -0,0 +1,97 @@
+package org.infinispan.tx;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.distribution.TestAddress;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.transaction.impl.CompletedTransactions;
+import org.infinispan.transaction.impl.TransactionTable.CompletedTransactionStatus;
+import org.infinispan.transaction.xa.GlobalTransaction;
+import org.infinispan.transaction.xa.TransactionFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the expiration of the completed transactions tracked by {@link CompletedTransactions}.
+ *
+ * @since 9.1
+ */
+@Test(groups = "unit", testName = "tx.CompletedTransactionsTest")
+public class CompletedTransactionsTest extends AbstractInfinispanTest {
+
+   private static final long TIMEOUT = 1000;
+
+   private final Address nodeA = new TestAddress(1);
+   private final Address nodeB = new TestAddress(2);
+
+   public void testStatus() {
+      CompletedTransactions completed = new CompletedTransactions(new ControlledTimeService(), TIMEOUT, TimeUnit.MILLISECONDS);
+      GlobalTransaction committed = newGlobalTransaction(nodeA);
+      GlobalTransaction aborted = newGlobalTransaction(nodeA);
+      GlobalTransaction pending = newGlobalTransaction(nodeB);
+
+      completed.markCompleted(committed, true);
+      completed.markCompleted(aborted, false);
+
+      assertEquals(CompletedTransactionStatus.COMMITTED, completed.getStatus(committed));
+      assertEquals(CompletedTransactionStatus.ABORTED, completed.getStatus(aborted));
+      assertEquals(CompletedTransactionStatus.NOT_COMPLETED, completed.getStatus(pending));
+      assertFalse(completed.isCompleted(pending));
+      assertEquals(2, completed.size());
+   }
+
+   public void testExpiration() {
+      ControlledTimeService timeService = new ControlledTimeService();
+      CompletedTransactions completed = new CompletedTransactions(timeService, TIMEOUT, TimeUnit.MILLISECONDS);
+      List<Address> members = Arrays.asList(nodeA, nodeB);
+      GlobalTransaction old = newGlobalTransaction(nodeA);
+      completed.markCompleted(old, true);
+
+      timeService.advance(TIMEOUT);
+      GlobalTransaction recent = newGlobalTransaction(nodeA);
+      completed.markCompleted(recent, true);
+      GlobalTransaction otherNode = newGlobalTransaction(nodeB);
+      assertEquals(0, completed.expire(members));
+
+      timeService.advance(TIMEOUT / 2);
+      assertEquals(1, completed.expire(members));
+      assertEquals(1, completed.size());
+      assertEquals(CompletedTransactionStatus.EXPIRED, completed.getStatus(old));
+      assertEquals(CompletedTransactionStatus.COMMITTED, completed.getStatus(recent));
+      // no transaction from nodeB was pruned
+      assertEquals(CompletedTransactionStatus.NOT_COMPLETED, completed.getStatus(otherNode));
+
+      timeService.advance(TIMEOUT * 2);
+      assertEquals(1, completed.expire(members));
+      assertEquals(0, completed.size());
+      assertEquals(CompletedTransactionStatus.EXPIRED, completed.getStatus(recent));
+      assertTrue(completed.isCompleted(old));
+   }
+
+   public void testLeaverIsForgotten() {
+      ControlledTimeService timeService = new ControlledTimeService();
+      CompletedTransactions completed = new CompletedTransactions(timeService, TIMEOUT, TimeUnit.MILLISECONDS);
+      GlobalTransaction gtx = newGlobalTransaction(nodeB);
+      completed.markCompleted(gtx, true);
+
+      timeService.advance(TIMEOUT * 2);
+      assertEquals(1, completed.expire(Arrays.asList(nodeA, nodeB)));
+      assertEquals(CompletedTransactionStatus.EXPIRED, completed.getStatus(gtx));
+
+      // nodeB left the cluster, so its transaction ids are no longer needed
+      completed.expire(Collections.singletonList(nodeA));
+      assertEquals(CompletedTransactionStatus.NOT_COMPLETED, completed.getStatus(gtx));
+   }
+
+   private static GlobalTransaction newGlobalTransaction(Address address) {
+      return TransactionFactory.TxFactoryEnum.NODLD_NORECOVERY_XA.newGlobalTransaction(address, false, null, true);
+   }
+}
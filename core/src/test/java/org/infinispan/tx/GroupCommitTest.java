@@ -0,0 +1,162 @@
+package org.infinispan.tx;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.transaction.TransactionManager;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.tx.GroupCommitCommand;
+import org.infinispan.commands.tx.PrepareCommand;
+import org.infinispan.commands.tx.TransactionBoundaryCommand;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.transaction.LockingMode;
+import org.infinispan.transaction.impl.GroupCommitManager;
+import org.infinispan.transaction.xa.GlobalTransaction;
+import org.infinispan.util.AbstractControlledRpcManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the prepare and commit commands of concurrent optimistic transactions are grouped.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "tx.GroupCommitTest")
+public class GroupCommitTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_THREADS = 8;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, true);
+      builder.transaction().lockingMode(LockingMode.OPTIMISTIC).groupCommitWindow(100);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+   }
+
+   public void testDisjointTransactionsAreGrouped() throws Exception {
+      runConcurrentTransactions("disjoint", true);
+
+      for (int i = 0; i < NUM_THREADS; i++) {
+         assertEquals("v" + i, cache(0).get("disjoint-" + i));
+         assertEquals("v" + i, cache(1).get("disjoint-" + i));
+      }
+      GroupCommitManager groupCommitManager = TestingUtil.extractComponent(cache(0), GroupCommitManager.class);
+      assertTrue(groupCommitManager.isEnabled());
+      assertTrue(groupCommitManager.getNumberOfGroupsSent() > 0);
+      assertTrue(groupCommitManager.getAverageGroupSize() > 1);
+   }
+
+   public void testOverlappingTransactions() throws Exception {
+      runConcurrentTransactions("overlapping", false);
+
+      Object value = cache(0).get("overlapping");
+      assertTrue(String.valueOf(value).startsWith("v"));
+      assertEquals(value, cache(1).get("overlapping"));
+   }
+
+   public void testOverlappingTransactionsAreNotGrouped() throws Exception {
+      RpcManager realRpcManager = cache(0).getAdvancedCache().getRpcManager();
+      GroupRecordingRpcManager rpcManager = new GroupRecordingRpcManager(realRpcManager);
+      TestingUtil.replaceComponent(cache(0), RpcManager.class, rpcManager, true);
+      try {
+         // each transaction writes the key of the next one, so only the non-adjacent transactions can be grouped
+         CyclicBarrier barrier = new CyclicBarrier(NUM_THREADS);
+         TransactionManager tm = tm(0);
+         List<Future<Void>> futures = new ArrayList<>(NUM_THREADS);
+         for (int i = 0; i < NUM_THREADS; i++) {
+            String key = "chained-" + i;
+            String nextKey = "chained-" + (i + 1) % NUM_THREADS;
+            String value = "v" + i;
+            futures.add(fork(() -> {
+               barrier.await(10, TimeUnit.SECONDS);
+               tm.begin();
+               cache(0).put(key, value);
+               cache(0).put(nextKey, value);
+               tm.commit();
+               return null;
+            }));
+         }
+         for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+         }
+      } finally {
+         TestingUtil.replaceComponent(cache(0), RpcManager.class, realRpcManager, true);
+      }
+
+      for (List<TransactionBoundaryCommand> group : rpcManager.groups) {
+         Set<Object> groupKeys = new HashSet<>();
+         for (TransactionBoundaryCommand command : group) {
+            for (Object key : rpcManager.keysPerTransaction.get(command.getGlobalTransaction())) {
+               assertTrue("Key " + key + " written by several transactions of group " + group, groupKeys.add(key));
+            }
+         }
+      }
+      for (int i = 0; i < NUM_THREADS; i++) {
+         assertEquals(cache(0).get("chained-" + i), cache(1).get("chained-" + i));
+      }
+   }
+
+   private void runConcurrentTransactions(String keyPrefix, boolean disjoint) throws Exception {
+      CyclicBarrier barrier = new CyclicBarrier(NUM_THREADS);
+      TransactionManager tm = tm(0);
+      List<Future<Void>> futures = new ArrayList<>(NUM_THREADS);
+      for (int i = 0; i < NUM_THREADS; i++) {
+         String key = disjoint ? keyPrefix + "-" + i : keyPrefix;
+         String value = "v" + i;
+         futures.add(fork(() -> {
+            barrier.await(10, TimeUnit.SECONDS);
+            tm.begin();
+            cache(0).put(key, value);
+            tm.commit();
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+   }
+
+   private static class GroupRecordingRpcManager extends AbstractControlledRpcManager {
+      final Map<GlobalTransaction, Collection<?>> keysPerTransaction = new ConcurrentHashMap<>();
+      final Queue<List<TransactionBoundaryCommand>> groups = new ConcurrentLinkedQueue<>();
+
+      GroupRecordingRpcManager(RpcManager realOne) {
+         super(realOne);
+      }
+
+      @Override
+      protected Object beforeInvokeRemotely(ReplicableCommand command) {
+         if (command instanceof PrepareCommand) {
+            PrepareCommand prepare = (PrepareCommand) command;
+            keysPerTransaction.put(prepare.getGlobalTransaction(), prepare.getAffectedKeys());
+         } else if (command instanceof GroupCommitCommand) {
+            List<TransactionBoundaryCommand> group = ((GroupCommitCommand) command).getCommands();
+            for (TransactionBoundaryCommand txCommand : group) {
+               if (txCommand instanceof PrepareCommand) {
+                  keysPerTransaction.put(txCommand.getGlobalTransaction(), ((PrepareCommand) txCommand).getAffectedKeys());
+               }
+            }
+            groups.add(group);
+         }
+         return null;
+      }
+   }
+}
@@ -53,8 +53,10 @@
 import org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand;
 import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
 import org.infinispan.commands.tx.CommitCommand;
+import org.infinispan.commands.tx.GroupCommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
+import org.infinispan.commands.tx.TransactionBoundaryCommand;
 import org.infinispan.commands.tx.VersionedCommitCommand;
 import org.infinispan.commands.tx.VersionedPrepareCommand;
 import org.infinispan.commands.write.ApplyDeltaCommand;
@@ -74,6 +76,7 @@
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
 import org.infinispan.commons.api.functional.EntryView;
+import org.infinispan.conflict.impl.ConflictResolutionCommand;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.functional.impl.Params;
 import org.infinispan.manager.EmbeddedCacheManager;
@@ -472,4 +475,24 @@ public BackupWriteRpcCommand buildBackupWriteRpcCommand(DataWriteCommand command
    public BackupPutMapRpcCommand buildBackupPutMapRpcCommand(PutMapCommand command) {
       return actual.buildBackupPutMapRpcCommand(command);
    }
+
+   @Override
+   public GroupCommitCommand buildGroupCommitCommand(List<TransactionBoundaryCommand> commands) {
+      return actual.buildGroupCommitCommand(commands);
+   }
+
+   @Override
+   public ConflictResolutionCommand buildSegmentDigestsCommand(Set<Integer> segments) {
+      return actual.buildSegmentDigestsCommand(segments);
+   }
+
+   @Override
+   public ConflictResolutionCommand buildEntryHashesCommand(Map<Integer, Set<Integer>> bucketsPerSegment) {
+      return actual.buildEntryHashesCommand(bucketsPerSegment);
+   }
+
+   @Override
+   public ConflictResolutionCommand buildConflictEntriesCommand(Collection<Object> keys) {
+      return actual.buildConflictEntriesCommand(keys);
+   }
 }
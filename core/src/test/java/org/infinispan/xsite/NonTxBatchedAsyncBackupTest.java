@@ -0,0 +1,227 @@
+package org.infinispan.xsite;
+
+import static org.infinispan.test.TestingUtil.wrapGlobalComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.BackupConfiguration;
+import org.infinispan.configuration.cache.BackupConfigurationBuilder;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.manager.CacheContainer;
+import org.infinispan.remoting.transport.AbstractDelegatingTransport;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.BackupResponse;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the asynchronous backup with batching enabled.
+ *
+ * @since 9.1
+ */
+@Test(groups = "xsite", testName = "xsite.NonTxBatchedAsyncBackupTest")
+public class NonTxBatchedAsyncBackupTest extends AbstractTwoSitesTest {
+
+   //the tests flush the queues explicitly
+   private static final long MAX_DELAY = TimeUnit.HOURS.toMillis(1);
+
+   private final AtomicInteger backupPuts = new AtomicInteger();
+
+   public NonTxBatchedAsyncBackupTest() {
+      super.lonBackupStrategy = BackupConfiguration.BackupStrategy.ASYNC;
+   }
+
+   @Override
+   protected void createSites() {
+      super.createSites();
+      for (Cache<?, ?> cache : caches(NYC, "lonBackup")) {
+         cache.getAdvancedCache().addInterceptor(new CountingInterceptor(backupPuts), 1);
+      }
+   }
+
+   @Override
+   protected void adaptLONConfiguration(BackupConfigurationBuilder builder) {
+      builder.asyncBatchSize(1000).asyncBatchMaxDelay(MAX_DELAY);
+      //enables the failure tracking
+      builder.takeOffline().afterFailures(100);
+   }
+
+   @Override
+   protected ConfigurationBuilder getNycActiveConfig() {
+      return getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+   }
+
+   @Override
+   protected ConfigurationBuilder getLonActiveConfig() {
+      return getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+   }
+
+   public void testUpdatesOfSameKeyAreMerged() {
+      backupPuts.set(0);
+      for (int i = 0; i < 10; ++i) {
+         cache(LON, 0).put("k", "v" + i);
+      }
+      assertEquals(1, queueSize(NYC));
+      assertNull(backup(LON).get("k"));
+
+      flush();
+      assertEquals(0, queueSize(NYC));
+      eventually(() -> "v9".equals(backup(LON).get("k")));
+      assertEquals(1, backupPuts.get());
+   }
+
+   public void testRemoveAfterPut() {
+      cache(LON, 0).put("k2", "v");
+      cache(LON, 0).remove("k2");
+      assertEquals(1, queueSize(NYC));
+
+      flush();
+      assertEquals(0, queueSize(NYC));
+      assertNull(backup(LON).get("k2"));
+   }
+
+   public void testClearSendsPendingModifications() {
+      cache(LON, 0).put("k3", "v");
+      //the clear is sent by the node where it runs, which queued the put
+      primaryOwner("k3").clear();
+      assertEquals(0, queueSize(NYC));
+      cache(LON, 0).put("k4", "v");
+
+      flush();
+      eventually(() -> "v".equals(backup(LON).get("k4")));
+      assertNull(backup(LON).get("k3"));
+   }
+
+   public void testFailedBatchIsReported() {
+      List<FailingTransport> transports = replaceTransportInSite(LON);
+      try {
+         cache(LON, 0).put("k5", "v");
+         transports.forEach(transport -> transport.fail = true);
+         flush();
+         //the failure counts towards taking the site offline
+         assertEquals(1, failureCount(NYC));
+         assertEquals(0, queueSize(NYC));
+      } finally {
+         transports.forEach(transport -> transport.fail = false);
+      }
+
+      //and a successful batch resets it
+      cache(LON, 0).put("k5", "v2");
+      flush();
+      assertEquals(0, failureCount(NYC));
+      eventually(() -> "v2".equals(backup(LON).get("k5")));
+   }
+
+   public void testAdminOperations() {
+      XSiteAdminOperations adminOperations = TestingUtil.extractComponent(cache(LON, 0), XSiteAdminOperations.class);
+      assertEquals("0", adminOperations.getAsyncBackupQueueSize(NYC));
+      assertEquals("0", adminOperations.getAsyncBackupLag(NYC));
+      assertEquals("Site LON does not exist or is not backed up in batches", adminOperations.getAsyncBackupLag(LON));
+   }
+
+   private Cache<?, ?> primaryOwner(Object key) {
+      Address primary = cache(LON, 0).getAdvancedCache().getDistributionManager().getCacheTopology()
+            .getDistribution(key).primary();
+      for (Cache<?, ?> cache : caches(LON)) {
+         if (primary.equals(cache.getCacheManager().getAddress())) {
+            return cache;
+         }
+      }
+      throw new IllegalStateException("No primary owner for " + key);
+   }
+
+   private void flush() {
+      for (Cache<?, ?> cache : caches(LON)) {
+         ((BackupSenderImpl) TestingUtil.extractComponent(cache, BackupSender.class)).flushAsyncBackups();
+      }
+   }
+
+   private int failureCount(String site) {
+      int failures = 0;
+      for (Cache<?, ?> cache : caches(LON)) {
+         failures += ((BackupSenderImpl) TestingUtil.extractComponent(cache, BackupSender.class))
+               .getOfflineStatus(site).getFailureCount();
+      }
+      return failures;
+   }
+
+   private List<FailingTransport> replaceTransportInSite(String site) {
+      List<FailingTransport> transports = new ArrayList<>(site(site).cacheManagers().size());
+      for (CacheContainer cacheContainer : site(site).cacheManagers()) {
+         Transport current = TestingUtil.extractGlobalComponent(cacheContainer, Transport.class);
+         if (current instanceof FailingTransport) {
+            transports.add((FailingTransport) current);
+            continue;
+         }
+         transports.add(wrapGlobalComponent(cacheContainer,
+                                            Transport.class,
+                                            new TestingUtil.WrapFactory<Transport, FailingTransport, CacheContainer>() {
+                                               @Override
+                                               public FailingTransport wrap(CacheContainer wrapOn, Transport current) {
+                                                  return new FailingTransport(current);
+                                               }
+                                            }, true));
+      }
+      return transports;
+   }
+
+   private int queueSize(String site) {
+      int size = 0;
+      for (Cache<?, ?> cache : caches(LON)) {
+         size += TestingUtil.extractComponent(cache, BackupSender.class).getAsyncBackupQueueSize(site);
+      }
+      return size;
+   }
+
+   private static class FailingTransport extends AbstractDelegatingTransport {
+
+      private volatile boolean fail;
+
+      FailingTransport(Transport actual) {
+         super(actual);
+      }
+
+      @Override
+      public void start() {
+         //no-op; avoid re-start the transport again...
+      }
+
+      @Override
+      public BackupResponse backupRemotely(Collection<XSiteBackup> backups, XSiteReplicateCommand rpcCommand) throws Exception {
+         if (fail) {
+            throw new CacheException("induced failure!");
+         }
+         return super.backupRemotely(backups, rpcCommand);
+      }
+   }
+
+   private static class CountingInterceptor extends CommandInterceptor {
+
+      private final AtomicInteger puts;
+
+      CountingInterceptor(AtomicInteger puts) {
+         this.puts = puts;
+      }
+
+      @Override
+      public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
+         if (ctx.isOriginLocal()) {
+            puts.incrementAndGet();
+         }
+         return invokeNextInterceptor(ctx, command);
+      }
+   }
+}
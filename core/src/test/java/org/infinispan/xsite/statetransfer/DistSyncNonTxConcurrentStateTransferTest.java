@@ -0,0 +1,20 @@
+package org.infinispan.xsite.statetransfer;
+
+import org.infinispan.configuration.cache.BackupConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the cross-site state transfer sending the segments concurrently and limiting the entries sent per second, using
+ * a distributed synchronous non-transactional cache.
+ *
+ * @since 9.1
+ */
+@Test(groups = "xsite", testName = "xsite.statetransfer.DistSyncNonTxConcurrentStateTransferTest")
+public class DistSyncNonTxConcurrentStateTransferTest extends DistSyncNonTxStateTransferTest {
+
+   @Override
+   protected void adaptLONConfiguration(BackupConfigurationBuilder builder) {
+      super.adaptLONConfiguration(builder);
+      builder.stateTransfer().concurrency(4).maxEntriesPerSecond(1000);
+   }
+}
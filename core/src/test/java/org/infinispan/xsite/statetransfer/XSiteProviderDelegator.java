@@ -38,4 +38,9 @@ public Collection<String> getCurrentStateSending() {
    public Collection<String> getSitesMissingCoordinator(Collection<Address> currentMembers) {
       return xSiteStateProvider.getSitesMissingCoordinator(currentMembers);
    }
+
+   @Override
+   public String getStateTransferProgress(String siteName) {
+      return xSiteStateProvider.getStateTransferProgress(siteName);
+   }
 }
@@ -0,0 +1,313 @@
+package org.infinispan.xsite.statetransfer.failures;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.infinispan.test.TestingUtil.wrapGlobalComponent;
+import static org.infinispan.xsite.XSiteAdminOperations.SUCCESS;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.BackupConfigurationBuilder;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.manager.CacheContainer;
+import org.infinispan.remoting.transport.AbstractDelegatingTransport;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.BackupResponse;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.xsite.AbstractTwoSitesTest;
+import org.infinispan.xsite.XSiteAdminOperations;
+import org.infinispan.xsite.XSiteBackup;
+import org.infinispan.xsite.XSiteReplicateCommand;
+import org.infinispan.xsite.statetransfer.XSiteState;
+import org.infinispan.xsite.statetransfer.XSiteStatePushCommand;
+import org.infinispan.xsite.statetransfer.XSiteStateTransferManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the Cross-Site replication state transfer when some segments can't be sent, and its rate limit and progress.
+ *
+ * @since 9.1
+ */
+@Test(groups = "xsite", testName = "xsite.statetransfer.failures.StateTransferSegmentFailuresTest")
+public class StateTransferSegmentFailuresTest extends AbstractTwoSitesTest {
+
+   private static final int NR_KEYS = 20; //10 * chunk size
+   private static final int CHUNK_SIZE = 2;
+   private static final int MAX_ENTRIES_PER_SECOND = 100;
+
+   public StateTransferSegmentFailuresTest() {
+      super();
+      this.cleanup = CleanupPhase.AFTER_METHOD;
+      this.implicitBackupCache = true;
+   }
+
+   public void testRestartSendsOnlyFailedSegments() {
+      initBeforeTest();
+      List<ControllerTransport> transports = replaceTransportInSite(LON);
+      for (ControllerTransport transport : transports) {
+         transport.failKey = key("0");
+      }
+
+      startStateTransfer(cache(LON, 0), NYC);
+      awaitStateTransferFinished();
+      assertEquals(XSiteStateTransferManager.STATUS_ERROR, getStatus(LON).get(NYC));
+
+      Set<Integer> failedSegments = new HashSet<>();
+      for (ControllerTransport transport : transports) {
+         for (Object key : transport.failedKeys) {
+            failedSegments.add(topology().getSegment(key));
+         }
+      }
+      assertFalse(failedSegments.isEmpty());
+
+      //only the segments of the failed chunk are missing
+      assertInSite(NYC, new AssertCondition<Object, Object>() {
+         @Override
+         public void assertInCache(Cache<Object, Object> cache) {
+            for (int i = 0; i < NR_KEYS; ++i) {
+               Object key = key(Integer.toString(i));
+               if (failedSegments.contains(topology().getSegment(key))) {
+                  assertNull(cache.get(key));
+               } else {
+                  assertEquals(val(Integer.toString(i)), cache.get(key));
+               }
+            }
+         }
+      });
+
+      assertEquals(SUCCESS, extractComponent(cache(LON, 0), XSiteAdminOperations.class).clearPushStateStatus());
+      for (ControllerTransport transport : transports) {
+         transport.failKey = null;
+         transport.sentKeys.clear();
+      }
+
+      startStateTransfer(cache(LON, 0), NYC);
+      awaitStateTransferFinished();
+      assertEquals(XSiteStateTransferManager.STATUS_OK, getStatus(LON).get(NYC));
+
+      //the node with the failed chunk sends only the failed segments again
+      for (ControllerTransport transport : transports) {
+         if (transport.failedKeys.isEmpty()) {
+            continue;
+         }
+         assertTrue(transport.sentKeys.contains(key("0")));
+         for (Object key : transport.sentKeys) {
+            assertTrue("Key " + key + " sent again", failedSegments.contains(topology().getSegment(key)));
+         }
+      }
+      assertDataInSite(NYC);
+   }
+
+   public void testMaxEntriesPerSecond() {
+      initBeforeTest();
+      int maxPrimaryKeys = 0;
+      for (Cache<?, ?> cache : caches(LON)) {
+         Address address = cache.getCacheManager().getAddress();
+         int primaryKeys = 0;
+         for (int i = 0; i < NR_KEYS; ++i) {
+            if (address.equals(topology().getDistribution(key(Integer.toString(i))).primary())) {
+               primaryKeys++;
+            }
+         }
+         maxPrimaryKeys = Math.max(maxPrimaryKeys, primaryKeys);
+      }
+
+      long start = System.nanoTime();
+      startStateTransfer(cache(LON, 0), NYC);
+      awaitStateTransferFinished();
+      long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      assertEquals(XSiteStateTransferManager.STATUS_OK, getStatus(LON).get(NYC));
+      //the first chunk is sent immediately, the others wait for the previous entries
+      long minDurationMillis = TimeUnit.SECONDS.toMillis(maxPrimaryKeys - CHUNK_SIZE) / MAX_ENTRIES_PER_SECOND;
+      assertTrue("State transfer took " + durationMillis + " ms, expected at least " + minDurationMillis + " ms",
+                 durationMillis >= minDurationMillis);
+      assertDataInSite(NYC);
+   }
+
+   public void testPushStateProgress() throws InterruptedException {
+      initBeforeTest();
+      List<ControllerTransport> transports = replaceTransportInSite(LON);
+      CountDownLatch latch = new CountDownLatch(1);
+      for (ControllerTransport transport : transports) {
+         transport.pushLatch = latch;
+      }
+
+      XSiteAdminOperations operations = extractComponent(cache(LON, 0), XSiteAdminOperations.class);
+      assertEquals("This node is not pushing state to 'NYC'.", operations.getPushStateProgress(NYC));
+      try {
+         startStateTransfer(cache(LON, 0), NYC);
+         int numSegments = cache(LON, 0).getCacheConfiguration().clustering().hash().numSegments();
+         eventually(() -> transports.stream().anyMatch(t -> t.blockedPushes > 0));
+         //a single group with all the segments, sent at the end of the iteration
+         assertEquals(String.format("Sent segments 0/%d, 0 entries, 0 failed segments", numSegments),
+                      operations.getPushStateProgress(NYC));
+      } finally {
+         latch.countDown();
+      }
+
+      awaitStateTransferFinished();
+      assertEquals(XSiteStateTransferManager.STATUS_OK, getStatus(LON).get(NYC));
+      assertEquals("This node is not pushing state to 'NYC'.", operations.getPushStateProgress(NYC));
+      assertDataInSite(NYC);
+   }
+
+   @Override
+   protected ConfigurationBuilder getNycActiveConfig() {
+      return createConfiguration();
+   }
+
+   @Override
+   protected ConfigurationBuilder getLonActiveConfig() {
+      return createConfiguration();
+   }
+
+   protected static ConfigurationBuilder createConfiguration() {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(2);
+      return builder;
+   }
+
+   @Override
+   protected void adaptLONConfiguration(BackupConfigurationBuilder builder) {
+      builder.stateTransfer().chunkSize(CHUNK_SIZE).timeout(2000).maxEntriesPerSecond(MAX_ENTRIES_PER_SECOND);
+   }
+
+   private LocalizedCacheTopology topology() {
+      return cache(LON, 0).getAdvancedCache().getDistributionManager().getCacheTopology();
+   }
+
+   private void putData() {
+      for (int i = 0; i < NR_KEYS; ++i) {
+         cache(LON, 0).put(key(Integer.toString(i)), val(Integer.toString(i)));
+      }
+   }
+
+   private void initBeforeTest() {
+      takeSiteOffline(LON, NYC);
+      putData();
+      assertInSite(NYC, new AssertCondition<Object, Object>() {
+         @Override
+         public void assertInCache(Cache<Object, Object> cache) {
+            assertTrue(cache.isEmpty());
+         }
+      });
+   }
+
+   private void awaitStateTransferFinished() {
+      assertEventuallyInSite(LON, new EventuallyAssertCondition<Object, Object>() {
+         @Override
+         public boolean assertInCache(Cache<Object, Object> cache) {
+            return extractComponent(cache, XSiteStateTransferManager.class).getRunningStateTransfers().isEmpty();
+         }
+      }, 1, TimeUnit.MINUTES);
+   }
+
+   private void startStateTransfer(Cache<?, ?> coordinator, String toSite) {
+      XSiteAdminOperations operations = extractComponent(coordinator, XSiteAdminOperations.class);
+      assertEquals(SUCCESS, operations.pushState(toSite));
+   }
+
+   private void takeSiteOffline(String localSite, String remoteSite) {
+      XSiteAdminOperations operations = extractComponent(cache(localSite, 0), XSiteAdminOperations.class);
+      assertEquals(SUCCESS, operations.takeSiteOffline(remoteSite));
+   }
+
+   private Map<String, String> getStatus(String localSite) {
+      XSiteAdminOperations operations = extractComponent(cache(localSite, 0), XSiteAdminOperations.class);
+      return operations.getPushStateStatus();
+   }
+
+   private void assertDataInSite(String siteName) {
+      assertInSite(siteName, new AssertCondition<Object, Object>() {
+         @Override
+         public void assertInCache(Cache<Object, Object> cache) {
+            for (int i = 0; i < NR_KEYS; ++i) {
+               assertEquals(val(Integer.toString(i)), cache.get(key(Integer.toString(i))));
+            }
+         }
+      });
+   }
+
+   private List<ControllerTransport> replaceTransportInSite(String site) {
+      List<ControllerTransport> transports = new ArrayList<>(site(site).cacheManagers().size());
+      for (CacheContainer cacheContainer : site(site).cacheManagers()) {
+         transports.add(wrapGlobalComponent(cacheContainer,
+                                            Transport.class,
+                                            new TestingUtil.WrapFactory<Transport, ControllerTransport, CacheContainer>() {
+                                               @Override
+                                               public ControllerTransport wrap(CacheContainer wrapOn, Transport current) {
+                                                  return new ControllerTransport(current);
+                                               }
+                                            }, true));
+      }
+      return transports;
+   }
+
+   private static class ControllerTransport extends AbstractDelegatingTransport {
+
+      private final Set<Object> sentKeys = ConcurrentHashMap.newKeySet();
+      private final Set<Object> failedKeys = ConcurrentHashMap.newKeySet();
+      //the chunks with this key fail
+      private volatile Object failKey;
+      //the chunks wait for it before being sent
+      private volatile CountDownLatch pushLatch;
+      private volatile int blockedPushes;
+
+      public ControllerTransport(Transport actual) {
+         super(actual);
+      }
+
+      @Override
+      public void start() {
+         //no-op; avoid re-start the transport again...
+      }
+
+      @Override
+      public BackupResponse backupRemotely(Collection<XSiteBackup> backups, XSiteReplicateCommand rpcCommand) throws Exception {
+         if (rpcCommand instanceof XSiteStatePushCommand) {
+            XSiteState[] chunk = ((XSiteStatePushCommand) rpcCommand).getChunk();
+            CountDownLatch latch = pushLatch;
+            if (latch != null) {
+               blockedPushes++;
+               latch.await(30, TimeUnit.SECONDS);
+            }
+            if (failKey != null && containsKey(chunk, failKey)) {
+               for (XSiteState state : chunk) {
+                  failedKeys.add(state.key());
+               }
+               throw new TimeoutException("induced timeout!");
+            }
+            for (XSiteState state : chunk) {
+               sentKeys.add(state.key());
+            }
+         }
+         return super.backupRemotely(backups, rpcCommand);
+      }
+
+      private static boolean containsKey(XSiteState[] chunk, Object key) {
+         for (XSiteState state : chunk) {
+            if (key.equals(state.key())) {
+               return true;
+            }
+         }
+         return false;
+      }
+   }
+}
@@ -7,10 +7,12 @@
 import static org.infinispan.stats.container.ExtendedStatistic.NUM_WAITED_FOR_LOCKS;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.context.InvocationContext;
@@ -34,7 +36,8 @@
 public class ExtendedStatisticLockManager implements LockManager {
    private final LockManager actual;
    private final CacheStatisticManager cacheStatisticManager;
-   private final ConcurrentMap<Object, LockInfo> lockInfoMap = CollectionFactory.makeConcurrentMap();
+   //the shared locks have multiple lock owners
+   private final ConcurrentMap<LockedKey, LockInfo> lockInfoMap = CollectionFactory.makeConcurrentMap();
    private final TimeService timeService;
 
    public ExtendedStatisticLockManager(LockManager actual, CacheStatisticManager cacheStatisticManager,
@@ -50,29 +53,19 @@ public final LockManager getActual() {
 
    @Override
    public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUnit unit) {
+      if (isUpgrade(key, lockOwner)) {
+         return trackUpgrade(key, lockOwner, actual.lock(key, lockOwner, time, unit));
+      }
       if (lockOwnerAlreadyExists(key, lockOwner)) {
          return actual.lock(key, lockOwner, time, unit);
       }
 
-      LockInfo lockInfo = new LockInfo(lockOwner instanceof GlobalTransaction ? (GlobalTransaction) lockOwner : null);
-      updateContentionStats(key, lockInfo);
+      LockInfo lockInfo = new LockInfo(lockOwner);
+      updateContentionStats(key, lockInfo, false);
 
       final long start = timeService.time();
       final KeyAwareLockPromise lockPromise = actual.lock(key, lockOwner, time, unit);
-      lockPromise.addListener((lockedKey, state) -> {
-         long end = timeService.time();
-         lockInfo.lockTimeStamp = end;
-         if (lockInfo.contention) {
-            lockInfo.lockWaiting = timeService.timeDuration(start, end, NANOSECONDS);
-         }
-
-         //if some owner tries to acquire the lock twice, we don't added it
-         if (state == LockState.ACQUIRED) {
-            lockInfoMap.putIfAbsent(lockedKey, lockInfo);
-         } else {
-            lockInfo.updateStats(null); //null == not locked
-         }
-      });
+      trackLockInfo(lockPromise, Collections.singletonMap(key, lockInfo), start);
       return lockPromise;
    }
 
@@ -82,36 +75,66 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
          return lock(keys.iterator().next(), lockOwner, time, unit);
       }
       final Map<Object, LockInfo> tmpMap = new HashMap<>();
+      final Map<Object, LockInfo> upgrades = new HashMap<>();
       for (Object key : keys) {
+         if (isUpgrade(key, lockOwner)) {
+            LockInfo lockInfo = lockInfoMap.get(new LockedKey(key, lockOwner));
+            if (lockInfo != null) {
+               upgrades.put(key, lockInfo);
+            }
+            continue;
+         }
          if (lockOwnerAlreadyExists(key, lockOwner)) {
             continue;
          }
-         LockInfo lockInfo = new LockInfo(lockOwner instanceof GlobalTransaction ? (GlobalTransaction) lockOwner : null);
-         updateContentionStats(key, lockInfo);
+         LockInfo lockInfo = new LockInfo(lockOwner);
+         updateContentionStats(key, lockInfo, false);
          tmpMap.put(key, lockInfo);
       }
 
 
       final long start = timeService.time();
       final KeyAwareLockPromise lockPromise = actual.lockAll(keys, lockOwner, time, unit);
-      lockPromise.addListener((lockedKey, state) -> {
-         long end = timeService.time();
-         final LockInfo lockInfo = tmpMap.get(lockedKey);
-         if (lockInfo == null) {
-            return;
-         }
-         lockInfo.lockTimeStamp = end;
-         if (lockInfo.contention) {
-            lockInfo.lockWaiting = timeService.timeDuration(start, end, NANOSECONDS);
-         }
+      trackLockInfo(lockPromise, tmpMap, start);
+      if (!upgrades.isEmpty()) {
+         trackUpgrades(lockPromise, upgrades, start);
+      }
+      return lockPromise;
+   }
 
-         //if some owner tries to acquire the lock twice, we don't added it
-         if (state == LockState.ACQUIRED) {
-            lockInfoMap.putIfAbsent(lockedKey, lockInfo);
-         } else {
-            lockInfo.updateStats(null); //null == not locked
+   @Override
+   public KeyAwareLockPromise lockShared(Object key, Object lockOwner, long time, TimeUnit unit) {
+      if (lockOwnerAlreadyExists(key, lockOwner)) {
+         return actual.lockShared(key, lockOwner, time, unit);
+      }
+
+      LockInfo lockInfo = new LockInfo(lockOwner);
+      updateContentionStats(key, lockInfo, true);
+
+      final long start = timeService.time();
+      final KeyAwareLockPromise lockPromise = actual.lockShared(key, lockOwner, time, unit);
+      trackLockInfo(lockPromise, Collections.singletonMap(key, lockInfo), start);
+      return lockPromise;
+   }
+
+   @Override
+   public KeyAwareLockPromise lockAllShared(Collection<?> keys, Object lockOwner, long time, TimeUnit unit) {
+      if (keys.size() == 1) {
+         return lockShared(keys.iterator().next(), lockOwner, time, unit);
+      }
+      final Map<Object, LockInfo> tmpMap = new HashMap<>();
+      for (Object key : keys) {
+         if (lockOwnerAlreadyExists(key, lockOwner)) {
+            continue;
          }
-      });
+         LockInfo lockInfo = new LockInfo(lockOwner);
+         updateContentionStats(key, lockInfo, true);
+         tmpMap.put(key, lockInfo);
+      }
+
+      final long start = timeService.time();
+      final KeyAwareLockPromise lockPromise = actual.lockAllShared(keys, lockOwner, time, unit);
+      trackLockInfo(lockPromise, tmpMap, start);
       return lockPromise;
    }
 
@@ -179,30 +202,111 @@ private boolean lockOwnerAlreadyExists(Object key, Object lockOwner) {
       return lock != null && lock.containsLockOwner(lockOwner);
    }
 
-   private void updateContentionStats(Object key, LockInfo lockInfo) {
-      Object holder = getOwner(key);
-      if (holder != null) {
-         lockInfo.contention = !holder.equals(lockInfo.owner);
+   private boolean isUpgrade(Object key, Object lockOwner) {
+      final InfinispanLock lock = actual.getLock(key);
+      return lock != null && lock.containsSharedLockOwner(lockOwner);
+   }
+
+   /**
+    * A shared lock request only waits for an exclusive lock owner, while an exclusive lock request also waits for the
+    * shared lock owners.
+    */
+   private void updateContentionStats(Object key, LockInfo lockInfo, boolean shared) {
+      final InfinispanLock lock = actual.getLock(key);
+      if (lock != null && lock.isLocked()) {
+         lockInfo.contention = !shared || !lock.isSharedLocked();
+      }
+   }
+
+   private void trackLockInfo(KeyAwareLockPromise lockPromise, Map<Object, LockInfo> lockInfos, long start) {
+      lockPromise.addListener((lockedKey, state) -> {
+         long end = timeService.time();
+         final LockInfo lockInfo = lockInfos.get(lockedKey);
+         if (lockInfo == null) {
+            return;
+         }
+         lockInfo.lockTimeStamp = end;
+         if (lockInfo.contention) {
+            lockInfo.lockWaiting = timeService.timeDuration(start, end, NANOSECONDS);
+         }
+
+         //if some owner tries to acquire the lock twice, we don't added it
+         if (state == LockState.ACQUIRED) {
+            lockInfoMap.putIfAbsent(new LockedKey(lockedKey, lockInfo.lockOwner), lockInfo);
+         } else {
+            lockInfo.updateStats(null); //null == not locked
+         }
+      });
+   }
+
+   /**
+    * The upgraded lock is released once, so the time waiting for the other shared lock owners is added to the shared
+    * lock information.
+    */
+   private KeyAwareLockPromise trackUpgrade(Object key, Object lockOwner, KeyAwareLockPromise lockPromise) {
+      LockInfo lockInfo = lockInfoMap.get(new LockedKey(key, lockOwner));
+      if (lockInfo != null) {
+         trackUpgrades(lockPromise, Collections.singletonMap(key, lockInfo), timeService.time());
       }
+      return lockPromise;
+   }
+
+   private void trackUpgrades(KeyAwareLockPromise lockPromise, Map<Object, LockInfo> lockInfos, long start) {
+      final AtomicBoolean addingListener = new AtomicBoolean(true);
+      lockPromise.addListener((lockedKey, state) -> {
+         final LockInfo lockInfo = lockInfos.get(lockedKey);
+         //an upgrade acquired while the listener is added did not wait
+         if (lockInfo == null || addingListener.get()) {
+            return;
+         }
+         long waiting = timeService.timeDuration(start, timeService.time(), NANOSECONDS);
+         lockInfo.contention = true;
+         lockInfo.lockWaiting = lockInfo.lockWaiting == -1 ? waiting : lockInfo.lockWaiting + waiting;
+      });
+      addingListener.set(false);
    }
 
    private void onUnlock(Object key, Object lockOwner, long timestamp) {
-      LockInfo lockInfo = lockInfoMap.get(key);
-      if (lockInfo != null && lockInfo.owner.equals(lockOwner)) {
+      LockInfo lockInfo = lockInfoMap.remove(new LockedKey(key, lockOwner));
+      if (lockInfo != null) {
          lockInfo.updateStats(timestamp);
-         lockInfoMap.remove(key);
+      }
+   }
+
+   private static final class LockedKey {
+      private final Object key;
+      private final Object lockOwner;
+
+      private LockedKey(Object key, Object lockOwner) {
+         this.key = key;
+         this.lockOwner = lockOwner;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         LockedKey lockedKey = (LockedKey) o;
+         return key.equals(lockedKey.key) && lockOwner.equals(lockedKey.lockOwner);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * key.hashCode() + lockOwner.hashCode();
       }
    }
 
    private class LockInfo {
+      private final Object lockOwner;
       private final GlobalTransaction owner;
       private final boolean local;
       private long lockTimeStamp = -1;
       private boolean contention = false;
       private long lockWaiting = -1;
 
-      public LockInfo(GlobalTransaction owner) {
-         this.owner = owner;
+      public LockInfo(Object lockOwner) {
+         this.lockOwner = lockOwner;
+         this.owner = lockOwner instanceof GlobalTransaction ? (GlobalTransaction) lockOwner : null;
          this.local = owner != null && !owner.isRemote();
       }
 
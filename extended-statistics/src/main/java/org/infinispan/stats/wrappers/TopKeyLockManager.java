@@ -1,8 +1,10 @@
 package org.infinispan.stats.wrappers;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.infinispan.context.InvocationContext;
@@ -30,7 +32,7 @@ public TopKeyLockManager(LockManager current, StreamSummaryContainer container)
 
    @Override
    public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUnit unit) {
-      if (lockOwnerAlreadyExists(key, lockOwner)) {
+      if (lockOwnerAlreadyExists(key, lockOwner) && !isUpgrade(key, lockOwner)) {
          return current.lock(key, lockOwner, time, unit);
       }
       KeyAwareLockPromise lockPromise = current.lock(key, lockOwner, time, unit);
@@ -41,7 +43,7 @@ public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUni
 
    @Override
    public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long time, TimeUnit unit) {
-      final Set<Object> keysToTrack = keys.stream().filter(key -> !lockOwnerAlreadyExists(key, lockOwner)).collect(Collectors.toSet());
+      final Set<Object> keysToTrack = keys.stream().filter(key -> !lockOwnerAlreadyExists(key, lockOwner) || isUpgrade(key, lockOwner)).collect(Collectors.toSet());
       final KeyAwareLockPromise lockPromise = current.lockAll(keys, lockOwner, time, unit);
       final Set<Object> contentedKeys = keys.stream().filter(key -> !lockOwner.equals(current.getOwner(key))).collect(Collectors.toSet());
       lockPromise.addListener((lockedKey, state) -> {
@@ -52,6 +54,24 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
       return lockPromise;
    }
 
+   @Override
+   public KeyAwareLockPromise lockShared(Object key, Object lockOwner, long time, TimeUnit unit) {
+      if (lockOwnerAlreadyExists(key, lockOwner)) {
+         return current.lockShared(key, lockOwner, time, unit);
+      }
+      KeyAwareLockPromise lockPromise = current.lockShared(key, lockOwner, time, unit);
+      trackLockInformation(lockPromise, Collections.singleton(key));
+      return lockPromise;
+   }
+
+   @Override
+   public KeyAwareLockPromise lockAllShared(Collection<?> keys, Object lockOwner, long time, TimeUnit unit) {
+      final Set<Object> keysToTrack = keys.stream().filter(key -> !lockOwnerAlreadyExists(key, lockOwner)).collect(Collectors.toSet());
+      final KeyAwareLockPromise lockPromise = current.lockAllShared(keys, lockOwner, time, unit);
+      trackLockInformation(lockPromise, keysToTrack);
+      return lockPromise;
+   }
+
    @Override
    public void unlock(Object key, Object lockOwner) {
       current.unlock(key, lockOwner);
@@ -101,4 +121,28 @@ private boolean lockOwnerAlreadyExists(Object key, Object lockOwner) {
       final InfinispanLock lock = current.getLock(key);
       return lock != null && lock.containsLockOwner(lockOwner);
    }
+
+   /**
+    * An exclusive lock request by a shared lock owner is a new request, which may wait for the other shared lock
+    * owners.
+    */
+   private boolean isUpgrade(Object key, Object lockOwner) {
+      final InfinispanLock lock = current.getLock(key);
+      return lock != null && lock.containsSharedLockOwner(lockOwner);
+   }
+
+   /**
+    * The shared lock can be held by multiple lock owners, so the current lock owner does not tell if the request is
+    * contended. The locks acquired (or failed) while the listener is added did not wait for any other lock owner.
+    */
+   private void trackLockInformation(KeyAwareLockPromise lockPromise, Set<Object> keysToTrack) {
+      final AtomicBoolean addingListener = new AtomicBoolean(true);
+      lockPromise.addListener((lockedKey, state) -> {
+         if (keysToTrack.contains(lockedKey)) {
+            boolean failed = state != LockState.ACQUIRED;
+            container.addLockInformation(lockedKey, failed || !addingListener.get(), failed);
+         }
+      });
+      addingListener.set(false);
+   }
 }
@@ -0,0 +1,142 @@
+package org.infinispan.stats.topK;
+
+import static org.infinispan.distribution.DistributionTestHelper.addressOf;
+import static org.infinispan.test.TestingUtil.k;
+import static org.testng.AssertJUnit.fail;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.transaction.Transaction;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.interceptors.impl.TxInterceptor;
+import org.infinispan.stats.AbstractTopKeyTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterTest;
+import org.infinispan.transaction.LockingMode;
+import org.infinispan.util.concurrent.IsolationLevel;
+import org.infinispan.util.concurrent.locks.impl.InfinispanLock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the top-key lock information of the shared locks acquired by the pessimistic transactions.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "stats.topK.DistSharedLockTopKeyTest")
+@CleanupAfterTest
+public class DistSharedLockTopKeyTest extends AbstractTopKeyTest {
+
+   @BeforeMethod(alwaysRun = true)
+   public void resetBeforeTest() {
+      caches().forEach(cache -> getTopKey(cache).resetStatistics());
+   }
+
+   public void testSharedLock(Method method) throws Exception {
+      final String key = k(method, 0);
+
+      tm(0).begin();
+      cache(0).getAdvancedCache().withFlags(Flag.FORCE_READ_LOCK).get(key);
+      Transaction transaction = tm(0).suspend();
+
+      tm(1).begin();
+      cache(1).getAdvancedCache().withFlags(Flag.FORCE_READ_LOCK).get(key);
+      tm(1).commit();
+
+      tm(0).resume(transaction);
+      tm(0).commit();
+
+      Cache<Object, Object> primary = isPrimaryOwner(cache(0), key) ? cache(0) : cache(1);
+      Cache<Object, Object> nonPrimary = primary == cache(0) ? cache(1) : cache(0);
+
+      //the shared locks do not contend with each other
+      assertLockInformation(primary, key, 2, 0, 0);
+      assertLockInformation(nonPrimary, key, 0, 0, 0);
+   }
+
+   public void testConcurrentUpgrades(Method method) throws Exception {
+      final String key = k(method, 0);
+
+      Cache<Object, Object> primary;
+      Cache<Object, Object> nonPrimary;
+
+      if (isPrimaryOwner(cache(0), key)) {
+         primary = cache(0);
+         nonPrimary = cache(1);
+      } else {
+         primary = cache(1);
+         nonPrimary = cache(0);
+      }
+
+      tm(primary).begin();
+      primary.getAdvancedCache().withFlags(Flag.FORCE_READ_LOCK).get(key);
+      Transaction transaction = tm(primary).suspend();
+
+      tm(nonPrimary).begin();
+      nonPrimary.getAdvancedCache().withFlags(Flag.FORCE_READ_LOCK).get(key);
+
+      //the upgrade in the primary owner waits for the shared lock of the other transaction
+      Future<Void> upgrade = fork(() -> {
+         tm(primary).resume(transaction);
+         primary.put(key, "value");
+         tm(primary).commit();
+         return null;
+      });
+      eventually(() -> hasPendingLockRequest(primary, key));
+
+      //and the upgrade of the other transaction can't wait for it
+      try {
+         nonPrimary.getAdvancedCache().withFlags(Flag.ZERO_LOCK_ACQUISITION_TIMEOUT).put(key, "value");
+         fail("The upgrade should time out");
+      } catch (Exception e) {
+         //expected
+      } finally {
+         tm(nonPrimary).rollback();
+      }
+      upgrade.get(30, TimeUnit.SECONDS);
+
+      assertLockInformation(primary, key, 4, 2, 1);
+      assertLockInformation(nonPrimary, key, 0, 0, 0);
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      for (int i = 0; i < 2; ++i) {
+         ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, true);
+         builder.customInterceptors().addInterceptor()
+               .before(TxInterceptor.class)
+               .interceptor(new CacheUsageInterceptor());
+         builder.transaction().lockingMode(LockingMode.PESSIMISTIC);
+         builder.locking().isolationLevel(IsolationLevel.REPEATABLE_READ)
+                .lockAcquisitionTimeout(TimeUnit.SECONDS.toMillis(30));
+         addClusterEnabledCacheManager(builder);
+      }
+      waitForClusterToForm();
+   }
+
+   private static boolean isPrimaryOwner(Cache<?, ?> cache, Object key) {
+      DistributionManager dm = cache.getAdvancedCache().getDistributionManager();
+      return dm.getPrimaryLocation(key).equals(addressOf(cache));
+   }
+
+   private static boolean hasPendingLockRequest(Cache<?, ?> cache, Object key) {
+      InfinispanLock lock = TestingUtil.extractLockManager(cache).getLock(key);
+      AtomicBoolean pending = new AtomicBoolean();
+      if (lock != null) {
+         //the deadlock check visits the pending lock requests
+         lock.deadlockCheck((pendingOwner, currentOwner) -> {
+            pending.set(true);
+            return false;
+         });
+      }
+      return pending.get();
+   }
+}
@@ -3,6 +3,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -165,6 +166,17 @@ public void putAll(Map<? extends K, ? extends V> map, long lifespan, TimeUnit li
       delegate.putAll(map, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
    }
 
+   @Override
+   public void putAll(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries) {
+      delegate.putAll(entries);
+   }
+
+   @Override
+   public void putAll(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries, long lifespan, TimeUnit lifespanUnit,
+                      long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      delegate.putAll(entries, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+   }
+
    @Override
    public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> data) {
       return delegate.putAllAsync(data);
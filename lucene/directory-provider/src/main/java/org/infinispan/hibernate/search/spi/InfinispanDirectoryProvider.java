@@ -43,6 +43,8 @@ public class InfinispanDirectoryProvider implements org.hibernate.search.store.D
    private String dataCacheName;
    private String lockingCacheName;
    private Integer chunkSize;
+   private Integer blockCacheSize;
+   private Integer readAheadChunks;
 
    private Directory directory;
 
@@ -52,6 +54,8 @@ public class InfinispanDirectoryProvider implements org.hibernate.search.store.D
 
    private boolean writeFileListAsync;
 
+   private boolean writeFileListInBatches;
+
    private LockFactory indexWriterLockFactory;
    private int affinityId;
    private boolean isAsync;
@@ -75,7 +79,10 @@ public void initialize(String directoryProviderName, Properties properties, Buil
       lockingCacheName = InfinispanIntegration.getLockingCacheName(properties);
       //Let it return null if it's not set, so that we can avoid applying any override.
       chunkSize = ConfigurationParseHelper.getIntValue(properties, "chunk_size");
+      blockCacheSize = ConfigurationParseHelper.getIntValue(properties, InfinispanIntegration.BLOCK_CACHE_SIZE);
+      readAheadChunks = ConfigurationParseHelper.getIntValue(properties, InfinispanIntegration.READ_AHEAD_CHUNKS);
       writeFileListAsync = getWriteFileListAsync(properties);
+      writeFileListInBatches = ConfigurationParseHelper.getBooleanValue(properties, InfinispanIntegration.WRITE_METADATA_BATCHED, false);
 
       //Only override the default Infinispan LockDirectory if an explicit option is set:
       if (configurationExplicitlySetsLockFactory(properties)) {
@@ -132,10 +139,17 @@ public void start(DirectoryBasedIndexManager indexManager) {
       org.infinispan.lucene.directory.BuildContext directoryBuildContext = DirectoryBuilder
             .newDirectoryInstance(metadataCache, dataCache, lockingCache, directoryProviderName)
             .writeFileListAsynchronously(writeFileListAsync)
+            .writeFileListInBatches(writeFileListInBatches)
             .deleteOperationsExecutor(isAsync ? new WithinThreadExecutor() : deletesExecutor.getExecutor());
       if (chunkSize != null) {
          directoryBuildContext.chunkSize(chunkSize);
       }
+      if (blockCacheSize != null) {
+         directoryBuildContext.blockCacheSize(blockCacheSize * 1024L * 1024L);
+      }
+      if (readAheadChunks != null) {
+         directoryBuildContext.readAheadChunks(readAheadChunks);
+      }
       if (indexWriterLockFactory != null) {
          directoryBuildContext.overrideWriteLocker(indexWriterLockFactory);
       }
@@ -53,6 +53,30 @@ private InfinispanIntegration() {
     */
    public static final String WRITE_METADATA_ASYNC = "write_metadata_async";
 
+   /**
+    * Configuration attribute to control if the changes to the list of index files are written to the Index Metadata
+    * cache once per commit rather than once per file.
+    * <p/>
+    * Defaults to {@code false}.
+    */
+   public static final String WRITE_METADATA_BATCHED = "write_metadata_batched";
+
+   /**
+    * Configuration attribute defining the maximum size in megabytes of the node-local cache of index chunks, reducing
+    * the remote gets needed to read an index stored in a distributed cache.
+    * <p/>
+    * Defaults to {@code 0}, meaning disabled.
+    */
+   public static final String BLOCK_CACHE_SIZE = "block_cache_size";
+
+   /**
+    * Configuration attribute defining how many chunks are fetched ahead in the background when a file is read
+    * sequentially. Only applies if the {@link #BLOCK_CACHE_SIZE block cache} is enabled.
+    * <p/>
+    * Defaults to {@code 0}, meaning disabled.
+    */
+   public static final String READ_AHEAD_CHUNKS = "read_ahead_chunks";
+
    /**
     * @param properties the Hibernate Search configuration
     * @return the name of the Cache to be retrieved from the CacheManager to store Index Metadata
@@ -64,6 +64,17 @@ public interface BuildContext {
     */
    BuildContext writeFileListAsynchronously(boolean writeFileListAsync);
 
+   /**
+    * When set to true, the changes to the list of files of the Directory are collected while the index is being written
+    * and written to the cache as a single update when the IndexWriter commits, rather than one update per file created
+    * or deleted. Files created since the last commit are then only visible to the node writing them.
+    * Defaults to false.
+    *
+    * @param writeFileListInBatches
+    * @return the same building context to eventually create the Directory instance
+    */
+   BuildContext writeFileListInBatches(boolean writeFileListInBatches);
+
    /**
     * Provides an Executor to handle delete operations in a background thread
     *
@@ -85,4 +96,32 @@ public interface BuildContext {
     */
    BuildContext affinityLocationIntoSegment(int segmentId);
 
+   /**
+    * Enables a node-local cache of the chunks read from the index, so that repeated reads don't need to fetch them
+    * from the chunks cache again. Worth enabling when the chunks cache is distributed, as each chunk not owned locally
+    * otherwise requires a remote get. Defaults to 0, meaning disabled.
+    *
+    * @param bytes the maximum total size of the cached chunks
+    * @return the same building context to eventually create the Directory instance
+    */
+   BuildContext blockCacheSize(long bytes);
+
+   /**
+    * When the block cache is enabled and a file is read sequentially, fetches the given number of following chunks in
+    * the background with a single bulk get. Defaults to 0, meaning disabled.
+    *
+    * @param chunks the number of chunks to read ahead
+    * @return the same building context to eventually create the Directory instance
+    */
+   BuildContext readAheadChunks(int chunks);
+
+   /**
+    * Provides an Executor to fetch the chunks read ahead. Defaults to the executor of the asynchronous operations of the
+    * cache manager owning the chunks cache.
+    *
+    * @param executor
+    * @return the same building context to eventually create the Directory instance
+    */
+   BuildContext readAheadExecutor(Executor executor);
+
 }
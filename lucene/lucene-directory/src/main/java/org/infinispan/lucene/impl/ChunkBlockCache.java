@@ -0,0 +1,240 @@
+package org.infinispan.lucene.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.lucene.index.IndexFileNames;
+import org.infinispan.AdvancedCache;
+import org.infinispan.lucene.ChunkCacheKey;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Node-local cache of index file chunks, sitting in front of the chunks cache so repeated reads of the same chunks don't
+ * need a remote get each time when the chunks cache is distributed.
+ * <p>
+ * Lucene never modifies a file once written nor reuses the name of a deleted file, so a cached chunk can't become stale
+ * while its file exists. Chunks of deleted files are discarded when deleted through this node, and are otherwise left to
+ * be evicted. The cache is bounded by the total size in bytes of the chunks it holds and evicts the least recently used
+ * chunks first. It is split in independently locked stripes to reduce contention between concurrent readers.
+ * <p>
+ * When a file is read sequentially, the next chunks can be fetched in the background with a single {@code getAll}.
+ *
+ * @since 9.1
+ */
+public final class ChunkBlockCache {
+
+   private static final Log log = LogFactory.getLog(ChunkBlockCache.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private static final int STRIPES = 16;
+
+   private final AdvancedCache<ChunkCacheKey, Object> chunksCache;
+   private final Stripe[] stripes;
+   private final int readAheadChunks;
+   private final Executor readAheadExecutor;
+
+   /**
+    * The chunks being read ahead, to avoid fetching them more than once.
+    */
+   private final Set<ChunkCacheKey> pendingReadAheads = ConcurrentHashMap.newKeySet();
+
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private final LongAdder readAheads = new LongAdder();
+
+   /**
+    * @param chunksCache the cache holding the chunks
+    * @param maxSize the maximum total size in bytes of the cached chunks
+    * @param readAheadChunks the number of chunks to fetch ahead when reading sequentially, {@code 0} to disable
+    * @param readAheadExecutor the executor fetching the chunks ahead
+    */
+   public ChunkBlockCache(AdvancedCache<ChunkCacheKey, Object> chunksCache, long maxSize, int readAheadChunks, Executor readAheadExecutor) {
+      this.chunksCache = chunksCache;
+      this.readAheadChunks = readAheadChunks;
+      this.readAheadExecutor = readAheadExecutor;
+      this.stripes = new Stripe[STRIPES];
+      for (int i = 0; i < STRIPES; i++) {
+         stripes[i] = new Stripe(maxSize / STRIPES);
+      }
+   }
+
+   /**
+    * Returns the given chunk, loading it from the chunks cache if not cached yet.
+    *
+    * @return the chunk or {@code null} if it doesn't exist
+    */
+   byte[] get(ChunkCacheKey key) {
+      Stripe stripe = stripeFor(key);
+      byte[] chunk = stripe.get(key);
+      if (chunk != null) {
+         hits.increment();
+         return chunk;
+      }
+      misses.increment();
+      chunk = (byte[]) chunksCache.get(key);
+      if (chunk != null && isCacheable(key)) {
+         stripe.put(key, chunk);
+      }
+      return chunk;
+   }
+
+   /**
+    * Fetches in the background the chunks following the given one which are not cached yet.
+    *
+    * @param key the chunk being read
+    * @param numChunks the number of chunks of the file
+    */
+   void readAhead(ChunkCacheKey key, int numChunks) {
+      if (readAheadChunks <= 0 || !isCacheable(key)) {
+         return;
+      }
+      int last = Math.min(key.getChunkId() + readAheadChunks, numChunks - 1);
+      List<ChunkCacheKey> keys = new ArrayList<>(readAheadChunks);
+      for (int chunkId = key.getChunkId() + 1; chunkId <= last; chunkId++) {
+         ChunkCacheKey next = new ChunkCacheKey(key.getIndexName(), key.getFileName(), chunkId, key.getBufferSize(), key.getAffinitySegmentId());
+         if (!stripeFor(next).contains(next) && pendingReadAheads.add(next)) {
+            keys.add(next);
+         }
+      }
+      if (keys.isEmpty()) {
+         return;
+      }
+      try {
+         readAheadExecutor.execute(() -> fetch(keys));
+      } catch (RuntimeException e) {
+         // e.g. rejected, the chunks will be loaded on demand
+         pendingReadAheads.removeAll(keys);
+      }
+   }
+
+   private void fetch(List<ChunkCacheKey> keys) {
+      try {
+         Map<ChunkCacheKey, Object> chunks = chunksCache.getAll(new HashSet<>(keys));
+         for (Map.Entry<ChunkCacheKey, Object> entry : chunks.entrySet()) {
+            if (entry.getValue() != null) {
+               stripeFor(entry.getKey()).put(entry.getKey(), (byte[]) entry.getValue());
+               readAheads.increment();
+            }
+         }
+      } catch (Throwable t) {
+         if (trace) {
+            log.tracef(t, "Could not read ahead chunks %s", keys);
+         }
+      } finally {
+         pendingReadAheads.removeAll(keys);
+      }
+   }
+
+   /**
+    * Discards all the cached chunks of a file.
+    */
+   void evictFile(String fileName) {
+      for (Stripe stripe : stripes) {
+         stripe.evictFile(fileName);
+      }
+   }
+
+   /**
+    * @return the number of chunk reads served from this cache
+    */
+   public long getHits() {
+      return hits.sum();
+   }
+
+   /**
+    * @return the number of chunk reads which had to go to the chunks cache
+    */
+   public long getMisses() {
+      return misses.sum();
+   }
+
+   /**
+    * @return the number of chunks fetched ahead of being read
+    */
+   public long getReadAheads() {
+      return readAheads.sum();
+   }
+
+   /**
+    * @return the total size in bytes of the cached chunks
+    */
+   public long getSize() {
+      long size = 0;
+      for (Stripe stripe : stripes) {
+         size += stripe.size();
+      }
+      return size;
+   }
+
+   private Stripe stripeFor(ChunkCacheKey key) {
+      int h = key.hashCode();
+      return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+   }
+
+   private static boolean isCacheable(ChunkCacheKey key) {
+      // the segments file is rewritten in place, and the segments_N commit points are only read when opening a reader
+      return !key.getFileName().startsWith(IndexFileNames.SEGMENTS);
+   }
+
+   /**
+    * A LRU map of chunks bounded by their total size.
+    */
+   private static final class Stripe {
+
+      private final long maxSize;
+      private final LinkedHashMap<ChunkCacheKey, byte[]> chunks = new LinkedHashMap<>(16, 0.75f, true);
+      private long size;
+
+      Stripe(long maxSize) {
+         this.maxSize = maxSize;
+      }
+
+      synchronized byte[] get(ChunkCacheKey key) {
+         return chunks.get(key);
+      }
+
+      synchronized boolean contains(ChunkCacheKey key) {
+         return chunks.containsKey(key);
+      }
+
+      synchronized void put(ChunkCacheKey key, byte[] chunk) {
+         if (chunk.length > maxSize) {
+            return;
+         }
+         byte[] previous = chunks.put(key, chunk);
+         if (previous != null) {
+            size -= previous.length;
+         }
+         size += chunk.length;
+         Iterator<byte[]> it = chunks.values().iterator();
+         while (size > maxSize && it.hasNext()) {
+            size -= it.next().length;
+            it.remove();
+         }
+      }
+
+      synchronized void evictFile(String fileName) {
+         Iterator<Map.Entry<ChunkCacheKey, byte[]>> it = chunks.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<ChunkCacheKey, byte[]> entry = it.next();
+            if (entry.getKey().getFileName().equals(fileName)) {
+               size -= entry.getValue().length;
+               it.remove();
+            }
+         }
+      }
+
+      synchronized long size() {
+         return size;
+      }
+   }
+}
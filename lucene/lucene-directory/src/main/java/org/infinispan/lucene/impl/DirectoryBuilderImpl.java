@@ -4,9 +4,12 @@
 
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.LockFactory;
+import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.Configurations;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.lucene.ChunkCacheKey;
 import org.infinispan.lucene.directory.BuildContext;
 import org.infinispan.lucene.logging.Log;
 import org.infinispan.lucene.readlocks.DistributedSegmentReadLocker;
@@ -41,8 +44,12 @@ public class DirectoryBuilderImpl implements BuildContext {
    private SegmentReadLocker srl = null;
    private LockFactory lockFactory = null;
    private boolean writeFileListAsync = false;
+   private boolean writeFileListInBatches = false;
    private Executor deleteExecutor = null;
    private int affinitySegmentId = -1;
+   private long blockCacheSize = 0;
+   private int readAheadChunks = 0;
+   private Executor readAheadExecutor = null;
 
    public DirectoryBuilderImpl(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName) {
       this.metadataCache = checkValidConfiguration(checkNotNull(metadataCache, "metadataCache"), indexName);
@@ -63,7 +70,18 @@ public Directory create() {
       if (deleteExecutor == null) {
          deleteExecutor = new WithinThreadExecutor();
       }
-      return new DirectoryLucene(metadataCache, chunksCache, distLocksCache, indexName, lockFactory, chunkSize, srl, writeFileListAsync, deleteExecutor, affinitySegmentId);
+      ChunkBlockCache blockCache = null;
+      if (blockCacheSize > 0) {
+         if (readAheadExecutor == null) {
+            readAheadExecutor = makeDefaultReadAheadExecutor(chunksCache);
+         }
+         blockCache = new ChunkBlockCache((AdvancedCache<ChunkCacheKey, Object>) chunksCache.getAdvancedCache(), blockCacheSize, readAheadChunks, readAheadExecutor);
+      }
+      DirectoryLucene directory = new DirectoryLucene(metadataCache, chunksCache, distLocksCache, indexName, lockFactory, chunkSize, srl, writeFileListAsync, deleteExecutor, affinitySegmentId, blockCache);
+      if (writeFileListInBatches) {
+         directory.setFileListBatching(true);
+      }
+      return directory;
    }
 
    @Override
@@ -74,6 +92,29 @@ public BuildContext chunkSize(int bytes) {
       return this;
    }
 
+   @Override
+   public BuildContext blockCacheSize(long bytes) {
+      if (bytes < 0)
+         throw new IllegalArgumentException("blockCacheSize must not be negative");
+      this.blockCacheSize = bytes;
+      return this;
+   }
+
+   @Override
+   public BuildContext readAheadChunks(int chunks) {
+      if (chunks < 0)
+         throw new IllegalArgumentException("readAheadChunks must not be negative");
+      this.readAheadChunks = chunks;
+      return this;
+   }
+
+   @Override
+   public BuildContext readAheadExecutor(Executor executor) {
+      checkNotNull(executor, "executor");
+      this.readAheadExecutor = executor;
+      return this;
+   }
+
    @Override
    public BuildContext overrideSegmentReadLocker(SegmentReadLocker srl) {
       checkNotNull(srl, "srl");
@@ -96,6 +137,12 @@ public BuildContext writeFileListAsynchronously(boolean writeFileListAsync) {
       return this;
    }
 
+   @Override
+   public BuildContext writeFileListInBatches(boolean writeFileListInBatches) {
+      this.writeFileListInBatches = writeFileListInBatches;
+      return this;
+   }
+
    @Override
    public BuildContext deleteOperationsExecutor(Executor executor) {
       checkNotNull(executor, "executor");
@@ -116,6 +163,15 @@ private static SegmentReadLocker makeDefaultSegmentReadLocker(Cache<?, ?> metada
       return new DistributedSegmentReadLocker((Cache<Object, Integer>) distLocksCache, chunksCache, metadataCache, indexName, affinitySegmentId);
    }
 
+   /**
+    * The read ahead performs blocking bulk gets, so it runs on the executor of the asynchronous cache operations rather
+    * than on a pool meant for non-blocking tasks.
+    */
+   private static Executor makeDefaultReadAheadExecutor(Cache<?, ?> chunksCache) {
+      return chunksCache.getAdvancedCache().getComponentRegistry()
+            .getComponent(Executor.class, KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR);
+   }
+
    private static <T> T checkNotNull(final T v,final String objectname) {
       if (v == null)
          throw log.requiredParameterWasPassedNull(objectname);
@@ -21,6 +21,11 @@ public interface DirectoryExtensions {
 
    Cache getDataCache();
 
+   /**
+    * @return the node-local cache of chunks, exposing its hit and miss counts, or {@code null} if not enabled
+    */
+   ChunkBlockCache getBlockCache();
+
    void forceUnlock(String lockName);
 
 }
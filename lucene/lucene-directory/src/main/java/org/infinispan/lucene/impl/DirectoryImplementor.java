@@ -43,9 +43,15 @@ class DirectoryImplementor {
     private final SegmentReadLocker readLocks;
     private final FileCacheKey segmentsGenFileKey;
     private final int affinitySegmentId;
+    private final ChunkBlockCache blockCache;
 
     public DirectoryImplementor(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, int affinitySegmentId) {
+       this(metadataCache, chunksCache, distLocksCache, indexName, chunkSize, readLocker, fileListUpdatedAsync, affinitySegmentId, null);
+    }
+
+    public DirectoryImplementor(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, int affinitySegmentId, ChunkBlockCache blockCache) {
        this.affinitySegmentId = affinitySegmentId;
+       this.blockCache = blockCache;
        if (chunkSize <= 0)
            throw new IllegalArgumentException("chunkSize must be a positive integer");
         this.metadataCache = (AdvancedCache<FileCacheKey, FileMetadata>) metadataCache.getAdvancedCache().withFlags(Flag.SKIP_INDEXING);
@@ -58,6 +64,14 @@ public DirectoryImplementor(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache,
         this.readLocks = readLocker;
      }
 
+    void setFileListBatching(boolean batching) {
+       fileOps.setBatching(batching);
+    }
+
+    void flushFileList() {
+       fileOps.flush();
+    }
+
     String[] list() {
        return fileOps.listFilenames();
     }
@@ -69,6 +83,9 @@ boolean fileExists(final String name) {
     void deleteFile(final String name) {
        fileOps.deleteFileName(name);
        readLocks.deleteOrReleaseReadLock(name);
+       if (blockCache != null) {
+          blockCache.evictFile(name);
+       }
        if (log.isDebugEnabled()) {
           log.debugf("Removed file: %s from index: %s from %s", name, indexName, getAddress(chunksCache));
        }
@@ -98,6 +115,9 @@ void renameFile(final String from, final String to) {
 
        // now trigger deletion of old file chunks:
        readLocks.deleteOrReleaseReadLock(from);
+       if (blockCache != null) {
+          blockCache.evictFile(from);
+       }
        if (trace) {
           log.tracef("Renamed file from: %s to: %s in index %s from %s", from, to, indexName, getAddress(metadataCache));
        }
@@ -144,7 +164,7 @@ IndexInputContext openInput(final String name) throws IOException {
        }
        else if (!fileMetadata.isMultiChunked()) {
           //files smaller than chunkSize don't need a readLock
-          return new IndexInputContext(chunksCache, fileKey, fileMetadata, null, affinitySegmentId);
+          return new IndexInputContext(chunksCache, fileKey, fileMetadata, null, affinitySegmentId, blockCache);
        }
        else {
           boolean locked = readLocks.acquireReadLock(name);
@@ -152,7 +172,7 @@ else if (!fileMetadata.isMultiChunked()) {
              // safest reaction is to tell this file doesn't exist anymore.
              throw new FileNotFoundException("Error loading metadata for index file: " + fileKey);
           }
-          return new IndexInputContext(chunksCache, fileKey, fileMetadata, readLocks, affinitySegmentId);
+          return new IndexInputContext(chunksCache, fileKey, fileMetadata, readLocks, affinitySegmentId, blockCache);
        }
     }
 
@@ -184,6 +204,10 @@ public Cache<Object, Integer> getDistLocksCache() {
       return distLocksCache;
     }
 
+    public ChunkBlockCache getBlockCache() {
+       return blockCache;
+    }
+
    static Address getAddress(Cache<?, ?> cache) {
       Address address = cache.getCacheManager().getAddress();
       return address == null ? LocalModeAddress.INSTANCE : address;
@@ -53,9 +53,17 @@ class DirectoryLucene extends Directory implements DirectoryExtensions {
     * @param affinitySegmentId A hint interpreted by the consistent hashing function to force locality with a specific segment identifier
     */
    public DirectoryLucene(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, LockFactory lf, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, Executor deleteExecutor, int affinitySegmentId) {
+      this(metadataCache, chunksCache, distLocksCache, indexName, lf, chunkSize, readLocker, fileListUpdatedAsync, deleteExecutor, affinitySegmentId, null);
+   }
+
+   /**
+    * @param blockCache the node-local cache of chunks to read through, or {@code null} to always read from the chunksCache
+    * @see #DirectoryLucene(Cache, Cache, Cache, String, LockFactory, int, SegmentReadLocker, boolean, Executor, int)
+    */
+   public DirectoryLucene(Cache<?, ?> metadataCache, Cache<?, ?> chunksCache, Cache<?, ?> distLocksCache, String indexName, LockFactory lf, int chunkSize, SegmentReadLocker readLocker, boolean fileListUpdatedAsync, Executor deleteExecutor, int affinitySegmentId, ChunkBlockCache blockCache) {
       this.deleteExecutor = deleteExecutor;
       this.affinitySegmentId = affinitySegmentId;
-      this.impl = new DirectoryImplementor(metadataCache, chunksCache, distLocksCache, indexName, chunkSize, readLocker, fileListUpdatedAsync, affinitySegmentId);
+      this.impl = new DirectoryImplementor(metadataCache, chunksCache, distLocksCache, indexName, chunkSize, readLocker, fileListUpdatedAsync, affinitySegmentId, blockCache);
       this.indexName = indexName;
       this.lockFactory = lf;
    }
@@ -112,7 +120,16 @@ public IndexInput openInput(final String name, final IOContext context) throws I
     */
    @Override
    public void close() {
-      // Note the we don't really keep track of this anymore
+      // Note the we don't really keep track of this anymore, only the batched file list changes need to be written
+      impl.flushFileList();
+   }
+
+   /**
+    * Enables batching the changes of the list of files, which are then only written to the cache when the index is
+    * committed or the Directory is closed.
+    */
+   void setFileListBatching(boolean batching) {
+      impl.setFileListBatching(batching);
    }
 
    @Override
@@ -167,6 +184,11 @@ public Cache getDataCache() {
       return impl.getDataCache();
    }
 
+   @Override
+   public ChunkBlockCache getBlockCache() {
+      return impl.getBlockCache();
+   }
+
    /**
     * Force release of the lock in this directory. Make sure to understand the
     * consequences
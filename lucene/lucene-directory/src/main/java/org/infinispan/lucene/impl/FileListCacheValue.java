@@ -8,19 +8,20 @@
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.infinispan.atomic.DeltaAware;
 import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.AbstractExternalizer;
 import org.infinispan.lucene.ExternalizerIds;
 
+import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.ThreadSafe;
 
 /**
- * Maintains a Set of filenames contained in the index. Does not implement Set for simplicity, and does internal locking
- * to provide a safe Externalizer.
+ * Maintains a Set of filenames contained in the index. Does not implement Set for simplicity. The filenames are kept in
+ * an immutable copy-on-write snapshot, so reads and the Externalizer don't need any locking while writes are serialized
+ * by an internal lock.
  *
  * @author Sanne Grinovero
  * @since 7.0
@@ -28,18 +29,16 @@
 @ThreadSafe
 public final class FileListCacheValue implements DeltaAware {
 
-   private final Set<String> filenames = new HashSet<>();
+   private final Lock writeLock = new ReentrantLock();
+   @GuardedBy("writeLock")
    private FileListCacheValueDelta fileListValueDelta = new FileListCacheValueDelta();
-   private final Lock writeLock;
-   private final Lock readLock;
+   private volatile Set<String> filenames;
 
    /**
     * Constructs a new empty set of filenames
     */
    public FileListCacheValue() {
-      ReadWriteLock namesLock = new ReentrantReadWriteLock();
-      writeLock = namesLock.writeLock();
-      readLock = namesLock.readLock();
+      filenames = Collections.emptySet();
    }
 
    /**
@@ -47,16 +46,19 @@ public FileListCacheValue() {
     * @param listAll the strings to store.
     */
    public FileListCacheValue(String[] listAll) {
-      this();
-      Collections.addAll(filenames, listAll);
+      Set<String> names = new HashSet<>(listAll.length);
+      Collections.addAll(names, listAll);
+      filenames = Collections.unmodifiableSet(names);
    }
 
    protected void apply(List<Operation> operations) {
       writeLock.lock();
       try {
+         Set<String> copy = new HashSet<>(filenames);
          for (Operation operation : operations) {
-            operation.apply(filenames);
+            operation.apply(copy);
          }
+         filenames = Collections.unmodifiableSet(copy);
       } finally {
          writeLock.unlock();
       }
@@ -70,11 +72,14 @@ protected void apply(List<Operation> operations) {
    public boolean remove(String fileName) {
       writeLock.lock();
       try {
-         boolean removed = filenames.remove(fileName);
-         if (removed) {
-            fileListValueDelta.removeOperation(fileName);
+         if (!filenames.contains(fileName)) {
+            return false;
          }
-         return removed;
+         Set<String> copy = new HashSet<>(filenames);
+         copy.remove(fileName);
+         filenames = Collections.unmodifiableSet(copy);
+         fileListValueDelta.removeOperation(fileName);
+         return true;
       } finally {
          writeLock.unlock();
       }
@@ -88,11 +93,14 @@ public boolean remove(String fileName) {
    public boolean add(String fileName) {
       writeLock.lock();
       try {
-         boolean added = filenames.add(fileName);
-         if (added) {
-            fileListValueDelta.addOperation(fileName);
+         if (filenames.contains(fileName)) {
+            return false;
          }
-         return added;
+         Set<String> copy = new HashSet<>(filenames);
+         copy.add(fileName);
+         filenames = Collections.unmodifiableSet(copy);
+         fileListValueDelta.addOperation(fileName);
+         return true;
       } finally {
          writeLock.unlock();
       }
@@ -101,46 +109,37 @@ public boolean add(String fileName) {
    public boolean addAndRemove(String toAdd, String toRemove) {
       writeLock.lock();
       try {
-         boolean doneAdd = filenames.add(toAdd);
-         boolean doneRemove = filenames.remove(toRemove);
+         Set<String> copy = new HashSet<>(filenames);
+         boolean doneAdd = copy.add(toAdd);
+         boolean doneRemove = copy.remove(toRemove);
          if (doneAdd) {
             fileListValueDelta.addOperation(toAdd);
          }
          if (doneRemove) {
             fileListValueDelta.removeOperation(toRemove);
          }
-         return doneAdd || doneRemove;
+         if (doneAdd || doneRemove) {
+            filenames = Collections.unmodifiableSet(copy);
+            return true;
+         }
+         return false;
       } finally {
          writeLock.unlock();
       }
    }
 
    public String[] toArray() {
-      readLock.lock();
-      try {
-         return filenames.toArray(new String[filenames.size()]);
-      } finally {
-         readLock.unlock();
-      }
+      Set<String> snapshot = filenames;
+      return snapshot.toArray(new String[snapshot.size()]);
    }
 
    public boolean contains(String fileName) {
-      readLock.lock();
-      try {
-         return filenames.contains(fileName);
-      } finally {
-         readLock.unlock();
-      }
+      return filenames.contains(fileName);
    }
 
    @Override
    public int hashCode() {
-      readLock.lock();
-      try {
-         return filenames.hashCode();
-      } finally {
-         readLock.unlock();
-      }
+      return filenames.hashCode();
    }
 
    @Override
@@ -152,60 +151,44 @@ public boolean equals(Object obj) {
       if (FileListCacheValue.class != obj.getClass())
          return false;
       final FileListCacheValue other = (FileListCacheValue) obj;
-      final HashSet<String> copyFromOther;
-      other.readLock.lock();
-      try {
-         copyFromOther = new HashSet<>(other.filenames);
-      } finally {
-         other.readLock.unlock();
-      }
-      readLock.lock();
-      try {
-         return (filenames.equals(copyFromOther));
-      } finally {
-         readLock.unlock();
-      }
+      return filenames.equals(other.filenames);
    }
 
    @Override
    public String toString() {
-      readLock.lock();
-      try {
-         return "FileListCacheValue [filenames=" + filenames + "]";
-      } finally {
-         readLock.unlock();
-      }
+      return "FileListCacheValue [filenames=" + filenames + "]";
    }
 
    @Override
    public FileListCacheValueDelta delta() {
-      readLock.lock();
+      writeLock.lock();
       try {
          FileListCacheValueDelta toReturn = fileListValueDelta;
          fileListValueDelta = new FileListCacheValueDelta();
          return toReturn;
       } finally {
-         readLock.unlock();
+         writeLock.unlock();
       }
    }
 
    @Override
    public void commit() {
-      fileListValueDelta.discardOps();
+      writeLock.lock();
+      try {
+         fileListValueDelta.discardOps();
+      } finally {
+         writeLock.unlock();
+      }
    }
 
    public static final class Externalizer extends AbstractExternalizer<FileListCacheValue> {
 
       @Override
       public void writeObject(final ObjectOutput output, final FileListCacheValue key) throws IOException {
-         key.readLock.lock();
-         try {
-            UnsignedNumeric.writeUnsignedInt(output, key.filenames.size());
-            for (String name : key.filenames) {
-               output.writeUTF(name);
-            }
-         } finally {
-            key.readLock.unlock();
+         Set<String> snapshot = key.filenames;
+         UnsignedNumeric.writeUnsignedInt(output, snapshot.size());
+         for (String name : snapshot) {
+            output.writeUTF(name);
          }
       }
 
@@ -3,8 +3,9 @@
 import static org.infinispan.lucene.impl.DirectoryImplementor.getAddress;
 
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.apache.lucene.index.IndexFileNames;
 import org.infinispan.AdvancedCache;
 import org.infinispan.context.Flag;
 import org.infinispan.lucene.FileCacheKey;
@@ -18,6 +19,11 @@
 /**
  * Collects operations on the existing fileList, stored as a Set<String> having key
  * of type FileListCacheKey(indexName).
+ * <p>
+ * Readers don't lock, as {@link FileListCacheValue} exposes a copy-on-write snapshot. When batching is enabled, the
+ * changes are applied to the local copy of the list right away but only written to the cache, as a single delta, when
+ * an IndexWriter commits by renaming the pending segments file, when {@link #MAX_BATCH_SIZE} changes are pending or
+ * when {@link #flush()} is invoked.
  *
  * @author Sanne Grinovero
  * @since 4.1
@@ -31,10 +37,23 @@ public final class FileListOperations {
    private final AdvancedCache<FileListCacheKey, Object> cache;
    private final String indexName;
    private final AdvancedCache<FileListCacheKey, FileListCacheValue> cacheNoRetrieve;
-   private final Lock readLock;
-   private final Lock writeLock;
+   /**
+    * The maximum number of changes kept pending when batching, so the deletes happening between commits are eventually
+    * published.
+    */
+   static final int MAX_BATCH_SIZE = 64;
+
+   private final Lock writeLock = new ReentrantLock();
    private final boolean writeAsync;
    private final int affinitySegmentId;
+   private volatile boolean batching;
+
+   /**
+    * The list holding the changes not written to the cache yet, if any.
+    */
+   private volatile FileListCacheValue pendingFileList;
+   @GuardedBy("writeLock")
+   private int pendingChanges;
 
    @SuppressWarnings("unchecked")
    public FileListOperations(AdvancedCache<?, ?> cache, String indexName, boolean writeAsync, int affinitySegmentId) {
@@ -44,9 +63,31 @@ public FileListOperations(AdvancedCache<?, ?> cache, String indexName, boolean w
       this.cacheNoRetrieve = (AdvancedCache<FileListCacheKey, FileListCacheValue>) cache.withFlags(Flag.IGNORE_RETURN_VALUES);
       this.indexName = indexName;
       this.fileListCacheKey = new FileListCacheKey(indexName, affinitySegmentId);
-      ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
-      readLock = lock.readLock();
-      writeLock = lock.writeLock();
+   }
+
+   /**
+    * Enables or disables batching the changes of the file list. Disabling it writes the pending changes.
+    */
+   void setBatching(boolean batching) {
+      this.batching = batching;
+      if (!batching) {
+         flush();
+      }
+   }
+
+   /**
+    * Writes the pending changes of the file list to the cache, if any.
+    */
+   public void flush() {
+      writeLock.lock();
+      try {
+         FileListCacheValue fileList = pendingFileList;
+         if (fileList != null) {
+            publish(fileList);
+         }
+      } finally {
+         writeLock.unlock();
+      }
    }
 
    /**
@@ -56,10 +97,10 @@ public FileListOperations(AdvancedCache<?, ?> cache, String indexName, boolean w
    void addFileName(final String fileName) {
       writeLock.lock();
       try {
-         final FileListCacheValue fileList = getFileList();
+         final FileListCacheValue fileList = getCurrentFileList();
          boolean done = fileList.add(fileName);
          if (done) {
-            updateFileList(fileList);
+            updateFileList(fileList, false);
             if (trace)
                log.trace("Updated file listing: added " + fileName);
          }
@@ -86,10 +127,11 @@ public FileMetadata getFileMetadata(final String fileName) {
    public void removeAndAdd(final String toRemove, final String toAdd) {
       writeLock.lock();
       try {
-         FileListCacheValue fileList = getFileList();
+         FileListCacheValue fileList = getCurrentFileList();
          boolean done = fileList.addAndRemove(toAdd, toRemove);
          if (done) {
-            updateFileList(fileList);
+            // renaming the pending segments file is what commits the index
+            updateFileList(fileList, toAdd.startsWith(IndexFileNames.SEGMENTS));
             if (trace) {
                log.trace("Updated file listing: added " + toAdd + " and removed " + toRemove);
             }
@@ -103,12 +145,7 @@ public void removeAndAdd(final String toRemove, final String toAdd) {
     * @return an array containing all names of existing "files"
     */
    public String[] listFilenames() {
-      readLock.lock();
-      try {
-         return getFileList().toArray();
-      } finally {
-         readLock.unlock();
-      }
+      return getCurrentFileList().toArray();
    }
 
    /**
@@ -116,12 +153,7 @@ public String[] listFilenames() {
     * @return true if there is such a named file in this index
     */
    public boolean fileExists(final String fileName) {
-      readLock.lock();
-      try {
-         return getFileList().contains(fileName);
-      } finally {
-         readLock.unlock();
-      }
+      return getCurrentFileList().contains(fileName);
    }
 
    /**
@@ -131,10 +163,10 @@ public boolean fileExists(final String fileName) {
    public void deleteFileName(final String fileName) {
       writeLock.lock();
       try {
-         FileListCacheValue fileList = getFileList();
+         FileListCacheValue fileList = getCurrentFileList();
          boolean done = fileList.remove(fileName);
          if (done) {
-            updateFileList(fileList);
+            updateFileList(fileList, false);
             if (trace)
                log.trace("Updated file listing: removed " + fileName);
          }
@@ -144,11 +176,23 @@ public void deleteFileName(final String fileName) {
    }
 
    /**
-    * Makes sure the Cache is updated.
+    * Makes sure the Cache is updated, or keeps the change pending when batching.
     * @param fileList the new content
+    * @param commit true if the change commits the index, so the pending changes must be published
     */
    @GuardedBy("writeLock")
-   private void updateFileList(FileListCacheValue fileList) {
+   private void updateFileList(FileListCacheValue fileList, boolean commit) {
+      if (batching && !commit && ++pendingChanges < MAX_BATCH_SIZE) {
+         pendingFileList = fileList;
+      } else {
+         publish(fileList);
+      }
+   }
+
+   @GuardedBy("writeLock")
+   private void publish(FileListCacheValue fileList) {
+      // the delta carries all the changes made since the last write
+      pendingChanges = 0;
       if (writeAsync) {
          cacheNoRetrieve.putAsync(fileListCacheKey, fileList);
       }
@@ -158,12 +202,20 @@ private void updateFileList(FileListCacheValue fileList) {
          }
          cacheNoRetrieve.put(fileListCacheKey, fileList);
       }
+      pendingFileList = null;
+   }
+
+   /**
+    * @return the list including the pending changes, if any
+    */
+   private FileListCacheValue getCurrentFileList() {
+      FileListCacheValue fileList = pendingFileList;
+      return fileList != null ? fileList : getFileList();
    }
 
    /**
     * @return the current list of files being part of the index
     */
-   @GuardedBy("writeLock")
    private FileListCacheValue getFileList() {
       FileListCacheValue fileList = (FileListCacheValue) cache.get(fileListCacheKey);
       if (fileList == null) {
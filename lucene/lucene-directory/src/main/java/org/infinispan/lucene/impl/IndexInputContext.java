@@ -1,6 +1,7 @@
 package org.infinispan.lucene.impl;
 
 import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
 import org.infinispan.lucene.ChunkCacheKey;
 import org.infinispan.lucene.FileCacheKey;
 import org.infinispan.lucene.FileMetadata;
@@ -13,14 +14,28 @@ public final class IndexInputContext {
    final FileMetadata fileMetadata;
    final SegmentReadLocker readLocks;
    final int affinitySegmentId;
+   final ChunkBlockCache blockCache;
 
    public IndexInputContext(AdvancedCache<ChunkCacheKey, Object> chunksCache, FileCacheKey fileKey, FileMetadata fileMetadata,
          SegmentReadLocker readLocks, int affinitySegmentId) {
+      this(chunksCache, fileKey, fileMetadata, readLocks, affinitySegmentId, null);
+   }
+
+   public IndexInputContext(AdvancedCache<ChunkCacheKey, Object> chunksCache, FileCacheKey fileKey, FileMetadata fileMetadata,
+         SegmentReadLocker readLocks, int affinitySegmentId, ChunkBlockCache blockCache) {
             this.chunksCache = chunksCache;
             this.fileKey = fileKey;
             this.fileMetadata = fileMetadata;
             this.readLocks = readLocks;
             this.affinitySegmentId = affinitySegmentId;
+            this.blockCache = blockCache;
+   }
+
+   /**
+    * Reads a chunk through the block cache, if enabled.
+    */
+   static byte[] getChunk(Cache<ChunkCacheKey, Object> chunksCache, ChunkBlockCache blockCache, ChunkCacheKey key) {
+      return blockCache != null ? blockCache.get(key) : (byte[]) chunksCache.get(key);
    }
 
 }
@@ -25,6 +25,12 @@ public class InfinispanIndexInput extends IndexInput {
    private static final Log log = LogFactory.getLog(InfinispanIndexInput.class);
    private static final boolean trace = log.isTraceEnabled();
 
+   /**
+    * The number of consecutive chunks to load before reading ahead, so that random seeks don't fetch chunks which
+    * won't be read.
+    */
+   private static final int SEQUENTIAL_CHUNKS_BEFORE_READ_AHEAD = 2;
+
    protected boolean isClone;
 
    private final Cache<ChunkCacheKey, Object> chunksCache;
@@ -34,11 +40,15 @@ public class InfinispanIndexInput extends IndexInput {
    private final String filename;
    private final long fileLength;
    private final int affinitySegmentId;
+   private final ChunkBlockCache blockCache;
+   private final int numChunks;
 
    private int currentBufferSize;
    private byte[] buffer;
    private int bufferPosition;
    private int currentLoadedChunk = -1;
+   private int lastFetchedChunk = -1;
+   private int sequentialChunks;
 
    public InfinispanIndexInput(final IndexInputContext ctx) {
       super(ctx.fileKey.getFileName());
@@ -48,6 +58,8 @@ public InfinispanIndexInput(final IndexInputContext ctx) {
       this.fileLength = ctx.fileMetadata.getSize();
       this.readLocks = ctx.readLocks;
       this.affinitySegmentId = ctx.affinitySegmentId;
+      this.blockCache = ctx.blockCache;
+      this.numChunks = ctx.fileMetadata.getNumberOfChunks();
       this.filename = fileKey.getFileName();
       if (trace) {
          log.tracef("Opened new IndexInput for file:%s in index: %s", filename, fileKey.getIndexName());
@@ -55,7 +67,7 @@ public InfinispanIndexInput(final IndexInputContext ctx) {
    }
 
    private InfinispanIndexInput(final String resourceDescription, final Cache<ChunkCacheKey, Object> chunksCache,
-         FileCacheKey fileKey, int chunkSize, String filename, long fileLength, int affinitySegmentId) {
+         FileCacheKey fileKey, int chunkSize, String filename, long fileLength, int affinitySegmentId, ChunkBlockCache blockCache, int numChunks) {
       super(resourceDescription);
       this.chunksCache = chunksCache;
       this.fileKey = fileKey;
@@ -64,6 +76,8 @@ private InfinispanIndexInput(final String resourceDescription, final Cache<Chunk
       this.fileLength = fileLength;
       this.readLocks = null;//Lifecycle of this IndexInput is dependent on a parent IndexInput
       this.affinitySegmentId = affinitySegmentId;
+      this.blockCache = blockCache;
+      this.numChunks = numChunks;
       this.isClone = true;
    }
 
@@ -99,6 +113,8 @@ public void close() {
       currentBufferSize = 0;
       bufferPosition = 0;
       currentLoadedChunk = -1;
+      lastFetchedChunk = -1;
+      sequentialChunks = 0;
       buffer = null;
       if (isClone) return;
       readLocks.deleteOrReleaseReadLock(filename);
@@ -129,24 +145,44 @@ private void nextChunk() throws IOException {
 
    private void setBufferToCurrentChunk() throws IOException {
       ChunkCacheKey key = new ChunkCacheKey(fileKey.getIndexName(), filename, currentLoadedChunk, chunkSize, affinitySegmentId);
-      buffer = (byte[]) chunksCache.get(key);
+      buffer = IndexInputContext.getChunk(chunksCache, blockCache, key);
       if (buffer == null) {
          throw new IOException("Read past EOF: Chunk value could not be found for key " + key);
       }
       currentBufferSize = buffer.length;
+      if (chunkFetched() && blockCache != null) {
+         // reading sequentially: the next chunks will likely be needed too
+         blockCache.readAhead(key, numChunks);
+      }
+   }
+
+   /**
+    * Tracks the chunks loaded in a row.
+    *
+    * @return {@code true} if enough consecutive chunks were loaded to read ahead
+    */
+   private boolean chunkFetched() {
+      if (currentLoadedChunk == lastFetchedChunk + 1) {
+         sequentialChunks++;
+      } else {
+         sequentialChunks = 0;
+      }
+      lastFetchedChunk = currentLoadedChunk;
+      return sequentialChunks >= SEQUENTIAL_CHUNKS_BEFORE_READ_AHEAD;
    }
 
    // Lucene might try seek(pos) using an illegal pos value
    // RAMDirectory teaches to position the cursor to the end of previous chunk in this case
    private void setBufferToCurrentChunkIfPossible() {
       ChunkCacheKey key = new ChunkCacheKey(fileKey.getIndexName(), filename, currentLoadedChunk, chunkSize, affinitySegmentId);
-      buffer = (byte[]) chunksCache.get(key);
+      buffer = IndexInputContext.getChunk(chunksCache, blockCache, key);
       if (buffer == null) {
          currentLoadedChunk--;
          bufferPosition = chunkSize;
       }
       else {
          currentBufferSize = buffer.length;
+         chunkFetched();
       }
    }
 
@@ -170,7 +206,7 @@ public IndexInput slice(String sliceDescription, long offset, long length) throw
    }
 
    InfinispanIndexInput copyAndReset() {
-      return new InfinispanIndexInput(filename, chunksCache, fileKey, chunkSize, filename, fileLength, affinitySegmentId);
+      return new InfinispanIndexInput(filename, chunksCache, fileKey, chunkSize, filename, fileLength, affinitySegmentId, blockCache, numChunks);
    }
 
 }
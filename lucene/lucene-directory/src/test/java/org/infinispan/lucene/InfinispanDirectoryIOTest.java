@@ -17,6 +17,7 @@
 import org.infinispan.Cache;
 import org.infinispan.commons.util.Util;
 import org.infinispan.lucene.directory.DirectoryBuilder;
+import org.infinispan.lucene.impl.ChunkBlockCache;
 import org.infinispan.lucene.impl.DirectoryBuilderImpl;
 import org.infinispan.lucene.impl.DirectoryExtensions;
 import org.infinispan.lucene.impl.InfinispanIndexOutput;
@@ -26,6 +27,7 @@
 import org.infinispan.manager.CacheContainer;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestingUtil;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.testng.AssertJUnit;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
@@ -161,6 +163,68 @@ public void testReadWholeFile() throws IOException {
       DirectoryIntegrityCheck.verifyDirectoryStructure(cache, INDEXNAME);
    }
 
+   @Test
+   public void testReadThroughBlockCache() throws IOException {
+      final int BUFFER_SIZE = 64;
+      final int FILE_SIZE = 10000;
+      final String fileName = "MultipleChunks.txt";
+
+      Cache cache = cacheManager.getCache();
+      Directory dir = DirectoryBuilder.newDirectoryInstance(cache, cache, cache, INDEXNAME)
+         .chunkSize(BUFFER_SIZE)
+         .blockCacheSize(1024 * 1024)
+         .readAheadChunks(4)
+         .readAheadExecutor(new WithinThreadExecutor())
+         .overrideSegmentReadLocker(makeTestableReadLocker(cache, INDEXNAME))
+         .create();
+      ChunkBlockCache blockCache = ((DirectoryExtensions) dir).getBlockCache();
+
+      createFileWithRepeatableContent(dir, fileName, FILE_SIZE);
+      assertReadByteWorkingCorrectly(dir, fileName, FILE_SIZE);
+      //the first two chunks are loaded on demand, the sequential read makes the others read ahead
+      AssertJUnit.assertEquals(2, blockCache.getMisses());
+      AssertJUnit.assertEquals(FILE_SIZE / BUFFER_SIZE - 1, blockCache.getReadAheads());
+
+      assertReadBytesWorkingCorrectly(dir, fileName, FILE_SIZE, 33);
+      AssertJUnit.assertEquals(2, blockCache.getMisses());
+      AssertJUnit.assertTrue(blockCache.getHits() > FILE_SIZE / BUFFER_SIZE);
+
+      dir.deleteFile(fileName);
+      AssertJUnit.assertEquals(0, blockCache.getSize());
+      dir.close();
+   }
+
+   @Test
+   public void testNoReadAheadOnRandomSeeks() throws IOException {
+      final int BUFFER_SIZE = 64;
+      final int FILE_SIZE = 10000;
+      final String fileName = "RandomAccess.txt";
+
+      Cache cache = cacheManager.getCache();
+      Directory dir = DirectoryBuilder.newDirectoryInstance(cache, cache, cache, INDEXNAME)
+         .chunkSize(BUFFER_SIZE)
+         .blockCacheSize(1024 * 1024)
+         .readAheadChunks(4)
+         .readAheadExecutor(new WithinThreadExecutor())
+         .overrideSegmentReadLocker(makeTestableReadLocker(cache, INDEXNAME))
+         .create();
+      ChunkBlockCache blockCache = ((DirectoryExtensions) dir).getBlockCache();
+
+      createFileWithRepeatableContent(dir, fileName, FILE_SIZE);
+      IndexInput indexInput = dir.openInput(fileName, IOContext.DEFAULT);
+      byte[] bytes = new byte[2];
+      for (int chunk : new int[] {10, 50, 20, 100, 3}) {
+         // the read crosses into the next chunk
+         indexInput.seek(chunk * BUFFER_SIZE + BUFFER_SIZE - 1);
+         indexInput.readBytes(bytes, 0, bytes.length);
+      }
+      indexInput.close();
+      AssertJUnit.assertEquals(0, blockCache.getReadAheads());
+
+      dir.deleteFile(fileName);
+      dir.close();
+   }
+
    private SegmentReadLocker makeTestableReadLocker(Cache cache, String indexName) {
       return new DistributedSegmentReadLocker(cache, cache, cache, indexName, -1 ,true);
    }
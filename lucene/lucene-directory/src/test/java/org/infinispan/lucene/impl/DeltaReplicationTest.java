@@ -3,9 +3,13 @@
 import static org.infinispan.test.TestingUtil.extractComponent;
 import static org.infinispan.test.TestingUtil.wrapInboundInvocationHandler;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.lucene.document.Document;
@@ -61,6 +65,30 @@ public void testDeltasAreSent() throws Exception {
       assertOnlyDeltasWereSent(handler1, FileListCacheKey.class);
    }
 
+   @Test
+   public void testBatchedFileListUpdates() throws Exception {
+      Cache<Object, Object> cache0 = cache(0);
+      Cache<Object, Object> cache1 = cache(1);
+      Directory unbatched = DirectoryBuilder.newDirectoryInstance(cache0, cache0, cache0, "unbatched").create();
+      Directory batched = DirectoryBuilder.newDirectoryInstance(cache0, cache0, cache0, "batched")
+            .writeFileListInBatches(true).create();
+
+      InboundInvocationHandlerDecorator handler1 = replaceOn(cache1);
+
+      writeSingleDocument(unbatched);
+      writeSingleDocument(batched);
+      // publishes the deletes which happened after the commit
+      batched.close();
+
+      assertFileListMatch(cache0, cache1, "batched");
+      assertFalse(extract(cache1, "batched").toArray().length == 0);
+      assertOnlyDeltasWereSent(handler1, FileListCacheKey.class);
+      int unbatchedWrites = handler1.countFileListWrites("unbatched");
+      int batchedWrites = handler1.countFileListWrites("batched");
+      assertTrue("Expected fewer writes than " + unbatchedWrites + " but got " + batchedWrites,
+            batchedWrites < unbatchedWrites);
+   }
+
    private void assertOnlyDeltasWereSent(InboundInvocationHandlerDecorator handler, Class<?> clazz) {
       Set<AbstractDataWriteCommand> writeCommands = handler.writeCommands;
       for (AbstractDataWriteCommand command : writeCommands) {
@@ -105,6 +133,7 @@ private void writeSingleDocument(Directory dir) throws IOException {
 
    class InboundInvocationHandlerDecorator implements PerCacheInboundInvocationHandler {
       final Set<AbstractDataWriteCommand> writeCommands = new ConcurrentHashSet<>();
+      final List<FileListCacheKey> fileListWrites = Collections.synchronizedList(new ArrayList<>());
       final PerCacheInboundInvocationHandler delegate;
 
       InboundInvocationHandlerDecorator(PerCacheInboundInvocationHandler delegate) {
@@ -118,10 +147,20 @@ public void handle(CacheRpcCommand cmd, Reply reply, DeliverOrder order) {
             ReplicableCommand command = singleRpcCommand.getCommand();
             if (command instanceof AbstractDataWriteCommand) {
                writeCommands.add((AbstractDataWriteCommand) command);
+               Object key = ((AbstractDataWriteCommand) command).getKey();
+               if (key instanceof FileListCacheKey) {
+                  fileListWrites.add((FileListCacheKey) key);
+               }
             }
          }
          delegate.handle(cmd, reply, order);
       }
+
+      int countFileListWrites(String indexName) {
+         synchronized (fileListWrites) {
+            return (int) fileListWrites.stream().filter(k -> k.getIndexName().equals(indexName)).count();
+         }
+      }
    }
 
 }
@@ -27,6 +27,11 @@
 
    private final List<FilterSubscriptionImpl> filterSubscriptions = new ArrayList<>();
 
+   /**
+    * The filters that match any instance, which the predicate index never activates.
+    */
+   private final List<FilterSubscriptionImpl> tautologies = new ArrayList<>();
+
    private final BooleanFilterNormalizer booleanFilterNormalizer = new BooleanFilterNormalizer();
 
    private final BETreeMaker<AttributeId> treeMaker;
@@ -54,6 +59,10 @@ public List<FilterSubscriptionImpl> getFilterSubscriptions() {
       return filterSubscriptions;
    }
 
+   public List<FilterSubscriptionImpl> getTautologies() {
+      return tautologies;
+   }
+
    public FilterSubscriptionImpl<TypeMetadata, AttributeMetadata, AttributeId> addFilter(String queryString, Map<String, Object> namedParameters, BooleanExpr query, String[] projection, Class<?>[] projectionTypes, SortField[] sortFields, FilterCallback callback, boolean isDeltaFilter, Object[] eventTypes) {
       if (eventTypes != null) {
          if (eventTypes.length == 0) {
@@ -102,6 +111,9 @@ public FilterSubscriptionImpl<TypeMetadata, AttributeMetadata, AttributeId> addF
       filterSubscription.subscribe(predicateIndex);
       filterSubscription.index = filterSubscriptions.size();
       filterSubscriptions.add(filterSubscription);
+      if (beTree.getChildCounters()[0] == BETree.EXPR_TRUE) {
+         tautologies.add(filterSubscription);
+      }
       return filterSubscription;
    }
 
@@ -110,6 +122,7 @@ public void removeFilter(FilterSubscription filterSubscription) {
       filterSubscriptionImpl.unregisterProjection(predicateIndex);
       filterSubscriptionImpl.unsubscribe(predicateIndex);
       filterSubscriptions.remove(filterSubscriptionImpl);
+      tautologies.remove(filterSubscriptionImpl);
       for (int i = filterSubscriptionImpl.index; i < filterSubscriptions.size(); i++) {
          filterSubscriptions.get(i).index--;
       }
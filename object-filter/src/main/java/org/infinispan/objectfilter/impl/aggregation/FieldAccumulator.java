@@ -1,14 +1,17 @@
 package org.infinispan.objectfilter.impl.aggregation;
 
+import java.io.Serializable;
+
 import org.infinispan.objectfilter.impl.ql.AggregationFunction;
 
 /**
- * An accumulator is a stateless object that operates on row data.
+ * An accumulator is a stateless object that operates on row data. Accumulators are serializable so that partial
+ * aggregations can be computed remotely.
  *
  * @author anistor@redhat.com
  * @since 8.0
  */
-public abstract class FieldAccumulator {
+public abstract class FieldAccumulator implements Serializable {
 
    /**
     * Input column.
@@ -43,6 +46,16 @@ public static void merge(Object[] srcRow, Object[] accRow, FieldAccumulator[] ac
       }
    }
 
+   /**
+    * Merges a partially accumulated row, having the accumulated values in the output columns, into another accumulated
+    * row.
+    */
+   public static void mergePartial(Object[] partialRow, Object[] accRow, FieldAccumulator[] accumulators) {
+      for (FieldAccumulator acc : accumulators) {
+         acc.merge(accRow, partialRow[acc.outPos]);
+      }
+   }
+
    public static void finish(Object[] accRow, FieldAccumulator[] accumulators) {
       for (FieldAccumulator acc : accumulators) {
          acc.finish(accRow);
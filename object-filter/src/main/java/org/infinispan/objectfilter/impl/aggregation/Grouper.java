@@ -1,5 +1,6 @@
 package org.infinispan.objectfilter.impl.aggregation;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -7,11 +8,15 @@
 
 /**
  * Groups rows by their grouping fields and computes aggregates.
+ * <p>
+ * A grouper that was not finished yet holds partial aggregation state and can be {@link #merge merged} into another
+ * grouper having the same configuration. This allows computing the groups on each node that owns data and shipping
+ * only the partial groups, instead of every row, to the node that finishes the computation.
  *
  * @author anistor@redhat.com
  * @since 8.0
  */
-public final class Grouper {
+public final class Grouper implements Serializable {
 
    /**
     * The number of columns at the beginning of the row that are used for grouping.
@@ -36,7 +41,7 @@ public final class Grouper {
     */
    private final Object[] globalGroup;
 
-   private final class GroupRowKey {
+   private final class GroupRowKey implements Serializable {
 
       private final Object[] row;
 
@@ -113,36 +118,52 @@ public void addRow(Object[] row) {
       if (row.length != inRowLength) {
          throw new IllegalArgumentException("Row length mismatch");
       }
+      Object[] group = noOfGroupingColumns > 0 ? getGroup(row) : globalGroup;
+      if (accumulators != null) {
+         if (twoPhaseAcc) {
+            FieldAccumulator.merge(row, group, accumulators);
+         } else {
+            FieldAccumulator.update(row, group, accumulators);
+         }
+      }
+   }
+
+   /**
+    * Merges the partial groups of another grouper, created with the same grouping columns and accumulators and not
+    * finished yet, into this one.
+    */
+   public void merge(Grouper other) {
+      if (other.outRowLength != outRowLength || other.noOfGroupingColumns != noOfGroupingColumns) {
+         throw new IllegalArgumentException("Cannot merge groupers having a different configuration");
+      }
       if (noOfGroupingColumns > 0) {
-         // compute grouping and aggregations
-         GroupRowKey groupRowKey = new GroupRowKey(row);
-         Object[] existingGroup = groups.get(groupRowKey);
-         if (existingGroup == null) {
-            existingGroup = new Object[outRowLength];
-            System.arraycopy(row, 0, existingGroup, 0, noOfGroupingColumns);
+         for (Object[] partialGroup : other.groups.values()) {
+            Object[] group = getGroup(partialGroup);
             if (accumulators != null) {
-               FieldAccumulator.init(existingGroup, accumulators);
-               for (FieldAccumulator acc : accumulators) {
-                  acc.init(existingGroup);
-               }
-            }
-            groups.put(groupRowKey, existingGroup);
-         }
-         if (accumulators != null) {
-            if (twoPhaseAcc) {
-               FieldAccumulator.merge(row, existingGroup, accumulators);
-            } else {
-               FieldAccumulator.update(row, existingGroup, accumulators);
+               FieldAccumulator.mergePartial(partialGroup, group, accumulators);
             }
          }
       } else {
-         // we have global aggregations only
-         if (twoPhaseAcc) {
-            FieldAccumulator.merge(row, globalGroup, accumulators);
-         } else {
-            FieldAccumulator.update(row, globalGroup, accumulators);
+         FieldAccumulator.mergePartial(other.globalGroup, globalGroup, accumulators);
+      }
+   }
+
+   /**
+    * Finds the group of a row, creating it if needed. The grouping columns are the first columns of both input rows and
+    * group rows.
+    */
+   private Object[] getGroup(Object[] row) {
+      GroupRowKey groupRowKey = new GroupRowKey(row);
+      Object[] existingGroup = groups.get(groupRowKey);
+      if (existingGroup == null) {
+         existingGroup = new Object[outRowLength];
+         System.arraycopy(row, 0, existingGroup, 0, noOfGroupingColumns);
+         if (accumulators != null) {
+            FieldAccumulator.init(existingGroup, accumulators);
          }
+         groups.put(new GroupRowKey(existingGroup), existingGroup);
       }
+      return existingGroup;
    }
 
    public Iterator<Object[]> finish() {
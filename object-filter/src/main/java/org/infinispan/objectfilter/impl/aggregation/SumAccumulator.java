@@ -1,8 +1,5 @@
 package org.infinispan.objectfilter.impl.aggregation;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
-
 /**
  * Computes the sum of {@link Number}s. Returns {@link Long} when applied to fields of integral types (other than
  * BigInteger); Double when applied to state-fields of floating point types; BigInteger when applied to state-fields of
@@ -42,16 +39,8 @@ public void update(Object[] accRow, Object val) {
             value = value.longValue();
             Number sum = (Number) accRow[outPos];
             if (sum != null) {
-               if (fieldType == Long.class) {
-                  value = sum.longValue() + value.longValue();
-               } else if (fieldType == BigInteger.class) {
-                  value = ((BigInteger) sum).add((BigInteger) value);
-               } else if (fieldType == BigDecimal.class) {
-                  value = ((BigDecimal) sum).add((BigDecimal) value);
-               } else {
-                  // byte, short, int
-                  value = sum.intValue() + value.intValue();
-               }
+               // always a long, so partial sums computed in different places have the same type when merged
+               value = sum.longValue() + value.longValue();
             }
             accRow[outPos] = value;
          }
@@ -1,15 +1,19 @@
 package org.infinispan.objectfilter.impl.predicateindex;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.infinispan.objectfilter.impl.FilterRegistry;
 import org.infinispan.objectfilter.impl.FilterSubscriptionImpl;
-import org.infinispan.objectfilter.impl.predicateindex.be.BETree;
 
 /**
- * Stores processing state during the matching process of all filters registered with a Matcher.
+ * Stores processing state during the matching process of all filters registered with a Matcher. Only the filters
+ * having a predicate reached by the instance get an evaluation context, so the cost of notifying the subscribers grows
+ * with the number of filters actually involved rather than with the number of registered filters.
  *
  * @param <TypeMetadata>      representation of entity type information, ie a Class object or anything that represents a
  *                            type
@@ -33,14 +37,19 @@
 
    private final Object eventType;
 
+   private static final Comparator<FilterSubscriptionImpl> REGISTRATION_ORDER = Comparator.comparingInt(s -> s.index);
+
    private FilterEvalContext singleFilterContext;
 
    /**
     * Each filter subscription has its own evaluation context, created on demand.
     */
-   private FilterEvalContext[] filterContexts;
+   private Map<FilterSubscriptionImpl, FilterEvalContext> filterContexts;
 
-   private List<FilterSubscriptionImpl> filterSubscriptions;
+   /**
+    * The filters matching any instance, which need a context even if none of their predicates was reached.
+    */
+   private List<FilterSubscriptionImpl> tautologies;
 
    private Map<Predicate<?>, Counter> suspendedPredicateSubscriptionCounts;
 
@@ -73,8 +82,8 @@ public Object getEventType() {
    public void initMultiFilterContext(FilterRegistry<TypeMetadata, AttributeMetadata, AttributeId> filterRegistry) {
       rootNode = filterRegistry.getPredicateIndex().getRoot();
       suspendedPredicateSubscriptionCounts = new HashMap<>();
-      filterSubscriptions = filterRegistry.getFilterSubscriptions();
-      filterContexts = new FilterEvalContext[filterRegistry.getFilterSubscriptions().size()];
+      tautologies = filterRegistry.getTautologies();
+      filterContexts = new IdentityHashMap<>();
    }
 
    public FilterEvalContext initSingleFilterContext(FilterSubscriptionImpl filterSubscription) {
@@ -91,10 +100,10 @@ public FilterEvalContext getFilterEvalContext(FilterSubscriptionImpl filterSubsc
          return singleFilterContext;
       }
 
-      FilterEvalContext filterEvalContext = filterContexts[filterSubscription.index];
+      FilterEvalContext filterEvalContext = filterContexts.get(filterSubscription);
       if (filterEvalContext == null) {
          filterEvalContext = new FilterEvalContext(this, filterSubscription);
-         filterContexts[filterSubscription.index] = filterEvalContext;
+         filterContexts.put(filterSubscription, filterEvalContext);
       }
       return filterEvalContext;
    }
@@ -130,18 +139,11 @@ public void notifySubscribers() {
          return;
       }
 
-      for (int i = 0; i < filterContexts.length; i++) {
-         FilterSubscriptionImpl s = filterSubscriptions.get(i);
-         FilterEvalContext filterEvalContext = filterContexts[i];
-         if (filterEvalContext == null) {
-            if (s.getBETree().getChildCounters()[0] == BETree.EXPR_TRUE) {
-               // this filter is a tautology and since its FilterEvalContext was never activated that means it also does not have projections
-               filterEvalContext = new FilterEvalContext(this, s);
-               filterContexts[i] = filterEvalContext;
-            } else {
-               continue;
-            }
-         }
+      // tautologies were never activated by the predicate index, which also means they do not have projections
+      activateTautologies();
+
+      for (FilterSubscriptionImpl s : sortedSubscriptions(filterContexts, null)) {
+         FilterEvalContext filterEvalContext = filterContexts.get(s);
          if (filterEvalContext.isMatching()) {
             s.getCallback().onFilterResult(userContext, eventType, instance, filterEvalContext.getProjection(), filterEvalContext.getSortProjection());
          }
@@ -153,25 +155,15 @@ public void notifyDeltaSubscribers(MatcherEvalContext other, Object joiningEvent
          throw new AssertionError("Single filters contexts do not support delta matching.");
       }
 
-      for (int i = 0; i < filterContexts.length; i++) {
-         FilterSubscriptionImpl s = filterSubscriptions.get(i);
-
-         FilterEvalContext filterEvalContext1 = filterContexts[i];
-         if (filterEvalContext1 == null && s.getBETree().getChildCounters()[0] == BETree.EXPR_TRUE) {
-            // this filter is a tautology and since its FilterEvalContext was never activated that means it also does not have projections
-            filterEvalContext1 = new FilterEvalContext(this, s);
-            filterContexts[i] = filterEvalContext1;
-         }
+      // tautologies were never activated by the predicate index, which also means they do not have projections
+      activateTautologies();
+      if (other != null) {
+         other.activateTautologies();
+      }
 
-         FilterEvalContext filterEvalContext2 = null;
-         if (other != null) {
-            filterEvalContext2 = other.filterContexts[i];
-            if (filterEvalContext2 == null && s.getBETree().getChildCounters()[0] == BETree.EXPR_TRUE) {
-               // this filter is a tautology and since its FilterEvalContext was never activated that means it also does not have projections
-               filterEvalContext2 = new FilterEvalContext(other, s);
-               other.filterContexts[i] = filterEvalContext2;
-            }
-         }
+      for (FilterSubscriptionImpl s : sortedSubscriptions(filterContexts, other != null ? other.filterContexts : null)) {
+         FilterEvalContext filterEvalContext1 = filterContexts.get(s);
+         FilterEvalContext filterEvalContext2 = other != null ? (FilterEvalContext) other.filterContexts.get(s) : null;
 
          boolean before = filterEvalContext1 != null && filterEvalContext1.isMatching();
          boolean after = filterEvalContext2 != null && filterEvalContext2.isMatching();
@@ -186,6 +178,29 @@ public void notifyDeltaSubscribers(MatcherEvalContext other, Object joiningEvent
       }
    }
 
+   private void activateTautologies() {
+      for (FilterSubscriptionImpl s : tautologies) {
+         getFilterEvalContext(s);
+      }
+   }
+
+   /**
+    * Collects the filters having a context in either of the given maps, in registration order.
+    */
+   private static List<FilterSubscriptionImpl> sortedSubscriptions(Map<FilterSubscriptionImpl, FilterEvalContext> contexts1,
+                                                                   Map<FilterSubscriptionImpl, FilterEvalContext> contexts2) {
+      List<FilterSubscriptionImpl> subscriptions = new ArrayList<>(contexts1.keySet());
+      if (contexts2 != null) {
+         for (FilterSubscriptionImpl s : contexts2.keySet()) {
+            if (!contexts1.containsKey(s)) {
+               subscriptions.add(s);
+            }
+         }
+      }
+      subscriptions.sort(REGISTRATION_ORDER);
+      return subscriptions;
+   }
+
    protected abstract void processAttributes(AttributeNode<AttributeMetadata, AttributeId> node, Object instance);
 
    private static final class Counter {
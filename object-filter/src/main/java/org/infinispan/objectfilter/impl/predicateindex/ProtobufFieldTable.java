@@ -0,0 +1,370 @@
+package org.infinispan.objectfilter.impl.predicateindex;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.infinispan.protostream.descriptors.FieldDescriptor;
+
+/**
+ * The location of the fields of a protobuf encoded message, found by a single scan of its tags. Values are only decoded
+ * when asked for and nested messages are skipped over, their own table being built the first time they are accessed.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @since 9.1
+ */
+final class ProtobufFieldTable {
+
+   private static final int WIRETYPE_VARINT = 0;
+   private static final int WIRETYPE_FIXED64 = 1;
+   private static final int WIRETYPE_LENGTH_DELIMITED = 2;
+   private static final int WIRETYPE_START_GROUP = 3;
+   private static final int WIRETYPE_END_GROUP = 4;
+   private static final int WIRETYPE_FIXED32 = 5;
+
+   private static final int[] EMPTY = new int[0];
+
+   private final byte[] bytes;
+
+   /**
+    * The field number, wire type, value offset and value length of each tag, in the order they were encountered. The
+    * length is only meaningful for length delimited values and groups.
+    */
+   private int[] fieldNumbers;
+   private int[] wireTypes;
+   private int[] offsets;
+   private int[] lengths;
+   private int size;
+
+   /**
+    * The tag positions sorted by field number, preserving the encounter order for equal field numbers.
+    */
+   private int[] byFieldNumber;
+
+   /**
+    * The tables of the nested messages, indexed by tag position, built on demand.
+    */
+   private ProtobufFieldTable[] nested;
+
+   /**
+    * Scans the tags of a message.
+    *
+    * @param bytes  the buffer holding the message
+    * @param offset the offset of the message in the buffer
+    * @param length the length of the message
+    */
+   ProtobufFieldTable(byte[] bytes, int offset, int length) throws IOException {
+      this.bytes = bytes;
+      int capacity = 8;
+      fieldNumbers = new int[capacity];
+      wireTypes = new int[capacity];
+      offsets = new int[capacity];
+      lengths = new int[capacity];
+      scan(offset, offset + length);
+      sortByFieldNumber();
+   }
+
+   private void scan(int pos, int end) throws IOException {
+      while (pos < end) {
+         long tag = readVarint(pos, end);
+         pos = varintEnd;
+         int fieldNumber = (int) (tag >>> 3);
+         int wireType = (int) (tag & 7);
+         int valueOffset = pos;
+         int valueLength = 0;
+         switch (wireType) {
+            case WIRETYPE_VARINT:
+               readVarint(pos, end);
+               pos = varintEnd;
+               break;
+            case WIRETYPE_FIXED64:
+               pos += 8;
+               break;
+            case WIRETYPE_FIXED32:
+               pos += 4;
+               break;
+            case WIRETYPE_LENGTH_DELIMITED:
+               valueLength = (int) readVarint(pos, end);
+               valueOffset = varintEnd;
+               pos = valueOffset + valueLength;
+               break;
+            case WIRETYPE_START_GROUP:
+               pos = skipGroup(fieldNumber, pos, end);
+               // the length excludes the end group tag
+               valueLength = groupEnd - valueOffset;
+               break;
+            default:
+               throw malformed();
+         }
+         if (pos > end || valueLength < 0) {
+            throw malformed();
+         }
+         add(fieldNumber, wireType, valueOffset, valueLength);
+      }
+   }
+
+   /**
+    * Skips the content of a group and its end tag.
+    *
+    * @return the position after the end group tag
+    */
+   private int skipGroup(int fieldNumber, int pos, int end) throws IOException {
+      while (pos < end) {
+         int tagStart = pos;
+         long tag = readVarint(pos, end);
+         pos = varintEnd;
+         int wireType = (int) (tag & 7);
+         switch (wireType) {
+            case WIRETYPE_VARINT:
+               readVarint(pos, end);
+               pos = varintEnd;
+               break;
+            case WIRETYPE_FIXED64:
+               pos += 8;
+               break;
+            case WIRETYPE_FIXED32:
+               pos += 4;
+               break;
+            case WIRETYPE_LENGTH_DELIMITED:
+               int length = (int) readVarint(pos, end);
+               pos = varintEnd + length;
+               break;
+            case WIRETYPE_START_GROUP:
+               pos = skipGroup((int) (tag >>> 3), pos, end);
+               break;
+            case WIRETYPE_END_GROUP:
+               if ((int) (tag >>> 3) != fieldNumber) {
+                  throw malformed();
+               }
+               groupEnd = tagStart;
+               return pos;
+            default:
+               throw malformed();
+         }
+      }
+      throw malformed();
+   }
+
+   private void add(int fieldNumber, int wireType, int offset, int length) {
+      if (size == fieldNumbers.length) {
+         int capacity = size * 2;
+         fieldNumbers = Arrays.copyOf(fieldNumbers, capacity);
+         wireTypes = Arrays.copyOf(wireTypes, capacity);
+         offsets = Arrays.copyOf(offsets, capacity);
+         lengths = Arrays.copyOf(lengths, capacity);
+      }
+      fieldNumbers[size] = fieldNumber;
+      wireTypes[size] = wireType;
+      offsets[size] = offset;
+      lengths[size] = length;
+      size++;
+   }
+
+   private void sortByFieldNumber() {
+      // insertion sort, messages are usually encoded in field number order already
+      byFieldNumber = new int[size];
+      for (int i = 0; i < size; i++) {
+         int j = i;
+         while (j > 0 && fieldNumbers[byFieldNumber[j - 1]] > fieldNumbers[i]) {
+            byFieldNumber[j] = byFieldNumber[j - 1];
+            j--;
+         }
+         byFieldNumber[j] = i;
+      }
+   }
+
+   byte[] getBytes() {
+      return bytes;
+   }
+
+   int size() {
+      return size;
+   }
+
+   int getFieldNumber(int position) {
+      return fieldNumbers[position];
+   }
+
+   /**
+    * @return the positions of the tags having the given field number, in encounter order
+    */
+   int[] positions(int fieldNumber) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+         int mid = (low + high) >>> 1;
+         if (fieldNumbers[byFieldNumber[mid]] < fieldNumber) {
+            low = mid + 1;
+         } else {
+            high = mid;
+         }
+      }
+      int from = low;
+      while (low < size && fieldNumbers[byFieldNumber[low]] == fieldNumber) {
+         low++;
+      }
+      return from == low ? EMPTY : Arrays.copyOfRange(byFieldNumber, from, low);
+   }
+
+   /**
+    * @return the table of the nested message found at the given tag position
+    */
+   ProtobufFieldTable getNested(int position) throws IOException {
+      if (wireTypes[position] != WIRETYPE_LENGTH_DELIMITED && wireTypes[position] != WIRETYPE_START_GROUP) {
+         throw malformed();
+      }
+      if (nested == null) {
+         nested = new ProtobufFieldTable[size];
+      }
+      ProtobufFieldTable table = nested[position];
+      if (table == null) {
+         table = new ProtobufFieldTable(bytes, offsets[position], lengths[position]);
+         nested[position] = table;
+      }
+      return table;
+   }
+
+   /**
+    * Decodes the scalar value found at the given tag position.
+    */
+   Object getValue(int position, FieldDescriptor fieldDescriptor) throws IOException {
+      return decode(fieldDescriptor, wireTypes[position], offsets[position], lengths[position]);
+   }
+
+   /**
+    * Decodes the values of a repeated scalar field encoded as a packed sequence at the given tag position.
+    *
+    * @return the values, or {@code null} if the value is not packed
+    */
+   Object[] getPackedValues(int position, FieldDescriptor fieldDescriptor) throws IOException {
+      int elementWireType = scalarWireType(fieldDescriptor);
+      if (wireTypes[position] != WIRETYPE_LENGTH_DELIMITED || elementWireType == WIRETYPE_LENGTH_DELIMITED) {
+         return null;
+      }
+      int pos = offsets[position];
+      int end = pos + lengths[position];
+      Object[] values = new Object[Math.min(lengths[position], 16)];
+      int count = 0;
+      while (pos < end) {
+         if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+         }
+         values[count++] = decode(fieldDescriptor, elementWireType, pos, 0);
+         if (elementWireType == WIRETYPE_VARINT) {
+            readVarint(pos, end);
+            pos = varintEnd;
+         } else {
+            pos += elementWireType == WIRETYPE_FIXED64 ? 8 : 4;
+         }
+      }
+      return Arrays.copyOf(values, count);
+   }
+
+   private Object decode(FieldDescriptor fieldDescriptor, int wireType, int offset, int length) throws IOException {
+      if (wireType != scalarWireType(fieldDescriptor)) {
+         throw malformed();
+      }
+      switch (fieldDescriptor.getType()) {
+         case DOUBLE:
+            return Double.longBitsToDouble(readFixed64(offset));
+         case FLOAT:
+            return Float.intBitsToFloat(readFixed32(offset));
+         case INT64:
+         case UINT64:
+            return readVarint(offset, bytes.length);
+         case INT32:
+         case UINT32:
+            return (int) readVarint(offset, bytes.length);
+         case ENUM:
+            return (int) readVarint(offset, bytes.length);
+         case FIXED64:
+         case SFIXED64:
+            return readFixed64(offset);
+         case FIXED32:
+         case SFIXED32:
+            return readFixed32(offset);
+         case BOOL:
+            return readVarint(offset, bytes.length) != 0;
+         case SINT32: {
+            int n = (int) readVarint(offset, bytes.length);
+            return (n >>> 1) ^ -(n & 1);
+         }
+         case SINT64: {
+            long n = readVarint(offset, bytes.length);
+            return (n >>> 1) ^ -(n & 1);
+         }
+         case STRING:
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+         case BYTES:
+            return Arrays.copyOfRange(bytes, offset, offset + length);
+         default:
+            throw new IllegalArgumentException("Not a scalar field : " + fieldDescriptor.getName());
+      }
+   }
+
+   private static int scalarWireType(FieldDescriptor fieldDescriptor) {
+      switch (fieldDescriptor.getType()) {
+         case DOUBLE:
+         case FIXED64:
+         case SFIXED64:
+            return WIRETYPE_FIXED64;
+         case FLOAT:
+         case FIXED32:
+         case SFIXED32:
+            return WIRETYPE_FIXED32;
+         case STRING:
+         case BYTES:
+         case MESSAGE:
+            return WIRETYPE_LENGTH_DELIMITED;
+         case GROUP:
+            return WIRETYPE_START_GROUP;
+         default:
+            return WIRETYPE_VARINT;
+      }
+   }
+
+   /**
+    * The position following the last varint read.
+    */
+   private int varintEnd;
+
+   /**
+    * The position of the end tag of the last group skipped.
+    */
+   private int groupEnd;
+
+   private long readVarint(int pos, int end) throws IOException {
+      long result = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+         if (pos >= end) {
+            throw malformed();
+         }
+         byte b = bytes[pos++];
+         result |= (long) (b & 0x7F) << shift;
+         if ((b & 0x80) == 0) {
+            varintEnd = pos;
+            return result;
+         }
+      }
+      throw malformed();
+   }
+
+   private int readFixed32(int pos) throws IOException {
+      if (pos + 4 > bytes.length) {
+         throw malformed();
+      }
+      return (bytes[pos] & 0xFF)
+            | (bytes[pos + 1] & 0xFF) << 8
+            | (bytes[pos + 2] & 0xFF) << 16
+            | (bytes[pos + 3] & 0xFF) << 24;
+   }
+
+   private long readFixed64(int pos) throws IOException {
+      return (readFixed32(pos) & 0xFFFFFFFFL) | (long) readFixed32(pos + 4) << 32;
+   }
+
+   private static IOException malformed() {
+      return new IOException("Malformed protobuf message");
+   }
+}
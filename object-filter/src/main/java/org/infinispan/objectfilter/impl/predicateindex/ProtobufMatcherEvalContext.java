@@ -1,193 +1,151 @@
 package org.infinispan.objectfilter.impl.predicateindex;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 
-import org.infinispan.protostream.MessageContext;
-import org.infinispan.protostream.ProtobufParser;
 import org.infinispan.protostream.SerializationContext;
-import org.infinispan.protostream.TagHandler;
 import org.infinispan.protostream.WrappedMessage;
 import org.infinispan.protostream.descriptors.Descriptor;
 import org.infinispan.protostream.descriptors.FieldDescriptor;
 import org.infinispan.protostream.descriptors.JavaType;
 
 /**
+ * Evaluates the filters on a protobuf encoded {@link WrappedMessage}. The fields are located by a single scan of the
+ * message and only the fields having attribute nodes are decoded, nested messages being scanned only if some of their
+ * fields are needed. The scan of the last message is kept by each thread, so evaluating the same payload again, for
+ * example by several client listener filters for the same event, does not need to scan it again.
+ *
  * @author anistor@redhat.com
  * @since 7.0
  */
-public final class ProtobufMatcherEvalContext extends MatcherEvalContext<Descriptor, FieldDescriptor, Integer> implements TagHandler {
+public final class ProtobufMatcherEvalContext extends MatcherEvalContext<Descriptor, FieldDescriptor, Integer> {
 
-   private boolean payloadStarted = false;
-   private int skipping = 0;
+   private static final ThreadLocal<WeakReference<ProtobufFieldTable>> lastWrapperTable = new ThreadLocal<>();
 
-   private byte[] payload;
-   private String entityTypeName;
+   private ProtobufFieldTable payloadTable;
    private Descriptor payloadMessageDescriptor;
-   private MessageContext messageContext;
-
-   private final SerializationContext serializationContext;
 
    public ProtobufMatcherEvalContext(Object userContext, Object eventType, Object instance, Descriptor wrappedMessageDescriptor, SerializationContext serializationContext) {
       super(userContext, eventType, instance);
-      this.serializationContext = serializationContext;
       try {
-         ProtobufParser.INSTANCE.parse(this, wrappedMessageDescriptor, (byte[]) getInstance());
-      } catch (IOException e) {
-         throw new RuntimeException(e);  // TODO [anistor] proper exception handling needed
-      }
-   }
-
-   @Override
-   public Descriptor getEntityType() {
-      return payloadMessageDescriptor;
-   }
-
-   @Override
-   public void onStart() {
-   }
-
-   //todo [anistor] missing tags need to be fired with default value defined in proto schema or null if they admit null; missing messages need to be fired with null at end of the nesting level. BTW, seems like this is better to be included in Protostream as a feature
-   @Override
-   public void onTag(int fieldNumber, FieldDescriptor fieldDescriptor, Object tagValue) {
-      if (payloadStarted) {
-         if (skipping == 0) {
-            AttributeNode<FieldDescriptor, Integer> attrNode = currentNode.getChild(fieldNumber);
-            if (attrNode != null) { // process only 'interesting' tags
-               messageContext.markField(fieldNumber);
-               attrNode.processValue(tagValue, this);
+         ProtobufFieldTable wrapperTable = getWrapperTable((byte[]) getInstance());
+         String entityTypeName = null;
+         for (int i = 0; i < wrapperTable.size(); i++) {
+            int fieldNumber = wrapperTable.getFieldNumber(i);
+            switch (fieldNumber) {
+               case WrappedMessage.WRAPPED_DESCRIPTOR_FULL_NAME:
+                  entityTypeName = (String) wrapperTable.getValue(i, wrappedMessageDescriptor.findFieldByNumber(fieldNumber));
+                  break;
+
+               case WrappedMessage.WRAPPED_DESCRIPTOR_ID:
+                  entityTypeName = serializationContext.getTypeNameById((Integer) wrapperTable.getValue(i, wrappedMessageDescriptor.findFieldByNumber(fieldNumber)));
+                  break;
+
+               case WrappedMessage.WRAPPED_MESSAGE:
+                  payloadTable = wrapperTable.getNested(i);
+                  break;
+
+               case WrappedMessage.WRAPPED_DOUBLE:
+               case WrappedMessage.WRAPPED_FLOAT:
+               case WrappedMessage.WRAPPED_INT64:
+               case WrappedMessage.WRAPPED_UINT64:
+               case WrappedMessage.WRAPPED_INT32:
+               case WrappedMessage.WRAPPED_FIXED64:
+               case WrappedMessage.WRAPPED_FIXED32:
+               case WrappedMessage.WRAPPED_BOOL:
+               case WrappedMessage.WRAPPED_STRING:
+               case WrappedMessage.WRAPPED_BYTES:
+               case WrappedMessage.WRAPPED_UINT32:
+               case WrappedMessage.WRAPPED_SFIXED32:
+               case WrappedMessage.WRAPPED_SFIXED64:
+               case WrappedMessage.WRAPPED_SINT32:
+               case WrappedMessage.WRAPPED_SINT64:
+               case WrappedMessage.WRAPPED_ENUM:
+                  break;
+               // this is a primitive value, which we ignore for now due to lack of support for querying primitives
+
+               default:
+                  throw new IllegalStateException("Unexpected field : " + fieldNumber);
             }
          }
-      } else {
-         switch (fieldNumber) {
-            case WrappedMessage.WRAPPED_DESCRIPTOR_FULL_NAME:
-               entityTypeName = (String) tagValue;
-               break;
-
-            case WrappedMessage.WRAPPED_DESCRIPTOR_ID:
-               entityTypeName = serializationContext.getTypeNameById((Integer) tagValue);
-               break;
-
-            case WrappedMessage.WRAPPED_MESSAGE:
-               payload = (byte[]) tagValue;
-               break;
-
-            case WrappedMessage.WRAPPED_DOUBLE:
-            case WrappedMessage.WRAPPED_FLOAT:
-            case WrappedMessage.WRAPPED_INT64:
-            case WrappedMessage.WRAPPED_UINT64:
-            case WrappedMessage.WRAPPED_INT32:
-            case WrappedMessage.WRAPPED_FIXED64:
-            case WrappedMessage.WRAPPED_FIXED32:
-            case WrappedMessage.WRAPPED_BOOL:
-            case WrappedMessage.WRAPPED_STRING:
-            case WrappedMessage.WRAPPED_BYTES:
-            case WrappedMessage.WRAPPED_UINT32:
-            case WrappedMessage.WRAPPED_SFIXED32:
-            case WrappedMessage.WRAPPED_SFIXED64:
-            case WrappedMessage.WRAPPED_SINT32:
-            case WrappedMessage.WRAPPED_SINT64:
-            case WrappedMessage.WRAPPED_ENUM:
-               break;
-            // this is a primitive value, which we ignore for now due to lack of support for querying primitives
-
-            default:
-               throw new IllegalStateException("Unexpected field : " + fieldNumber);
-         }
-      }
-   }
-
-   @Override
-   public void onStartNested(int fieldNumber, FieldDescriptor fieldDescriptor) {
-      if (payloadStarted) {
-         if (skipping == 0) {
-            AttributeNode<FieldDescriptor, Integer> attrNode = currentNode.getChild(fieldNumber);
-            if (attrNode != null) { // ignore 'uninteresting' tags
-               messageContext.markField(fieldNumber);
-               pushContext(fieldDescriptor.getName(), fieldDescriptor.getMessageType());
-               currentNode = attrNode;
-               return;
+         if (payloadTable != null) {
+            if (entityTypeName == null) {
+               throw new IllegalStateException("Descriptor name is missing");
             }
+            payloadMessageDescriptor = serializationContext.getMessageDescriptor(entityTypeName);
          }
-
-         // found an uninteresting nesting level, start skipping from here on until this level ends
-         skipping++;
-      } else {
-         throw new IllegalStateException("No nested message is supported");
+      } catch (IOException e) {
+         throw new RuntimeException(e);  // TODO [anistor] proper exception handling needed
       }
    }
 
-   @Override
-   public void onEndNested(int fieldNumber, FieldDescriptor fieldDescriptor) {
-      if (payloadStarted) {
-         if (skipping == 0) {
-            popContext();
-            currentNode = currentNode.getParent();
-         } else {
-            skipping--;
-         }
-      } else {
-         throw new IllegalStateException("No nested message is supported");
+   private static ProtobufFieldTable getWrapperTable(byte[] bytes) throws IOException {
+      WeakReference<ProtobufFieldTable> ref = lastWrapperTable.get();
+      ProtobufFieldTable table = ref != null ? ref.get() : null;
+      if (table == null || table.getBytes() != bytes) {
+         table = new ProtobufFieldTable(bytes, 0, bytes.length);
+         lastWrapperTable.set(new WeakReference<>(table));
       }
+      return table;
    }
 
    @Override
-   public void onEnd() {
-      if (payloadStarted) {
-         processMissingFields();
-      } else {
-         payloadStarted = true;
-
-         if (payload != null) {
-            if (entityTypeName == null) {
-               throw new IllegalStateException("Descriptor name is missing");
-            }
-
-            payloadMessageDescriptor = serializationContext.getMessageDescriptor(entityTypeName);
-            messageContext = new MessageContext<>(null, null, payloadMessageDescriptor);
-         }
-      }
+   public Descriptor getEntityType() {
+      return payloadMessageDescriptor;
    }
 
    @Override
    protected void processAttributes(AttributeNode<FieldDescriptor, Integer> node, Object instance) {
       try {
-         ProtobufParser.INSTANCE.parse(this, payloadMessageDescriptor, payload);
+         processMessage(node, payloadTable);
       } catch (IOException e) {
          throw new RuntimeException(e);  // TODO [anistor] proper exception handling needed
       }
    }
 
-   private void pushContext(String fieldName, Descriptor messageDescriptor) {
-      messageContext = new MessageContext<>(messageContext, fieldName, messageDescriptor);
-   }
-
-   private void popContext() {
-      processMissingFields();
-      messageContext = messageContext.getParentContext();
-   }
-
-   private void processMissingFields() {
-      for (FieldDescriptor fd : messageContext.getMessageDescriptor().getFields()) {
-         AttributeNode<FieldDescriptor, Integer> attributeNode = currentNode.getChild(fd.getNumber());
-         boolean fieldSeen = messageContext.isFieldMarked(fd.getNumber());
-         if (attributeNode != null && (fd.isRepeated() || !fieldSeen)) {
-            if (fd.isRepeated()) {
-               // Repeated fields can't have default values but we need to at least take care of IS [NOT] NULL predicates
-               if (fieldSeen) {
-                  // Here we use a dummy value since it would not matter anyway for IS [NOT] NULL
-                  attributeNode.processValue(AttributeNode.DUMMY_VALUE, this);
-               } else {
-                  processNullAttribute(attributeNode);
-               }
+   //todo [anistor] missing tags need to be fired with default value defined in proto schema or null if they admit null; missing messages need to be fired with null at end of the nesting level. BTW, seems like this is better to be included in Protostream as a feature
+   private void processMessage(AttributeNode<FieldDescriptor, Integer> node, ProtobufFieldTable table) throws IOException {
+      for (AttributeNode<FieldDescriptor, Integer> attributeNode : node.getChildren()) {
+         FieldDescriptor fd = attributeNode.getMetadata();
+         if (fd == null) {
+            // not a field of this message type
+            continue;
+         }
+         int[] positions = table.positions(fd.getNumber());
+         for (int position : positions) {
+            if (fd.getJavaType() == JavaType.MESSAGE) {
+               processMessage(attributeNode, table.getNested(position));
             } else {
-               if (fd.getJavaType() == JavaType.MESSAGE) {
-                  processNullAttribute(attributeNode);
+               Object[] packedValues = fd.isRepeated() ? table.getPackedValues(position, fd) : null;
+               if (packedValues != null) {
+                  for (Object value : packedValues) {
+                     attributeNode.processValue(value, this);
+                  }
                } else {
-                  Object defaultValue = fd.hasDefaultValue() ? fd.getDefaultValue() : null;
-                  attributeNode.processValue(defaultValue, this);
+                  attributeNode.processValue(table.getValue(position, fd), this);
                }
             }
          }
+         processMissingField(attributeNode, fd, positions.length != 0);
+      }
+   }
+
+   private void processMissingField(AttributeNode<FieldDescriptor, Integer> attributeNode, FieldDescriptor fd, boolean fieldSeen) {
+      if (fd.isRepeated()) {
+         // Repeated fields can't have default values but we need to at least take care of IS [NOT] NULL predicates
+         if (fieldSeen) {
+            // Here we use a dummy value since it would not matter anyway for IS [NOT] NULL
+            attributeNode.processValue(AttributeNode.DUMMY_VALUE, this);
+         } else {
+            processNullAttribute(attributeNode);
+         }
+      } else if (!fieldSeen) {
+         if (fd.getJavaType() == JavaType.MESSAGE) {
+            processNullAttribute(attributeNode);
+         } else {
+            Object defaultValue = fd.hasDefaultValue() ? fd.getDefaultValue() : null;
+            attributeNode.processValue(defaultValue, this);
+         }
       }
    }
 
@@ -0,0 +1,97 @@
+package org.infinispan.objectfilter.impl.aggregation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.infinispan.objectfilter.impl.ql.AggregationFunction;
+import org.junit.Test;
+
+/**
+ * @since 9.1
+ */
+public class GrouperTest {
+
+   private static final FieldAccumulator[] ACCUMULATORS = {
+         FieldAccumulator.makeAccumulator(AggregationFunction.SUM, 1, 1, Integer.class),
+         FieldAccumulator.makeAccumulator(AggregationFunction.AVG, 1, 2, Integer.class),
+         FieldAccumulator.makeAccumulator(AggregationFunction.COUNT, 1, 3, Integer.class),
+         FieldAccumulator.makeAccumulator(AggregationFunction.MIN, 1, 4, Integer.class),
+         FieldAccumulator.makeAccumulator(AggregationFunction.MAX, 1, 5, Integer.class)
+   };
+
+   private static final Object[][] ROWS = {
+         {"a", 1}, {"b", 10}, {"a", 3}, {"b", null}, {"a", 8}, {"c", 4}, {"b", 30}
+   };
+
+   @Test
+   public void testMergedPartialGroupsEqualSingleGrouper() throws Exception {
+      Grouper single = new Grouper(1, ACCUMULATORS, false);
+      for (Object[] row : ROWS) {
+         single.addRow(row);
+      }
+
+      Grouper first = new Grouper(1, ACCUMULATORS, false);
+      Grouper second = new Grouper(1, ACCUMULATORS, false);
+      for (int i = 0; i < ROWS.length; i++) {
+         (i % 2 == 0 ? first : second).addRow(ROWS[i]);
+      }
+      Grouper merged = new Grouper(1, ACCUMULATORS, false);
+      merged.merge(serializeAndDeserialize(first));
+      merged.merge(serializeAndDeserialize(second));
+
+      Map<Object, Object[]> expected = toMap(single.finish());
+      Map<Object, Object[]> actual = toMap(merged.finish());
+      assertEquals(expected.keySet(), actual.keySet());
+      for (Object group : expected.keySet()) {
+         assertArrayEquals(expected.get(group), actual.get(group));
+      }
+      assertArrayEquals(new Object[]{"a", 12L, 4.0d, 3L, 1, 8}, actual.get("a"));
+      assertArrayEquals(new Object[]{"b", 40L, 20.0d, 2L, 10, 30}, actual.get("b"));
+   }
+
+   @Test
+   public void testMergedGlobalAggregation() throws Exception {
+      FieldAccumulator[] accumulators = {
+            FieldAccumulator.makeAccumulator(AggregationFunction.COUNT, 0, 0, Integer.class),
+            FieldAccumulator.makeAccumulator(AggregationFunction.AVG, 0, 1, Integer.class)
+      };
+      Grouper first = new Grouper(0, accumulators, false);
+      first.addRow(new Object[]{2});
+      first.addRow(new Object[]{4});
+      Grouper second = new Grouper(0, accumulators, false);
+      second.addRow(new Object[]{9});
+
+      Grouper merged = new Grouper(0, accumulators, false);
+      merged.merge(first);
+      merged.merge(second);
+
+      Iterator<Object[]> result = merged.finish();
+      assertArrayEquals(new Object[]{3L, 5.0d}, result.next());
+      assertFalse(result.hasNext());
+   }
+
+   private static Map<Object, Object[]> toMap(Iterator<Object[]> rows) {
+      Map<Object, Object[]> map = new HashMap<>();
+      rows.forEachRemaining(row -> map.put(row[0], row));
+      return map;
+   }
+
+   private static Grouper serializeAndDeserialize(Grouper grouper) throws Exception {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+         out.writeObject(grouper);
+      }
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+         return (Grouper) in.readObject();
+      }
+   }
+}
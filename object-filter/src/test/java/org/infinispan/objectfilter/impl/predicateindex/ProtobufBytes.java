@@ -0,0 +1,107 @@
+package org.infinispan.objectfilter.impl.predicateindex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.infinispan.protostream.FileDescriptorSource;
+import org.infinispan.protostream.ProtobufUtil;
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.protostream.WrappedMessage;
+import org.infinispan.protostream.config.Configuration;
+
+/**
+ * Writes protobuf encoded messages field by field, so that the tests control the exact wire format, including
+ * encodings that a marshaller would not produce. The messages are described by {@link #SCHEMA}.
+ *
+ * @since 9.1
+ */
+final class ProtobufBytes {
+
+   static final int VARINT = 0;
+   static final int FIXED64 = 1;
+   static final int LENGTH_DELIMITED = 2;
+   static final int START_GROUP = 3;
+   static final int END_GROUP = 4;
+   static final int FIXED32 = 5;
+
+   static final String SCHEMA = "package test;\n" +
+         "message Item {\n" +
+         "   optional int32 count = 1 [default = 7];\n" +
+         "   repeated int32 numbers = 2;\n" +
+         "   optional string name = 3;\n" +
+         "   optional int64 size = 5;\n" +
+         "   optional sint32 delta = 6;\n" +
+         "   optional double price = 7;\n" +
+         "   optional fixed32 code = 8;\n" +
+         "   repeated Sub subs = 9;\n" +
+         "   repeated sint64 offsets = 10;\n" +
+         "}\n" +
+         "message Sub {\n" +
+         "   optional bool flag = 1;\n" +
+         "}\n";
+
+   private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+   ProtobufBytes tag(int fieldNumber, int wireType) {
+      return varint((fieldNumber << 3) | wireType);
+   }
+
+   ProtobufBytes varint(long value) {
+      while ((value & ~0x7FL) != 0) {
+         out.write((int) (value & 0x7F) | 0x80);
+         value >>>= 7;
+      }
+      out.write((int) value);
+      return this;
+   }
+
+   ProtobufBytes fixed32(int value) {
+      for (int i = 0; i < 4; i++) {
+         out.write(value >>> (8 * i));
+      }
+      return this;
+   }
+
+   ProtobufBytes fixed64(long value) {
+      fixed32((int) value);
+      return fixed32((int) (value >>> 32));
+   }
+
+   ProtobufBytes raw(byte... bytes) {
+      out.write(bytes, 0, bytes.length);
+      return this;
+   }
+
+   ProtobufBytes varintField(int fieldNumber, long value) {
+      return tag(fieldNumber, VARINT).varint(value);
+   }
+
+   ProtobufBytes bytesField(int fieldNumber, byte[] value) {
+      return tag(fieldNumber, LENGTH_DELIMITED).varint(value.length).raw(value);
+   }
+
+   ProtobufBytes stringField(int fieldNumber, String value) {
+      return bytesField(fieldNumber, value.getBytes(StandardCharsets.UTF_8));
+   }
+
+   byte[] toByteArray() {
+      return out.toByteArray();
+   }
+
+   /**
+    * @return the bytes wrapped in a {@link WrappedMessage} of the given type
+    */
+   byte[] wrap(String typeName) {
+      return new ProtobufBytes()
+            .stringField(WrappedMessage.WRAPPED_DESCRIPTOR_FULL_NAME, typeName)
+            .bytesField(WrappedMessage.WRAPPED_MESSAGE, toByteArray())
+            .toByteArray();
+   }
+
+   static SerializationContext createSerializationContext() throws IOException {
+      SerializationContext serCtx = ProtobufUtil.newSerializationContext(Configuration.builder().build());
+      serCtx.registerProtoFiles(FileDescriptorSource.fromString("test_item.proto", SCHEMA));
+      return serCtx;
+   }
+}
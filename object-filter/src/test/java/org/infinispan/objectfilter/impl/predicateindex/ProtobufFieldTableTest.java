@@ -0,0 +1,257 @@
+package org.infinispan.objectfilter.impl.predicateindex;
+
+import static org.infinispan.objectfilter.impl.predicateindex.ProtobufBytes.END_GROUP;
+import static org.infinispan.objectfilter.impl.predicateindex.ProtobufBytes.FIXED32;
+import static org.infinispan.objectfilter.impl.predicateindex.ProtobufBytes.FIXED64;
+import static org.infinispan.objectfilter.impl.predicateindex.ProtobufBytes.LENGTH_DELIMITED;
+import static org.infinispan.objectfilter.impl.predicateindex.ProtobufBytes.START_GROUP;
+import static org.infinispan.objectfilter.impl.predicateindex.ProtobufBytes.VARINT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.protostream.descriptors.Descriptor;
+import org.infinispan.protostream.descriptors.FieldDescriptor;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @since 9.1
+ */
+public class ProtobufFieldTableTest {
+
+   private static Descriptor item;
+   private static Descriptor sub;
+
+   @BeforeClass
+   public static void setUp() throws Exception {
+      SerializationContext serCtx = ProtobufBytes.createSerializationContext();
+      item = serCtx.getMessageDescriptor("test.Item");
+      sub = serCtx.getMessageDescriptor("test.Sub");
+   }
+
+   private static FieldDescriptor field(Descriptor descriptor, String name) {
+      return descriptor.findFieldByName(name);
+   }
+
+   private static ProtobufFieldTable scan(ProtobufBytes message) throws IOException {
+      byte[] bytes = message.toByteArray();
+      return new ProtobufFieldTable(bytes, 0, bytes.length);
+   }
+
+   @Test
+   public void testScalarFields() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes()
+            .varintField(1, 150)
+            .stringField(3, "abc")
+            .varintField(5, 1L << 40)
+            .varintField(6, 5)   // zigzag encoding of -3
+            .tag(7, FIXED64).fixed64(Double.doubleToLongBits(1.5))
+            .tag(8, FIXED32).fixed32(0xCAFE));
+
+      assertEquals(6, table.size());
+      assertEquals(150, table.getValue(table.positions(1)[0], field(item, "count")));
+      assertEquals("abc", table.getValue(table.positions(3)[0], field(item, "name")));
+      assertEquals(1L << 40, table.getValue(table.positions(5)[0], field(item, "size")));
+      assertEquals(-3, table.getValue(table.positions(6)[0], field(item, "delta")));
+      assertEquals(1.5, table.getValue(table.positions(7)[0], field(item, "price")));
+      assertEquals(0xCAFE, table.getValue(table.positions(8)[0], field(item, "code")));
+   }
+
+   @Test
+   public void testFieldsOutOfOrder() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes()
+            .stringField(3, "first")
+            .varintField(1, 1)
+            .stringField(3, "second"));
+
+      int[] positions = table.positions(3);
+      assertArrayEquals(new int[]{0, 2}, positions);
+      assertEquals("first", table.getValue(positions[0], field(item, "name")));
+      assertEquals("second", table.getValue(positions[1], field(item, "name")));
+      assertArrayEquals(new int[]{1}, table.positions(1));
+   }
+
+   @Test
+   public void testMissingField() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes().varintField(1, 1).varintField(5, 2));
+
+      assertEquals(0, table.positions(3).length);
+      assertEquals(0, table.positions(0).length);
+      assertEquals(0, table.positions(100).length);
+   }
+
+   @Test
+   public void testEmptyMessage() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes());
+
+      assertEquals(0, table.size());
+      assertEquals(0, table.positions(1).length);
+   }
+
+   @Test
+   public void testUnpackedRepeatedField() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes()
+            .varintField(2, 1)
+            .varintField(2, 300)
+            .varintField(2, 2));
+
+      FieldDescriptor numbers = field(item, "numbers");
+      int[] positions = table.positions(2);
+      assertEquals(3, positions.length);
+      assertNull(table.getPackedValues(positions[0], numbers));
+      assertEquals(1, table.getValue(positions[0], numbers));
+      assertEquals(300, table.getValue(positions[1], numbers));
+      assertEquals(2, table.getValue(positions[2], numbers));
+   }
+
+   @Test
+   public void testPackedRepeatedField() throws Exception {
+      byte[] packed = new ProtobufBytes().varint(1).varint(300).varint(2).toByteArray();
+      ProtobufFieldTable table = scan(new ProtobufBytes().bytesField(2, packed));
+
+      int[] positions = table.positions(2);
+      assertEquals(1, positions.length);
+      assertArrayEquals(new Object[]{1, 300, 2}, table.getPackedValues(positions[0], field(item, "numbers")));
+   }
+
+   @Test
+   public void testPackedZigZagField() throws Exception {
+      byte[] packed = new ProtobufBytes().varint(1).varint(4).toByteArray();
+      ProtobufFieldTable table = scan(new ProtobufBytes().bytesField(10, packed));
+
+      assertArrayEquals(new Object[]{-1L, 2L}, table.getPackedValues(table.positions(10)[0], field(item, "offsets")));
+   }
+
+   @Test
+   public void testStringIsNotPacked() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes().stringField(3, "abc"));
+
+      assertNull(table.getPackedValues(0, field(item, "name")));
+   }
+
+   @Test
+   public void testNestedMessage() throws Exception {
+      byte[] nested = new ProtobufBytes().varintField(1, 1).toByteArray();
+      ProtobufFieldTable table = scan(new ProtobufBytes()
+            .bytesField(9, nested)
+            .varintField(1, 5)
+            .bytesField(9, new byte[0]));
+
+      int[] positions = table.positions(9);
+      assertEquals(2, positions.length);
+      ProtobufFieldTable first = table.getNested(positions[0]);
+      assertEquals(true, first.getValue(first.positions(1)[0], field(sub, "flag")));
+      // the nested table is built once
+      assertSame(first, table.getNested(positions[0]));
+      assertEquals(0, table.getNested(positions[1]).size());
+      assertEquals(5, table.getValue(table.positions(1)[0], field(item, "count")));
+   }
+
+   @Test
+   public void testGroup() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes()
+            .tag(4, START_GROUP)
+            .varintField(5, 9)
+            .tag(11, START_GROUP).stringField(3, "inner").tag(11, END_GROUP)
+            .tag(4, END_GROUP)
+            .varintField(1, 3));
+
+      assertEquals(2, table.size());
+      ProtobufFieldTable group = table.getNested(table.positions(4)[0]);
+      assertEquals(2, group.size());
+      assertEquals(9L, group.getValue(group.positions(5)[0], field(item, "size")));
+      ProtobufFieldTable innerGroup = group.getNested(group.positions(11)[0]);
+      assertEquals("inner", innerGroup.getValue(innerGroup.positions(3)[0], field(item, "name")));
+      assertEquals(3, table.getValue(table.positions(1)[0], field(item, "count")));
+   }
+
+   @Test
+   public void testMessageInsideLargerBuffer() throws Exception {
+      byte[] bytes = new ProtobufBytes().varintField(1, 42).varintField(1, 43).toByteArray();
+      // only the second field belongs to the message
+      ProtobufFieldTable table = new ProtobufFieldTable(bytes, 2, 2);
+
+      assertEquals(1, table.size());
+      assertEquals(43, table.getValue(0, field(item, "count")));
+   }
+
+   @Test(expected = IOException.class)
+   public void testTruncatedVarint() throws Exception {
+      scan(new ProtobufBytes().tag(1, VARINT).raw((byte) 0x96));
+   }
+
+   @Test(expected = IOException.class)
+   public void testTruncatedTag() throws Exception {
+      scan(new ProtobufBytes().varintField(1, 1).raw((byte) 0x80));
+   }
+
+   @Test(expected = IOException.class)
+   public void testTruncatedLengthDelimited() throws Exception {
+      scan(new ProtobufBytes().tag(3, LENGTH_DELIMITED).varint(5).raw((byte) 'a'));
+   }
+
+   @Test(expected = IOException.class)
+   public void testTruncatedFixed64() throws Exception {
+      scan(new ProtobufBytes().tag(7, FIXED64).fixed32(1));
+   }
+
+   @Test(expected = IOException.class)
+   public void testTruncatedFixed32() throws Exception {
+      scan(new ProtobufBytes().tag(8, FIXED32).raw((byte) 1, (byte) 2));
+   }
+
+   @Test(expected = IOException.class)
+   public void testNegativeLength() throws Exception {
+      scan(new ProtobufBytes().tag(3, LENGTH_DELIMITED).varint(-1L));
+   }
+
+   @Test(expected = IOException.class)
+   public void testUnterminatedGroup() throws Exception {
+      scan(new ProtobufBytes().tag(4, START_GROUP).varintField(5, 9));
+   }
+
+   @Test(expected = IOException.class)
+   public void testMismatchedEndGroup() throws Exception {
+      scan(new ProtobufBytes().tag(4, START_GROUP).varintField(5, 9).tag(6, END_GROUP));
+   }
+
+   @Test(expected = IOException.class)
+   public void testUnexpectedEndGroup() throws Exception {
+      scan(new ProtobufBytes().tag(4, END_GROUP));
+   }
+
+   @Test(expected = IOException.class)
+   public void testInvalidWireType() throws Exception {
+      scan(new ProtobufBytes().tag(1, 6).varint(1));
+   }
+
+   @Test(expected = IOException.class)
+   public void testVarintTooLong() throws Exception {
+      scan(new ProtobufBytes().tag(1, VARINT)
+            .raw((byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                  (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x01));
+   }
+
+   @Test(expected = IOException.class)
+   public void testWireTypeMismatch() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes().stringField(1, "not a number"));
+      table.getValue(0, field(item, "count"));
+   }
+
+   @Test(expected = IOException.class)
+   public void testScalarIsNotNested() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes().varintField(9, 1));
+      table.getNested(0);
+   }
+
+   @Test(expected = IOException.class)
+   public void testMalformedNestedMessage() throws Exception {
+      ProtobufFieldTable table = scan(new ProtobufBytes().bytesField(9, new byte[]{(byte) 0x08}));
+      table.getNested(0);
+   }
+}
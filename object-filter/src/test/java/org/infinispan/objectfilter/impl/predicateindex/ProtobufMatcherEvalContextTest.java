@@ -0,0 +1,107 @@
+package org.infinispan.objectfilter.impl.predicateindex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.ProtobufMatcher;
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.protostream.WrappedMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since 9.1
+ */
+public class ProtobufMatcherEvalContextTest {
+
+   private SerializationContext serCtx;
+
+   @Before
+   public void setUp() throws Exception {
+      serCtx = ProtobufBytes.createSerializationContext();
+   }
+
+   private boolean match(String queryString, byte[] instance) {
+      ObjectFilter objectFilter = new ProtobufMatcher(serCtx, null).getObjectFilter(queryString);
+      return objectFilter.filter(instance) != null;
+   }
+
+   @Test
+   public void testMissingFieldHasDefaultValue() throws Exception {
+      byte[] withoutCount = new ProtobufBytes().stringField(3, "abc").wrap("test.Item");
+      byte[] withCount = new ProtobufBytes().varintField(1, 3).wrap("test.Item");
+
+      assertTrue(match("from test.Item i where i.count = 7", withoutCount));
+      assertFalse(match("from test.Item i where i.count = 7", withCount));
+      assertTrue(match("from test.Item i where i.count = 3", withCount));
+   }
+
+   @Test
+   public void testMissingFieldIsNull() throws Exception {
+      byte[] withoutName = new ProtobufBytes().varintField(1, 3).wrap("test.Item");
+      byte[] withName = new ProtobufBytes().stringField(3, "abc").wrap("test.Item");
+
+      assertTrue(match("from test.Item i where i.name is null", withoutName));
+      assertFalse(match("from test.Item i where i.name is null", withName));
+   }
+
+   @Test
+   public void testMissingNestedMessageIsNull() throws Exception {
+      byte[] withoutSubs = new ProtobufBytes().varintField(1, 3).wrap("test.Item");
+      byte[] withSubs = new ProtobufBytes().bytesField(9, new ProtobufBytes().varintField(1, 1).toByteArray())
+            .wrap("test.Item");
+
+      assertTrue(match("from test.Item i where i.subs is null", withoutSubs));
+      assertFalse(match("from test.Item i where i.subs is null", withSubs));
+      assertTrue(match("from test.Item i where i.subs.flag = true", withSubs));
+   }
+
+   @Test
+   public void testUnpackedRepeatedField() throws Exception {
+      byte[] unpacked = new ProtobufBytes().varintField(2, 1).varintField(2, 300).varintField(2, 2).wrap("test.Item");
+
+      assertTrue(match("from test.Item i where i.numbers = 300", unpacked));
+      assertFalse(match("from test.Item i where i.numbers = 301", unpacked));
+   }
+
+   @Test
+   public void testPackedRepeatedField() throws Exception {
+      byte[] values = new ProtobufBytes().varint(1).varint(300).varint(2).toByteArray();
+      byte[] packed = new ProtobufBytes().bytesField(2, values).wrap("test.Item");
+
+      assertTrue(match("from test.Item i where i.numbers = 300", packed));
+      assertTrue(match("from test.Item i where i.numbers = 2", packed));
+      assertFalse(match("from test.Item i where i.numbers = 301", packed));
+   }
+
+   @Test
+   public void testWrapperTableIsNotReusedForAnotherArray() throws Exception {
+      byte[] item = new ProtobufBytes().varintField(1, 3).wrap("test.Item");
+      byte[] sub = new ProtobufBytes().varintField(1, 1).wrap("test.Sub");
+
+      assertEquals("test.Item", entityType(item));
+      assertEquals("test.Sub", entityType(sub));
+      // an equal copy is a different instance, scanned again
+      assertEquals("test.Item", entityType(item.clone()));
+      assertEquals("test.Item", entityType(item));
+   }
+
+   @Test
+   public void testSameFilterOnDifferentArrays() throws Exception {
+      ObjectFilter objectFilter = new ProtobufMatcher(serCtx, null).getObjectFilter("from test.Item i where i.count = 3");
+      byte[] three = new ProtobufBytes().varintField(1, 3).wrap("test.Item");
+      byte[] four = new ProtobufBytes().varintField(1, 4).wrap("test.Item");
+
+      assertTrue(objectFilter.filter(three) != null);
+      assertFalse(objectFilter.filter(four) != null);
+      assertTrue(objectFilter.filter(three) != null);
+   }
+
+   private String entityType(byte[] instance) {
+      ProtobufMatcherEvalContext ctx = new ProtobufMatcherEvalContext(null, null, instance,
+            serCtx.getMessageDescriptor(WrappedMessage.PROTOBUF_TYPE_NAME), serCtx);
+      return ctx.getEntityType().getFullName();
+   }
+}
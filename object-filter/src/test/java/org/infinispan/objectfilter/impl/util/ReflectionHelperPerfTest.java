@@ -0,0 +1,65 @@
+package org.infinispan.objectfilter.impl.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.infinispan.commons.test.annotations.Profiling;
+import org.infinispan.objectfilter.test.model.Person;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares reading the attributes through method handles and through plain reflection.
+ *
+ * @since 9.1
+ */
+@Category(Profiling.class)
+@Ignore
+public class ReflectionHelperPerfTest {
+
+   private final int ITERATIONS = 10000000;
+
+   @Test
+   public void testMethodHandleGetterPerf() throws Exception {
+      printTime("testMethodHandleGetterPerf", measureRead("age", true));
+   }
+
+   @Test
+   public void testReflectionGetterPerf() throws Exception {
+      printTime("testReflectionGetterPerf", measureRead("age", false));
+   }
+
+   @Test
+   public void testMethodHandleFieldPerf() throws Exception {
+      printTime("testMethodHandleFieldPerf", measureRead("_age", true));
+   }
+
+   @Test
+   public void testReflectionFieldPerf() throws Exception {
+      printTime("testReflectionFieldPerf", measureRead("_age", false));
+   }
+
+   private long measureRead(String propertyName, boolean useMethodHandles) throws Exception {
+      ReflectionHelper.PropertyAccessor accessor = ReflectionHelper.getAccessor(Person.class, propertyName, useMethodHandles);
+      Person person = new Person();
+      person.setAge(40);
+      Object expected = accessor.getValue(person);
+
+      // warm up
+      for (int i = 0; i < ITERATIONS; i++) {
+         accessor.getValue(person);
+      }
+
+      long stime = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++) {
+         assertEquals(expected, accessor.getValue(person));
+      }
+      return System.nanoTime() - stime;
+   }
+
+   private void printTime(String text, long totalTime) {
+      double iterationTime = totalTime;
+      iterationTime /= ITERATIONS;
+      System.out.println(getClass().getSimpleName() + "." + text + " " + iterationTime + "ns");
+   }
+}
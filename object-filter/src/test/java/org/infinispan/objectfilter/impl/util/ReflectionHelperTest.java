@@ -1,9 +1,15 @@
 package org.infinispan.objectfilter.impl.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.beans.IntrospectionException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -65,6 +71,36 @@ private abstract static class W extends Q {
       Q w;
    }
 
+   @SuppressWarnings("unused")
+   public static class C {
+
+      private String name = "c";
+
+      private int[] numbers = {1, 2};
+
+      private List<String> tags = Arrays.asList("x", "y");
+
+      private Map<String, Integer> counts = Collections.singletonMap("k", 3);
+
+      private C child;
+
+      public String getTitle() {
+         return "title";
+      }
+
+      public boolean isActive() {
+         return true;
+      }
+
+      public C getParent() {
+         return null;
+      }
+
+      public String getBroken() {
+         throw new IllegalStateException("broken");
+      }
+   }
+
    // end of dummies
 
    @Test
@@ -106,4 +142,56 @@ public void testGetMultipleProperty() throws Exception {
       assertEquals(Double.class, ReflectionHelper.getAccessor(A.class, "q").getPropertyType());
       assertEquals(Double.class, ReflectionHelper.getAccessor(A.class, "w").getPropertyType());
    }
+
+   @Test
+   public void testGetValueWithMethodHandles() throws Exception {
+      assertValues(true);
+   }
+
+   @Test
+   public void testGetValueWithReflection() throws Exception {
+      assertValues(false);
+   }
+
+   @Test
+   public void testGetterExceptionWithMethodHandles() throws Exception {
+      expectedException.expect(IllegalStateException.class);
+      expectedException.expectMessage("broken");
+      ReflectionHelper.getAccessor(C.class, "broken", true).getValue(new C());
+   }
+
+   @Test
+   public void testGetterExceptionWithReflection() throws Exception {
+      expectedException.expect(IllegalStateException.class);
+      expectedException.expectMessage("broken");
+      ReflectionHelper.getAccessor(C.class, "broken", false).getValue(new C());
+   }
+
+   private void assertValues(boolean useMethodHandles) throws Exception {
+      C c = new C();
+      c.child = new C();
+      c.child.name = "child";
+
+      assertEquals("c", ReflectionHelper.getAccessor(C.class, "name", useMethodHandles).getValue(c));
+      assertEquals("title", ReflectionHelper.getAccessor(C.class, "title", useMethodHandles).getValue(c));
+      assertEquals(true, ReflectionHelper.getAccessor(C.class, "active", useMethodHandles).getValue(c));
+      assertNull(ReflectionHelper.getAccessor(C.class, "parent", useMethodHandles).getValue(c));
+
+      ReflectionHelper.PropertyAccessor child = ReflectionHelper.getAccessor(C.class, "child", useMethodHandles);
+      assertSame(c.child, child.getValue(c));
+      assertEquals("child", child.getAccessor("name").getValue(c.child));
+
+      assertIterates(ReflectionHelper.getAccessor(C.class, "numbers", useMethodHandles).getValueIterator(c), 1, 2);
+      assertIterates(ReflectionHelper.getAccessor(C.class, "tags", useMethodHandles).getValueIterator(c), "x", "y");
+      assertIterates(ReflectionHelper.getAccessor(C.class, "counts", useMethodHandles).getValueIterator(c), 3);
+      c.child.tags = null;
+      assertNull(ReflectionHelper.getAccessor(C.class, "tags", useMethodHandles).getValueIterator(c.child));
+   }
+
+   private static void assertIterates(Iterator<Object> iterator, Object... expected) {
+      for (Object value : expected) {
+         assertEquals(value, iterator.next());
+      }
+      assertFalse(iterator.hasNext());
+   }
 }
@@ -333,6 +333,33 @@ public void testFilterInterference() throws Exception {
       assertEquals(1, matchCount[1]);
    }
 
+   @Test
+   public void testDeltaMatchingWithManyFilters() throws Exception {
+      Matcher matcher = createMatcher();
+
+      // counts the joining, updated and leaving results
+      int[] counts = {0, 0, 0};
+      for (int k = 0; k < 100; k++) {
+         matcher.registerFilter("from org.infinispan.objectfilter.test.model.Person p where p.age > " + k,
+               (userContext, eventType, instance, projection, sortProjection) -> counts[(Integer) eventType]++, true);
+      }
+      matcher.registerFilter("from org.infinispan.objectfilter.test.model.Person",
+            (userContext, eventType, instance, projection, sortProjection) -> counts[(Integer) eventType]++, true);
+
+      // age goes from 27 to 40
+      matcher.matchDelta(null, null, createPerson2(), createPerson1(), 0, 1, 2);
+      assertEquals(13, counts[0]);
+      assertEquals(28, counts[1]);
+      assertEquals(0, counts[2]);
+
+      Arrays.fill(counts, 0);
+      // age goes from 40 to 27
+      matcher.matchDelta(null, null, createPerson1(), createPerson2(), 0, 1, 2);
+      assertEquals(0, counts[0]);
+      assertEquals(28, counts[1]);
+      assertEquals(13, counts[2]);
+   }
+
    @Test
    public void testOrderBy() throws Exception {
       Matcher matcher = createMatcher();
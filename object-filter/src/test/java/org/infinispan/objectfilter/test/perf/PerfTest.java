@@ -46,6 +46,30 @@ public void testComplexMatchPerf() throws Exception {
       printTime("testComplexMatchPerf", time);
    }
 
+   @Test
+   public void testManyFiltersMatchPerf() throws Exception {
+      Matcher matcher = createMatcher();
+      Object obj = createPerson1();
+
+      // distinct filters sharing the same attributes, like many continuous queries registered by different clients
+      int numFilters = 5000;
+      int[] matchCount = new int[1];
+      for (int k = 0; k < numFilters; k++) {
+         matcher.registerFilter("from org.infinispan.objectfilter.test.model.Person p where p.surname = 'Batman' and p.age > " + (k % 40)
+               + " and p.address.postCode = 'SW12345'", (userContext, eventType, instance, projection, sortProjection) -> matchCount[0]++);
+      }
+
+      int iterations = ITERATIONS / 1000;
+      long stime = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+         matchCount[0] = 0;
+         matcher.match(null, null, obj);
+         assertEquals(numFilters, matchCount[0]);
+      }
+      long time = System.nanoTime() - stime;
+      printTime("testManyFiltersMatchPerf", time * (ITERATIONS / iterations));
+   }
+
    protected long measureMatch(String query) throws Exception {
       Matcher matcher = createMatcher();
 
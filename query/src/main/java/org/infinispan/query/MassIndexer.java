@@ -3,7 +3,9 @@
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Units;
 
 /**
  * Component to rebuild the indexes from the existing data.
@@ -30,4 +32,42 @@ public interface MassIndexer {
 
    CompletableFuture<Void> reindex(Object... keys);
 
+   /**
+    * Resumes the last rebuild of the index, after it failed or was interrupted. The index is not cleared and the
+    * segments already indexed by each node are skipped.
+    *
+    * @since 9.1
+    */
+   @ManagedOperation(description = "Resumes rebuilding the index, skipping the segments already indexed", displayName = "Resume index rebuild")
+   void resume();
+
+   /**
+    * Asynchronous version of {@link #resume()}.
+    *
+    * @since 9.1
+    */
+   CompletableFuture<Void> resumeAsync();
+
+   /**
+    * @return the number of entries indexed by this node during the current or last rebuild
+    * @since 9.1
+    */
+   @ManagedAttribute(description = "Number of entries indexed by this node during the current or last rebuild", displayName = "Indexed entries")
+   long getIndexedEntries();
+
+   /**
+    * @return the number of entries indexed per second by this node during the current or last rebuild
+    * @since 9.1
+    */
+   @ManagedAttribute(description = "Number of entries indexed per second by this node during the current or last rebuild", displayName = "Indexing rate")
+   double getIndexingRate();
+
+   /**
+    * @return the estimated time in milliseconds until this node completes the current rebuild, {@code 0} if no
+    * rebuild is running or {@code -1} if not known yet
+    * @since 9.1
+    */
+   @ManagedAttribute(description = "Estimated time until this node completes the current rebuild, or -1 if not known yet", displayName = "Estimated time remaining", units = Units.MILLISECONDS)
+   long getEstimatedTimeRemaining();
+
 }
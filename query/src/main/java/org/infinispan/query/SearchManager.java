@@ -89,6 +89,19 @@ public interface SearchManager {
     */
    void purge(Class<?> entityType);
 
+   /**
+    * Waits until the index changes queued on this node so far are applied, so they are visible to subsequent queries.
+    * Only needed when asynchronous indexing is enabled with the {@code infinispan.query.async_indexing} indexing
+    * property, otherwise the indexes are updated as part of each write.
+    * <p>
+    * The queues of the other nodes are not flushed: in a cluster, the changes of a write are only covered if this node
+    * indexed it, e.g. with {@link org.infinispan.configuration.cache.Index#ALL} or when it is the primary owner of the
+    * written key with {@link org.infinispan.configuration.cache.Index#PRIMARY_OWNER}.
+    *
+    * @since 9.1
+    */
+   void awaitLocalIndexing();
+
    /**
     * This method gives access to internal Infinispan types, and should not be normally needed.
     * The API of the internal types can (and probably will) change without notice.
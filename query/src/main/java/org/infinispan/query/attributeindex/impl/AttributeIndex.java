@@ -0,0 +1,503 @@
+package org.infinispan.query.attributeindex.impl;
+
+import java.beans.IntrospectionException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.CacheException;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.objectfilter.impl.util.ReflectionHelper;
+import org.infinispan.query.logging.Log;
+import org.infinispan.util.function.SerializableFunction;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * A lightweight in-memory index of some attributes of the entities stored in a non-indexed cache, used for answering
+ * selective Ickle queries without scanning the whole cache and without the cost of maintaining a Lucene index.
+ * <p>
+ * The attributes to index are declared per entity class using indexing properties named {@link
+ * #ATTRIBUTE_INDEX_PROPERTY_PREFIX} followed by the fully qualified class name, having as value a comma separated list
+ * of attribute paths, eg. {@code infinispan.query.attribute_index.com.acme.Person=name,address.city}. Only single
+ * valued attributes having a {@link Comparable} type can be indexed.
+ * <p>
+ * Each node only indexes the entries it holds in its data container. The index is partitioned by segment, so a lookup
+ * in a distributed cache only needs to read the segments a node is primary owner for. While a rebalance is in progress,
+ * or if the nodes do not agree on the topology, the primary owners might not cover all the segments, so the lookup is
+ * not used and the whole cache is scanned instead. A lookup finding more than {@link #MAX_CANDIDATES_PROPERTY} keys, or
+ * more than half the indexed entries of the looked up segments, is not used either, since scanning is cheaper than
+ * collecting and transferring that many keys. The index is kept up to date synchronously by
+ * {@link AttributeIndexInterceptor}. Caches using cache stores, eviction, binary or off-heap storage
+ * or compatibility mode do not get an attribute index.
+ *
+ * @since 9.1
+ */
+public final class AttributeIndex {
+
+   private static final Log log = LogFactory.getLog(AttributeIndex.class, Log.class);
+
+   /**
+    * Prefix of the indexing properties declaring the attributes to index for an entity class.
+    */
+   public static final String ATTRIBUTE_INDEX_PROPERTY_PREFIX = "infinispan.query.attribute_index.";
+
+   /**
+    * The indexing property limiting the number of keys a lookup may find, above which the whole cache is scanned.
+    */
+   public static final String MAX_CANDIDATES_PROPERTY = "infinispan.query.attribute_index_max_candidates";
+
+   public static final int DEFAULT_MAX_CANDIDATES = 10000;
+
+   /**
+    * The fraction of the indexed entries of the looked up segments above which a lookup is not selective enough.
+    */
+   private static final double MAX_SELECTIVITY = 0.5;
+
+   private final String cacheName;
+
+   /**
+    * The attribute paths declared for each entity class name.
+    */
+   private final Map<String, String[]> declaredAttributes;
+
+   private final KeyPartitioner keyPartitioner;
+
+   private final int numSegments;
+
+   private final int maxCandidates;
+
+   /**
+    * The number of indexed entries of each segment.
+    */
+   private final AtomicIntegerArray segmentSizes;
+
+   /**
+    * The index of each entity class, created when the first instance of that class is indexed or looked up.
+    */
+   private final ConcurrentMap<String, TypeIndex> typeIndexes = new ConcurrentHashMap<>();
+
+   /**
+    * The currently indexed entry of each key, needed for removing the stale attribute values when the entry changes.
+    */
+   private final ConcurrentMap<Object, IndexedEntry> indexedEntries = new ConcurrentHashMap<>();
+
+   public AttributeIndex(String cacheName, Map<String, String[]> declaredAttributes, KeyPartitioner keyPartitioner,
+                         int numSegments, int maxCandidates) {
+      this.cacheName = cacheName;
+      this.declaredAttributes = declaredAttributes;
+      this.keyPartitioner = keyPartitioner;
+      this.numSegments = numSegments;
+      this.maxCandidates = maxCandidates;
+      this.segmentSizes = new AtomicIntegerArray(numSegments);
+   }
+
+   /**
+    * Extracts the declared attributes from the indexing properties of a cache.
+    *
+    * @return the attribute paths of each entity class name, possibly empty
+    */
+   public static Map<String, String[]> parseDeclaredAttributes(Properties properties) {
+      Map<String, String[]> declaredAttributes = new HashMap<>();
+      for (String propertyName : properties.stringPropertyNames()) {
+         if (propertyName.startsWith(ATTRIBUTE_INDEX_PROPERTY_PREFIX)) {
+            String typeName = propertyName.substring(ATTRIBUTE_INDEX_PROPERTY_PREFIX.length());
+            List<String> attributes = new ArrayList<>();
+            for (String attribute : properties.getProperty(propertyName).split(",")) {
+               attribute = attribute.trim();
+               if (!attribute.isEmpty()) {
+                  attributes.add(attribute);
+               }
+            }
+            if (!typeName.isEmpty() && !attributes.isEmpty()) {
+               declaredAttributes.put(typeName, attributes.toArray(new String[attributes.size()]));
+            }
+         }
+      }
+      return declaredAttributes;
+   }
+
+   /**
+    * Checks whether the given attribute of an entity class is indexed.
+    */
+   public boolean isIndexed(Class<?> type, String attribute) {
+      TypeIndex typeIndex = getTypeIndex(type);
+      return typeIndex != null && typeIndex.position(attribute) >= 0;
+   }
+
+   private TypeIndex getTypeIndex(Class<?> type) {
+      String[] attributes = declaredAttributes.get(type.getName());
+      if (attributes == null) {
+         return null;
+      }
+      return typeIndexes.computeIfAbsent(type.getName(), typeName -> new TypeIndex(type, attributes));
+   }
+
+   /**
+    * Indexes the current value of a key, replacing the previously indexed value. This must not be invoked concurrently
+    * for the same key.
+    *
+    * @param key   the key
+    * @param value the current value or {@code null} if the key was removed
+    */
+   void update(Object key, Object value) {
+      IndexedEntry newEntry = null;
+      if (value != null) {
+         TypeIndex typeIndex = getTypeIndex(value.getClass());
+         if (typeIndex != null) {
+            newEntry = new IndexedEntry(typeIndex, keyPartitioner.getSegment(key), typeIndex.extract(value));
+         }
+      }
+      IndexedEntry oldEntry = newEntry == null ? indexedEntries.remove(key) : indexedEntries.put(key, newEntry);
+      if (oldEntry == null && newEntry != null) {
+         segmentSizes.incrementAndGet(newEntry.segment);
+      } else if (oldEntry != null && newEntry == null) {
+         segmentSizes.decrementAndGet(oldEntry.segment);
+      }
+      if (oldEntry != null) {
+         if (oldEntry.hasSameValues(newEntry)) {
+            return;
+         }
+         oldEntry.typeIndex.remove(key, oldEntry);
+      }
+      if (newEntry != null) {
+         newEntry.typeIndex.add(key, newEntry);
+      }
+   }
+
+   /**
+    * Removes all the indexed entries.
+    */
+   void clear() {
+      indexedEntries.clear();
+      typeIndexes.values().forEach(TypeIndex::clear);
+      for (int segment = 0; segment < numSegments; segment++) {
+         segmentSizes.set(segment, 0);
+      }
+   }
+
+   /**
+    * Finds the keys matching a lookup in this index, in the given segments.
+    *
+    * @return the keys or {@code null} if the lookup cannot be answered by this index or is not selective enough
+    */
+   Set<Object> lookup(AttributeIndexLookup lookup, IntPredicate segmentFilter) {
+      TypeIndex typeIndex = typeIndexes.get(lookup.getTypeName());
+      if (typeIndex == null) {
+         // no instance of this type was indexed by this node so far
+         return declaredAttributes.containsKey(lookup.getTypeName()) ? Collections.emptySet() : null;
+      }
+      long indexedInSegments = 0;
+      for (int segment = 0; segment < numSegments; segment++) {
+         if (segmentFilter.test(segment)) {
+            indexedInSegments += segmentSizes.get(segment);
+         }
+      }
+      long limit = Math.min(maxCandidates, (long) (indexedInSegments * MAX_SELECTIVITY));
+      Set<Object> keys = new HashSet<>();
+      for (AttributeIndexLookup.Range range : lookup.getRanges()) {
+         int pos = typeIndex.position(range.attribute);
+         if (pos < 0) {
+            return null;
+         }
+         Class<?> attributeType = typeIndex.attributeTypes[pos];
+         if (range.from != null && !attributeType.isInstance(range.from) || range.to != null && !attributeType.isInstance(range.to)) {
+            return null;
+         }
+         if (range.from != null && range.to != null && range.from.compareTo(range.to) > 0) {
+            continue;
+         }
+         for (int segment = 0; segment < numSegments; segment++) {
+            if (segmentFilter.test(segment)) {
+               for (Set<Object> valueKeys : subMap(typeIndex.values[pos][segment], range).values()) {
+                  keys.addAll(valueKeys);
+                  if (keys.size() > limit) {
+                     return null;
+                  }
+               }
+            }
+         }
+      }
+      return keys;
+   }
+
+   private static NavigableMap<Comparable, Set<Object>> subMap(NavigableMap<Comparable, Set<Object>> values, AttributeIndexLookup.Range range) {
+      if (range.from == null) {
+         return range.to == null ? values : values.headMap(range.to, range.toInclusive);
+      }
+      return range.to == null ? values.tailMap(range.from, range.fromInclusive) : values.subMap(range.from, range.fromInclusive, range.to, range.toInclusive);
+   }
+
+   /**
+    * Finds the keys of the entries of a cache that might match a lookup. In a distributed cache every node looks up the
+    * segments it is primary owner for, otherwise the local index holds all the entries.
+    *
+    * @return the keys or {@code null} if the lookup cannot be answered by the index of some node, if the segments are
+    * not all looked up exactly once in the same topology or if the lookup is not selective enough
+    */
+   public Set<Object> findKeys(AdvancedCache<?, ?> cache, AttributeIndexLookup lookup) {
+      if (!cache.getCacheConfiguration().clustering().cacheMode().isDistributed()) {
+         return lookup(lookup, segment -> true);
+      }
+      LocalizedCacheTopology cacheTopology = cache.getDistributionManager().getCacheTopology();
+      if (cacheTopology.getPendingCH() != null) {
+         // the primary owners change during a rebalance
+         return null;
+      }
+
+      int topologyId = cacheTopology.getTopologyId();
+      String cacheName = cache.getName();
+      Set<Object> keys = ConcurrentHashMap.newKeySet();
+      BitSet lookedUpSegments = new BitSet(numSegments);
+      AtomicBoolean unusable = new AtomicBoolean();
+      AtomicReference<Throwable> failure = new AtomicReference<>();
+      cache.getCacheManager().executor().submitConsumer(
+            (SerializableFunction<EmbeddedCacheManager, SegmentLookup>) cm -> lookupPrimarySegments(cm, cacheName, lookup),
+            (address, segmentLookup, throwable) -> {
+               if (throwable != null) {
+                  failure.compareAndSet(null, throwable);
+               } else if (segmentLookup == null || segmentLookup.keys == null || segmentLookup.topologyId != topologyId) {
+                  unusable.set(true);
+               } else {
+                  synchronized (lookedUpSegments) {
+                     if (lookedUpSegments.intersects(segmentLookup.segments)) {
+                        unusable.set(true);
+                     }
+                     lookedUpSegments.or(segmentLookup.segments);
+                  }
+                  keys.addAll(segmentLookup.keys);
+               }
+            }).join();
+      if (failure.get() != null) {
+         throw new CacheException(failure.get());
+      }
+      if (unusable.get() || lookedUpSegments.cardinality() != numSegments || keys.size() > maxCandidates) {
+         return null;
+      }
+      return keys;
+   }
+
+   private static SegmentLookup lookupPrimarySegments(EmbeddedCacheManager cacheManager, String cacheName, AttributeIndexLookup lookup) {
+      AdvancedCache<?, ?> cache = cacheManager.getCache(cacheName).getAdvancedCache();
+      AttributeIndex attributeIndex = cache.getComponentRegistry().getComponent(AttributeIndex.class);
+      if (attributeIndex == null) {
+         return null;
+      }
+      LocalizedCacheTopology cacheTopology = cache.getDistributionManager().getCacheTopology();
+      BitSet segments = new BitSet(attributeIndex.numSegments);
+      for (int segment = 0; segment < attributeIndex.numSegments; segment++) {
+         if (cacheTopology.getDistributionForSegment(segment).isPrimary()) {
+            segments.set(segment);
+         }
+      }
+      Set<Object> keys = cacheTopology.getPendingCH() != null ? null : attributeIndex.lookup(lookup, segments::get);
+      return new SegmentLookup(cacheTopology.getTopologyId(), segments, keys);
+   }
+
+   private static Class<?> box(Class<?> type) {
+      if (!type.isPrimitive()) {
+         return type;
+      }
+      if (type == int.class) {
+         return Integer.class;
+      } else if (type == long.class) {
+         return Long.class;
+      } else if (type == boolean.class) {
+         return Boolean.class;
+      } else if (type == double.class) {
+         return Double.class;
+      } else if (type == float.class) {
+         return Float.class;
+      } else if (type == short.class) {
+         return Short.class;
+      } else if (type == byte.class) {
+         return Byte.class;
+      } else if (type == char.class) {
+         return Character.class;
+      }
+      return type;
+   }
+
+   /**
+    * The keys found by a node in the segments it is primary owner for.
+    */
+   private static final class SegmentLookup implements Serializable {
+
+      final int topologyId;
+
+      final BitSet segments;
+
+      /**
+       * The keys or {@code null} if the lookup cannot be answered by this node.
+       */
+      final Set<Object> keys;
+
+      SegmentLookup(int topologyId, BitSet segments, Set<Object> keys) {
+         this.topologyId = topologyId;
+         this.segments = segments;
+         this.keys = keys;
+      }
+   }
+
+   /**
+    * The attribute values of an indexed entry.
+    */
+   private static final class IndexedEntry {
+
+      final TypeIndex typeIndex;
+
+      final int segment;
+
+      final Comparable[] values;
+
+      IndexedEntry(TypeIndex typeIndex, int segment, Comparable[] values) {
+         this.typeIndex = typeIndex;
+         this.segment = segment;
+         this.values = values;
+      }
+
+      boolean hasSameValues(IndexedEntry other) {
+         if (other == null || other.typeIndex != typeIndex || other.segment != segment) {
+            return false;
+         }
+         for (int i = 0; i < values.length; i++) {
+            if (values[i] == null ? other.values[i] != null : !values[i].equals(other.values[i])) {
+               return false;
+            }
+         }
+         return true;
+      }
+   }
+
+   /**
+    * The sorted value to keys maps of the attributes of an entity class, one per attribute and segment.
+    */
+   private final class TypeIndex {
+
+      final String[] attributes;
+
+      final ReflectionHelper.PropertyAccessor[][] accessors;
+
+      final Class<?>[] attributeTypes;
+
+      final ConcurrentSkipListMap<Comparable, Set<Object>>[][] values;
+
+      TypeIndex(Class<?> type, String[] declared) {
+         List<String> validAttributes = new ArrayList<>(declared.length);
+         List<ReflectionHelper.PropertyAccessor[]> validAccessors = new ArrayList<>(declared.length);
+         List<Class<?>> validTypes = new ArrayList<>(declared.length);
+         for (String attribute : declared) {
+            String[] path = attribute.split("\\.");
+            ReflectionHelper.PropertyAccessor[] attributeAccessors = new ReflectionHelper.PropertyAccessor[path.length];
+            try {
+               for (int i = 0; i < path.length; i++) {
+                  attributeAccessors[i] = i == 0 ? ReflectionHelper.getAccessor(type, path[0]) : attributeAccessors[i - 1].getAccessor(path[i]);
+                  if (attributeAccessors[i].isMultiple()) {
+                     throw new IntrospectionException("Repeated attributes cannot be indexed");
+                  }
+               }
+            } catch (IntrospectionException | IllegalArgumentException e) {
+               log.cannotIndexAttribute(attribute, type.getName(), cacheName, e.getMessage());
+               continue;
+            }
+            Class<?> attributeType = box(attributeAccessors[path.length - 1].getPropertyType());
+            if (!Comparable.class.isAssignableFrom(attributeType)) {
+               log.cannotIndexAttribute(attribute, type.getName(), cacheName, "The attribute type is not Comparable");
+               continue;
+            }
+            validAttributes.add(attribute);
+            validAccessors.add(attributeAccessors);
+            validTypes.add(attributeType);
+         }
+         attributes = validAttributes.toArray(new String[validAttributes.size()]);
+         accessors = validAccessors.toArray(new ReflectionHelper.PropertyAccessor[validAccessors.size()][]);
+         attributeTypes = validTypes.toArray(new Class<?>[validTypes.size()]);
+         values = new ConcurrentSkipListMap[attributes.length][numSegments];
+         for (ConcurrentSkipListMap<Comparable, Set<Object>>[] segments : values) {
+            for (int segment = 0; segment < numSegments; segment++) {
+               segments[segment] = new ConcurrentSkipListMap<>();
+            }
+         }
+      }
+
+      int position(String attribute) {
+         for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i].equals(attribute)) {
+               return i;
+            }
+         }
+         return -1;
+      }
+
+      Comparable[] extract(Object instance) {
+         Comparable[] extracted = new Comparable[attributes.length];
+         for (int i = 0; i < attributes.length; i++) {
+            Object value = instance;
+            for (ReflectionHelper.PropertyAccessor accessor : accessors[i]) {
+               value = accessor.getValue(value);
+               if (value == null) {
+                  break;
+               }
+            }
+            extracted[i] = (Comparable) value;
+         }
+         return extracted;
+      }
+
+      void add(Object key, IndexedEntry entry) {
+         for (int i = 0; i < attributes.length; i++) {
+            if (entry.values[i] != null) {
+               ConcurrentSkipListMap<Comparable, Set<Object>> segmentValues = values[i][entry.segment];
+               // writers of the same segment are serialized, readers are not blocked
+               synchronized (segmentValues) {
+                  Set<Object> keys = segmentValues.get(entry.values[i]);
+                  if (keys == null) {
+                     keys = ConcurrentHashMap.newKeySet();
+                     segmentValues.put(entry.values[i], keys);
+                  }
+                  keys.add(key);
+               }
+            }
+         }
+      }
+
+      void remove(Object key, IndexedEntry entry) {
+         for (int i = 0; i < attributes.length; i++) {
+            if (entry.values[i] != null) {
+               ConcurrentSkipListMap<Comparable, Set<Object>> segmentValues = values[i][entry.segment];
+               synchronized (segmentValues) {
+                  Set<Object> keys = segmentValues.get(entry.values[i]);
+                  if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                     segmentValues.remove(entry.values[i]);
+                  }
+               }
+            }
+         }
+      }
+
+      void clear() {
+         for (ConcurrentSkipListMap<Comparable, Set<Object>>[] segments : values) {
+            for (ConcurrentSkipListMap<Comparable, Set<Object>> segment : segments) {
+               segment.clear();
+            }
+         }
+      }
+   }
+}
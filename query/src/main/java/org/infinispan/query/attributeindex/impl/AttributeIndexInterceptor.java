@@ -0,0 +1,78 @@
+package org.infinispan.query.attributeindex.impl;
+
+import java.util.Collection;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.tx.CommitCommand;
+import org.infinispan.commands.tx.PrepareCommand;
+import org.infinispan.commands.write.ClearCommand;
+import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.container.DataContainer;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.impl.TxInvocationContext;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+
+/**
+ * Keeps the {@link AttributeIndex} of a cache in sync with its data container. This interceptor runs before the entry
+ * wrapping interceptor, so by the time a write command (or the commit of a transaction) returns here its changes are
+ * already applied to the data container. The affected keys are then re-indexed from their current value.
+ * <p>
+ * Re-indexing is performed inside {@link DataContainer#compute} without changing the entry, so concurrent updates of
+ * the same key are serialized and the index always ends up reflecting the latest value. State transfer and the removal
+ * of no longer owned segments are plain write commands too, so they are handled the same way.
+ *
+ * @since 9.1
+ */
+public final class AttributeIndexInterceptor extends DDAsyncInterceptor {
+
+   private final AttributeIndex attributeIndex;
+
+   private DataContainer<Object, Object> dataContainer;
+
+   public AttributeIndexInterceptor(AttributeIndex attributeIndex) {
+      this.attributeIndex = attributeIndex;
+   }
+
+   @Inject
+   @SuppressWarnings("unused")
+   protected void injectDependencies(DataContainer dataContainer) {
+      this.dataContainer = dataContainer;
+   }
+
+   @Override
+   protected Object handleDefault(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      // changes performed in a transaction are handled at prepare/commit time
+      if (command instanceof WriteCommand && !ctx.isInTxScope()) {
+         return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> reindex(((WriteCommand) rCommand).getAffectedKeys()));
+      }
+      return invokeNext(ctx, command);
+   }
+
+   @Override
+   public Object visitClearCommand(InvocationContext ctx, ClearCommand command) throws Throwable {
+      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> attributeIndex.clear());
+   }
+
+   @Override
+   public Object visitPrepareCommand(TxInvocationContext ctx, PrepareCommand command) throws Throwable {
+      if (!command.isOnePhaseCommit()) {
+         return invokeNext(ctx, command);
+      }
+      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> reindex(((TxInvocationContext) rCtx).getAffectedKeys()));
+   }
+
+   @Override
+   public Object visitCommitCommand(TxInvocationContext ctx, CommitCommand command) throws Throwable {
+      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> reindex(((TxInvocationContext) rCtx).getAffectedKeys()));
+   }
+
+   private void reindex(Collection<?> keys) {
+      for (Object key : keys) {
+         dataContainer.compute(key, (k, entry, factory) -> {
+            attributeIndex.update(k, entry != null ? entry.getValue() : null);
+            return entry;
+         });
+      }
+   }
+}
@@ -0,0 +1,76 @@
+package org.infinispan.query.attributeindex.impl;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A resolved lookup against an {@link AttributeIndex}: the union of some value ranges of indexed attributes of a given
+ * entity type. The keys found by a lookup are a superset of the keys matching the query it was planned for, so the
+ * query predicate still needs to be evaluated on the corresponding entries.
+ *
+ * @since 9.1
+ */
+public final class AttributeIndexLookup implements Serializable {
+
+   private final String typeName;
+
+   private final List<Range> ranges;
+
+   AttributeIndexLookup(String typeName, List<Range> ranges) {
+      this.typeName = typeName;
+      this.ranges = ranges;
+   }
+
+   String getTypeName() {
+      return typeName;
+   }
+
+   List<Range> getRanges() {
+      return ranges;
+   }
+
+   @Override
+   public String toString() {
+      return "AttributeIndexLookup{" +
+            "typeName='" + typeName + '\'' +
+            ", ranges=" + ranges +
+            '}';
+   }
+
+   /**
+    * A range of values of an attribute. A {@code null} bound means the range is unbounded on that side.
+    */
+   static final class Range implements Serializable {
+
+      final String attribute;
+
+      final Comparable from;
+
+      final boolean fromInclusive;
+
+      final Comparable to;
+
+      final boolean toInclusive;
+
+      Range(String attribute, Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+         this.attribute = attribute;
+         this.from = from;
+         this.fromInclusive = fromInclusive;
+         this.to = to;
+         this.toInclusive = toInclusive;
+      }
+
+      boolean isSingleValue() {
+         return from != null && fromInclusive && toInclusive && from.equals(to);
+      }
+
+      boolean isBounded() {
+         return from != null && to != null;
+      }
+
+      @Override
+      public String toString() {
+         return attribute + (fromInclusive ? "[" : "(") + from + ", " + to + (toInclusive ? "]" : ")");
+      }
+   }
+}
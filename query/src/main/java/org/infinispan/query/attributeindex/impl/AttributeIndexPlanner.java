@@ -0,0 +1,199 @@
+package org.infinispan.query.attributeindex.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.infinispan.objectfilter.impl.syntax.AndExpr;
+import org.infinispan.objectfilter.impl.syntax.BooleanExpr;
+import org.infinispan.objectfilter.impl.syntax.ComparisonExpr;
+import org.infinispan.objectfilter.impl.syntax.ConstantValueExpr;
+import org.infinispan.objectfilter.impl.syntax.LikeExpr;
+import org.infinispan.objectfilter.impl.syntax.OrExpr;
+import org.infinispan.objectfilter.impl.syntax.PropertyValueExpr;
+
+/**
+ * Decides whether the (normalized) where clause of a non-indexed query can be narrowed down using an {@link
+ * AttributeIndex}. Equality, {@code IN}, range (including {@code BETWEEN}) and prefix {@code LIKE} predicates on
+ * indexed attributes are supported, as well as conjunctions having at least one such predicate and disjunctions made
+ * exclusively of such predicates. The planned lookup may find more keys than needed but never less, so the whole query
+ * predicate is still evaluated on the found entries.
+ *
+ * @since 9.1
+ */
+public final class AttributeIndexPlanner {
+
+   private final AttributeIndex attributeIndex;
+
+   private final Class<?> entityType;
+
+   private final Map<String, Object> namedParameters;
+
+   private AttributeIndexPlanner(AttributeIndex attributeIndex, Class<?> entityType, Map<String, Object> namedParameters) {
+      this.attributeIndex = attributeIndex;
+      this.entityType = entityType;
+      this.namedParameters = namedParameters;
+   }
+
+   /**
+    * Plans a lookup for the given where clause.
+    *
+    * @return the lookup or {@code null} if the attribute index cannot be used for this query
+    */
+   public static AttributeIndexLookup plan(AttributeIndex attributeIndex, Class<?> entityType, BooleanExpr whereClause, Map<String, Object> namedParameters) {
+      if (whereClause == null) {
+         return null;
+      }
+      List<AttributeIndexLookup.Range> ranges = new AttributeIndexPlanner(attributeIndex, entityType, namedParameters).plan(whereClause);
+      return ranges == null ? null : new AttributeIndexLookup(entityType.getName(), ranges);
+   }
+
+   private List<AttributeIndexLookup.Range> plan(BooleanExpr expr) {
+      if (expr instanceof ComparisonExpr) {
+         return singleton(planComparison((ComparisonExpr) expr));
+      } else if (expr instanceof LikeExpr) {
+         return singleton(planLike((LikeExpr) expr));
+      } else if (expr instanceof OrExpr) {
+         List<AttributeIndexLookup.Range> ranges = new ArrayList<>();
+         for (BooleanExpr child : ((OrExpr) expr).getChildren()) {
+            List<AttributeIndexLookup.Range> childRanges = plan(child);
+            if (childRanges == null) {
+               // a single non-indexable alternative requires a full scan
+               return null;
+            }
+            ranges.addAll(childRanges);
+         }
+         return ranges;
+      } else if (expr instanceof AndExpr) {
+         return planConjunction((AndExpr) expr);
+      }
+      return null;
+   }
+
+   private List<AttributeIndexLookup.Range> planConjunction(AndExpr andExpr) {
+      // intervals on the same attribute are intersected, eg. the two sides of a BETWEEN
+      Map<String, AttributeIndexLookup.Range> intervals = new LinkedHashMap<>();
+      List<AttributeIndexLookup.Range> union = null;
+      for (BooleanExpr child : andExpr.getChildren()) {
+         List<AttributeIndexLookup.Range> childRanges = plan(child);
+         if (childRanges == null) {
+            continue;
+         }
+         if (childRanges.size() == 1) {
+            AttributeIndexLookup.Range range = childRanges.get(0);
+            AttributeIndexLookup.Range previous = intervals.get(range.attribute);
+            intervals.put(range.attribute, previous == null ? range : intersect(previous, range));
+         } else if (union == null || childRanges.size() < union.size()) {
+            union = childRanges;
+         }
+      }
+      // prefer a single value, then a bounded range, then any other interval, then a union of intervals
+      AttributeIndexLookup.Range best = null;
+      for (AttributeIndexLookup.Range range : intervals.values()) {
+         if (best == null || rank(range) > rank(best)) {
+            best = range;
+         }
+      }
+      return best != null ? Collections.singletonList(best) : union;
+   }
+
+   private static int rank(AttributeIndexLookup.Range range) {
+      return range.isSingleValue() ? 2 : range.isBounded() ? 1 : 0;
+   }
+
+   private static AttributeIndexLookup.Range intersect(AttributeIndexLookup.Range r1, AttributeIndexLookup.Range r2) {
+      if (!isComparable(r1.from, r2.from) || !isComparable(r1.to, r2.to)) {
+         return r1;
+      }
+      Comparable from = r1.from;
+      boolean fromInclusive = r1.fromInclusive;
+      if (from == null || r2.from != null && r2.from.compareTo(from) >= 0) {
+         fromInclusive = from == null || r2.from.compareTo(from) > 0 ? r2.fromInclusive : fromInclusive && r2.fromInclusive;
+         from = r2.from;
+      }
+      Comparable to = r1.to;
+      boolean toInclusive = r1.toInclusive;
+      if (to == null || r2.to != null && r2.to.compareTo(to) <= 0) {
+         toInclusive = to == null || r2.to.compareTo(to) < 0 ? r2.toInclusive : toInclusive && r2.toInclusive;
+         to = r2.to;
+      }
+      return new AttributeIndexLookup.Range(r1.attribute, from, fromInclusive, to, toInclusive);
+   }
+
+   private static boolean isComparable(Comparable c1, Comparable c2) {
+      return c1 == null || c2 == null || c1.getClass() == c2.getClass();
+   }
+
+   private AttributeIndexLookup.Range planComparison(ComparisonExpr comparisonExpr) {
+      if (!(comparisonExpr.getLeftChild() instanceof PropertyValueExpr) || !(comparisonExpr.getRightChild() instanceof ConstantValueExpr)) {
+         return null;
+      }
+      PropertyValueExpr propertyValueExpr = (PropertyValueExpr) comparisonExpr.getLeftChild();
+      String attribute = getIndexedAttribute(propertyValueExpr);
+      if (attribute == null) {
+         return null;
+      }
+      Comparable value = ((ConstantValueExpr) comparisonExpr.getRightChild()).getConstantValueAs(propertyValueExpr.getPrimitiveType(), namedParameters);
+      switch (comparisonExpr.getComparisonType()) {
+         case EQUAL:
+            return new AttributeIndexLookup.Range(attribute, value, true, value, true);
+         case LESS:
+            return new AttributeIndexLookup.Range(attribute, null, false, value, false);
+         case LESS_OR_EQUAL:
+            return new AttributeIndexLookup.Range(attribute, null, false, value, true);
+         case GREATER:
+            return new AttributeIndexLookup.Range(attribute, value, false, null, false);
+         case GREATER_OR_EQUAL:
+            return new AttributeIndexLookup.Range(attribute, value, true, null, false);
+         default:
+            return null;
+      }
+   }
+
+   private AttributeIndexLookup.Range planLike(LikeExpr likeExpr) {
+      if (!(likeExpr.getChild() instanceof PropertyValueExpr)) {
+         return null;
+      }
+      String attribute = getIndexedAttribute((PropertyValueExpr) likeExpr.getChild());
+      if (attribute == null) {
+         return null;
+      }
+      String pattern = likeExpr.getPattern(namedParameters);
+      int i = 0;
+      while (i < pattern.length()) {
+         char c = pattern.charAt(i);
+         if (c == LikeExpr.MULTIPLE_CHARACTERS_WILDCARD || c == LikeExpr.SINGLE_CHARACTER_WILDCARD || c == likeExpr.getEscapeChar()) {
+            break;
+         }
+         i++;
+      }
+      String prefix = pattern.substring(0, i);
+      if (i == pattern.length()) {
+         // no wildcards at all
+         return new AttributeIndexLookup.Range(attribute, prefix, true, prefix, true);
+      }
+      if (prefix.isEmpty()) {
+         return null;
+      }
+      char last = prefix.charAt(prefix.length() - 1);
+      if (last == Character.MAX_VALUE) {
+         return new AttributeIndexLookup.Range(attribute, prefix, true, null, false);
+      }
+      String upperBound = prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+      return new AttributeIndexLookup.Range(attribute, prefix, true, upperBound, false);
+   }
+
+   private String getIndexedAttribute(PropertyValueExpr propertyValueExpr) {
+      if (propertyValueExpr.isRepeated()) {
+         return null;
+      }
+      String attribute = propertyValueExpr.getPropertyPath().asStringPath();
+      return attributeIndex.isIndexed(entityType, attribute) ? attribute : null;
+   }
+
+   private static List<AttributeIndexLookup.Range> singleton(AttributeIndexLookup.Range range) {
+      return range == null ? null : Collections.singletonList(range);
+   }
+}
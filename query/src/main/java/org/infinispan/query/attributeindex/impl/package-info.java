@@ -0,0 +1,4 @@
+/**
+ * @private
+ */
+package org.infinispan.query.attributeindex.impl;
@@ -0,0 +1,372 @@
+package org.infinispan.query.backend;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.hibernate.search.backend.TransactionContext;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.spi.SearchIntegrator;
+import org.infinispan.query.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Applies index works asynchronously, in batches, from a dedicated thread, taking this cost out of the write path.
+ * <p>
+ * Works are queued in a bounded buffer where subsequent works for the same entity are coalesced, so only the latest
+ * state of an entity gets indexed. The buffer is applied as a single Hibernate Search transaction, so each affected
+ * index sees one batch of changes, either when it is full or when its oldest work has been waiting for the configured
+ * maximum staleness. Writers block while the buffer is full. Works belonging to a transaction are only queued once the
+ * transaction commits.
+ * <p>
+ * Enabled with the {@link #ASYNC_INDEXING} indexing property. Use {@link #flush()} for read-your-writes of the works
+ * queued on this node.
+ *
+ * @since 9.1
+ */
+final class AsyncIndexingQueue {
+
+   private static final Log log = LogFactory.getLog(AsyncIndexingQueue.class, Log.class);
+
+   /**
+    * Indexing property enabling asynchronous indexing. Defaults to {@code false}.
+    */
+   static final String ASYNC_INDEXING = "infinispan.query.async_indexing";
+
+   /**
+    * Indexing property defining the maximum number of entities having pending works. Defaults to {@link
+    * #DEFAULT_QUEUE_SIZE}.
+    */
+   static final String ASYNC_INDEXING_QUEUE_SIZE = "infinispan.query.async_indexing.queue_size";
+
+   /**
+    * Indexing property defining the maximum time in milliseconds a work can wait before being applied. Defaults to
+    * {@link #DEFAULT_MAX_STALENESS}.
+    */
+   static final String ASYNC_INDEXING_MAX_STALENESS = "infinispan.query.async_indexing.max_staleness";
+
+   static final int DEFAULT_QUEUE_SIZE = 10000;
+
+   static final long DEFAULT_MAX_STALENESS = 100;
+
+   private final SearchIntegrator searchFactory;
+
+   private final int capacity;
+
+   private final long maxStalenessNanos;
+
+   private final Thread thread;
+
+   private final ReentrantLock lock = new ReentrantLock();
+
+   /**
+    * Signalled when the buffer is no longer full.
+    */
+   private final Condition notFull = lock.newCondition();
+
+   /**
+    * Signalled when the buffer should be applied before its staleness deadline, or when stopping.
+    */
+   private final Condition batchReady = lock.newCondition();
+
+   /**
+    * Signalled after a batch was applied.
+    */
+   private final Condition batchApplied = lock.newCondition();
+
+   /**
+    * The pending works, in the order they must be applied.
+    */
+   private LinkedHashMap<Object, Work> pending = new LinkedHashMap<>();
+
+   /**
+    * The time the oldest pending work was queued.
+    */
+   private long oldestPendingTime;
+
+   /**
+    * The number of submissions queued so far.
+    */
+   private long submitted;
+
+   /**
+    * The number of submissions applied so far. All submissions up to this one are applied.
+    */
+   private long applied;
+
+   /**
+    * The number of works applied so far, after coalescing.
+    */
+   private long appliedWorks;
+
+   private boolean flushRequested;
+
+   private boolean running;
+
+   AsyncIndexingQueue(ThreadFactory threadFactory, SearchIntegrator searchFactory, int capacity, long maxStaleness) {
+      this.searchFactory = searchFactory;
+      this.capacity = capacity;
+      this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStaleness);
+      this.thread = threadFactory.newThread(this::run);
+   }
+
+   void start() {
+      lock.lock();
+      try {
+         running = true;
+      } finally {
+         lock.unlock();
+      }
+      thread.start();
+   }
+
+   /**
+    * Applies the pending works and stops the indexing thread. Works submitted afterwards are applied synchronously.
+    */
+   void stop() {
+      lock.lock();
+      try {
+         if (!running) {
+            return;
+         }
+         running = false;
+         batchReady.signal();
+         notFull.signalAll();
+      } finally {
+         lock.unlock();
+      }
+      try {
+         thread.join();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Queues the given works, or registers them for being queued when the current transaction commits.
+    */
+   void submit(Collection<Work> works, TransactionContext transactionContext) {
+      if (transactionContext.isTransactionInProgress()) {
+         transactionContext.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+               if (status == Status.STATUS_COMMITTED) {
+                  enqueue(works);
+               }
+            }
+         });
+      } else {
+         enqueue(works);
+      }
+   }
+
+   private void enqueue(Collection<Work> works) {
+      lock.lock();
+      try {
+         while (running && pending.size() >= capacity) {
+            notFull.awaitUninterruptibly();
+         }
+         if (running) {
+            if (pending.isEmpty()) {
+               oldestPendingTime = System.nanoTime();
+            }
+            for (Work work : works) {
+               coalesce(work);
+            }
+            submitted++;
+            if (pending.size() >= capacity) {
+               batchReady.signal();
+            }
+            return;
+         }
+      } finally {
+         lock.unlock();
+      }
+      // stopped already
+      apply(works);
+   }
+
+   private void coalesce(Work work) {
+      // works not targeting a single entity, like purging all entities of a type, are never coalesced
+      Object key = work.getId() == null ? new Object() : new EntityKey(work);
+      // the previous work is removed rather than replaced so the latest work keeps its position relative to others
+      Work previous = pending.remove(key);
+      if (previous != null && work.getType() == WorkType.ADD && previous.getType() != WorkType.ADD) {
+         // the entity might still be in the index
+         work = new Work(work.getEntity(), work.getId(), WorkType.UPDATE);
+      }
+      pending.put(key, work);
+   }
+
+   /**
+    * Applies all the works submitted so far and waits until done.
+    */
+   void flush() {
+      lock.lock();
+      try {
+         long target = submitted;
+         if (applied >= target) {
+            return;
+         }
+         flushRequested = true;
+         batchReady.signal();
+         while (applied < target && thread.isAlive()) {
+            batchApplied.awaitUninterruptibly();
+         }
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+    * @return the number of works applied by the indexing thread so far, after coalescing
+    */
+   long getAppliedWorks() {
+      lock.lock();
+      try {
+         return appliedWorks;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   private void run() {
+      while (true) {
+         Collection<Work> batch;
+         long batchSubmitted;
+         lock.lock();
+         try {
+            while (running && !isBatchReady()) {
+               if (pending.isEmpty()) {
+                  batchReady.awaitUninterruptibly();
+               } else {
+                  try {
+                     batchReady.awaitNanos(maxStalenessNanos - (System.nanoTime() - oldestPendingTime));
+                  } catch (InterruptedException e) {
+                     // keep going until stopped
+                  }
+               }
+            }
+            if (pending.isEmpty()) {
+               if (!running) {
+                  batchApplied.signalAll();
+                  return;
+               }
+               continue;
+            }
+            batch = pending.values();
+            pending = new LinkedHashMap<>();
+            batchSubmitted = submitted;
+            flushRequested = false;
+            notFull.signalAll();
+         } finally {
+            lock.unlock();
+         }
+
+         try {
+            apply(batch);
+         } catch (Throwable t) {
+            log.errorOccurredApplyingChanges(t);
+         }
+
+         lock.lock();
+         try {
+            applied = batchSubmitted;
+            appliedWorks += batch.size();
+            batchApplied.signalAll();
+         } finally {
+            lock.unlock();
+         }
+      }
+   }
+
+   private boolean isBatchReady() {
+      return !pending.isEmpty() && (flushRequested || pending.size() >= capacity
+            || System.nanoTime() - oldestPendingTime >= maxStalenessNanos);
+   }
+
+   private void apply(Collection<Work> works) {
+      BatchTransactionContext transactionContext = new BatchTransactionContext();
+      Worker worker = searchFactory.getWorker();
+      for (Work work : works) {
+         worker.performWork(work, transactionContext);
+      }
+      transactionContext.commit();
+   }
+
+   /**
+    * Identifies the entity targeted by a work.
+    */
+   private static final class EntityKey {
+
+      private final Class<?> entityType;
+
+      private final Serializable id;
+
+      EntityKey(Work work) {
+         this.entityType = work.getEntity() != null ? work.getEntity().getClass() : work.getEntityClass();
+         this.id = work.getId();
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         EntityKey other = (EntityKey) o;
+         return entityType == other.entityType && id.equals(other.id);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * (entityType != null ? entityType.hashCode() : 0) + id.hashCode();
+      }
+   }
+
+   /**
+    * A transaction driven by the indexing thread, so Hibernate Search collects all the works of a batch and applies
+    * them to each index at once on commit.
+    */
+   private static final class BatchTransactionContext implements TransactionContext {
+
+      private final List<Synchronization> synchronizations = new ArrayList<>(1);
+
+      @Override
+      public boolean isTransactionInProgress() {
+         return true;
+      }
+
+      @Override
+      public Object getTransactionIdentifier() {
+         return this;
+      }
+
+      @Override
+      public void registerSynchronization(Synchronization synchronization) {
+         synchronizations.add(synchronization);
+      }
+
+      void commit() {
+         for (Synchronization synchronization : synchronizations) {
+            synchronization.beforeCompletion();
+         }
+         for (Synchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(Status.STATUS_COMMITTED);
+         }
+      }
+   }
+}
@@ -6,6 +6,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.transaction.TransactionManager;
@@ -26,6 +27,7 @@
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
 import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.commons.util.TypedProperties;
 import org.infinispan.compat.TypeConverter;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -38,6 +40,7 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.interceptors.DDAsyncInterceptor;
 import org.infinispan.query.Transformer;
 import org.infinispan.query.impl.DefaultSearchWorkCreator;
@@ -90,6 +93,11 @@ public final class QueryInterceptor extends DDAsyncInterceptor {
     */
    private Class<?>[] indexedEntities;
 
+   /**
+    * Applies the index works asynchronously, if enabled.
+    */
+   private AsyncIndexingQueue asyncIndexingQueue;
+
    public QueryInterceptor(SearchIntegrator searchFactory, IndexModificationStrategy indexingMode) {
       this.searchFactory = searchFactory;
       this.indexingMode = indexingMode;
@@ -130,16 +138,52 @@ protected void start() {
          //Important to enable them all in a single call, much more efficient:
          enableClasses(classesArray);
       }
+      TypedProperties indexingProperties = TypedProperties.toTypedProperties(cache.getCacheConfiguration().indexing().properties());
+      if (indexingProperties.getBooleanProperty(AsyncIndexingQueue.ASYNC_INDEXING, false)) {
+         int queueSize = indexingProperties.getIntProperty(AsyncIndexingQueue.ASYNC_INDEXING_QUEUE_SIZE, AsyncIndexingQueue.DEFAULT_QUEUE_SIZE);
+         long maxStaleness = indexingProperties.getLongProperty(AsyncIndexingQueue.ASYNC_INDEXING_MAX_STALENESS, AsyncIndexingQueue.DEFAULT_MAX_STALENESS);
+         String nodeName = cache.getCacheManager().getCacheManagerConfiguration().transport().nodeName();
+         ThreadFactory threadFactory = new DefaultThreadFactory(null, Thread.NORM_PRIORITY,
+               DefaultThreadFactory.DEFAULT_PATTERN, nodeName, "AsyncIndexing-" + cache.getName());
+         asyncIndexingQueue = new AsyncIndexingQueue(threadFactory, searchFactory, queueSize, maxStaleness);
+         asyncIndexingQueue.start();
+      }
       stopping.set(false);
    }
 
    @Stop
    protected void stop() {
+      stopAsyncIndexing();
       queryKnownClasses.stop();
    }
 
    public void prepareForStopping() {
       stopping.set(true);
+      // the pending works must reach the indexes before the search factory gets closed
+      stopAsyncIndexing();
+   }
+
+   private void stopAsyncIndexing() {
+      if (asyncIndexingQueue != null) {
+         asyncIndexingQueue.stop();
+      }
+   }
+
+   /**
+    * Waits until the index changes queued so far by this interceptor are applied. Other nodes are not flushed. This is
+    * a no-op unless asynchronous indexing is enabled.
+    */
+   public void awaitLocalIndexing() {
+      if (asyncIndexingQueue != null) {
+         asyncIndexingQueue.flush();
+      }
+   }
+
+   /**
+    * @return the queue of the index changes, or {@code null} unless asynchronous indexing is enabled
+    */
+   AsyncIndexingQueue getAsyncIndexingQueue() {
+      return asyncIndexingQueue;
    }
 
    protected boolean shouldModifyIndexes(FlagAffectedCommand command, InvocationContext ctx, Object key) {
@@ -238,6 +282,10 @@ private void performSearchWork(Object value, Serializable id, WorkType workType,
    }
 
    private void performSearchWorks(Collection<Work> works, TransactionContext transactionContext) {
+      if (asyncIndexingQueue != null) {
+         asyncIndexingQueue.submit(works, transactionContext);
+         return;
+      }
       Worker worker = searchFactory.getWorker();
       for (Work work : works) {
          worker.performWork(work, transactionContext);
@@ -46,10 +46,16 @@ final class AggregatingQuery extends HybridQuery {
 
    @Override
    protected Iterator<?> getBaseIterator() {
-      Grouper grouper = new Grouper(noOfGroupingColumns, accumulators, twoPhaseAcc);
-      List<Object[]> list = baseQuery.list();
-      for (Object[] row : list) {
-         grouper.addRow(row);
+      Grouper grouper;
+      if (baseQuery instanceof EmbeddedQuery && !twoPhaseAcc) {
+         // a non-indexed base query is a full scan, so the grouping is pushed down to the nodes owning the data
+         grouper = ((EmbeddedQuery) baseQuery).group(noOfGroupingColumns, accumulators);
+      } else {
+         grouper = new Grouper(noOfGroupingColumns, accumulators, twoPhaseAcc);
+         List<Object[]> list = baseQuery.list();
+         for (Object[] row : list) {
+            grouper.addRow(row);
+         }
       }
       return grouper.finish();
    }
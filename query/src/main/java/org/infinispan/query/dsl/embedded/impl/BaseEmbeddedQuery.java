@@ -6,7 +6,6 @@
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.util.CloseableIterator;
@@ -16,7 +15,8 @@
 
 /**
  * Base class for embedded-mode query implementations. Subclasses need to implement {@link #getIterator()} and {@link
- * #getComparator()} methods and this class will take care of sorting (fully in-memory).
+ * #getComparator()} methods and this class will take care of sorting, keeping in memory only the requested page and
+ * the results preceding it.
  *
  * @author anistor@redhat.com
  * @since 8.0
@@ -60,55 +60,64 @@ public <T> List<T> list() {
    }
 
    private List<Object> listInternal() {
-      List<Object> results;
+      Comparator<Comparable[]> comparator = getComparator();
+      if (comparator != null) {
+         return listSorted(comparator);
+      }
 
+      List<Object> results;
       try (CloseableIterator<ObjectFilter.FilterResult> iterator = getIterator()) {
          if (!iterator.hasNext()) {
             results = Collections.emptyList();
          } else {
-            Comparator<Comparable[]> comparator = getComparator();
-            if (comparator == null) {
-               // collect unsorted results and get the requested page if any was specified
-               results = new ArrayList<>(INITIAL_CAPACITY);
-               while (iterator.hasNext()) {
-                  ObjectFilter.FilterResult entry = iterator.next();
-                  resultSize++;
-                  if (resultSize > startOffset && (maxResults == -1 || results.size() < maxResults)) {
-                     results.add(projection != null ? entry.getProjection() : entry.getInstance());
-                  }
-               }
-            } else {
-               // collect and sort results, in reverse order for now
-               PriorityQueue<ObjectFilter.FilterResult> filterResults = new PriorityQueue<>(INITIAL_CAPACITY, new ReverseFilterResultComparator(comparator));
-               while (iterator.hasNext()) {
-                  ObjectFilter.FilterResult entry = iterator.next();
-                  resultSize++;
-                  filterResults.add(entry);
-                  if (maxResults != -1 && filterResults.size() > startOffset + maxResults) {
-                     // remove the head, which is actually the highest result
-                     filterResults.remove();
-                  }
-               }
-
-               // collect and reverse
-               if (filterResults.size() > startOffset) {
-                  Object[] res = new Object[filterResults.size() - startOffset];
-                  int i = filterResults.size();
-                  while (i-- > startOffset) {
-                     ObjectFilter.FilterResult r = filterResults.remove();
-                     res[i - startOffset] = projection != null ? r.getProjection() : r.getInstance();
-                  }
-                  results = Arrays.asList(res);
-               } else {
-                  results = Collections.emptyList();
+            // collect unsorted results and get the requested page if any was specified
+            results = new ArrayList<>(INITIAL_CAPACITY);
+            while (iterator.hasNext()) {
+               ObjectFilter.FilterResult entry = iterator.next();
+               resultSize++;
+               if (resultSize > startOffset && (maxResults == -1 || results.size() < maxResults)) {
+                  results.add(projection != null ? entry.getProjection() : entry.getInstance());
                }
             }
          }
       }
-
       return results;
    }
 
+   private List<Object> listSorted(Comparator<Comparable[]> comparator) {
+      long capacity = maxResults == -1 ? -1 : (long) startOffset + maxResults;
+      TopResults topResults = collectTopResults(comparator, capacity > Integer.MAX_VALUE ? -1 : (int) capacity);
+      resultSize = (int) topResults.getMatchCount();
+
+      ObjectFilter.FilterResult[] sorted = topResults.drain(startOffset);
+      if (sorted.length == 0) {
+         return Collections.emptyList();
+      }
+      Object[] res = new Object[sorted.length];
+      for (int i = 0; i < sorted.length; i++) {
+         res[i] = projection != null ? sorted[i].getProjection() : sorted[i].getInstance();
+      }
+      return Arrays.asList(res);
+   }
+
+   /**
+    * Collects the first {@code capacity} results returned by {@link #getIterator()}, in the order given by the
+    * comparator, while counting all matches. Subclasses may override this to compute the top results closer to the
+    * data.
+    *
+    * @param comparator the comparator returned by {@link #getComparator()}
+    * @param capacity   the number of results to keep, or -1 to keep all of them
+    */
+   protected TopResults collectTopResults(Comparator<Comparable[]> comparator, int capacity) {
+      TopResults topResults = new TopResults(comparator, capacity);
+      try (CloseableIterator<ObjectFilter.FilterResult> iterator = getIterator()) {
+         while (iterator.hasNext()) {
+            topResults.add(iterator.next());
+         }
+      }
+      return topResults;
+   }
+
    /**
     * Create a comparator to be used for ordering the results returned by {@link #getIterator()}.
     *
@@ -138,22 +147,4 @@ public String toString() {
             ", maxResults=" + maxResults +
             '}';
    }
-
-   /**
-    * Compares two {@link ObjectFilter.FilterResult} objects based on a given {@link Comparator} and reverses the
-    * result.
-    */
-   private static class ReverseFilterResultComparator implements Comparator<ObjectFilter.FilterResult> {
-
-      private final Comparator<Comparable[]> comparator;
-
-      private ReverseFilterResultComparator(Comparator<Comparable[]> comparator) {
-         this.comparator = comparator;
-      }
-
-      @Override
-      public int compare(ObjectFilter.FilterResult o1, ObjectFilter.FilterResult o2) {
-         return -comparator.compare(o1.getSortProjection(), o2.getSortProjection());
-      }
-   }
 }
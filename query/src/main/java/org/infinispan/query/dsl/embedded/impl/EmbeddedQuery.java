@@ -1,8 +1,11 @@
 package org.infinispan.query.dsl.embedded.impl;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.CacheStream;
@@ -11,6 +14,9 @@
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.filter.CacheFilters;
 import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.aggregation.FieldAccumulator;
+import org.infinispan.objectfilter.impl.aggregation.Grouper;
+import org.infinispan.objectfilter.impl.syntax.BooleanExpr;
 import org.infinispan.query.dsl.QueryFactory;
 
 
@@ -22,15 +28,41 @@
  */
 final class EmbeddedQuery extends BaseEmbeddedQuery {
 
+   /**
+    * The maximum number of results (offset included) for which the top results are computed on each node and merged
+    * on the caller. Deeper pages are sorted on the caller by streaming all matches through a bounded heap, to avoid
+    * every node sending back that many results.
+    */
+   private static final int MAX_PUSHDOWN_RESULTS = Integer.getInteger("org.infinispan.query.dsl.embedded.impl.EmbeddedQuery.MAX_PUSHDOWN_RESULTS", 10000);
+
    private final QueryEngine queryEngine;
 
+   /**
+    * The type of the queried entity, used together with {@link #whereClause} for looking up the attribute index. These
+    * are {@code null} if the attribute index is not to be used.
+    */
+   private final Object targetEntityMetadata;
+
+   /**
+    * The normalized where clause.
+    */
+   private final BooleanExpr whereClause;
+
    private IckleFilterAndConverter<?, ?> filter;
 
    EmbeddedQuery(QueryEngine queryEngine, QueryFactory queryFactory, AdvancedCache<?, ?> cache,
                  String queryString, Map<String, Object> namedParameters, String[] projection,
                  long startOffset, int maxResults) {
+      this(queryEngine, queryFactory, cache, queryString, namedParameters, projection, startOffset, maxResults, null, null);
+   }
+
+   EmbeddedQuery(QueryEngine queryEngine, QueryFactory queryFactory, AdvancedCache<?, ?> cache,
+                 String queryString, Map<String, Object> namedParameters, String[] projection,
+                 long startOffset, int maxResults, Object targetEntityMetadata, BooleanExpr whereClause) {
       super(queryFactory, cache, queryString, namedParameters, projection, startOffset, maxResults);
       this.queryEngine = queryEngine;
+      this.targetEntityMetadata = targetEntityMetadata;
+      this.whereClause = whereClause;
    }
 
    @Override
@@ -57,8 +89,44 @@ protected Comparator<Comparable[]> getComparator() {
 
    @Override
    protected CloseableIterator<ObjectFilter.FilterResult> getIterator() {
-      CacheStream<CacheEntry<?, ObjectFilter.FilterResult>> stream = (CacheStream<CacheEntry<?, ObjectFilter.FilterResult>>) CacheFilters.filterAndConvert(cache.cacheEntrySet().stream(), createFilter());
-      return Closeables.iterator(stream.map(CacheEntry::getValue));
+      return Closeables.iterator(filteredStream().map(CacheEntry::getValue));
+   }
+
+   /**
+    * Computes the top results of each node on the data it owns and merges them here, so only the requested page and
+    * the results preceding it are transferred from every node instead of all the matches.
+    */
+   @Override
+   protected TopResults collectTopResults(Comparator<Comparable[]> comparator, int capacity) {
+      if (capacity == -1 || capacity > MAX_PUSHDOWN_RESULTS || !(comparator instanceof Serializable)) {
+         return super.collectTopResults(comparator, capacity);
+      }
+      return filteredStream()
+            .map(CacheEntry::getValue)
+            .collect(() -> new TopResults(comparator, capacity), TopResults::add, TopResults::merge);
+   }
+
+   /**
+    * Groups and aggregates the projected rows matching this query. Each node computes the partial groups of the data it
+    * owns and only these are sent back and merged here, so the amount of data transferred depends on the number of
+    * groups rather than on the number of matching rows. The returned {@link Grouper} is not finished yet.
+    */
+   Grouper group(int noOfGroupingColumns, FieldAccumulator[] accumulators) {
+      return filteredStream()
+            .map(e -> e.getValue().getProjection())
+            .collect(() -> new Grouper(noOfGroupingColumns, accumulators, false), Grouper::addRow, Grouper::merge);
+   }
+
+   private CacheStream<CacheEntry<?, ObjectFilter.FilterResult>> filteredStream() {
+      CacheStream<? extends CacheEntry<?, ?>> entries = cache.cacheEntrySet().stream();
+      if (whereClause != null) {
+         // only visit the entries found by the attribute index, if it can be used for this query
+         Set<Object> candidateKeys = queryEngine.findCandidateKeys(targetEntityMetadata, whereClause, namedParameters);
+         if (candidateKeys != null) {
+            entries = entries.filterKeys(candidateKeys);
+         }
+      }
+      return (CacheStream<CacheEntry<?, ObjectFilter.FilterResult>>) CacheFilters.filterAndConvert((Stream) entries, createFilter());
    }
 
    @Override
@@ -5,6 +5,7 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.search.spi.SearchIntegrator;
 import org.infinispan.AdvancedCache;
@@ -41,6 +42,9 @@
 import org.infinispan.objectfilter.impl.syntax.parser.RowPropertyHelper;
 import org.infinispan.query.CacheQuery;
 import org.infinispan.query.SearchManager;
+import org.infinispan.query.attributeindex.impl.AttributeIndex;
+import org.infinispan.query.attributeindex.impl.AttributeIndexLookup;
+import org.infinispan.query.attributeindex.impl.AttributeIndexPlanner;
 import org.infinispan.query.dsl.Query;
 import org.infinispan.query.dsl.QueryFactory;
 import org.infinispan.query.dsl.impl.BaseQuery;
@@ -79,6 +83,11 @@
     */
    private final QueryCache queryCache;
 
+   /**
+    * Optional attribute index of a non-indexed cache. This is {@code null} if no attributes were declared for indexing.
+    */
+   private final AttributeIndex attributeIndex;
+
    /**
     * Optional, lazily acquired. This is {@code null} if the cache is not indexed.
     */
@@ -97,6 +106,7 @@ protected QueryEngine(AdvancedCache<?, ?> cache, boolean isIndexed, Class<? exte
       this.matcherImplClass = matcherImplClass;
       this.queryCache = ComponentRegistryUtils.getQueryCache(cache);
       this.matcher = SecurityActions.getCacheComponentRegistry(cache).getComponent(matcherImplClass);
+      this.attributeIndex = SecurityActions.getCacheComponentRegistry(cache).getComponent(AttributeIndex.class);
       propertyHelper = ((BaseMatcher<TypeMetadata, ?, ?>) matcher).getPropertyHelper();
       if (fieldBridgeAndAnalyzerProvider == null && propertyHelper instanceof HibernateSearchPropertyHelper) {
          this.fieldBridgeAndAnalyzerProvider = (LuceneQueryMaker.FieldBridgeAndAnalyzerProvider<TypeMetadata>) (((HibernateSearchPropertyHelper) propertyHelper).getDefaultFieldBridgeProvider());
@@ -513,7 +523,8 @@ private BaseQuery buildQueryNoAggregations(QueryFactory queryFactory, String que
       // if cache is indexed but there is no actual 'where' filter clause and we do have sorting or projections we should still use the index, otherwise just go for a non-indexed fetch-all
       if (!isIndexed || (normalizedWhereClause == null || normalizedWhereClause == ConstantBooleanExpr.TRUE) && parsingResult.getProjections() == null && parsingResult.getSortFields() == null) {
          // fully non-indexed execution because the filter matches everything or there is no indexing at all
-         return new EmbeddedQuery(this, queryFactory, cache, queryString, namedParameters, parsingResult.getProjections(), startOffset, maxResults);
+         return new EmbeddedQuery(this, queryFactory, cache, queryString, namedParameters, parsingResult.getProjections(), startOffset, maxResults,
+               parsingResult.getTargetEntityMetadata(), normalizedWhereClause);
       }
 
       IndexedFieldProvider.FieldIndexingMetadata fieldIndexingMetadata = propertyHelper.getIndexedFieldProvider().get(parsingResult.getTargetEntityMetadata());
@@ -629,6 +640,25 @@ private BaseQuery buildQueryNoAggregations(QueryFactory queryFactory, String que
       return new HybridQuery(queryFactory, cache, queryString, namedParameters, getObjectFilter(matcher, queryString, namedParameters, null), startOffset, maxResults, expandedQuery);
    }
 
+   /**
+    * Finds the keys of the entries that might match a non-indexed query with the help of the attribute index.
+    *
+    * @return the keys or {@code null} if the attribute index cannot be used and the whole cache must be scanned
+    */
+   Set<Object> findCandidateKeys(TypeMetadata targetEntityMetadata, BooleanExpr whereClause, Map<String, Object> namedParameters) {
+      if (attributeIndex == null || !(targetEntityMetadata instanceof Class)) {
+         return null;
+      }
+      AttributeIndexLookup lookup = AttributeIndexPlanner.plan(attributeIndex, (Class<?>) targetEntityMetadata, whereClause, namedParameters);
+      if (lookup == null) {
+         return null;
+      }
+      if (log.isDebugEnabled()) {
+         log.debugf("Using attribute index lookup %s", lookup);
+      }
+      return attributeIndex.findKeys(cache, lookup);
+   }
+
    /**
     * Make a new FilterParsingResult after normalizing the query. This FilterParsingResult is not supposed to have
     * grouping/aggregation.
@@ -0,0 +1,130 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.query.impl.externalizers.ExternalizerIds;
+
+/**
+ * Keeps the first results of a sorted query in a bounded heap, along with the total number of matches. Partial top
+ * results computed on different nodes can be merged, so each node only needs to send its own first results instead of
+ * every match.
+ *
+ * @since 9.1
+ */
+public final class TopResults {
+
+   /**
+    * Initial capacity of the heap used for collecting results.
+    */
+   private static final int INITIAL_CAPACITY = 1000;
+
+   private final Comparator<Comparable[]> comparator;
+
+   /**
+    * The maximum number of results to keep, or -1 if unbounded.
+    */
+   private final int capacity;
+
+   /**
+    * The results, in reverse order so the head is the greatest result and can be evicted cheaply.
+    */
+   private final PriorityQueue<ObjectFilter.FilterResult> heap;
+
+   /**
+    * The number of matching results, including the evicted ones.
+    */
+   private long matchCount;
+
+   TopResults(Comparator<Comparable[]> comparator, int capacity) {
+      this.comparator = comparator;
+      this.capacity = capacity;
+      int initialCapacity = capacity == -1 ? INITIAL_CAPACITY : Math.min(capacity + 1, INITIAL_CAPACITY);
+      this.heap = new PriorityQueue<>(initialCapacity, (r1, r2) -> -comparator.compare(r1.getSortProjection(), r2.getSortProjection()));
+   }
+
+   void add(ObjectFilter.FilterResult result) {
+      matchCount++;
+      offer(result);
+   }
+
+   private void offer(ObjectFilter.FilterResult result) {
+      heap.add(result);
+      if (capacity != -1 && heap.size() > capacity) {
+         // remove the head, which is actually the highest result
+         heap.remove();
+      }
+   }
+
+   void merge(TopResults other) {
+      matchCount += other.matchCount;
+      for (ObjectFilter.FilterResult result : other.heap) {
+         offer(result);
+      }
+   }
+
+   long getMatchCount() {
+      return matchCount;
+   }
+
+   /**
+    * Removes the results from the heap and returns them in ascending order, skipping the first {@code startOffset}.
+    */
+   ObjectFilter.FilterResult[] drain(int startOffset) {
+      if (heap.size() <= startOffset) {
+         heap.clear();
+         return new ObjectFilter.FilterResult[0];
+      }
+      ObjectFilter.FilterResult[] results = new ObjectFilter.FilterResult[heap.size() - startOffset];
+      int i = heap.size();
+      while (i-- > startOffset) {
+         results[i - startOffset] = heap.remove();
+      }
+      heap.clear();
+      return results;
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<TopResults> {
+
+      @Override
+      public void writeObject(ObjectOutput output, TopResults topResults) throws IOException {
+         output.writeObject(topResults.comparator);
+         output.writeInt(topResults.capacity);
+         output.writeLong(topResults.matchCount);
+         output.writeInt(topResults.heap.size());
+         for (ObjectFilter.FilterResult result : topResults.heap) {
+            output.writeObject(result);
+         }
+      }
+
+      @Override
+      public TopResults readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         Comparator<Comparable[]> comparator = (Comparator<Comparable[]>) input.readObject();
+         int capacity = input.readInt();
+         TopResults topResults = new TopResults(comparator, capacity);
+         topResults.matchCount = input.readLong();
+         int size = input.readInt();
+         for (int i = 0; i < size; i++) {
+            topResults.offer((ObjectFilter.FilterResult) input.readObject());
+         }
+         return topResults;
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.ICKLE_TOP_RESULTS;
+      }
+
+      @Override
+      public Set<Class<? extends TopResults>> getTypeClasses() {
+         return Collections.singleton(TopResults.class);
+      }
+   }
+}
@@ -23,6 +23,7 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.commons.util.ServiceFinder;
+import org.infinispan.commons.util.TypedProperties;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.Configurations;
@@ -30,9 +31,11 @@
 import org.infinispan.configuration.cache.IndexingConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.GlobalComponentRegistry;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.factories.components.ManageableComponentMetadata;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.DDAsyncInterceptor;
@@ -48,6 +51,8 @@
 import org.infinispan.query.MassIndexer;
 import org.infinispan.query.affinity.ShardAllocationManagerImpl;
 import org.infinispan.query.affinity.ShardAllocatorManager;
+import org.infinispan.query.attributeindex.impl.AttributeIndex;
+import org.infinispan.query.attributeindex.impl.AttributeIndexInterceptor;
 import org.infinispan.query.backend.IndexModificationStrategy;
 import org.infinispan.query.backend.QueryInterceptor;
 import org.infinispan.query.backend.QueryKnownClasses;
@@ -60,6 +65,7 @@
 import org.infinispan.query.dsl.embedded.impl.IckleCacheEventFilterConverter;
 import org.infinispan.query.dsl.embedded.impl.IckleFilterAndConverter;
 import org.infinispan.query.dsl.embedded.impl.QueryCache;
+import org.infinispan.query.dsl.embedded.impl.TopResults;
 import org.infinispan.query.impl.externalizers.ClusteredTopDocsExternalizer;
 import org.infinispan.query.impl.externalizers.ExternalizerIds;
 import org.infinispan.query.impl.externalizers.LuceneBooleanQueryExternalizer;
@@ -76,6 +82,7 @@
 import org.infinispan.query.impl.externalizers.LuceneTopFieldDocsExternalizer;
 import org.infinispan.query.impl.externalizers.LuceneWildcardQueryExternalizer;
 import org.infinispan.query.impl.massindex.DistributedExecutorMassIndexer;
+import org.infinispan.query.impl.massindex.MassIndexerProgress;
 import org.infinispan.query.impl.massindex.IndexWorker;
 import org.infinispan.query.logging.Log;
 import org.infinispan.query.spi.ProgrammaticSearchMappingProvider;
@@ -117,6 +124,7 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
             cr.registerComponent(new ShardAllocationManagerImpl(), ShardAllocatorManager.class);
             searchFactory = getSearchFactory(cacheName, cfg.indexing(), cr);
             createQueryInterceptorIfNeeded(cr, cfg, searchFactory);
+            cr.registerComponent(new MassIndexerProgress(cr.getTimeService(), TypedProperties.toTypedProperties(cfg.indexing().properties())), MassIndexerProgress.class);
             addCacheDependencyIfNeeded(cacheName, cache.getCacheManager(), cfg.indexing());
 
             // initializing the query module command initializer.
@@ -131,6 +139,10 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
 
          registerMatcher(cr, searchFactory);
 
+         if (!isIndexed) {
+            createAttributeIndexIfNeeded(cr, cfg, cacheName);
+         }
+
          EmbeddedQueryEngine queryEngine = new EmbeddedQueryEngine(cache, isIndexed);
          cr.registerComponent(queryEngine, EmbeddedQueryEngine.class);
       }
@@ -165,6 +177,71 @@ private void addCacheDependencyIfNeeded(String cacheStarting, EmbeddedCacheManag
       }
    }
 
+   private Class<? extends DDAsyncInterceptor> getEntryWrappingInterceptorClass(Configuration cfg) {
+      boolean txVersioned = Configurations.isTxVersioned(cfg);
+      boolean isTotalOrder = cfg.transaction().transactionProtocol().isTotalOrder();
+
+      Class<? extends DDAsyncInterceptor> wrappingInterceptor = EntryWrappingInterceptor.class;
+
+      if (txVersioned) {
+         wrappingInterceptor = isTotalOrder ?
+               TotalOrderVersionedEntryWrappingInterceptor.class : VersionedEntryWrappingInterceptor.class;
+      }
+      return wrappingInterceptor;
+   }
+
+   /**
+    * Creates the attribute index of a non-indexed cache if some attributes were declared for it in the indexing
+    * properties. The interceptor maintaining it is placed before the entry wrapping interceptor so it can see the
+    * committed values.
+    */
+   private void createAttributeIndexIfNeeded(ComponentRegistry cr, Configuration cfg, String cacheName) {
+      if (cr.getComponent(AttributeIndex.class) != null) {
+         return;
+      }
+      Map<String, String[]> declaredAttributes = AttributeIndex.parseDeclaredAttributes(cfg.indexing().properties());
+      if (declaredAttributes.isEmpty()) {
+         return;
+      }
+      if (cfg.persistence().usingStores()) {
+         // entries that are only present in a store would be missed
+         log.attributeIndexNotSupported(cacheName, "cache stores");
+         return;
+      }
+      if (cfg.memory().size() > 0) {
+         // evicted entries would keep matching the queries
+         log.attributeIndexNotSupported(cacheName, "eviction");
+         return;
+      }
+      if (cfg.memory().storageType() != StorageType.OBJECT || cfg.compatibility().enabled()) {
+         log.attributeIndexNotSupported(cacheName, "binary or off-heap storage and compatibility mode");
+         return;
+      }
+
+      int maxCandidates = TypedProperties.toTypedProperties(cfg.indexing().properties())
+            .getIntProperty(AttributeIndex.MAX_CANDIDATES_PROPERTY, AttributeIndex.DEFAULT_MAX_CANDIDATES);
+      AttributeIndex attributeIndex = new AttributeIndex(cacheName, declaredAttributes,
+            cr.getComponent(KeyPartitioner.class), cfg.clustering().hash().numSegments(), maxCandidates);
+      cr.registerComponent(attributeIndex, AttributeIndex.class);
+      AttributeIndexInterceptor attributeIndexInterceptor = new AttributeIndexInterceptor(attributeIndex);
+
+      AsyncInterceptorChain ic = cr.getComponent(AsyncInterceptorChain.class);
+
+      ConfigurationBuilder builder = new ConfigurationBuilder().read(cfg);
+      InterceptorConfigurationBuilder interceptorBuilder = builder.customInterceptors().addInterceptor();
+      interceptorBuilder.interceptor(attributeIndexInterceptor);
+
+      Class<? extends DDAsyncInterceptor> wrappingInterceptor = getEntryWrappingInterceptorClass(cfg);
+
+      if (ic != null) ic.addInterceptorBefore(attributeIndexInterceptor, wrappingInterceptor);
+      interceptorBuilder.before(wrappingInterceptor);
+
+      if (ic != null) {
+         cr.registerComponent(attributeIndexInterceptor, AttributeIndexInterceptor.class);
+      }
+      cfg.customInterceptors().interceptors(builder.build().customInterceptors().interceptors());
+   }
+
    private void createQueryInterceptorIfNeeded(ComponentRegistry cr, Configuration cfg, SearchIntegrator searchFactory) {
       QueryInterceptor queryInterceptor = cr.getComponent(QueryInterceptor.class);
       if (queryInterceptor == null) {
@@ -178,15 +255,7 @@ private void createQueryInterceptorIfNeeded(ComponentRegistry cr, Configuration
          InterceptorConfigurationBuilder interceptorBuilder = builder.customInterceptors().addInterceptor();
          interceptorBuilder.interceptor(queryInterceptor);
 
-         boolean txVersioned = Configurations.isTxVersioned(cfg);
-         boolean isTotalOrder = cfg.transaction().transactionProtocol().isTotalOrder();
-
-         Class<? extends DDAsyncInterceptor> wrappingInterceptor = EntryWrappingInterceptor.class;
-
-         if (txVersioned) {
-            wrappingInterceptor = isTotalOrder ?
-                  TotalOrderVersionedEntryWrappingInterceptor.class : VersionedEntryWrappingInterceptor.class;
-         }
+         Class<? extends DDAsyncInterceptor> wrappingInterceptor = getEntryWrappingInterceptorClass(cfg);
 
          if (ic != null) ic.addInterceptorAfter(queryInterceptor, wrappingInterceptor);
          interceptorBuilder.after(wrappingInterceptor);
@@ -397,7 +466,8 @@ private void removeQueryInterceptorFromConfiguration(Configuration cfg) {
       CustomInterceptorsConfigurationBuilder customInterceptorsBuilder = builder.customInterceptors();
 
       for (InterceptorConfiguration interceptorConfig : cfg.customInterceptors().interceptors()) {
-         if (!(interceptorConfig.asyncInterceptor() instanceof QueryInterceptor)) {
+         if (!(interceptorConfig.asyncInterceptor() instanceof QueryInterceptor)
+               && !(interceptorConfig.asyncInterceptor() instanceof AttributeIndexInterceptor)) {
             customInterceptorsBuilder.addInterceptor().read(interceptorConfig);
          }
       }
@@ -431,6 +501,7 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       externalizerMap.put(ExternalizerIds.LUCENE_BYTES_REF, new LuceneBytesRefExternalizer());
       externalizerMap.put(ExternalizerIds.LUCENE_QUERY_PREFIX, new LucenePrefixQueryExternalizer());
       externalizerMap.put(ExternalizerIds.LUCENE_QUERY_WILDCARD, new LuceneWildcardQueryExternalizer());
+      externalizerMap.put(ExternalizerIds.ICKLE_TOP_RESULTS, new TopResults.Externalizer());
    }
 
 }
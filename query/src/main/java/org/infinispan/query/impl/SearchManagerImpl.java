@@ -127,6 +127,11 @@ public void purge(Class<?> entityType) {
      queryInterceptor.purgeIndex(entityType);
    }
 
+   @Override
+   public void awaitLocalIndexing() {
+      queryInterceptor.awaitLocalIndexing();
+   }
+
    @Override
    public <T> T unwrap(Class<T> cls) {
       if (SearchIntegrator.class.isAssignableFrom(cls)) {
@@ -50,4 +50,6 @@ public interface ExternalizerIds {
    Integer LUCENE_QUERY_PREFIX = 1618;
 
    Integer LUCENE_QUERY_WILDCARD = 1619;
+
+   Integer ICKLE_TOP_RESULTS = 1620;
 }
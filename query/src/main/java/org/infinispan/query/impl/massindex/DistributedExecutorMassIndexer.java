@@ -39,24 +39,51 @@ public class DistributedExecutorMassIndexer implements MassIndexer {
    private final SearchIntegrator searchIntegrator;
    private final IndexUpdater indexUpdater;
    private final DistributedExecutorService executor;
+   private final MassIndexerProgress progress;
 
    public DistributedExecutorMassIndexer(AdvancedCache cache, SearchIntegrator searchIntegrator) {
       this.cache = cache;
       this.searchIntegrator = searchIntegrator;
       this.indexUpdater = new IndexUpdater(cache);
       this.executor = new DefaultExecutorService(cache);
+      this.progress = SecurityActions.getCacheComponentRegistry(cache).getComponent(MassIndexerProgress.class);
    }
 
    @Override
    @SuppressWarnings("unchecked")
    public void start() {
-      CompletableFuture<Void> executionResult = executeInternal(false);
+      CompletableFuture<Void> executionResult = executeInternal(false, false);
       executionResult.join();
    }
 
    @Override
    public CompletableFuture<Void> startAsync() {
-      return executeInternal(true);
+      return executeInternal(true, false);
+   }
+
+   @Override
+   public void resume() {
+      executeInternal(false, true).join();
+   }
+
+   @Override
+   public CompletableFuture<Void> resumeAsync() {
+      return executeInternal(true, true);
+   }
+
+   @Override
+   public long getIndexedEntries() {
+      return progress.getIndexedEntries();
+   }
+
+   @Override
+   public double getIndexingRate() {
+      return progress.getIndexingRate();
+   }
+
+   @Override
+   public long getEstimatedTimeRemaining() {
+      return progress.getEstimatedTimeRemaining();
    }
 
    private void addFutureListToFutures(List<CompletableFuture<Void>> futures, List<CompletableFuture<Void>> futureList) {
@@ -125,7 +152,7 @@ public CompletableFuture<Void> reindex(Object... keys) {
       return compositeFuture;
    }
 
-   private CompletableFuture<Void> executeInternal(boolean asyncFlush) {
+   private CompletableFuture<Void> executeInternal(boolean asyncFlush, boolean resume) {
       List<CompletableFuture<Void>> futures = new ArrayList<>();
       Deque<Class<?>> toFlush = new LinkedList<>();
 
@@ -134,7 +161,9 @@ private CompletableFuture<Void> executeInternal(boolean asyncFlush) {
          MassIndexStrategy strategy = calculateStrategy(indexBinding, cache.getCacheConfiguration());
          boolean workerClean = true, workerFlush = true;
          if (strategy.getCleanStrategy() == CleanExecutionMode.ONCE_BEFORE) {
-            indexUpdater.purge(indexedType);
+            if (!resume) {
+               indexUpdater.purge(indexedType);
+            }
             workerClean = false;
          }
          if (strategy.getFlushStrategy() == FlushExecutionMode.ONCE_AFTER) {
@@ -144,7 +173,7 @@ private CompletableFuture<Void> executeInternal(boolean asyncFlush) {
 
          IndexingExecutionMode indexingStrategy = strategy.getIndexingStrategy();
          IndexWorker indexWork =
-               new IndexWorker(indexedType, workerFlush, workerClean, indexingStrategy == IndexingExecutionMode.PRIMARY_OWNER, null);
+               new IndexWorker(indexedType, workerFlush, workerClean, indexingStrategy == IndexingExecutionMode.PRIMARY_OWNER, resume, null);
 
          DistributedTask<Void> task = executor
                .createDistributedTaskBuilder(indexWork)
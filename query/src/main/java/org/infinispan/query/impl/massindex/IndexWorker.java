@@ -1,20 +1,33 @@
 package org.infinispan.query.impl.massindex;
 
+import static org.infinispan.factories.KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR;
+
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 
+import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
 import org.infinispan.commons.marshall.AbstractExternalizer;
 import org.infinispan.compat.TypeConverter;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.distexec.DistributedCallable;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.executors.LimitedExecutor;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.filter.AcceptAllKeyValueFilter;
 import org.infinispan.filter.CacheFilters;
@@ -30,22 +43,44 @@
  */
 public class IndexWorker implements DistributedCallable<Object, Object, Void> {
 
+   /**
+    * The number of entries indexed by each task submitted to the executor.
+    */
+   private static final int BATCH_SIZE = 100;
+
+   /**
+    * The maximum number of passes over the local entries. The data container is not segmented, so every pass reads
+    * all the local entries, and the segments of a pass are only recorded as completed at the end of that pass.
+    */
+   private static final int MAX_PASSES = 16;
+
    protected final Class<?> entity;
    private final boolean flush;
    private final boolean clean;
    private final boolean primaryOwner;
+   private final boolean resume;
    protected Cache<Object, Object> cache;
    protected TypeConverter typeConverter;
    protected IndexUpdater indexUpdater;
    private Set<Object> everywhereKeys;
    private Set<Object> keys = new HashSet<>();
    private ClusteringDependentLogic clusteringDependentLogic;
+   private MassIndexerProgress progress;
+   private ExecutorService asyncExecutor;
 
    public IndexWorker(Class<?> entity, boolean flush, boolean clean, boolean primaryOwner, Set<Object> everywhereKeys) {
+      this(entity, flush, clean, primaryOwner, false, everywhereKeys);
+   }
+
+   /**
+    * @param resume whether to skip the segments indexed by the previous run on each node, without cleaning the index
+    */
+   public IndexWorker(Class<?> entity, boolean flush, boolean clean, boolean primaryOwner, boolean resume, Set<Object> everywhereKeys) {
       this.entity = entity;
       this.flush = flush;
       this.clean = clean;
       this.primaryOwner = primaryOwner;
+      this.resume = resume;
       this.everywhereKeys = everywhereKeys;
    }
 
@@ -56,6 +91,8 @@ public void setEnvironment(Cache<Object, Object> cache, Set<Object> inputKeys) {
       ComponentRegistry componentRegistry = SecurityActions.getCacheComponentRegistry(cache.getAdvancedCache());
       this.clusteringDependentLogic = componentRegistry.getComponent(ClusteringDependentLogic.class);
       this.typeConverter = componentRegistry.getComponent(TypeConverter.class);
+      this.progress = componentRegistry.getComponent(MassIndexerProgress.class);
+      this.asyncExecutor = componentRegistry.getComponent(ExecutorService.class, ASYNC_OPERATIONS_EXECUTOR);
       if (everywhereKeys != null && everywhereKeys.size() > 0)
          keys.addAll(everywhereKeys);
       if (inputKeys != null && inputKeys.size() > 0)
@@ -63,7 +100,7 @@ public void setEnvironment(Cache<Object, Object> cache, Set<Object> inputKeys) {
    }
 
    protected void preIndex() {
-      if (clean) indexUpdater.purge(entity);
+      if (clean && !resume) indexUpdater.purge(entity);
    }
 
    protected void postIndex() {
@@ -87,19 +124,14 @@ private Object extractValue(Object wrappedValue) {
    public Void call() throws Exception {
       Cache<Object, Object> unwrappedCache = SecurityActions.getUnwrappedCache(cache);
       if (keys == null || keys.size() == 0) {
-         preIndex();
-         KeyValueFilter filter = getFilter();
-         try (Stream<CacheEntry<Object, Object>> stream = unwrappedCache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL)
-               .cacheEntrySet().stream()) {
-            Iterator<CacheEntry<Object, Object>> iterator = stream.filter(CacheFilters.predicate(filter)).iterator();
-            while (iterator.hasNext()) {
-               CacheEntry<Object, Object> next = iterator.next();
-               Object value = extractValue(next.getValue());
-               if (value != null && value.getClass().equals(entity))
-                  indexUpdater.updateIndex(next.getKey(), value);
-            }
+         progress.taskStarted(entity, resume);
+         try {
+            preIndex();
+            indexSegments(unwrappedCache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL));
+            postIndex();
+         } finally {
+            progress.taskFinished();
          }
-         postIndex();
       } else {
          Set<Class<?>> classSet = new HashSet<>();
          for (Object key : keys) {
@@ -115,6 +147,115 @@ public Void call() throws Exception {
       return null;
    }
 
+   /**
+    * Indexes the local entries of the segments not indexed yet, a group of segments at a time. The segments of a group
+    * are recorded as completed once all their entries were indexed, so they can be skipped when resuming.
+    */
+   private void indexSegments(AdvancedCache<Object, Object> localCache) throws Exception {
+      CacheMode cacheMode = localCache.getCacheConfiguration().clustering().cacheMode();
+      Set<Integer> completedSegments = progress.getCompletedSegments(entity);
+      if (!cacheMode.isDistributed() && !cacheMode.isReplicated()) {
+         // not segmented, so all the data is treated as a single segment
+         if (!completedSegments.contains(0)) {
+            progress.segmentsPlanned(1);
+            indexEntries(localCache, null);
+            progress.segmentCompleted(entity, 0);
+         }
+         return;
+      }
+
+      LocalizedCacheTopology cacheTopology = clusteringDependentLogic.getCacheTopology();
+      int numSegments = cacheTopology.getReadConsistentHash().getNumSegments();
+      List<Integer> segments = new ArrayList<>();
+      for (int segment = 0; segment < numSegments; segment++) {
+         DistributionInfo distributionInfo = cacheTopology.getDistributionForSegment(segment);
+         boolean local = primaryOwner ? distributionInfo.isPrimary() : distributionInfo.isWriteOwner();
+         if (local && !completedSegments.contains(segment)) {
+            segments.add(segment);
+         }
+      }
+      if (segments.isEmpty()) {
+         return;
+      }
+      progress.segmentsPlanned(segments.size());
+      int groupSize = (segments.size() + MAX_PASSES - 1) / MAX_PASSES;
+      for (int from = 0; from < segments.size(); from += groupSize) {
+         Set<Integer> group = new HashSet<>(segments.subList(from, Math.min(from + groupSize, segments.size())));
+         indexEntries(localCache, group);
+         for (Integer segment : group) {
+            progress.segmentCompleted(entity, segment);
+         }
+      }
+   }
+
+   /**
+    * Iterates once over the local entries of the given segments, or all the local entries if {@code null}, and
+    * indexes them in batches, several batches at a time, on the async operations executor. The rate limit is applied
+    * here, before a batch is submitted, so the executor threads never wait for it.
+    */
+   private void indexEntries(AdvancedCache<Object, Object> localCache, Set<Integer> segments) throws Exception {
+      int concurrency = progress.getSegmentConcurrency();
+      LimitedExecutor executor = new LimitedExecutor("MassIndexer-" + cache.getName() + "-" + entity.getSimpleName(),
+            asyncExecutor, concurrency);
+      // bounds the entries read ahead of the indexing tasks
+      Semaphore pendingBatches = new Semaphore(2 * concurrency);
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      CompletableFuture<Void> failure = new CompletableFuture<>();
+      KeyValueFilter filter = getFilter();
+      IndexingThrottle throttle = progress.getThrottle();
+      try (CacheStream<CacheEntry<Object, Object>> stream = localCache.cacheEntrySet().stream()) {
+         CacheStream<CacheEntry<Object, Object>> segmentStream = segments != null ? stream.filterKeySegments(segments) : stream;
+         Iterator<CacheEntry<Object, Object>> iterator = segmentStream.filter(CacheFilters.predicate(filter)).iterator();
+         List<CacheEntry<Object, Object>> batch = new ArrayList<>(BATCH_SIZE);
+         while (iterator.hasNext() && !failure.isDone()) {
+            if (Thread.currentThread().isInterrupted()) {
+               throw new InterruptedException();
+            }
+            CacheEntry<Object, Object> entry = iterator.next();
+            Object value = extractValue(entry.getValue());
+            if (value != null && value.getClass().equals(entity)) {
+               batch.add(entry);
+            }
+            if (batch.size() == BATCH_SIZE) {
+               throttle.acquire(batch.size());
+               futures.add(submitBatch(batch, executor, pendingBatches, failure));
+               batch = new ArrayList<>(BATCH_SIZE);
+            }
+         }
+         if (!batch.isEmpty() && !failure.isDone()) {
+            throttle.acquire(batch.size());
+            futures.add(submitBatch(batch, executor, pendingBatches, failure));
+         }
+         CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get();
+      } catch (ExecutionException e) {
+         Throwable cause = e.getCause();
+         throw cause instanceof Exception ? (Exception) cause : e;
+      } finally {
+         executor.cancelQueuedTasks();
+      }
+   }
+
+   private CompletableFuture<Void> submitBatch(List<CacheEntry<Object, Object>> batch, LimitedExecutor executor,
+                                               Semaphore pendingBatches, CompletableFuture<Void> failure)
+         throws InterruptedException {
+      pendingBatches.acquire();
+      CompletableFuture<Void> future = CompletableFuture.runAsync(() -> indexBatch(batch), executor);
+      future.whenComplete((ignored, throwable) -> {
+         pendingBatches.release();
+         if (throwable != null) {
+            failure.completeExceptionally(throwable);
+         }
+      });
+      return future;
+   }
+
+   private void indexBatch(List<CacheEntry<Object, Object>> batch) {
+      for (CacheEntry<Object, Object> entry : batch) {
+         indexUpdater.updateIndex(entry.getKey(), extractValue(entry.getValue()));
+         progress.entryIndexed();
+      }
+   }
+
    public static class Externalizer extends AbstractExternalizer<IndexWorker> {
 
       @Override
@@ -128,12 +269,13 @@ public void writeObject(ObjectOutput output, IndexWorker worker) throws IOExcept
          output.writeBoolean(worker.flush);
          output.writeBoolean(worker.clean);
          output.writeBoolean(worker.primaryOwner);
+         output.writeBoolean(worker.resume);
          output.writeObject(worker.everywhereKeys);
       }
 
       @Override
       public IndexWorker readObject(ObjectInput input) throws IOException, ClassNotFoundException {
-         return new IndexWorker((Class<?>) input.readObject(), input.readBoolean(), input.readBoolean(), input.readBoolean(), (Set<Object>) input.readObject());
+         return new IndexWorker((Class<?>) input.readObject(), input.readBoolean(), input.readBoolean(), input.readBoolean(), input.readBoolean(), (Set<Object>) input.readObject());
       }
 
       @Override
@@ -0,0 +1,46 @@
+package org.infinispan.query.impl.massindex;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate at which entries are indexed by spacing out permits evenly, shared by all the threads indexing on a
+ * node. The permits of a batch are acquired by the thread submitting it, so the executor threads indexing the batches
+ * are never blocked by the limit.
+ *
+ * @since 9.1
+ */
+final class IndexingThrottle {
+
+   private final long intervalNanos;
+
+   private long nextPermitTime;
+
+   /**
+    * @param maxRate the maximum number of permits per second, or {@code 0} for no limit
+    */
+   IndexingThrottle(int maxRate) {
+      this.intervalNanos = maxRate > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRate : 0;
+      this.nextPermitTime = System.nanoTime();
+   }
+
+   /**
+    * Blocks until the given number of permits is available.
+    */
+   void acquire(int permits) throws InterruptedException {
+      if (intervalNanos == 0) {
+         return;
+      }
+      long waitNanos;
+      synchronized (this) {
+         long now = System.nanoTime();
+         if (nextPermitTime - now < 0) {
+            nextPermitTime = now;
+         }
+         waitNanos = nextPermitTime - now;
+         nextPermitTime += intervalNanos * permits;
+      }
+      if (waitNanos > 0) {
+         TimeUnit.NANOSECONDS.sleep(waitNanos);
+      }
+   }
+}
@@ -0,0 +1,147 @@
+package org.infinispan.query.impl.massindex;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.TypedProperties;
+import org.infinispan.util.TimeService;
+
+/**
+ * Tracks the mass indexing tasks running on a node. It remembers which segments were fully indexed for each entity
+ * type, so an interrupted or failed reindexing can be resumed without starting over, and computes the indexing rate
+ * and the estimated remaining time of the current run. It also holds the settings and the rate limiter shared by all
+ * the indexing tasks of the node.
+ *
+ * @since 9.1
+ */
+public final class MassIndexerProgress {
+
+   /**
+    * Indexing property defining the maximum number of batches of entries indexed in parallel by each node and entity
+    * type. Defaults to half the number of available processors.
+    */
+   public static final String SEGMENT_CONCURRENCY = "infinispan.query.mass_indexer.segment_concurrency";
+
+   /**
+    * Indexing property defining the maximum number of entries indexed per second by each node, to limit the impact of
+    * reindexing on the regular load. Defaults to {@code 0}, meaning unlimited.
+    */
+   public static final String MAX_RATE = "infinispan.query.mass_indexer.max_rate";
+
+   private final TimeService timeService;
+
+   private final int segmentConcurrency;
+
+   private final IndexingThrottle throttle;
+
+   private final ConcurrentMap<Class<?>, Set<Integer>> completedSegments = new ConcurrentHashMap<>();
+
+   private final LongAdder indexedEntries = new LongAdder();
+
+   private final AtomicInteger plannedSegments = new AtomicInteger();
+
+   private final AtomicInteger indexedSegments = new AtomicInteger();
+
+   private int runningTasks;
+
+   private volatile long startTime;
+
+   private volatile long endTime;
+
+   public MassIndexerProgress(TimeService timeService, TypedProperties indexingProperties) {
+      this.timeService = timeService;
+      this.segmentConcurrency = Math.max(1, indexingProperties.getIntProperty(SEGMENT_CONCURRENCY, Runtime.getRuntime().availableProcessors() / 2));
+      this.throttle = new IndexingThrottle(indexingProperties.getIntProperty(MAX_RATE, 0));
+   }
+
+   int getSegmentConcurrency() {
+      return segmentConcurrency;
+   }
+
+   IndexingThrottle getThrottle() {
+      return throttle;
+   }
+
+   /**
+    * Registers the start of an indexing task. The statistics are reset if no other task is running, and the completed
+    * segments of the entity type are forgotten unless resuming.
+    */
+   synchronized void taskStarted(Class<?> entityType, boolean resume) {
+      if (!resume) {
+         completedSegments.remove(entityType);
+      }
+      if (runningTasks++ == 0) {
+         indexedEntries.reset();
+         plannedSegments.set(0);
+         indexedSegments.set(0);
+         startTime = timeService.time();
+         endTime = 0;
+      }
+   }
+
+   synchronized void taskFinished() {
+      if (--runningTasks == 0) {
+         endTime = timeService.time();
+      }
+   }
+
+   Set<Integer> getCompletedSegments(Class<?> entityType) {
+      Set<Integer> segments = completedSegments.get(entityType);
+      return segments != null ? segments : Collections.emptySet();
+   }
+
+   void segmentsPlanned(int count) {
+      plannedSegments.addAndGet(count);
+   }
+
+   void segmentCompleted(Class<?> entityType, int segment) {
+      completedSegments.computeIfAbsent(entityType, t -> ConcurrentHashMap.newKeySet()).add(segment);
+      indexedSegments.incrementAndGet();
+   }
+
+   void entryIndexed() {
+      indexedEntries.increment();
+   }
+
+   /**
+    * @return the number of entries indexed by the current or last run
+    */
+   public long getIndexedEntries() {
+      return indexedEntries.sum();
+   }
+
+   /**
+    * @return the number of entries indexed per second by the current or last run
+    */
+   public double getIndexingRate() {
+      long start = startTime;
+      if (start == 0) {
+         return 0;
+      }
+      long end = endTime;
+      long elapsed = end != 0 ? timeService.timeDuration(start, end, TimeUnit.MILLISECONDS) : timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+      return elapsed == 0 ? 0 : indexedEntries.sum() * 1000d / elapsed;
+   }
+
+   /**
+    * Estimates the remaining time from the time taken by the segments indexed so far.
+    *
+    * @return the estimated remaining time in milliseconds, {@code 0} if not running or {@code -1} if not known yet
+    */
+   public long getEstimatedTimeRemaining() {
+      if (startTime == 0 || endTime != 0) {
+         return 0;
+      }
+      int done = indexedSegments.get();
+      if (done == 0) {
+         return -1;
+      }
+      long elapsed = timeService.timeDuration(startTime, TimeUnit.MILLISECONDS);
+      return elapsed * Math.max(0, plannedSegments.get() - done) / done;
+   }
+}
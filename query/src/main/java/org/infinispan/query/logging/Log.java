@@ -157,4 +157,12 @@ public interface Log extends org.infinispan.util.logging.Log {
 
    @Message(value = "infinispan-query.jar module is in the classpath but has not been properly initialised!", id = 14038)
    CacheException queryModuleNotInitialised();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Attribute '%s' of type %s cannot be indexed by the attribute index of cache %s: %s", id = 14039)
+   void cannotIndexAttribute(String attribute, String typeName, String cacheName, String reason);
+
+   @LogMessage(level = WARN)
+   @Message(value = "The attribute index of cache %s is disabled because it does not support %s", id = 14040)
+   void attributeIndexNotSupported(String cacheName, String feature);
 }
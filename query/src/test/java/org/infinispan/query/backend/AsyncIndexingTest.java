@@ -0,0 +1,108 @@
+package org.infinispan.query.backend;
+
+import static org.testng.Assert.assertEquals;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.Index;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.Search;
+import org.infinispan.query.SearchManager;
+import org.infinispan.query.helper.StaticTestingErrorHandler;
+import org.infinispan.query.test.Person;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the asynchronous, batched application of index changes.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "query.backend.AsyncIndexingTest")
+public class AsyncIndexingTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(true);
+      cfg.indexing().index(Index.ALL)
+            .addIndexedEntity(Person.class)
+            .addProperty("default.directory_provider", "ram")
+            .addProperty("error_handler", "org.infinispan.query.helper.StaticTestingErrorHandler")
+            .addProperty("lucene_version", "LUCENE_CURRENT")
+            .addProperty(AsyncIndexingQueue.ASYNC_INDEXING, "true")
+            .addProperty(AsyncIndexingQueue.ASYNC_INDEXING_QUEUE_SIZE, "16")
+            // long enough for the batches to be applied only when full or flushed
+            .addProperty(AsyncIndexingQueue.ASYNC_INDEXING_MAX_STALENESS, "60000");
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   public void testAwaitIndexing() {
+      SearchManager searchManager = Search.getSearchManager(cache);
+      for (int i = 0; i < 100; i++) {
+         cache.put("person" + i, new Person("name" + i, "blurb", i));
+      }
+      searchManager.awaitLocalIndexing();
+      assertEquals(countAll(), 100);
+
+      // several updates of the same entry end up as a single index change
+      for (int i = 0; i < 10; i++) {
+         cache.put("person0", new Person("updated" + i, "blurb", i));
+      }
+      cache.remove("person1");
+      searchManager.awaitLocalIndexing();
+      assertEquals(countAll(), 99);
+      assertEquals(countByName("name0"), 0);
+      assertEquals(countByName("updated9"), 1);
+
+      cache.clear();
+      searchManager.awaitLocalIndexing();
+      assertEquals(countAll(), 0);
+      StaticTestingErrorHandler.assertAllGood(cache);
+   }
+
+   public void testUpdatesOfSameKeyAreMerged() {
+      SearchManager searchManager = Search.getSearchManager(cache);
+      AsyncIndexingQueue queue = TestingUtil.findInterceptor(cache, QueryInterceptor.class).getAsyncIndexingQueue();
+      searchManager.awaitLocalIndexing();
+      long appliedWorks = queue.getAppliedWorks();
+
+      for (int i = 0; i < 10; i++) {
+         cache.put("merged", new Person("merged" + i, "blurb", i));
+      }
+      searchManager.awaitLocalIndexing();
+
+      assertEquals(queue.getAppliedWorks() - appliedWorks, 1);
+      assertEquals(countByName("merged9"), 1);
+      StaticTestingErrorHandler.assertAllGood(cache);
+   }
+
+   public void testTransactionalChangesIndexedOnCommit() throws Exception {
+      SearchManager searchManager = Search.getSearchManager(cache);
+      tm().begin();
+      cache.put("committed", new Person("committed", "blurb", 1));
+      tm().commit();
+
+      tm().begin();
+      cache.put("rolledBack", new Person("rolledBack", "blurb", 2));
+      tm().rollback();
+
+      searchManager.awaitLocalIndexing();
+      assertEquals(countByName("committed"), 1);
+      assertEquals(countByName("rolledBack"), 0);
+      StaticTestingErrorHandler.assertAllGood(cache);
+   }
+
+   private int countAll() {
+      return Search.getSearchManager(cache).getQuery(new MatchAllDocsQuery(), Person.class).getResultSize();
+   }
+
+   private int countByName(String name) {
+      SearchManager searchManager = Search.getSearchManager(cache);
+      Query query = searchManager.buildQueryBuilderForClass(Person.class)
+            .get().keyword().onField("name").matching(name).createQuery();
+      return searchManager.getQuery(query).getResultSize();
+   }
+}
@@ -11,6 +11,7 @@
 import org.infinispan.context.Flag;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.query.CacheQuery;
+import org.infinispan.query.MassIndexer;
 import org.infinispan.query.Search;
 import org.infinispan.query.SearchManager;
 import org.infinispan.query.helper.StaticTestingErrorHandler;
@@ -77,6 +78,20 @@ public void testPartiallyReindex() throws Exception {
       verifyFindsCar(0, "megane");
    }
 
+   public void testResumeSkipsIndexedSegments() throws Exception {
+      caches.get(0).put(key("F1NUM"), new Car("megane", "white", 300));
+      rebuildIndexes();
+      MassIndexer massIndexer = Search.getSearchManager(caches.get(0)).getMassIndexer();
+      assertEquals(0, massIndexer.getEstimatedTimeRemaining());
+      //all segments are indexed already, so resuming does not pick up new entries:
+      caches.get(1).getAdvancedCache().withFlags(Flag.SKIP_INDEXING).put(key("F2NUM"), new Car("megane", "blue", 300));
+      massIndexer.resume();
+      verifyFindsCar(1, "megane");
+      //while a new rebuild does:
+      rebuildIndexes();
+      verifyFindsCar(2, "megane");
+   }
+
    protected Object key(String keyId) {
       //Used to verify remoting is fine with non serializable keys
       return new NonSerializableKeyType(keyId);
@@ -0,0 +1,46 @@
+package org.infinispan.query.dsl.embedded;
+
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.query.attributeindex.impl.AttributeIndex;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the non-indexed query conditions tests on a distributed cache having an attribute index, so the queries on the
+ * indexed attributes only visit the entries found by the attribute index of each node.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "query.dsl.embedded.AttributeIndexedQueryDslConditionsTest")
+public class AttributeIndexedQueryDslConditionsTest extends NonIndexedQueryDslConditionsTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createClusteredCaches(2, attributeIndexedConfig());
+   }
+
+   private ConfigurationBuilder attributeIndexedConfig() {
+      ConfigurationBuilder cfg = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, true);
+      cfg.clustering().hash().numOwners(1);
+      cfg.indexing()
+            .addProperty(AttributeIndex.ATTRIBUTE_INDEX_PROPERTY_PREFIX + getModelFactory().getUserImplClass().getName(), "name, surname, age")
+            .addProperty(AttributeIndex.ATTRIBUTE_INDEX_PROPERTY_PREFIX + getModelFactory().getAccountImplClass().getName(), "description, creationDate")
+            .addProperty(AttributeIndex.ATTRIBUTE_INDEX_PROPERTY_PREFIX + getModelFactory().getTransactionImplClass().getName(), "description, accountId, amount, date");
+      return cfg;
+   }
+
+   public void testAttributeIndexIsCreated() {
+      assertNotNull(cache(0).getAdvancedCache().getComponentRegistry().getComponent(AttributeIndex.class));
+      assertNotNull(cache(1).getAdvancedCache().getComponentRegistry().getComponent(AttributeIndex.class));
+   }
+
+   public void testAttributeIndexIsNotCreatedWithEviction() {
+      ConfigurationBuilder cfg = attributeIndexedConfig();
+      cfg.memory().size(100);
+      manager(0).defineConfiguration("evicting", cfg.build());
+      assertNull(manager(0).getCache("evicting").getAdvancedCache().getComponentRegistry().getComponent(AttributeIndex.class));
+   }
+}
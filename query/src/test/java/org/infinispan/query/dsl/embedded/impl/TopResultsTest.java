@@ -0,0 +1,66 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.FilterResultImpl;
+import org.infinispan.objectfilter.impl.util.ComparableArrayComparator;
+import org.junit.Test;
+
+/**
+ * @since 9.1
+ */
+public class TopResultsTest {
+
+   private static final ComparableArrayComparator ASCENDING = new ComparableArrayComparator(new boolean[]{true});
+
+   @Test
+   public void testMergedPartialTopResults() {
+      int[] values = {7, 3, 9, 1, 12, 5, 8, 2, 6, 11, 4, 10};
+
+      TopResults first = new TopResults(ASCENDING, 5);
+      TopResults second = new TopResults(ASCENDING, 5);
+      for (int i = 0; i < values.length; i++) {
+         (i % 2 == 0 ? first : second).add(result(values[i]));
+      }
+      TopResults merged = new TopResults(ASCENDING, 5);
+      merged.merge(first);
+      merged.merge(second);
+
+      assertEquals(values.length, merged.getMatchCount());
+      assertArrayEquals(new Object[]{3, 4, 5}, instances(merged.drain(2)));
+   }
+
+   @Test
+   public void testUnboundedTopResults() {
+      TopResults topResults = new TopResults(new ComparableArrayComparator(new boolean[]{false}), -1);
+      for (int value : new int[]{2, 5, 1, 4, 3}) {
+         topResults.add(result(value));
+      }
+
+      assertEquals(5, topResults.getMatchCount());
+      assertArrayEquals(new Object[]{5, 4, 3, 2, 1}, instances(topResults.drain(0)));
+   }
+
+   @Test
+   public void testOffsetBeyondResults() {
+      TopResults topResults = new TopResults(ASCENDING, 10);
+      topResults.add(result(1));
+      topResults.add(result(2));
+
+      assertEquals(0, topResults.drain(5).length);
+   }
+
+   private static ObjectFilter.FilterResult result(int value) {
+      return new FilterResultImpl(value, null, new Comparable[]{value});
+   }
+
+   private static Object[] instances(ObjectFilter.FilterResult[] results) {
+      Object[] instances = new Object[results.length];
+      for (int i = 0; i < results.length; i++) {
+         instances[i] = results[i].getInstance();
+      }
+      return instances;
+   }
+}
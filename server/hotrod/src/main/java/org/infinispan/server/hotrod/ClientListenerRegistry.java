@@ -35,6 +35,7 @@
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.jboss.GenericJBossMarshaller;
 import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.CompatibilityModeConfiguration;
 import org.infinispan.container.versioning.EntryVersion;
 import org.infinispan.container.versioning.NumericVersion;
@@ -128,7 +129,10 @@ void addClientListener(VersionedDecoder decoder, Channel ch, HotRodHeader h, byt
                           KeyValuePair<Optional<KeyValuePair<String, List<byte[]>>>, Optional<KeyValuePair<String, List<byte[]>>>> namedFactories,
                           boolean useRawData, int listenerInterests) {
       ClientEventType eventType = ClientEventType.createType(namedFactories.getValue().isPresent(), useRawData, h.version);
-      Object clientEventSender = getClientEventSender(includeState, ch, h.version, cache, listenerId, eventType);
+      // Near cache listeners only use events to invalidate, so pending events for the same key can be coalesced
+      boolean coalesce = eventType == ClientEventType.PLAIN && namedFactories.getKey()
+            .map(f -> f.getKey().equals(NearCacheBloomFilter.FACTORY_NAME)).orElse(false);
+      Object clientEventSender = getClientEventSender(includeState, ch, h.version, cache, listenerId, eventType, coalesce);
       List<byte[]> binaryFilterParams = namedFactories.getKey().map(KeyValuePair::getValue).orElse(Collections.emptyList());
       List<byte[]> binaryConverterParams = namedFactories.getValue().map(KeyValuePair::getValue).orElse(Collections.emptyList());
       boolean compatEnabled = cache.getCacheConfiguration().compatibility().enabled();
@@ -209,7 +213,7 @@ private void addCacheListener(AdvancedCache<byte[], byte[]> cache, Object client
 
    CacheEventFilter<byte[], byte[]> getFilter(String name, Boolean compatEnabled, Boolean useRawData, List<byte[]> binaryParams) {
       KeyValuePair<CacheEventFilterFactory, Marshaller> factory =
-            findFactory(name, compatEnabled, cacheEventFilterFactories, "key/value filter", useRawData);
+            findFilterFactory(name, compatEnabled, cacheEventFilterFactories, "key/value filter", useRawData);
       List<? extends Object> params = unmarshallParams(binaryParams, factory.getValue(), useRawData);
       return factory.getKey().getFilter(params.toArray());
    }
@@ -228,6 +232,14 @@ CacheEventFilterConverter<byte[], byte[], byte[]> getFilterConverter(String name
       return factory.getKey().getFilterConverter(params.toArray());
    }
 
+   KeyValuePair<CacheEventFilterFactory, Marshaller> findFilterFactory(String name, boolean compatEnabled,
+                                                                       ConcurrentMap<String, CacheEventFilterFactory> factories, String factoryType, boolean useRawData) {
+      if (name.equals(NearCacheBloomFilter.FACTORY_NAME))
+         return new KeyValuePair<>(NearCacheBloomFilter.Factory.SINGLETON, new GenericJBossMarshaller());
+      else
+         return findFactory(name, compatEnabled, factories, factoryType, useRawData);
+   }
+
    KeyValuePair<CacheEventConverterFactory, Marshaller> findConverterFactory(String name, boolean compatEnabled,
                                                                              ConcurrentMap<String, CacheEventConverterFactory> factories, String factoryType, boolean useRawData) {
       if (name.equals("___eager-key-value-version-converter"))
@@ -304,16 +316,17 @@ void findAndWriteEvents(Channel channel) {
    private class StatefulClientEventSender extends BaseClientEventSender {
 
       protected StatefulClientEventSender(Channel ch, byte[] listenerId, byte version,
-                                          org.infinispan.server.hotrod.ClientEventType targetEventType) {
-         super(ch, listenerId, version, targetEventType);
+                                          org.infinispan.server.hotrod.ClientEventType targetEventType, boolean coalesce) {
+         super(ch, listenerId, version, targetEventType, coalesce);
       }
    }
 
    @Listener(clustered = true, includeCurrentState = false)
    private class StatelessClientEventSender extends BaseClientEventSender {
 
-      protected StatelessClientEventSender(Channel ch, byte[] listenerId, byte version, ClientEventType targetEventType) {
-         super(ch, listenerId, version, targetEventType);
+      protected StatelessClientEventSender(Channel ch, byte[] listenerId, byte version, ClientEventType targetEventType,
+                                           boolean coalesce) {
+         super(ch, listenerId, version, targetEventType, coalesce);
       }
    }
 
@@ -322,16 +335,20 @@ private abstract class BaseClientEventSender {
       protected final byte[] listenerId;
       protected final byte version;
       protected final ClientEventType targetEventType;
+      // Keys with an event waiting in the queue, only tracked when coalescing
+      private final Set<WrappedByteArray> queuedKeys;
 
       BlockingQueue<Object> eventQueue = new LinkedBlockingQueue<>(100);
 
       private final Runnable writeEventsIfPossible = this::writeEventsIfPossible;
 
-      protected BaseClientEventSender(Channel ch, byte[] listenerId, byte version, ClientEventType targetEventType) {
+      protected BaseClientEventSender(Channel ch, byte[] listenerId, byte version, ClientEventType targetEventType,
+                                      boolean coalesce) {
          this.ch = ch;
          this.listenerId = listenerId;
          this.version = version;
          this.targetEventType = targetEventType;
+         this.queuedKeys = coalesce ? ConcurrentHashMap.newKeySet() : null;
       }
 
       boolean hasChannel(Channel channel) {
@@ -342,6 +359,10 @@ void writeEventsIfPossible() {
          boolean written = false;
          while (!eventQueue.isEmpty() && ch.isWritable()) {
             Object event = eventQueue.poll();
+            if (queuedKeys != null) {
+               // Removed before writing, so any later modification is queued again
+               queuedKeys.remove(new WrappedByteArray(eventKey(event)));
+            }
             if (isTrace) log.tracef("Write event: %s to channel %s", event, ch);
             ch.write(event);
             written = true;
@@ -394,6 +415,11 @@ boolean isChannelDisconnected() {
       }
 
       void sendEvent(byte[] key, byte[] value, long dataVersion, CacheEntryEvent event) {
+         if (queuedKeys != null && !queuedKeys.add(new WrappedByteArray(key))) {
+            // An invalidation for this key has not been written yet, and it will be written after this modification
+            if (isTrace) log.tracef("Coalesced event for key %s with the queued one", Util.printArray(key));
+            return;
+         }
          Object remoteEvent = createRemoteEvent(key, value, dataVersion, event);
          if (isTrace)
             log.tracef("Queue event %s, before queuing event queue size is %d", remoteEvent, eventQueue.size());
@@ -441,6 +467,11 @@ private Object createRemoteEvent(byte[] key, byte[] value, long dataVersion, Cac
          }
       }
 
+      private byte[] eventKey(Object event) {
+         return event instanceof Events.KeyWithVersionEvent
+               ? ((Events.KeyWithVersionEvent) event).key : ((Events.KeyEvent) event).key;
+      }
+
       private KeyValuePair<HotRodOperation, Boolean> getEventResponseType(CacheEntryEvent event) {
          switch (event.getType()) {
             case CACHE_ENTRY_CREATED:
@@ -466,21 +497,21 @@ private Events.KeyWithVersionEvent keyWithVersionEvent(byte[] key, long dataVers
    }
 
    Object getClientEventSender(boolean includeState, Channel ch, byte version,
-                               Cache cache, byte[] listenerId, ClientEventType eventType) {
+                               Cache cache, byte[] listenerId, ClientEventType eventType, boolean coalesce) {
       CompatibilityModeConfiguration compatibility = cache.getCacheConfiguration().compatibility();
       if (compatibility.enabled()) {
          if (includeState) {
-            StatelessClientEventSender delegate = new StatelessClientEventSender(ch, listenerId, version, eventType);
+            StatelessClientEventSender delegate = new StatelessClientEventSender(ch, listenerId, version, eventType, coalesce);
             return new StatefulCompatibilityClientEventSender(delegate, new HotRodTypeConverter(compatibility.marshaller()));
          } else {
-            StatelessClientEventSender delegate = new StatelessClientEventSender(ch, listenerId, version, eventType);
+            StatelessClientEventSender delegate = new StatelessClientEventSender(ch, listenerId, version, eventType, coalesce);
             return new StatelessCompatibilityClientEventSender(delegate, new HotRodTypeConverter(compatibility.marshaller()));
          }
       } else {
          if (includeState) {
-            return new StatefulClientEventSender(ch, listenerId, version, eventType);
+            return new StatefulClientEventSender(ch, listenerId, version, eventType, coalesce);
          } else {
-            return new StatelessClientEventSender(ch, listenerId, version, eventType);
+            return new StatelessClientEventSender(ch, listenerId, version, eventType, coalesce);
          }
       }
    }
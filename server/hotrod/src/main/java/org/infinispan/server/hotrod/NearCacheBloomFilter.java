@@ -0,0 +1,69 @@
+package org.infinispan.server.hotrod;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.util.BloomFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.notifications.cachelistener.filter.CacheEventFilter;
+import org.infinispan.notifications.cachelistener.filter.CacheEventFilterFactory;
+import org.infinispan.notifications.cachelistener.filter.EventType;
+
+/**
+ * Filters out events for keys which are not part of the bloom filter sent by a near cache client, so that only
+ * invalidations for keys the client might have cached are sent over the wire.
+ *
+ * @since 9.1
+ */
+class NearCacheBloomFilter implements CacheEventFilter<Object, Object> {
+   static final String FACTORY_NAME = "___near-cache-bloom-filter";
+
+   private final BloomFilter filter;
+
+   NearCacheBloomFilter(BloomFilter filter) {
+      this.filter = filter;
+   }
+
+   @Override
+   public boolean accept(Object key, Object oldValue, Metadata oldMetadata, Object newValue, Metadata newMetadata, EventType eventType) {
+      // In compatibility mode keys are not in the client marshalled form, so the filter cannot be applied
+      return !(key instanceof byte[]) || filter.mightContain((byte[]) key);
+   }
+
+   static class Factory implements CacheEventFilterFactory {
+      public static Factory SINGLETON = new Factory();
+
+      private Factory() {
+      }
+
+      @Override
+      public <K, V> CacheEventFilter<K, V> getFilter(Object[] params) {
+         return (CacheEventFilter<K, V>) new NearCacheBloomFilter(BloomFilter.fromBytes((byte[]) params[0]));
+      }
+   }
+
+   static class Externalizer extends AbstractExternalizer<NearCacheBloomFilter> {
+      @Override
+      public Set<Class<? extends NearCacheBloomFilter>> getTypeClasses() {
+         return Collections.singleton(NearCacheBloomFilter.class);
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, NearCacheBloomFilter object) throws IOException {
+         byte[] bytes = object.filter.toBytes();
+         output.writeInt(bytes.length);
+         output.write(bytes);
+      }
+
+      @Override
+      public NearCacheBloomFilter readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         byte[] bytes = new byte[input.readInt()];
+         input.readFully(bytes);
+         return new NearCacheBloomFilter(BloomFilter.fromBytes(bytes));
+      }
+   }
+}
@@ -0,0 +1,528 @@
+package org.infinispan.server.memcached;
+
+import static io.netty.buffer.Unpooled.EMPTY_BUFFER;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.ADD;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.APPEND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.DECREMENT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.DELETE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.FLUSH;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.GET;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.GETK;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.HEADER_LENGTH;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.INCREMENT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.INTERNAL_ERROR;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.INVALID_ARGUMENTS;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.ITEM_NOT_STORED;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.KEY_EXISTS;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.KEY_NOT_FOUND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAGIC_REQUEST;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAGIC_RESPONSE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAX_KEY_LENGTH;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NON_NUMERIC_VALUE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NOOP;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NO_AUTO_CREATE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.NO_ERROR;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.PREPEND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.QUIT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.REPLACE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.SET;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.STAT;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.TEMPORARY_FAILURE;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.UNKNOWN_COMMAND;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.VERSION;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.isQuiet;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.loudOpcode;
+import static org.infinispan.server.memcached.TextProtocolUtil.concat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Version;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.context.Flag;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.server.memcached.logging.JavaLog;
+import org.infinispan.stats.Stats;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * A Memcached binary protocol decoder, which also writes the responses.
+ * <p>
+ * Unlike the text decoder, frames are only parsed once the whole request is available, since the header carries the
+ * body length. A request whose body is larger than the configured maximum frame size closes the connection instead of
+ * being buffered. Responses are written without flushing and flushed once all the requests read from the socket have
+ * been processed. Consecutive get requests are accumulated and retrieved with a single
+ * {@link AdvancedCache#getAllCacheEntries(Set)} call, which is what clients pipelining quiet gets (getq/getkq
+ * followed by a noop) benefit from.
+ *
+ * @since 9.1
+ */
+public class MemcachedBinaryDecoder extends ByteToMessageDecoder {
+   private static final JavaLog log = LogFactory.getLog(MemcachedBinaryDecoder.class, JavaLog.class);
+   private static final boolean isTrace = log.isTraceEnabled();
+
+   private static final byte[] EMPTY = new byte[0];
+
+   private final AdvancedCache<String, byte[]> cache;
+   private final ScheduledExecutorService scheduler;
+   private final Predicate<? super String> ignoreCache;
+   private final int maxFrameSize;
+   private final List<Request> pendingGets = new ArrayList<>();
+
+   public MemcachedBinaryDecoder(AdvancedCache<String, byte[]> memcachedCache, ScheduledExecutorService scheduler,
+                                 Predicate<? super String> ignoreCache, int maxFrameSize) {
+      this.cache = memcachedCache.getCacheConfiguration().compatibility().enabled() ?
+            memcachedCache.withFlags(Flag.OPERATION_MEMCACHED) : memcachedCache;
+      this.scheduler = scheduler;
+      this.ignoreCache = ignoreCache;
+      this.maxFrameSize = maxFrameSize;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+      while (in.readableBytes() >= HEADER_LENGTH) {
+         int start = in.readerIndex();
+         if (in.getByte(start) != MAGIC_REQUEST) {
+            log.debugf("Unexpected magic byte 0x%x in binary request, closing connection", in.getByte(start));
+            in.skipBytes(in.readableBytes());
+            flushPendingGets(ctx);
+            ctx.writeAndFlush(EMPTY_BUFFER).addListener(f -> ctx.close());
+            return;
+         }
+         long bodyLength = in.getUnsignedInt(start + 8);
+         if (bodyLength > maxFrameSize) {
+            log.requestTooLarge(bodyLength, ctx.channel().remoteAddress(), maxFrameSize);
+            in.skipBytes(in.readableBytes());
+            flushPendingGets(ctx);
+            ctx.writeAndFlush(EMPTY_BUFFER).addListener(f -> ctx.close());
+            return;
+         }
+         if (in.readableBytes() < HEADER_LENGTH + bodyLength) {
+            // Wait for the rest of the frame
+            return;
+         }
+         in.skipBytes(1);
+         byte opcode = in.readByte();
+         int keyLength = in.readUnsignedShort();
+         int extrasLength = in.readUnsignedByte();
+         in.skipBytes(3); // data type and vbucket id
+         int totalBody = (int) in.readUnsignedInt();
+         int opaque = in.readInt();
+         long cas = in.readLong();
+         if (keyLength + extrasLength > totalBody) {
+            in.skipBytes(totalBody);
+            Request invalid = new Request(opcode, null, EMPTY, EMPTY, opaque, cas);
+            flushPendingGets(ctx);
+            writeError(ctx, invalid, INVALID_ARGUMENTS, "Key and extras exceed the body length");
+            continue;
+         }
+         byte[] extras = new byte[extrasLength];
+         in.readBytes(extras);
+         byte[] key = new byte[keyLength];
+         in.readBytes(key);
+         byte[] value = new byte[totalBody - keyLength - extrasLength];
+         in.readBytes(value);
+         Request request = new Request(opcode, new String(key, StandardCharsets.UTF_8), extras, value, opaque, cas);
+         if (isTrace) log.tracef("Decoded binary request %s", request);
+         handle(ctx, request);
+      }
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      // Everything that has been read is processed, so resolve outstanding gets and send all responses at once
+      flushPendingGets(ctx);
+      ctx.flush();
+      super.channelReadComplete(ctx);
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      log.debug("Exception caught", cause);
+      ctx.close();
+   }
+
+   private void handle(ChannelHandlerContext ctx, Request r) {
+      byte op = loudOpcode(r.opcode);
+      if (op != GET && op != GETK || r.key.length() > MAX_KEY_LENGTH) {
+         // Responses must be sent in request order
+         flushPendingGets(ctx);
+      }
+      if (r.key.length() > MAX_KEY_LENGTH) {
+         writeError(ctx, r, INVALID_ARGUMENTS, "Key length over the " + MAX_KEY_LENGTH + " character limit");
+         return;
+      }
+      if (op == GET || op == GETK) {
+         pendingGets.add(r);
+         if (!isQuiet(r.opcode)) {
+            flushPendingGets(ctx);
+         }
+         return;
+      }
+      if (ignoreCache.test(cache.getName())) {
+         writeError(ctx, r, TEMPORARY_FAILURE, "Cache " + cache.getName() + " is unavailable");
+         return;
+      }
+      try {
+         switch (op) {
+            case SET:
+            case ADD:
+            case REPLACE:
+               store(ctx, r, op);
+               break;
+            case DELETE:
+               delete(ctx, r);
+               break;
+            case INCREMENT:
+            case DECREMENT:
+               incrDecr(ctx, r, op == INCREMENT);
+               break;
+            case APPEND:
+            case PREPEND:
+               appendPrepend(ctx, r, op == APPEND);
+               break;
+            case FLUSH:
+               flush(ctx, r);
+               break;
+            case NOOP:
+               writeSuccess(ctx, r, 0, EMPTY, EMPTY);
+               break;
+            case VERSION:
+               writeSuccess(ctx, r, 0, EMPTY, Version.getVersion().getBytes(StandardCharsets.US_ASCII));
+               break;
+            case STAT:
+               stats(ctx, r);
+               break;
+            case QUIT:
+               writeSuccess(ctx, r, 0, EMPTY, EMPTY);
+               ctx.writeAndFlush(EMPTY_BUFFER).addListener(f -> ctx.close());
+               break;
+            default:
+               writeError(ctx, r, UNKNOWN_COMMAND, "Unknown command");
+         }
+      } catch (RuntimeException e) {
+         log.exceptionReported(e);
+         writeError(ctx, r, INTERNAL_ERROR, String.valueOf(e.getMessage()));
+      }
+   }
+
+   private void flushPendingGets(ChannelHandlerContext ctx) {
+      if (pendingGets.isEmpty())
+         return;
+
+      try {
+         if (ignoreCache.test(cache.getName())) {
+            pendingGets.forEach(r -> writeError(ctx, r, TEMPORARY_FAILURE, "Cache " + cache.getName() + " is unavailable"));
+            return;
+         }
+         Map<String, CacheEntry<String, byte[]>> entries;
+         if (pendingGets.size() == 1) {
+            String key = pendingGets.get(0).key;
+            CacheEntry<String, byte[]> entry = cache.getCacheEntry(key);
+            entries = entry == null ? Collections.emptyMap() : Collections.singletonMap(key, entry);
+         } else {
+            Set<String> keys = new HashSet<>(pendingGets.size());
+            pendingGets.forEach(r -> keys.add(r.key));
+            entries = cache.getAllCacheEntries(keys);
+         }
+         if (isTrace) log.tracef("Retrieved %d entries for %d pipelined gets", entries.size(), pendingGets.size());
+         for (Request r : pendingGets) {
+            CacheEntry<String, byte[]> entry = entries.get(r.key);
+            boolean withKey = loudOpcode(r.opcode) == GETK;
+            if (entry != null) {
+               byte[] extras = new byte[4];
+               writeInt(flags(entry.getMetadata()), extras);
+               writeResponse(ctx, r, NO_ERROR, version(entry.getMetadata()), extras,
+                     withKey ? keyBytes(r) : EMPTY, entry.getValue());
+            } else if (!isQuiet(r.opcode)) {
+               writeResponse(ctx, r, KEY_NOT_FOUND, 0, EMPTY, withKey ? keyBytes(r) : EMPTY,
+                     "Not found".getBytes(StandardCharsets.US_ASCII));
+            }
+         }
+      } catch (RuntimeException e) {
+         log.exceptionReported(e);
+         pendingGets.forEach(r -> writeError(ctx, r, INTERNAL_ERROR, String.valueOf(e.getMessage())));
+      } finally {
+         pendingGets.clear();
+      }
+   }
+
+   private void store(ChannelHandlerContext ctx, Request r, byte op) {
+      if (r.extras.length != 8) {
+         writeError(ctx, r, INVALID_ARGUMENTS, "Invalid extras for storage command");
+         return;
+      }
+      long flags = readInt(r.extras, 0) & 0xFFFFFFFFL;
+      int expiration = readInt(r.extras, 4);
+      Metadata metadata = buildMetadata(flags, expiration);
+      if (r.cas != 0 && op != ADD) {
+         CacheEntry<String, byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(r.key);
+         if (entry == null) {
+            writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+         } else if (version(entry.getMetadata()) != r.cas
+               || !cache.replace(r.key, entry.getValue(), r.value, metadata)) {
+            writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+         } else {
+            writeSuccess(ctx, r, version(metadata), EMPTY, EMPTY);
+         }
+         return;
+      }
+      switch (op) {
+         case SET:
+            cache.put(r.key, r.value, metadata);
+            writeSuccess(ctx, r, version(metadata), EMPTY, EMPTY);
+            break;
+         case ADD:
+            if (cache.putIfAbsent(r.key, r.value, metadata) == null)
+               writeSuccess(ctx, r, version(metadata), EMPTY, EMPTY);
+            else
+               writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+            break;
+         default:
+            if (cache.replace(r.key, r.value, metadata) != null)
+               writeSuccess(ctx, r, version(metadata), EMPTY, EMPTY);
+            else
+               writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+      }
+   }
+
+   private void delete(ChannelHandlerContext ctx, Request r) {
+      if (r.cas != 0) {
+         CacheEntry<String, byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(r.key);
+         if (entry == null) {
+            writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+         } else if (version(entry.getMetadata()) != r.cas || !cache.remove(r.key, entry.getValue())) {
+            writeError(ctx, r, KEY_EXISTS, "Data exists for key");
+         } else {
+            writeSuccess(ctx, r, 0, EMPTY, EMPTY);
+         }
+      } else if (cache.remove(r.key) != null) {
+         writeSuccess(ctx, r, 0, EMPTY, EMPTY);
+      } else {
+         writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+      }
+   }
+
+   private void incrDecr(ChannelHandlerContext ctx, Request r, boolean increment) {
+      if (r.extras.length != 20) {
+         writeError(ctx, r, INVALID_ARGUMENTS, "Invalid extras for increment/decrement command");
+         return;
+      }
+      long delta = readLong(r.extras, 0);
+      long initial = readLong(r.extras, 8);
+      int expiration = readInt(r.extras, 16);
+      while (true) {
+         CacheEntry<String, byte[]> entry = cache.getCacheEntry(r.key);
+         long counter;
+         Metadata metadata;
+         boolean stored;
+         if (entry == null) {
+            if (expiration == NO_AUTO_CREATE) {
+               writeError(ctx, r, KEY_NOT_FOUND, "Not found");
+               return;
+            }
+            counter = initial;
+            metadata = buildMetadata(0, expiration);
+            stored = cache.putIfAbsent(r.key, counterBytes(counter), metadata) == null;
+         } else {
+            long prev;
+            try {
+               prev = Long.parseUnsignedLong(new String(entry.getValue(), StandardCharsets.US_ASCII).trim());
+            } catch (NumberFormatException e) {
+               writeError(ctx, r, NON_NUMERIC_VALUE, "Non-numeric server-side value for incr or decr");
+               return;
+            }
+            if (increment)
+               counter = prev + delta; // Wraps around the 64 bit unsigned limit
+            else
+               counter = Long.compareUnsigned(prev, delta) < 0 ? 0 : prev - delta;
+            metadata = buildMetadata(flags(entry.getMetadata()), entry.getMetadata());
+            stored = cache.replace(r.key, entry.getValue(), counterBytes(counter), metadata);
+         }
+         if (stored) {
+            byte[] body = new byte[8];
+            writeLong(counter, body);
+            writeSuccess(ctx, r, version(metadata), EMPTY, body);
+            return;
+         }
+         // Concurrently modified, try again with the current value
+      }
+   }
+
+   private void appendPrepend(ChannelHandlerContext ctx, Request r, boolean append) {
+      CacheEntry<String, byte[]> entry = cache.getCacheEntry(r.key);
+      if (entry == null) {
+         writeError(ctx, r, ITEM_NOT_STORED, "Not stored");
+         return;
+      }
+      byte[] prev = entry.getValue();
+      byte[] concatenated = append ? concat(prev, r.value) : concat(r.value, prev);
+      Metadata metadata = buildMetadata(flags(entry.getMetadata()), entry.getMetadata());
+      if (cache.replace(r.key, prev, concatenated, metadata))
+         writeSuccess(ctx, r, version(metadata), EMPTY, EMPTY);
+      else
+         writeError(ctx, r, ITEM_NOT_STORED, "Not stored");
+   }
+
+   private void flush(ChannelHandlerContext ctx, Request r) {
+      int delay = r.extras.length == 4 ? readInt(r.extras, 0) : 0;
+      if (delay <= 0)
+         cache.clear();
+      else
+         scheduler.schedule(() -> cache.clear(), MemcachedDecoder.toMillis(delay), TimeUnit.MILLISECONDS);
+      writeSuccess(ctx, r, 0, EMPTY, EMPTY);
+   }
+
+   private void stats(ChannelHandlerContext ctx, Request r) {
+      Stats stats = cache.getStats();
+      writeStat(ctx, r, "uptime", stats.getTimeSinceStart());
+      writeStat(ctx, r, "time", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+      writeStat(ctx, r, "version", cache.getVersion());
+      writeStat(ctx, r, "curr_items", stats.getCurrentNumberOfEntries());
+      writeStat(ctx, r, "total_items", stats.getTotalNumberOfEntries());
+      writeStat(ctx, r, "cmd_get", stats.getRetrievals());
+      writeStat(ctx, r, "cmd_set", stats.getStores());
+      writeStat(ctx, r, "get_hits", stats.getHits());
+      writeStat(ctx, r, "get_misses", stats.getMisses());
+      writeStat(ctx, r, "delete_misses", stats.getRemoveMisses());
+      writeStat(ctx, r, "delete_hits", stats.getRemoveHits());
+      writeStat(ctx, r, "evictions", stats.getEvictions());
+      // An empty stat terminates the list
+      writeResponse(ctx, r, NO_ERROR, 0, EMPTY, EMPTY, EMPTY);
+   }
+
+   private void writeStat(ChannelHandlerContext ctx, Request r, String name, Object value) {
+      writeResponse(ctx, r, NO_ERROR, 0, EMPTY, name.getBytes(StandardCharsets.US_ASCII),
+            String.valueOf(value).getBytes(StandardCharsets.US_ASCII));
+   }
+
+   private Metadata buildMetadata(long flags, int expiration) {
+      MemcachedMetadataBuilder metadata = new MemcachedMetadataBuilder();
+      metadata.version(MemcachedDecoder.generateVersion(cache));
+      metadata.flags(flags);
+      if (expiration > 0)
+         metadata.lifespan(MemcachedDecoder.toMillis(expiration));
+      return metadata.build();
+   }
+
+   private Metadata buildMetadata(long flags, Metadata previous) {
+      MemcachedMetadataBuilder metadata = new MemcachedMetadataBuilder();
+      metadata.version(MemcachedDecoder.generateVersion(cache));
+      metadata.flags(flags);
+      if (previous != null && previous.lifespan() > 0)
+         metadata.lifespan(previous.lifespan());
+      return metadata.build();
+   }
+
+   private static long flags(Metadata metadata) {
+      return metadata instanceof MemcachedMetadata ? ((MemcachedMetadata) metadata).flags : 0;
+   }
+
+   private static long version(Metadata metadata) {
+      EntryVersion version = metadata == null ? null : metadata.version();
+      return version instanceof NumericVersion ? ((NumericVersion) version).getVersion() : 0;
+   }
+
+   private static byte[] counterBytes(long counter) {
+      return Long.toUnsignedString(counter).getBytes(StandardCharsets.US_ASCII);
+   }
+
+   private static byte[] keyBytes(Request r) {
+      return r.key.getBytes(StandardCharsets.UTF_8);
+   }
+
+   private void writeSuccess(ChannelHandlerContext ctx, Request r, long cas, byte[] extras, byte[] value) {
+      if (!isQuiet(r.opcode))
+         writeResponse(ctx, r, NO_ERROR, cas, extras, EMPTY, value);
+   }
+
+   private void writeError(ChannelHandlerContext ctx, Request r, short status, String message) {
+      // Errors are sent even for quiet commands
+      writeResponse(ctx, r, status, 0, EMPTY, EMPTY, message.getBytes(StandardCharsets.UTF_8));
+   }
+
+   private void writeResponse(ChannelHandlerContext ctx, Request r, short status, long cas,
+                              byte[] extras, byte[] key, byte[] value) {
+      int bodyLength = extras.length + key.length + value.length;
+      ByteBuf buf = ctx.alloc().buffer(HEADER_LENGTH + bodyLength);
+      buf.writeByte(MAGIC_RESPONSE);
+      buf.writeByte(r.opcode);
+      buf.writeShort(key.length);
+      buf.writeByte(extras.length);
+      buf.writeByte(0); // data type
+      buf.writeShort(status);
+      buf.writeInt(bodyLength);
+      buf.writeInt(r.opaque);
+      buf.writeLong(cas);
+      buf.writeBytes(extras);
+      buf.writeBytes(key);
+      buf.writeBytes(value);
+      if (isTrace) log.tracef("Write binary response with status 0x%x for %s", status, r);
+      ctx.write(buf, ctx.voidPromise());
+   }
+
+   private static int readInt(byte[] b, int offset) {
+      return (b[offset] & 0xFF) << 24 | (b[offset + 1] & 0xFF) << 16 | (b[offset + 2] & 0xFF) << 8 | (b[offset + 3] & 0xFF);
+   }
+
+   private static long readLong(byte[] b, int offset) {
+      return ((long) readInt(b, offset) << 32) | (readInt(b, offset + 4) & 0xFFFFFFFFL);
+   }
+
+   private static void writeInt(long i, byte[] b) {
+      b[0] = (byte) (i >> 24);
+      b[1] = (byte) (i >> 16);
+      b[2] = (byte) (i >> 8);
+      b[3] = (byte) i;
+   }
+
+   private static void writeLong(long l, byte[] b) {
+      for (int i = 0; i < 8; i++) {
+         b[i] = (byte) (l >> (56 - 8 * i));
+      }
+   }
+
+   private static final class Request {
+      final byte opcode;
+      final String key;
+      final byte[] extras;
+      final byte[] value;
+      final int opaque;
+      final long cas;
+
+      Request(byte opcode, String key, byte[] extras, byte[] value, int opaque, long cas) {
+         this.opcode = opcode;
+         this.key = key;
+         this.extras = extras;
+         this.value = value;
+         this.opaque = opaque;
+         this.cas = cas;
+      }
+
+      @Override
+      public String toString() {
+         return "Request{" +
+               "opcode=0x" + Integer.toHexString(opcode & 0xFF) +
+               ", key='" + key + '\'' +
+               ", valueLength=" + value.length +
+               ", opaque=" + opaque +
+               ", cas=" + cas +
+               '}';
+      }
+   }
+}
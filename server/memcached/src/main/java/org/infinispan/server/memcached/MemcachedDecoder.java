@@ -34,10 +34,12 @@
 import java.io.StreamCorruptedException;
 import java.math.BigInteger;
 import java.nio.channels.ClosedChannelException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -366,9 +368,15 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
    protected Object get(ByteBuf buffer) throws StreamCorruptedException {
       List<String> keys = readKeys(buffer);
       if (keys.size() > 1) {
-         Map<String, CacheEntry<String, byte[]>> map = new HashMap<>();
+         Set<String> requested = new LinkedHashSet<>(keys.size());
          for (String key : keys) {
-            CacheEntry<String, byte[]> entry = cache.getCacheEntry(checkKeyLength(key, true, buffer));
+            requested.add(checkKeyLength(key, true, buffer));
+         }
+         // Retrieve all keys at once, so that remote owners are contacted in parallel
+         Map<String, CacheEntry<String, byte[]>> entries = cache.getAllCacheEntries(requested);
+         Map<String, CacheEntry<String, byte[]>> map = new LinkedHashMap<>();
+         for (String key : requested) {
+            CacheEntry<String, byte[]> entry = entries.get(key);
             if (entry != null) {
                map.put(key, entry);
             }
@@ -469,8 +477,8 @@ private MemcachedParameters readStorageParameters(List<String> args, ByteBuf b)
       return new MemcachedParameters(length, lifespan, -1, streamVersion, noReply, flags, "", 0);
    }
 
-   private EntryVersion generateVersion(Cache<String, byte[]> cache) {
-      ComponentRegistry registry = getCacheRegistry();
+   static EntryVersion generateVersion(Cache<?, ?> cache) {
+      ComponentRegistry registry = cache.getAdvancedCache().getComponentRegistry();
       VersionGenerator cacheVersionGenerator = registry.getComponent(VersionGenerator.class);
       if (cacheVersionGenerator == null) {
          // It could be null, for example when not running in compatibility mode.
@@ -545,10 +553,6 @@ private Configuration getCacheConfiguration() {
       return cache.getCacheConfiguration();
    }
 
-   private ComponentRegistry getCacheRegistry() {
-      return cache.getComponentRegistry();
-   }
-
    private void customDecodeHeader(ChannelHandlerContext ctx, ByteBuf buffer) throws IOException {
       Channel ch = ctx.channel();
       switch (header.operation) {
@@ -848,7 +852,7 @@ private StringBuilder logAndCreateErrorMessage(StringBuilder sb, MemcachedExcept
     * Otherwise it's just considered number of seconds from
     * now and it's returned in milliseconds unit.
     */
-   private long toMillis(int lifespan) {
+   static long toMillis(int lifespan) {
       if (lifespan > SecondsInAMonth) {
          long unixTimeExpiry = TimeUnit.SECONDS.toMillis(lifespan) - System.currentTimeMillis();
          return unixTimeExpiry < 0 ? 0 : unixTimeExpiry;
@@ -864,8 +868,8 @@ protected Object writeResponse(Channel ch, Object response) {
             if (response instanceof ByteBuf[]) {
                for (ByteBuf buf : (ByteBuf[]) response) {
                   ch.write(buf, ch.voidPromise());
-                  ch.flush();
                }
+               ch.flush();
             } else if (response instanceof byte[]) {
                ch.writeAndFlush(wrappedBuffer((byte[]) response), ch.voidPromise());
             } else if (response instanceof CharSequence) {
@@ -0,0 +1,37 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAGIC_REQUEST;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Detects whether a connection speaks the Memcached text or binary protocol by looking at its first byte, and
+ * replaces itself with the corresponding decoder. Binary requests always start with a magic byte which cannot
+ * start a text command. Any bytes read so far are handed over to the new decoder.
+ *
+ * @since 9.1
+ */
+class MemcachedProtocolDetector extends ByteToMessageDecoder {
+   private final Supplier<ChannelHandler> textDecoder;
+   private final Supplier<ChannelHandler> binaryDecoder;
+
+   MemcachedProtocolDetector(Supplier<ChannelHandler> textDecoder, Supplier<ChannelHandler> binaryDecoder) {
+      this.textDecoder = textDecoder;
+      this.binaryDecoder = binaryDecoder;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+      if (!in.isReadable())
+         return;
+
+      ChannelHandler decoder = in.getByte(in.readerIndex()) == MAGIC_REQUEST ? binaryDecoder.get() : textDecoder.get();
+      ctx.pipeline().replace(this, ctx.name(), decoder);
+   }
+}
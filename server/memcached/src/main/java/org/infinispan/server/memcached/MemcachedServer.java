@@ -22,7 +22,8 @@
 
 /**
  * Memcached server defining its decoder/encoder settings. In fact, Memcached does not use an encoder since there's
- * no really common headers between protocol operations.
+ * no really common headers between protocol operations. Each connection is served by either the text or the binary
+ * protocol decoder, depending on the first byte received.
  *
  * @author Galder Zamarreño
  * @since 4.1
@@ -59,7 +60,9 @@ public ChannelOutboundHandler getEncoder() {
 
    @Override
    public ChannelInboundHandler getDecoder() {
-      return new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored);
+      return new MemcachedProtocolDetector(
+            () -> new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored),
+            () -> new MemcachedBinaryDecoder(memcachedCache, scheduler, this::isCacheIgnored, configuration.maxFrameSize()));
    }
 
    @Override
@@ -18,17 +18,28 @@ public class MemcachedServerConfiguration extends ProtocolServerConfiguration {
 
    public static final int DEFAULT_MEMCACHED_PORT = 11211;
    public static final String DEFAULT_MEMCACHED_CACHE = "memcachedCache";
+   public static final int DEFAULT_MAX_FRAME_SIZE = 2 * 1024 * 1024;
+
+   private final int maxFrameSize;
 
    MemcachedServerConfiguration(String defaultCacheName, String name, String host, int port, int idleTimeout,
                                 int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay,
                                 int workerThreads, Set<String> ignoredCaches, boolean startTransport,
-                                AdminOperationsHandler adminOperationsHandler) {
+                                AdminOperationsHandler adminOperationsHandler, int maxFrameSize) {
       super(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads,
             ignoredCaches, startTransport, adminOperationsHandler);
+      this.maxFrameSize = maxFrameSize;
+   }
+
+   /**
+    * The maximum body length, in bytes, of a binary protocol request.
+    */
+   public int maxFrameSize() {
+      return maxFrameSize;
    }
 
    @Override
    public String toString() {
-      return "MemcachedServerConfiguration [" + super.toString() + "]";
+      return "MemcachedServerConfiguration [maxFrameSize=" + maxFrameSize + ", " + super.toString() + "]";
    }
 }
@@ -1,8 +1,10 @@
 package org.infinispan.server.memcached.configuration;
 
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.server.core.admin.AdminOperationsHandler;
 import org.infinispan.server.core.configuration.ProtocolServerConfigurationBuilder;
+import org.infinispan.server.memcached.logging.JavaLog;
 
 /**
  * MemcachedServerConfigurationBuilder.
@@ -12,6 +14,9 @@
  */
 public class MemcachedServerConfigurationBuilder extends ProtocolServerConfigurationBuilder<MemcachedServerConfiguration, MemcachedServerConfigurationBuilder> implements
       Builder<MemcachedServerConfiguration> {
+   private static final JavaLog log = LogFactory.getLog(MemcachedServerConfigurationBuilder.class, JavaLog.class);
+
+   private int maxFrameSize = MemcachedServerConfiguration.DEFAULT_MAX_FRAME_SIZE;
 
    public MemcachedServerConfigurationBuilder() {
       super(MemcachedServerConfiguration.DEFAULT_MEMCACHED_PORT);
@@ -32,6 +37,15 @@ public MemcachedServerConfigurationBuilder cache(String cache) {
       return this;
    }
 
+   /**
+    * Sets the maximum body length, in bytes, of a binary protocol request. The connections sending a larger request are
+    * closed, instead of buffering the whole request. Defaults to {@link MemcachedServerConfiguration#DEFAULT_MAX_FRAME_SIZE}.
+    */
+   public MemcachedServerConfigurationBuilder maxFrameSize(int maxFrameSize) {
+      this.maxFrameSize = maxFrameSize;
+      return this;
+   }
+
    @Override
    public MemcachedServerConfigurationBuilder adminOperationsHandler(AdminOperationsHandler handler) {
       // Ignore
@@ -41,7 +55,15 @@ public MemcachedServerConfigurationBuilder adminOperationsHandler(AdminOperation
    @Override
    public MemcachedServerConfiguration create() {
       return new MemcachedServerConfiguration(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize,
-            ssl.create(), tcpNoDelay, workerThreads, ignoredCaches, startTransport, adminOperationsHandler);
+            ssl.create(), tcpNoDelay, workerThreads, ignoredCaches, startTransport, adminOperationsHandler, maxFrameSize);
+   }
+
+   @Override
+   public void validate() {
+      super.validate();
+      if (maxFrameSize <= 0) {
+         throw log.illegalMaxFrameSize(maxFrameSize);
+      }
    }
 
    public MemcachedServerConfiguration build(boolean validate) {
@@ -59,6 +81,7 @@ public MemcachedServerConfiguration build() {
    @Override
    public Builder<?> read(MemcachedServerConfiguration template) {
       super.read(template);
+      this.maxFrameSize = template.maxFrameSize();
       return this;
    }
 }
@@ -1,7 +1,10 @@
 package org.infinispan.server.memcached.logging;
 
+import static org.jboss.logging.Logger.Level.WARN;
+
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.server.core.logging.Log;
+import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 
@@ -16,4 +19,11 @@
 public interface JavaLog extends Log {
    @Message(value = "Cache '%s' has expiration enabled which violates the Memcached protocol", id = 11001)
    CacheConfigurationException invalidExpiration(String cacheName);
+
+   @Message(value = "The maximum frame size must be greater than 0, but was %d", id = 11002)
+   CacheConfigurationException illegalMaxFrameSize(int maxFrameSize);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Binary request of %d bytes from %s exceeds the maximum frame size of %d bytes, closing connection", id = 11003)
+   void requestTooLarge(long bodyLength, Object remoteAddress, int maxFrameSize);
 }
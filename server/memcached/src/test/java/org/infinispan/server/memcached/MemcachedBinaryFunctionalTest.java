@@ -0,0 +1,139 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.BinaryProtocolUtil.HEADER_LENGTH;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.MAGIC_REQUEST;
+import static org.infinispan.server.memcached.BinaryProtocolUtil.SET;
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.createMemcachedBinaryClient;
+import static org.infinispan.test.TestingUtil.k;
+import static org.infinispan.test.TestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.memcached.configuration.MemcachedServerConfiguration;
+import org.testng.annotations.Test;
+
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
+
+/**
+ * Tests the Memcached binary protocol, which is detected by the server from the first byte sent by the client.
+ *
+ * @since 9.1
+ */
+@Test(groups = "functional", testName = "server.memcached.MemcachedBinaryFunctionalTest")
+public class MemcachedBinaryFunctionalTest extends MemcachedSingleNodeTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cm = super.createCacheManager();
+      client.shutdown();
+      client = createMemcachedBinaryClient(60000, server.getPort());
+      return cm;
+   }
+
+   public void testSetGet(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), client.get(k(m)));
+      assertNull(client.get(k(m, "missing-")));
+   }
+
+   public void testAdd(Method m) throws Exception {
+      assertTrue(client.add(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertFalse(client.add(k(m), 0, v(m, "v2-")).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), client.get(k(m)));
+   }
+
+   public void testReplace(Method m) throws Exception {
+      assertFalse(client.replace(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.replace(k(m), 0, v(m, "v2-")).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m, "v2-"), client.get(k(m)));
+   }
+
+   public void testCas(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      CASValue<Object> value = client.gets(k(m));
+      assertEquals(v(m), value.getValue());
+      assertEquals(CASResponse.OK, client.cas(k(m), value.getCas(), v(m, "v2-")));
+      // The version changed with the previous update
+      assertEquals(CASResponse.EXISTS, client.cas(k(m), value.getCas(), v(m, "v3-")));
+      assertEquals(CASResponse.NOT_FOUND, client.cas(k(m, "missing-"), value.getCas(), v(m)));
+      assertEquals(v(m, "v2-"), client.get(k(m)));
+   }
+
+   public void testDelete(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertFalse(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertNull(client.get(k(m)));
+   }
+
+   public void testIncrementDecrement(Method m) throws Exception {
+      assertEquals(10, client.incr(k(m), 1, 10));
+      assertEquals(11, client.incr(k(m), 1, 10));
+      assertEquals(6, client.decr(k(m), 5));
+      assertEquals(0, client.decr(k(m), 20));
+      assertEquals(-1, client.incr(k(m, "missing-"), 1));
+   }
+
+   public void testAppendPrepend(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, "b").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.append(0, k(m), "c").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.prepend(0, k(m), "a").get(timeout, TimeUnit.SECONDS));
+      assertEquals("abc", client.get(k(m)));
+   }
+
+   public void testBulkGet(Method m) throws Exception {
+      List<String> keys = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+         String key = k(m, i + "-");
+         keys.add(key);
+         if (i % 2 == 0)
+            assertTrue(client.set(key, 0, v(m, i + "-")).get(timeout, TimeUnit.SECONDS));
+      }
+      Map<String, Object> values = client.getBulk(keys);
+      assertEquals(10, values.size());
+      for (int i = 0; i < 20; i += 2) {
+         assertEquals(v(m, i + "-"), values.get(k(m, i + "-")));
+      }
+   }
+
+   public void testFlushAndVersion(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.flush().get(timeout, TimeUnit.SECONDS));
+      assertNull(client.get(k(m)));
+      assertFalse(client.getVersions().isEmpty());
+   }
+
+   public void testRequestOverMaxFrameSizeClosesConnection() throws Exception {
+      int bodyLength = MemcachedServerConfiguration.DEFAULT_MAX_FRAME_SIZE + 1;
+      byte[] header = new byte[HEADER_LENGTH];
+      header[0] = MAGIC_REQUEST;
+      header[1] = SET;
+      header[8] = (byte) (bodyLength >>> 24);
+      header[9] = (byte) (bodyLength >>> 16);
+      header[10] = (byte) (bodyLength >>> 8);
+      header[11] = (byte) bodyLength;
+      try (Socket socket = new Socket(server.getHost(), server.getPort())) {
+         socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(timeout));
+         OutputStream out = socket.getOutputStream();
+         out.write(header);
+         out.flush();
+         InputStream in = socket.getInputStream();
+         // the server closes the connection without waiting for the body
+         assertEquals(-1, in.read());
+      }
+   }
+}
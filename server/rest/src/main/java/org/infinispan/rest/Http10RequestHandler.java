@@ -12,6 +12,8 @@
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpUtil;
 
 /**
@@ -61,4 +63,19 @@ protected void sendResponse(ChannelHandlerContext ctx, FullHttpRequest request,
          }
       });
    }
+
+   @Override
+   protected void sendChunkedResponse(ChannelHandlerContext ctx, FullHttpRequest request, InfinispanResponse response) {
+      HttpResponse head = response.toChunkedNettyHttpResponse();
+      HttpChunkedInput content = new HttpChunkedInput(response.getChunkedContent().get());
+      ctx.executor().execute(() -> {
+         restAccessLoggingHandler.log(ctx, request, head);
+         ctx.write(head);
+         if (HttpUtil.isKeepAlive(head) && HttpUtil.isTransferEncodingChunked(head)) {
+            ctx.writeAndFlush(content);
+         } else {
+            ctx.writeAndFlush(content).addListener(ChannelFutureListener.CLOSE);
+         }
+      });
+   }
 }
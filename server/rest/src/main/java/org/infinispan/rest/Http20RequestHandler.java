@@ -12,6 +12,7 @@
 import org.infinispan.rest.authentication.Authenticator;
 import org.infinispan.rest.authentication.impl.VoidAuthenticator;
 import org.infinispan.rest.context.ContextChecker;
+import org.infinispan.rest.operations.BulkCacheOperations;
 import org.infinispan.rest.operations.CacheOperations;
 import org.infinispan.rest.operations.StaticContent;
 import org.infinispan.util.logging.LogFactory;
@@ -23,7 +24,9 @@
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
 
 /**
  * Netty REST handler for HTTP/2.0
@@ -35,6 +38,7 @@ public class Http20RequestHandler extends SimpleChannelInboundHandler<FullHttpRe
    protected final static Log logger = LogFactory.getLog(Http20RequestHandler.class, Log.class);
 
    protected final CacheOperations cacheOperations;
+   protected final BulkCacheOperations bulkCacheOperations;
    protected final StaticContent staticContent;
    protected final Authenticator authenticator;
    protected final ContextChecker contextChecker;
@@ -59,7 +63,9 @@ public Http20RequestHandler(RestServerConfiguration configuration, EmbeddedCache
     * @param authenticator Authenticator.
     */
    public Http20RequestHandler(RestServerConfiguration configuration, EmbeddedCacheManager embeddedCacheManager, Authenticator authenticator) {
-      this.cacheOperations = new CacheOperations(configuration, new RestCacheManager(embeddedCacheManager));
+      RestCacheManager<Object> restCacheManager = new RestCacheManager<>(embeddedCacheManager);
+      this.cacheOperations = new CacheOperations(configuration, restCacheManager);
+      this.bulkCacheOperations = new BulkCacheOperations(restCacheManager);
       this.authenticator = authenticator;
       this.contextChecker = new ContextChecker(configuration);
       this.staticContent = new StaticContent();
@@ -84,6 +90,9 @@ public void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) thr
             } else {
                response = cacheOperations.getCacheValue(infinispanRequest);
             }
+         } else if (request.method() == HttpMethod.POST && !infinispanRequest.getKey().isPresent()
+               && infinispanRequest.getBulk().isPresent()) {
+            response = bulkCacheOperations.execute(infinispanRequest);
          } else if (request.method() == HttpMethod.POST || request.method() == HttpMethod.PUT) {
             response = cacheOperations.putValueToCache(infinispanRequest);
          } else if (request.method() == HttpMethod.HEAD) {
@@ -100,7 +109,11 @@ public void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) thr
          response = responseException.toResponse(infinispanRequest);
       }
 
-      sendResponse(ctx, request, response.toNettyHttpResponse());
+      if (response.isChunked()) {
+         sendChunkedResponse(ctx, request, response);
+      } else {
+         sendResponse(ctx, request, response.toNettyHttpResponse());
+      }
    }
 
    protected void sendResponse(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response) {
@@ -110,6 +123,23 @@ protected void sendResponse(ChannelHandlerContext ctx, FullHttpRequest request,
       });
    }
 
+   protected void sendChunkedResponse(ChannelHandlerContext ctx, FullHttpRequest request, InfinispanResponse response) {
+      HttpResponse head = response.toChunkedNettyHttpResponse();
+      HttpChunkedInput content = new HttpChunkedInput(response.getChunkedContent().get());
+      ctx.executor().execute(() -> {
+         restAccessLoggingHandler.log(ctx, request, head);
+         ctx.write(head);
+         ctx.writeAndFlush(content);
+      });
+   }
+
+   @Override
+   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      // the key listing cursors are only resumed by the requests of this connection
+      cacheOperations.stop();
+      super.channelInactive(ctx);
+   }
+
    @Override
    public void exceptionCaught(ChannelHandlerContext ctx, Throwable e) throws Exception {
       // handle the case of to big requests.
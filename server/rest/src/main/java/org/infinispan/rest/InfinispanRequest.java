@@ -251,6 +251,41 @@ public Optional<String> getExtended() {
       return Optional.empty();
    }
 
+   /**
+    * Returns the maximum number of keys a paginated key listing should return.
+    *
+    * @return <code>limit</code> query parameter value.
+    */
+   public Optional<String> getLimit() {
+      return getQueryParameter("limit");
+   }
+
+   /**
+    * Returns the position a paginated key listing should be resumed from, as returned by a previous page.
+    *
+    * @return <code>cursor</code> query parameter value.
+    */
+   public Optional<String> getCursor() {
+      return getQueryParameter("cursor");
+   }
+
+   /**
+    * Returns the bulk operation to be executed.
+    *
+    * @return <code>bulk</code> query parameter value.
+    */
+   public Optional<String> getBulk() {
+      return getQueryParameter("bulk");
+   }
+
+   private Optional<String> getQueryParameter(String name) {
+      List<String> parameters = queryStringDecoder.parameters().get(name);
+      if (parameters != null && parameters.size() > 0) {
+         return Optional.ofNullable(parameters.get(0));
+      }
+      return Optional.empty();
+   }
+
    /**
     * Returns Netty context.
     *
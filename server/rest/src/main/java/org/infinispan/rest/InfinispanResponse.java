@@ -13,13 +13,16 @@
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.stream.ChunkedInput;
 
 /**
  * Representation of a HTTP response tailed for Infinispan-specific responses.
@@ -34,9 +37,11 @@ public class InfinispanResponse {
    private final static String CLUSTER_PRIMARY_OWNER_HEADER = "Cluster-Primary-Owner";
    private final static String CLUSTER_NODE_NAME_HEADER = "Cluster-Node-Name";
    private final static String CLUSTER_SERVER_ADDRESS_HEADER = "Cluster-Server-Address";
+   private final static String NEXT_CURSOR_HEADER = "Next-Cursor";
 
    private Optional<InfinispanRequest> request;
    private ByteBuf content = Unpooled.buffer();
+   private Optional<ChunkedInput<ByteBuf>> chunkedContent = Optional.empty();
    private String contentType = MediaType.TEXT_PLAIN.toString();
    private HttpVersion httpVersion = HttpVersion.HTTP_1_1;
    private HttpResponseStatus httpStatus = HttpResponseStatus.OK;
@@ -51,6 +56,7 @@ public class InfinispanResponse {
    private Optional<String> clusterServerAddress = Optional.empty();
    private Optional<String> authenticate = Optional.empty();
    private Optional<Charset> charset = Optional.empty();
+   private Optional<String> nextCursor = Optional.empty();
 
    private InfinispanResponse(Optional<InfinispanRequest> request) {
       this.request = request;
@@ -98,6 +104,33 @@ public void contentAsBytes(byte[] content) {
       this.content.writeBytes(content);
    }
 
+   /**
+    * Adds content which is streamed to the client in chunks instead of being buffered.
+    *
+    * @param chunkedContent Content.
+    */
+   public void contentAsChunks(ChunkedInput<ByteBuf> chunkedContent) {
+      this.chunkedContent = Optional.of(chunkedContent);
+   }
+
+   /**
+    * Checks whether this response streams its content in chunks.
+    *
+    * @return <code>true</code> if the content should be written with {@link #getChunkedContent()}.
+    */
+   public boolean isChunked() {
+      return chunkedContent.isPresent();
+   }
+
+   /**
+    * Returns the content streamed in chunks.
+    *
+    * @return The chunked content.
+    */
+   public Optional<ChunkedInput<ByteBuf>> getChunkedContent() {
+      return chunkedContent;
+   }
+
    /**
     * Adds <code>Content-Type</code> header.
     *
@@ -142,7 +175,30 @@ public boolean isKeepAlive() {
     */
    public FullHttpResponse toNettyHttpResponse() {
       FullHttpResponse response = new DefaultFullHttpResponse(httpVersion, httpStatus, content);
+      addHeaders(response);
+      HttpUtil.setContentLength(response, response.content().readableBytes());
+      return response;
+   }
+
+   /**
+    * Renders the head of a chunked response. The content needs to be written afterwards using
+    * {@link #getChunkedContent()}. Unless the response uses chunked transfer encoding, the connection needs to be
+    * closed once the content has been written.
+    *
+    * @return {@link HttpResponse} object based on this {@link InfinispanResponse}.
+    */
+   public HttpResponse toChunkedNettyHttpResponse() {
+      HttpResponse response = new DefaultHttpResponse(httpVersion, httpStatus);
+      addHeaders(response);
+      boolean http10 = request.map(r -> r.getRawRequest().protocolVersion() == HttpVersion.HTTP_1_0).orElse(false);
+      if (!http10) {
+         // HTTP/1.0 clients don't understand chunked encoding, the end of their content is marked by closing the connection
+         HttpUtil.setTransferEncodingChunked(response, true);
+      }
+      return response;
+   }
 
+   private void addHeaders(HttpResponse response) {
       request.flatMap(InfinispanRequest::getStreamId)
             .ifPresent(streamId -> response.headers().set(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text(), streamId));
 
@@ -160,14 +216,13 @@ public FullHttpResponse toNettyHttpResponse() {
       clusterNodeName.ifPresent(e -> response.headers().set(CLUSTER_NODE_NAME_HEADER, e));
       clusterServerAddress.ifPresent(e -> response.headers().set(CLUSTER_SERVER_ADDRESS_HEADER, e));
       authenticate.ifPresent(e -> response.headers().set(HttpHeaderNames.WWW_AUTHENTICATE, e));
+      nextCursor.ifPresent(e -> response.headers().set(NEXT_CURSOR_HEADER, e));
 
       StringBuilder contentTypeWithCharset = new StringBuilder(contentType);
       if (charset.isPresent()) {
          contentTypeWithCharset.append(';').append(charset.get());
       }
       response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentTypeWithCharset.toString());
-      HttpUtil.setContentLength(response, response.content().readableBytes());
-      return response;
    }
 
    /**
@@ -249,6 +304,15 @@ public void clusterServerAddress(String serverAddress) {
       this.clusterServerAddress = Optional.of(serverAddress);
    }
 
+   /**
+    * Adds <code>Next-Cursor</code> header, pointing to the next page of a paginated listing.
+    *
+    * @param nextCursor <code>Next-Cursor</code> header value.
+    */
+   public void nextCursor(String nextCursor) {
+      this.nextCursor = Optional.of(nextCursor);
+   }
+
    /**
     * Adds <code>www-authenticate</code> header.
     * @param authenticateHeader <code>www-authenticate</code> header value.
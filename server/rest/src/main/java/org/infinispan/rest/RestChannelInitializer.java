@@ -7,6 +7,7 @@
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
 
 /**
  * Creates Netty Channels for this server.
@@ -15,8 +16,6 @@
  */
 public class RestChannelInitializer extends NettyChannelInitializer {
 
-   private static final int MAX_PAYLOAD_SIZE = 5 * 1024 * 1024;
-
    private RestServer restServer;
 
    /**
@@ -35,7 +34,8 @@ public void initializeChannel(Channel ch) throws Exception {
       super.initializeChannel(ch);
       ch.pipeline().addLast(new HttpRequestDecoder());
       ch.pipeline().addLast(new HttpResponseEncoder());
-      ch.pipeline().addLast(new HttpObjectAggregator(MAX_PAYLOAD_SIZE));
+      ch.pipeline().addLast(new HttpObjectAggregator(restServer.getConfiguration().maxContentLength()));
+      ch.pipeline().addLast(new ChunkedWriteHandler());
       ch.pipeline().addLast("rest-handler", getHttpHandler());
    }
 
@@ -11,14 +11,16 @@
 public class RestServerConfiguration extends ProtocolServerConfiguration {
    private final ExtendedHeaders extendedHeaders;
    private final String contextPath;
+   private final int maxContentLength;
 
    RestServerConfiguration(String defaultCacheName, String name, ExtendedHeaders extendedHeaders, String host, int port,
                            Set<String> ignoredCaches, SslConfiguration ssl, boolean startTransport, String contextPath,
-                           AdminOperationsHandler adminOperationsHandler) {
+                           AdminOperationsHandler adminOperationsHandler, int maxContentLength) {
       super(defaultCacheName, name, host, port, -1, -1, -1, ssl, false,
             -1, ignoredCaches, startTransport, adminOperationsHandler);
       this.extendedHeaders = extendedHeaders;
       this.contextPath = contextPath;
+      this.maxContentLength = maxContentLength;
    }
 
    public ExtendedHeaders extendedHeaders() {
@@ -36,4 +38,11 @@ public Set<String> getIgnoredCaches() {
    public String contextPath() {
       return contextPath;
    }
+
+   /**
+    * @return the maximum size in bytes of a request body. Larger requests are rejected before their body is read.
+    */
+   public int maxContentLength() {
+      return maxContentLength;
+   }
 }
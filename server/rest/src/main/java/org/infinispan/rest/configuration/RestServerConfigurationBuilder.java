@@ -19,9 +19,11 @@ public class RestServerConfigurationBuilder extends ProtocolServerConfigurationB
    public static final String DEFAULT_CONTEXT_PATH = "rest";
    public static final int DEFAULT_PORT = 8080;
    public static final String DEFAILT_NAME = "rest";
+   public static final int DEFAULT_MAX_CONTENT_LENGTH = 5 * 1024 * 1024;
 
    private ExtendedHeaders extendedHeaders = ExtendedHeaders.ON_DEMAND;
    private String contextPath = DEFAULT_CONTEXT_PATH;
+   private int maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
 
    public RestServerConfigurationBuilder() {
       super(DEFAULT_PORT);
@@ -38,15 +40,26 @@ public RestServerConfigurationBuilder contextPath(String contextPath) {
       return this;
    }
 
+   /**
+    * Sets the maximum size in bytes of a request body. Requests announcing a larger <code>Content-Length</code> are
+    * rejected with <code>413 Request Entity Too Large</code> before their body is read.
+    */
+   public RestServerConfigurationBuilder maxContentLength(int maxContentLength) {
+      this.maxContentLength = maxContentLength;
+      return this;
+   }
+
    @Override
    public void validate() {
-      // Nothing to do
+      if (maxContentLength <= 0) {
+         throw logger.invalidMaxContentLength(maxContentLength);
+      }
    }
 
    @Override
    public RestServerConfiguration create() {
       return new RestServerConfiguration(defaultCacheName, name, extendedHeaders, host, port, ignoredCaches, ssl.create(),
-            startTransport, contextPath, adminOperationsHandler);
+            startTransport, contextPath, adminOperationsHandler, maxContentLength);
    }
 
    @Override
@@ -54,6 +67,8 @@ public Builder<?> read(RestServerConfiguration template) {
       this.extendedHeaders = template.extendedHeaders();
       this.host = template.host();
       this.port = template.port();
+      this.contextPath = template.contextPath();
+      this.maxContentLength = template.maxContentLength();
       return this;
    }
 
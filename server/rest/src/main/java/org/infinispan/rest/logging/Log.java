@@ -5,6 +5,7 @@
 import static org.jboss.logging.Logger.Level.TRACE;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
@@ -43,5 +44,7 @@ public interface Log extends org.infinispan.util.logging.Log {
    @Message(value = "Uncaught exception in the pipeline", id = 12006)
    void uncaughtExceptionInThePipeline(@Cause Throwable e);
 
+   @Message(value = "The maximum content length must be positive, got %d", id = 12007)
+   CacheConfigurationException invalidMaxContentLength(int maxContentLength);
 
 }
@@ -7,6 +7,7 @@
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
 
 /**
  * Logging filter that can be used to output requests in a similar fashion to HTTPD log output
@@ -24,7 +25,7 @@ private boolean isEnabled() {
       return log.isTraceEnabled();
    }
 
-   public void log(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response) {
+   public void log(ChannelHandlerContext ctx, FullHttpRequest request, HttpResponse response) {
       if (isEnabled()) {
          // IP
          String remoteAddress = ctx.channel().remoteAddress().toString();
@@ -43,8 +44,8 @@ public void log(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResp
          int status = response.status().code();
          // Body request size
          int requestSize = request.content().readableBytes();
-         // Body response Size - usually -1 so we calculate below
-         int responseSize = response.content().readableBytes();
+         // Body response Size - usually -1 so we calculate below, chunked responses are not known upfront
+         int responseSize = response instanceof FullHttpResponse ? ((FullHttpResponse) response).content().readableBytes() : -1;
          // Response time
          long responseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNano);
 
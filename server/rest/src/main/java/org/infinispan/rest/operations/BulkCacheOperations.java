@@ -0,0 +1,283 @@
+package org.infinispan.rest.operations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.CacheException;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.rest.InfinispanRequest;
+import org.infinispan.rest.InfinispanResponse;
+import org.infinispan.rest.RestResponseException;
+import org.infinispan.rest.cachemanager.RestCacheManager;
+import org.infinispan.rest.operations.exceptions.NoCacheFoundException;
+import org.infinispan.rest.operations.exceptions.NoDataFoundException;
+import org.infinispan.rest.operations.exceptions.ServerInternalException;
+import org.infinispan.rest.operations.exceptions.WrongBulkRequestException;
+import org.infinispan.rest.operations.mediatypes.MediaType;
+import org.infinispan.rest.operations.mime.MimeMetadata;
+import org.infinispan.util.concurrent.CompletableFutures;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * REST bulk operations, handling many keys of the same cache in a single HTTP request.
+ *
+ * <p>
+ *    Bulk requests are sent as <code>POST /{context}/{cacheName}?bulk={get|put|delete}</code> with a JSON body. A
+ *    <code>get</code> or <code>delete</code> takes an array of keys, a <code>put</code> takes an object mapping keys
+ *    to values. Text values are stored as <code>text/plain</code>, any other JSON value as
+ *    <code>application/json</code>. The response is a JSON object mapping every key to its status code, plus its
+ *    value for <code>get</code>, or the error message if the operation failed for that key. Values whose media type is not textual are returned Base64 encoded.
+ * </p>
+ *
+ * @since 9.1
+ */
+public class BulkCacheOperations {
+
+   private static final String STATUS = "status";
+   private static final String ERROR = "error";
+   private static final String VALUE = "value";
+   private static final String CONTENT_TYPE = "contentType";
+   private static final String ENCODING = "encoding";
+   private static final String BASE64 = "base64";
+
+   private static class JsonMapperHolder {
+      public static final ObjectMapper jsonMapper = new ObjectMapper();
+   }
+
+   private final RestCacheManager<Object> restCacheManager;
+
+   /**
+    * Creates new instance of {@link BulkCacheOperations}.
+    *
+    * @param cacheManager Embedded Cache Manager for storing data.
+    */
+   public BulkCacheOperations(RestCacheManager<Object> cacheManager) {
+      this.restCacheManager = cacheManager;
+   }
+
+   /**
+    * Dispatches a bulk request according to its <code>bulk</code> query parameter.
+    *
+    * @param request {@link InfinispanRequest} to be processed.
+    * @return InfinispanResponse which shall be sent to the client.
+    * @throws RestResponseException Thrown in case of any non-critical processing errors.
+    */
+   public InfinispanResponse execute(InfinispanRequest request) throws RestResponseException {
+      String operation = request.getBulk().orElseThrow(() -> new WrongBulkRequestException("Missing bulk operation"));
+      if (!request.getContentType().map(MediaType::fromMediaTypeAsString).filter(MediaType.APPLICATION_JSON::equals).isPresent()) {
+         throw new WrongBulkRequestException("Bulk requests must be sent as " + MediaType.APPLICATION_JSON);
+      }
+      try {
+         String cacheName = request.getCacheName().get();
+         AdvancedCache<String, Object> cache = restCacheManager.getCache(cacheName);
+         byte[] data = request.data().orElseThrow(NoDataFoundException::new);
+         Map<String, Map<String, Object>> results;
+         switch (operation) {
+            case "get":
+               results = getAll(cache, readKeys(data));
+               break;
+            case "put":
+               results = putAll(cache, readEntries(data), request);
+               break;
+            case "delete":
+               results = removeAll(cache, readKeys(data), request.getUseAsync().orElse(false));
+               break;
+            default:
+               throw new WrongBulkRequestException("Unknown bulk operation: " + operation);
+         }
+         InfinispanResponse response = InfinispanResponse.inReplyTo(request);
+         response.contentType(MediaType.APPLICATION_JSON.toString());
+         response.contentAsBytes(JsonMapperHolder.jsonMapper.writeValueAsBytes(results));
+         return response;
+      } catch (CacheException cacheException) {
+         throw new NoCacheFoundException(cacheException.getLocalizedMessage());
+      } catch (IOException e) {
+         throw new ServerInternalException(e);
+      }
+   }
+
+   private Map<String, Map<String, Object>> getAll(AdvancedCache<String, Object> cache, Set<String> keys) {
+      Map<String, CacheEntry<String, Object>> entries = cache.getAllCacheEntries(keys);
+      Map<String, Map<String, Object>> results = new LinkedHashMap<>(keys.size());
+      for (String key : keys) {
+         CacheEntry<String, Object> entry = entries.get(key);
+         Map<String, Object> result = new LinkedHashMap<>(4);
+         if (entry == null || entry.getValue() == null) {
+            result.put(STATUS, HttpResponseStatus.NOT_FOUND.code());
+         } else {
+            result.put(STATUS, HttpResponseStatus.OK.code());
+            writeValue(result, entry);
+         }
+         results.put(key, result);
+      }
+      return results;
+   }
+
+   private void writeValue(Map<String, Object> result, CacheEntry<String, Object> entry) {
+      Object value = entry.getValue();
+      Metadata metadata = entry.getMetadata();
+      if (metadata instanceof MimeMetadata) {
+         result.put(CONTENT_TYPE, ((MimeMetadata) metadata).contentType());
+      }
+      if (value instanceof byte[]) {
+         MediaType mediaType = metadata instanceof MimeMetadata ?
+               MediaType.fromMediaTypeAsString(((MimeMetadata) metadata).contentType()) : null;
+         if (mediaType != null && mediaType.needsCharset()) {
+            result.put(VALUE, new String((byte[]) value, StandardCharsets.UTF_8));
+         } else {
+            result.put(VALUE, Base64.getEncoder().encodeToString((byte[]) value));
+            result.put(ENCODING, BASE64);
+         }
+      } else {
+         // The format is unknown. We can only relay on proper implementation of #toString() method.
+         result.put(VALUE, value.toString());
+      }
+   }
+
+   private Map<String, Map<String, Object>> putAll(AdvancedCache<String, Object> cache, Map<String, Object> entries,
+                                                   InfinispanRequest request) throws IOException {
+      Optional<Long> ttl = request.getTimeToLiveSeconds();
+      Optional<Long> idle = request.getMaxIdleTimeSeconds();
+      Metadata textMetadata = CacheOperationsHelper.createMetadata(cache.getCacheConfiguration(),
+            MediaType.TEXT_PLAIN.toString(), ttl, idle);
+      Metadata jsonMetadata = CacheOperationsHelper.createMetadata(cache.getCacheConfiguration(),
+            MediaType.APPLICATION_JSON.toString(), ttl, idle);
+      Map<Address, Map<String, Object>> textEntries = new LinkedHashMap<>();
+      Map<Address, Map<String, Object>> jsonEntries = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> entry : entries.entrySet()) {
+         Object value = entry.getValue();
+         Address owner = primaryOwner(cache, entry.getKey());
+         if (value instanceof String) {
+            textEntries.computeIfAbsent(owner, o -> new LinkedHashMap<>())
+                  .put(entry.getKey(), ((String) value).getBytes(StandardCharsets.UTF_8));
+         } else {
+            jsonEntries.computeIfAbsent(owner, o -> new LinkedHashMap<>())
+                  .put(entry.getKey(), JsonMapperHolder.jsonMapper.writeValueAsBytes(value));
+         }
+      }
+      AdvancedCache<String, Object> putCache = cache.withFlags(Flag.IGNORE_RETURN_VALUES);
+      Map<String, Map<String, Object>> groupResults = new LinkedHashMap<>(entries.size());
+      textEntries.values().forEach(group -> putGroup(putCache, group, textMetadata, groupResults));
+      jsonEntries.values().forEach(group -> putGroup(putCache, group, jsonMetadata, groupResults));
+      Map<String, Map<String, Object>> results = new LinkedHashMap<>(entries.size());
+      entries.keySet().forEach(key -> results.put(key, groupResults.get(key)));
+      return results;
+   }
+
+   /**
+    * Stores the entries with the same primary owner in a single batch. If the batch fails, its entries are stored one
+    * by one, so that the error is only reported for the keys that fail.
+    */
+   private static void putGroup(AdvancedCache<String, Object> cache, Map<String, Object> group, Metadata metadata,
+                                Map<String, Map<String, Object>> results) {
+      try {
+         cache.putAll(group, metadata);
+         group.keySet().forEach(key -> results.put(key, status(HttpResponseStatus.OK)));
+      } catch (CacheException batchFailure) {
+         group.forEach((key, value) -> {
+            try {
+               cache.put(key, value, metadata);
+               results.put(key, status(HttpResponseStatus.OK));
+            } catch (CacheException e) {
+               results.put(key, error(e));
+            }
+         });
+      }
+   }
+
+   private static Address primaryOwner(AdvancedCache<String, Object> cache, String key) {
+      DistributionManager distributionManager = cache.getDistributionManager();
+      return distributionManager == null ? null : distributionManager.getCacheTopology().getDistribution(key).primary();
+   }
+
+   private Map<String, Map<String, Object>> removeAll(AdvancedCache<String, Object> cache, Set<String> keys,
+                                                      boolean useAsync) {
+      Map<String, Map<String, Object>> results = new LinkedHashMap<>(keys.size());
+      if (useAsync) {
+         keys.forEach(key -> {
+            cache.removeAsync(key);
+            results.put(key, status(HttpResponseStatus.ACCEPTED));
+         });
+         return results;
+      }
+      Map<String, CompletableFuture<Object>> removals = new LinkedHashMap<>(keys.size());
+      keys.forEach(key -> removals.put(key, cache.removeAsync(key)));
+      removals.forEach((key, removal) -> results.put(key,
+            await(removal, previous -> previous == null ? HttpResponseStatus.NOT_FOUND : HttpResponseStatus.OK)));
+      return results;
+   }
+
+   /**
+    * Waits for the operation on a single key, so that a failure only affects the status of that key.
+    */
+   private static Map<String, Object> await(CompletableFuture<Object> operation,
+                                            Function<Object, HttpResponseStatus> statusOfResult) {
+      Object result;
+      try {
+         result = operation.join();
+      } catch (CompletionException e) {
+         return error(CompletableFutures.extractException(e));
+      }
+      return status(statusOfResult.apply(result));
+   }
+
+   private static Map<String, Object> error(Throwable cause) {
+      Map<String, Object> error = status(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+      error.put(ERROR, String.valueOf(cause.getLocalizedMessage()));
+      return error;
+   }
+
+   private static Map<String, Object> status(HttpResponseStatus status) {
+      Map<String, Object> result = new LinkedHashMap<>(2);
+      result.put(STATUS, status.code());
+      return result;
+   }
+
+   private Set<String> readKeys(byte[] data) throws WrongBulkRequestException {
+      try {
+         List<?> keys = JsonMapperHolder.jsonMapper.readValue(data, List.class);
+         Set<String> result = new LinkedHashSet<>(keys.size());
+         for (Object key : keys) {
+            if (!(key instanceof String)) {
+               throw new WrongBulkRequestException("Keys must be strings: " + key);
+            }
+            result.add((String) key);
+         }
+         return result;
+      } catch (IOException e) {
+         throw new WrongBulkRequestException("Expected a JSON array of keys", e);
+      }
+   }
+
+   private Map<String, Object> readEntries(byte[] data) throws WrongBulkRequestException {
+      Map<String, Object> entries;
+      try {
+         entries = JsonMapperHolder.jsonMapper.readValue(data, LinkedHashMap.class);
+      } catch (IOException e) {
+         throw new WrongBulkRequestException("Expected a JSON object mapping keys to values", e);
+      }
+      for (Map.Entry<String, Object> entry : entries.entrySet()) {
+         if (entry.getValue() == null) {
+            throw new WrongBulkRequestException("No value supplied for key " + entry.getKey());
+         }
+      }
+      return entries;
+   }
+}
@@ -1,15 +1,28 @@
 package org.infinispan.rest.operations;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.AdvancedCache;
-import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Closeables;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.DistributionManager;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.rest.CacheControl;
 import org.infinispan.rest.InfinispanRequest;
@@ -21,6 +34,7 @@
 import org.infinispan.rest.operations.exceptions.NoDataFoundException;
 import org.infinispan.rest.operations.exceptions.NoKeyException;
 import org.infinispan.rest.operations.exceptions.UnacceptableDataFormatException;
+import org.infinispan.rest.operations.exceptions.WrongPaginationParameterException;
 import org.infinispan.rest.operations.mediatypes.Charset;
 import org.infinispan.rest.operations.mediatypes.MediaType;
 import org.infinispan.rest.operations.mime.MimeMetadata;
@@ -36,9 +50,15 @@
 public class CacheOperations {
 
    private static final MurmurHash3 hashFunc = MurmurHash3.getInstance();
+   private static final int DEFAULT_PAGE_SIZE = 1000;
+   private static final int MAX_INITIAL_PAGE_CAPACITY = 1024;
+   private static final int MAX_OPEN_KEY_CURSORS = 1024;
+   private static final long KEY_CURSOR_TIMEOUT_SECONDS = TimeUnit.MINUTES.toSeconds(1);
 
    private final RestCacheManager<Object> restCacheManager;
    private final RestServerConfiguration restServerConfiguration;
+   private final ConcurrentMap<String, KeyCursor> keyCursors = new ConcurrentHashMap<>();
+   private final AtomicInteger openKeyCursors = new AtomicInteger();
 
    /**
     * Creates new instance of {@link CacheOperations}.
@@ -54,6 +74,14 @@ public CacheOperations(RestServerConfiguration configuration, RestCacheManager<O
    /**
     * Implementation of HTTP GET request invoked on root context.
     *
+    * <p>
+    *    The key listing is streamed to the client in chunks. If a <code>limit</code> (and optionally a
+    *    <code>cursor</code>) query parameter is present, only a single page of keys is returned, walking the cache
+    *    segment by segment. The position of the next page is returned in the <code>Next-Cursor</code> header, as
+    *    <code>segment:offset</code> optionally followed by <code>:id</code>, the id of the key iteration kept open
+    *    for the next page.
+    * </p>
+    *
     * @param request {@link InfinispanRequest} to be processed.
     * @return InfinispanResponse which shall be sent to the client.
     * @throws RestResponseException Thrown in case of any non-critical processing errors.
@@ -62,7 +90,6 @@ public InfinispanResponse getCacheValues(InfinispanRequest request) throws RestR
       try {
          String cacheName = request.getCacheName().get();
          AdvancedCache<String, Object> cache = restCacheManager.getCache(cacheName);
-         CacheSet<String> keys = cache.keySet();
          MediaType mediaType = getMediaType(request);
          Charset charset = request.getAcceptContentType()
                .map(m -> Charset.fromMediaType(m))
@@ -72,13 +99,193 @@ public InfinispanResponse getCacheValues(InfinispanRequest request) throws RestR
          response.contentType(mediaType.toString());
          response.charset(charset);
          response.cacheControl(CacheControl.noCache());
-         response.contentAsBytes(mediaType.getOutputPrinter().print(cacheName, keys, charset));
+
+         CloseableIterator<String> keys;
+         if (request.getLimit().isPresent() || request.getCursor().isPresent()) {
+            int limit = parseLimit(request.getLimit());
+            String[] cursor = parseCursor(request.getCursor());
+            keys = Closeables.iterator(readKeyPage(cache, Integer.parseInt(cursor[0]), Integer.parseInt(cursor[1]),
+                  cursor[2], limit, request.getRawContext().executor(), response).iterator());
+         } else {
+            keys = cache.keySet().iterator();
+         }
+         response.contentAsChunks(new KeyListingChunkedInput(cacheName, keys, mediaType.getOutputPrinter(), charset));
          return response;
       } catch (CacheException cacheException) {
          throw new NoCacheFoundException(cacheException.getLocalizedMessage());
       }
    }
 
+   /**
+    * Collects at most <code>limit</code> keys, visiting the segments in order and starting from the given offset
+    * within the given segment. Local caches are treated as a single segment. Pages are weakly consistent: keys
+    * written while the listing is in progress may be missed or returned twice.
+    * <p>
+    * When a page ends within a segment, the iteration over the segment is kept open for the next page, which resumes
+    * it. If the iteration is no longer available, for example because it timed out or the request reached another
+    * server, the segment is iterated again from the start, skipping <code>offset</code> keys.
+    */
+   private List<String> readKeyPage(AdvancedCache<String, Object> cache, int segment, int offset, String cursorId,
+                                    int limit, ScheduledExecutorService scheduler, InfinispanResponse response) {
+      DistributionManager distributionManager = cache.getDistributionManager();
+      int numSegments = distributionManager == null ? 1 : distributionManager.getReadConsistentHash().getNumSegments();
+      List<String> page = new ArrayList<>(Math.min(limit, MAX_INITIAL_PAGE_CAPACITY));
+      KeyCursor keyCursor = cursorId == null ? null : takeKeyCursor(cursorId);
+      if (keyCursor != null && !keyCursor.isAt(cache, segment, offset)) {
+         keyCursor.iterator.close();
+         keyCursor = null;
+      }
+      while (segment < numSegments) {
+         CloseableIterator<String> iterator;
+         if (keyCursor != null) {
+            iterator = keyCursor.iterator;
+            keyCursor = null;
+         } else {
+            CacheStream<String> stream = cache.keySet().stream();
+            if (distributionManager != null) {
+               stream = stream.filterKeySegments(Collections.singleton(segment));
+            }
+            iterator = Closeables.iterator(stream);
+            for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+               iterator.next();
+            }
+         }
+         try {
+            while (page.size() < limit && iterator.hasNext()) {
+               page.add(iterator.next());
+               offset++;
+            }
+            if (iterator.hasNext()) {
+               String nextCursor = segment + ":" + offset;
+               String nextCursorId = keepKeyCursor(new KeyCursor(cache, segment, offset, iterator), scheduler);
+               if (nextCursorId != null) {
+                  iterator = null;
+                  nextCursor += ":" + nextCursorId;
+               }
+               response.nextCursor(nextCursor);
+               return page;
+            }
+         } finally {
+            if (iterator != null) {
+               iterator.close();
+            }
+         }
+         segment++;
+         offset = 0;
+         if (page.size() == limit) {
+            if (segment < numSegments) {
+               response.nextCursor(segment + ":0");
+            }
+            return page;
+         }
+      }
+      return page;
+   }
+
+   private int parseLimit(Optional<String> limit) throws WrongPaginationParameterException {
+      if (!limit.isPresent()) {
+         return DEFAULT_PAGE_SIZE;
+      }
+      try {
+         int value = Integer.parseInt(limit.get());
+         if (value > 0) {
+            return value;
+         }
+      } catch (NumberFormatException e) {
+         // Reported below
+      }
+      throw new WrongPaginationParameterException("Limit must be a positive integer: " + limit.get());
+   }
+
+   /**
+    * Keeps the iteration open for the next page, until it is resumed or it expires.
+    *
+    * @return the id of the kept iteration, or <code>null</code> if too many iterations are open
+    */
+   private String keepKeyCursor(KeyCursor keyCursor, ScheduledExecutorService scheduler) {
+      if (openKeyCursors.incrementAndGet() > MAX_OPEN_KEY_CURSORS) {
+         openKeyCursors.decrementAndGet();
+         return null;
+      }
+      String id = UUID.randomUUID().toString();
+      keyCursor.expiration = scheduler.schedule(() -> expireKeyCursor(id, keyCursor), KEY_CURSOR_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS);
+      keyCursors.put(id, keyCursor);
+      return id;
+   }
+
+   /**
+    * @return the open iteration with the given id, or <code>null</code> if it expired or does not exist
+    */
+   private KeyCursor takeKeyCursor(String id) {
+      KeyCursor keyCursor = keyCursors.remove(id);
+      if (keyCursor != null) {
+         openKeyCursors.decrementAndGet();
+         keyCursor.expiration.cancel(false);
+      }
+      return keyCursor;
+   }
+
+   private void expireKeyCursor(String id, KeyCursor keyCursor) {
+      if (keyCursors.remove(id, keyCursor)) {
+         openKeyCursors.decrementAndGet();
+         keyCursor.iterator.close();
+      }
+   }
+
+   /**
+    * Closes the iterations kept open for the next pages.
+    */
+   public void stop() {
+      for (String id : keyCursors.keySet()) {
+         KeyCursor keyCursor = takeKeyCursor(id);
+         if (keyCursor != null) {
+            keyCursor.iterator.close();
+         }
+      }
+   }
+
+   /**
+    * @return the segment, the offset and the id of the open iteration, or <code>null</code>
+    */
+   private String[] parseCursor(Optional<String> cursor) throws WrongPaginationParameterException {
+      if (!cursor.isPresent()) {
+         return new String[]{"0", "0", null};
+      }
+      String value = cursor.get();
+      String[] parts = value.split(":", 3);
+      try {
+         if (parts.length >= 2 && Integer.parseInt(parts[0]) >= 0 && Integer.parseInt(parts[1]) >= 0) {
+            return new String[]{parts[0], parts[1], parts.length == 3 ? parts[2] : null};
+         }
+      } catch (NumberFormatException e) {
+         // Reported below
+      }
+      throw new WrongPaginationParameterException("Cursor must have the form segment:offset[:id]: " + value);
+   }
+
+   /**
+    * An iteration over the keys of a segment, positioned after the last key of a page.
+    */
+   private static final class KeyCursor {
+      final AdvancedCache<String, Object> cache;
+      final int segment;
+      final int offset;
+      final CloseableIterator<String> iterator;
+      volatile ScheduledFuture<?> expiration;
+
+      KeyCursor(AdvancedCache<String, Object> cache, int segment, int offset, CloseableIterator<String> iterator) {
+         this.cache = cache;
+         this.segment = segment;
+         this.offset = offset;
+         this.iterator = iterator;
+      }
+
+      boolean isAt(AdvancedCache<String, Object> cache, int segment, int offset) {
+         return this.cache == cache && this.segment == segment && this.offset == offset;
+      }
+   }
+
    /**
     * Implementation of HTTP GET and HTTP HEAD requests invoked with a key.
     *
@@ -0,0 +1,98 @@
+package org.infinispan.rest.operations;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.rest.operations.mediatypes.Charset;
+import org.infinispan.rest.operations.mediatypes.OutputPrinter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.stream.ChunkedInput;
+
+/**
+ * {@link ChunkedInput} which renders a key listing incrementally.
+ *
+ * <p>
+ *    Keys are pulled from the underlying iterator only when Netty asks for the next chunk, i.e. when the channel is
+ *    writable, so the listing is never materialized in memory and a slow client throttles the iteration.
+ * </p>
+ *
+ * @since 9.1
+ */
+class KeyListingChunkedInput implements ChunkedInput<ByteBuf> {
+
+   static final int CHUNK_SIZE = 8192;
+
+   private final String cacheName;
+   private final CloseableIterator<?> keys;
+   private final OutputPrinter printer;
+   private final Charset charset;
+
+   private boolean headWritten;
+   private boolean tailWritten;
+   private boolean first = true;
+   private long progress;
+
+   KeyListingChunkedInput(String cacheName, CloseableIterator<?> keys, OutputPrinter printer, Charset charset) {
+      this.cacheName = cacheName;
+      this.keys = keys;
+      this.printer = printer;
+      this.charset = charset;
+   }
+
+   @Override
+   public boolean isEndOfInput() throws Exception {
+      return tailWritten;
+   }
+
+   @Override
+   public void close() throws Exception {
+      keys.close();
+   }
+
+   @Deprecated
+   @Override
+   public ByteBuf readChunk(ChannelHandlerContext ctx) throws Exception {
+      return readChunk(ctx.alloc());
+   }
+
+   @Override
+   public ByteBuf readChunk(ByteBufAllocator allocator) throws Exception {
+      if (tailWritten) {
+         return null;
+      }
+      ByteBuf chunk = allocator.buffer(CHUNK_SIZE);
+      boolean release = true;
+      try {
+         if (!headWritten) {
+            chunk.writeBytes(printer.printKeysHead(cacheName, charset));
+            headWritten = true;
+         }
+         while (chunk.readableBytes() < CHUNK_SIZE && keys.hasNext()) {
+            chunk.writeBytes(printer.printKey(cacheName, keys.next(), first, charset));
+            first = false;
+         }
+         if (!keys.hasNext()) {
+            chunk.writeBytes(printer.printKeysTail(cacheName, charset));
+            tailWritten = true;
+         }
+         progress += chunk.readableBytes();
+         release = false;
+         return chunk;
+      } finally {
+         if (release) {
+            chunk.release();
+         }
+      }
+   }
+
+   @Override
+   public long length() {
+      return -1;
+   }
+
+   @Override
+   public long progress() {
+      return progress;
+   }
+}
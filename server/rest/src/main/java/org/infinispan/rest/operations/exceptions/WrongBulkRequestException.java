@@ -0,0 +1,22 @@
+package org.infinispan.rest.operations.exceptions;
+
+import org.infinispan.rest.RestResponseException;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * Thrown when a bulk request names an unknown operation or its body can not be parsed.
+ *
+ * @since 9.1
+ */
+public class WrongBulkRequestException extends RestResponseException {
+
+   public WrongBulkRequestException(String description) {
+      super(HttpResponseStatus.BAD_REQUEST, description);
+   }
+
+   public WrongBulkRequestException(String description, Throwable t) {
+      super(HttpResponseStatus.BAD_REQUEST, description, t);
+   }
+
+}
@@ -0,0 +1,18 @@
+package org.infinispan.rest.operations.exceptions;
+
+import org.infinispan.rest.RestResponseException;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * Thrown when the <code>limit</code> or <code>cursor</code> parameters of a key listing can not be parsed.
+ *
+ * @since 9.1
+ */
+public class WrongPaginationParameterException extends RestResponseException {
+
+   public WrongPaginationParameterException(String description) {
+      super(HttpResponseStatus.BAD_REQUEST, description);
+   }
+
+}
@@ -35,4 +35,33 @@ public interface OutputPrinter {
     * @throws ServerInternalException Thrown if conversion was not successful.
     */
    byte[] print(Object value, Charset charset) throws ServerInternalException;
+
+   /**
+    * Returns the bytes written before the first key when a key listing is streamed.
+    *
+    * @param cacheName Cache name (sometimes might be used as xml or json key).
+    * @param charset Desired {@link Charset}
+    * @return Byte array representation of the listing head.
+    */
+   byte[] printKeysHead(String cacheName, Charset charset);
+
+   /**
+    * Converts a single key of a streamed key listing, including the separator from the previous key.
+    *
+    * @param cacheName Cache name (sometimes might be used as xml or json key).
+    * @param key Key to be converted.
+    * @param first Whether this is the first key of the listing.
+    * @param charset Desired {@link Charset}
+    * @return Byte array representation of the key.
+    */
+   byte[] printKey(String cacheName, Object key, boolean first, Charset charset);
+
+   /**
+    * Returns the bytes written after the last key when a key listing is streamed.
+    *
+    * @param cacheName Cache name (sometimes might be used as xml or json key).
+    * @param charset Desired {@link Charset}
+    * @return Byte array representation of the listing tail.
+    */
+   byte[] printKeysTail(String cacheName, Charset charset);
 }
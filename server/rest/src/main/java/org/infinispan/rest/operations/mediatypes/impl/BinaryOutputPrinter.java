@@ -38,4 +38,19 @@ public byte[] print(Object value, Charset charset) throws ServerInternalExceptio
       }
       return value.toString().getBytes(charset.getJavaCharset());
    }
+
+   @Override
+   public byte[] printKeysHead(String cacheName, Charset charset) {
+      return "[".getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKey(String cacheName, Object key, boolean first, Charset charset) {
+      return ((first ? "" : ",") + key).getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKeysTail(String cacheName, Charset charset) {
+      return "]".getBytes(charset.getJavaCharset());
+   }
 }
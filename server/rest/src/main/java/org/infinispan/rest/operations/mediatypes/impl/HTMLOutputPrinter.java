@@ -38,4 +38,21 @@ public byte[] print(Object value, Charset charset) throws ServerInternalExceptio
       System.arraycopy(tailBytes, 0, result, headByes.length + valueAsBytes.length, tailBytes.length);
       return result;
    }
+
+   @Override
+   public byte[] printKeysHead(String cacheName, Charset charset) {
+      return HEAD_AS_TEXT.getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKey(String cacheName, Object key, boolean first, Charset charset) {
+      String escaped = Escaper.escapeHtml(key.toString());
+      return ((first ? "" : "<br/>") + "<a href=\"" + cacheName + "/" + escaped + "\">" + escaped + "</a>")
+            .getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKeysTail(String cacheName, Charset charset) {
+      return TAIL_AS_TEXT.getBytes(charset.getJavaCharset());
+   }
 }
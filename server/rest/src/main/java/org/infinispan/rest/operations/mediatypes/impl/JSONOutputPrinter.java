@@ -40,4 +40,19 @@ public byte[] print(Object value, Charset charset) throws ServerInternalExceptio
          throw new ServerInternalException(e);
       }
    }
+
+   @Override
+   public byte[] printKeysHead(String cacheName, Charset charset) {
+      return "keys=[".getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKey(String cacheName, Object key, boolean first, Charset charset) {
+      return ((first ? "" : ",") + Escaper.escapeJson(key.toString())).getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKeysTail(String cacheName, Charset charset) {
+      return "]".getBytes(charset.getJavaCharset());
+   }
 }
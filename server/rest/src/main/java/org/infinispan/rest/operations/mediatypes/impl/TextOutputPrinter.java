@@ -25,4 +25,19 @@ public byte[] print(String cacheName, CacheSet<?> keys, Charset charset) {
    public byte[] print(Object value, Charset charset) {
       return value.toString().getBytes(charset.getJavaCharset());
    }
+
+   @Override
+   public byte[] printKeysHead(String cacheName, Charset charset) {
+      return "".getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKey(String cacheName, Object key, boolean first, Charset charset) {
+      return ((first ? "" : "\n") + key).getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKeysTail(String cacheName, Charset charset) {
+      return "".getBytes(charset.getJavaCharset());
+   }
 }
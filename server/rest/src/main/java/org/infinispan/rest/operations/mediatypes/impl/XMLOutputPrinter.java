@@ -21,6 +21,8 @@ public class XMLOutputPrinter implements OutputPrinter {
 
    protected final static Log logger = LogFactory.getLog(JSONOutputPrinter.class, Log.class);
 
+   private static final String XML_HEAD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><keys>";
+
    private static class XStreamholder {
       public static final XStream XStream = new XStream();
    }
@@ -30,7 +32,7 @@ public byte[] print(String cacheName, CacheSet<?> keys, Charset charset) {
       return keys.stream()
             .map(b -> Escaper.escapeXml(b.toString()))
             .map(s -> "<key>" + s + "</key>")
-            .collect(CacheCollectors.serializableCollector(() -> Collectors.joining("", "<?xml version=\"1.0\" encoding=\"UTF-8\"?><keys>", "</keys>")))
+            .collect(CacheCollectors.serializableCollector(() -> Collectors.joining("", XML_HEAD, "</keys>")))
             .getBytes(charset.getJavaCharset());
    }
 
@@ -42,4 +44,19 @@ public byte[] print(Object value, Charset charset) throws ServerInternalExceptio
          throw new ServerInternalException(e);
       }
    }
+
+   @Override
+   public byte[] printKeysHead(String cacheName, Charset charset) {
+      return XML_HEAD.getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKey(String cacheName, Object key, boolean first, Charset charset) {
+      return ("<key>" + Escaper.escapeXml(key.toString()) + "</key>").getBytes(charset.getJavaCharset());
+   }
+
+   @Override
+   public byte[] printKeysTail(String cacheName, Charset charset) {
+      return "</keys>".getBytes(charset.getJavaCharset());
+   }
 }
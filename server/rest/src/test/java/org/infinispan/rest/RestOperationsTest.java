@@ -7,6 +7,9 @@
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,9 +20,16 @@
 import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commands.write.PutMapCommand;
+import org.infinispan.commands.write.RemoveCommand;
+import org.infinispan.commons.CacheException;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.InterceptorConfiguration.Position;
 import org.infinispan.configuration.global.GlobalConfigurationBuilder;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.BaseCustomAsyncInterceptor;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.metadata.Metadata;
@@ -49,6 +59,10 @@ public void beforeSuite() throws Exception {
       cacheManager = new DefaultCacheManager(globalConfiguration.build(), configuration.build());
       cacheManager.defineConfiguration("default", configuration.build());
 
+      ConfigurationBuilder failingConfiguration = new ConfigurationBuilder();
+      failingConfiguration.customInterceptors().addInterceptor().position(Position.FIRST).interceptor(new FailingKeyInterceptor());
+      cacheManager.defineConfiguration("failing", failingConfiguration.build());
+
       configuration.expiration().lifespan(100).maxIdle(100);
       cacheManager.defineConfiguration("expiration", configuration.build());
 
@@ -521,6 +535,103 @@ public void shouldGetAllEntriesConvertedToXml() throws Exception {
       ResponseAssertion.assertThat(response).hasReturnedText("<?xml version=\"1.0\" encoding=\"UTF-8\"?><keys><key>key1</key><key>key2</key></keys>");
    }
 
+   @Test
+   public void shouldPaginateKeyListing() throws Exception {
+      //given
+      putValueInCache("default", "key1", "test1".getBytes());
+      putValueInCache("default", "key2", "test2".getBytes());
+      putValueInCache("default", "key3", "test3".getBytes());
+
+      //when
+      ContentResponse firstPage = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?limit=2", restServer.getPort(), "default"))
+            .header(HttpHeader.ACCEPT, "text/plain")
+            .send();
+      String cursor = firstPage.getHeaders().get("Next-Cursor");
+      ContentResponse secondPage = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?limit=2&cursor=%s", restServer.getPort(), "default", cursor))
+            .header(HttpHeader.ACCEPT, "text/plain")
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(firstPage).isOk();
+      ResponseAssertion.assertThat(firstPage).hasHeaderMatching("Next-Cursor", "0:2:.+");
+      ResponseAssertion.assertThat(secondPage).isOk();
+      Assertions.assertThat(secondPage.getHeaders().get("Next-Cursor")).isNull();
+
+      List<String> keys = new ArrayList<>();
+      keys.addAll(Arrays.asList(firstPage.getContentAsString().split("\n")));
+      keys.addAll(Arrays.asList(secondPage.getContentAsString().split("\n")));
+      Assertions.assertThat(keys).containsOnly("key1", "key2", "key3").hasSize(3);
+   }
+
+   @Test
+   public void shouldWalkAllPagesOfKeyListing() throws Exception {
+      //given
+      for (int i = 0; i < 10; i++) {
+         putValueInCache("default", "key" + i, ("test" + i).getBytes());
+      }
+
+      //when
+      List<String> keys = new ArrayList<>();
+      String cursor = null;
+      int pages = 0;
+      do {
+         String url = String.format("http://localhost:%d/rest/%s?limit=3", restServer.getPort(), "default");
+         ContentResponse page = client
+               .newRequest(cursor == null ? url : url + "&cursor=" + cursor)
+               .header(HttpHeader.ACCEPT, "text/plain")
+               .send();
+         ResponseAssertion.assertThat(page).isOk();
+         keys.addAll(Arrays.asList(page.getContentAsString().split("\n")));
+         cursor = page.getHeaders().get("Next-Cursor");
+         pages++;
+      } while (cursor != null);
+
+      //then
+      Assertions.assertThat(pages).isEqualTo(4);
+      Assertions.assertThat(keys).doesNotHaveDuplicates().hasSize(10);
+   }
+
+   @Test
+   public void shouldResumeKeyListingWithoutOpenIteration() throws Exception {
+      //given
+      putValueInCache("default", "key1", "test1".getBytes());
+      putValueInCache("default", "key2", "test2".getBytes());
+      putValueInCache("default", "key3", "test3".getBytes());
+
+      //when
+      ContentResponse firstPage = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?limit=1", restServer.getPort(), "default"))
+            .header(HttpHeader.ACCEPT, "text/plain")
+            .send();
+      // a cursor without the id of the open iteration skips the keys already returned
+      ContentResponse secondPage = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?limit=2&cursor=0:1", restServer.getPort(), "default"))
+            .header(HttpHeader.ACCEPT, "text/plain")
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(secondPage).isOk();
+      Assertions.assertThat(secondPage.getHeaders().get("Next-Cursor")).isNull();
+      List<String> keys = new ArrayList<>();
+      keys.addAll(Arrays.asList(firstPage.getContentAsString().split("\n")));
+      keys.addAll(Arrays.asList(secondPage.getContentAsString().split("\n")));
+      Assertions.assertThat(keys).containsOnly("key1", "key2", "key3").hasSize(3);
+   }
+
+   @Test
+   public void shouldRejectWrongPaginationCursor() throws Exception {
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?cursor=wrong", restServer.getPort(), "default"))
+            .header(HttpHeader.ACCEPT, "text/plain")
+            .send();
+
+      //then
+      Assertions.assertThat(response.getStatus()).isEqualTo(400);
+   }
+
    @Test
    public void shouldAcceptMultipleAcceptHeaderValues() throws Exception {
       //given
@@ -665,6 +776,77 @@ public void shouldPutSerializedValueInCache() throws Exception {
       Assertions.assertThat(metadata.contentType()).isEqualTo("application/octet-stream");
    }
 
+   @Test
+   public void shouldExecuteBulkOperations() throws Exception {
+      //given
+      putValueInCache("default", "existing", "test".getBytes());
+
+      //when
+      ContentResponse putResponse = client
+            .POST(String.format("http://localhost:%d/rest/%s?bulk=put", restServer.getPort(), "default"))
+            .content(new StringContentProvider("{\"key1\":\"value1\",\"key2\":{\"a\":1}}"))
+            .header("Content-type", "application/json")
+            .send();
+      ContentResponse getResponse = client
+            .POST(String.format("http://localhost:%d/rest/%s?bulk=get", restServer.getPort(), "default"))
+            .content(new StringContentProvider("[\"key1\",\"key2\",\"missing\"]"))
+            .header("Content-type", "application/json")
+            .send();
+      ContentResponse deleteResponse = client
+            .POST(String.format("http://localhost:%d/rest/%s?bulk=delete", restServer.getPort(), "default"))
+            .content(new StringContentProvider("[\"existing\",\"missing\"]"))
+            .header("Content-type", "application/json")
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(putResponse).isOk();
+      ResponseAssertion.assertThat(putResponse).hasReturnedText("{\"key1\":{\"status\":200},\"key2\":{\"status\":200}}");
+      ResponseAssertion.assertThat(getResponse).isOk();
+      ResponseAssertion.assertThat(getResponse).hasContentType("application/json");
+      ResponseAssertion.assertThat(getResponse).hasReturnedText("{" +
+            "\"key1\":{\"status\":200,\"contentType\":\"text/plain\",\"value\":\"value1\"}," +
+            "\"key2\":{\"status\":200,\"contentType\":\"application/json\",\"value\":\"{\\\"a\\\":1}\"}," +
+            "\"missing\":{\"status\":404}}");
+      ResponseAssertion.assertThat(deleteResponse).isOk();
+      ResponseAssertion.assertThat(deleteResponse).hasReturnedText("{\"existing\":{\"status\":200},\"missing\":{\"status\":404}}");
+      Assertions.assertThat(cacheManager.getCache("default").containsKey("existing")).isFalse();
+   }
+
+   @Test
+   public void shouldReportPerKeyStatusOfFailedBulkOperations() throws Exception {
+      //when
+      ContentResponse putResponse = client
+            .POST(String.format("http://localhost:%d/rest/%s?bulk=put", restServer.getPort(), "failing"))
+            .content(new StringContentProvider("{\"key1\":\"value1\",\"fail\":\"value2\"}"))
+            .header("Content-type", "application/json")
+            .send();
+      ContentResponse deleteResponse = client
+            .POST(String.format("http://localhost:%d/rest/%s?bulk=delete", restServer.getPort(), "failing"))
+            .content(new StringContentProvider("[\"key1\",\"fail\"]"))
+            .header("Content-type", "application/json")
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(putResponse).isOk();
+      ResponseAssertion.assertThat(putResponse).hasReturnedText("{\"key1\":{\"status\":200},\"fail\":{\"status\":500,\"error\":\"Induced failure\"}}");
+      ResponseAssertion.assertThat(deleteResponse).isOk();
+      ResponseAssertion.assertThat(deleteResponse).hasReturnedText("{\"key1\":{\"status\":200},\"fail\":{\"status\":500,\"error\":\"Induced failure\"}}");
+      Assertions.assertThat(cacheManager.getCache("failing").containsKey("key1")).isFalse();
+   }
+
+   @Test
+   public void shouldRejectUnknownBulkOperation() throws Exception {
+      //when
+      ContentResponse response = client
+            .POST(String.format("http://localhost:%d/rest/%s?bulk=wrong", restServer.getPort(), "default"))
+            .content(new StringContentProvider("[]"))
+            .header("Content-type", "application/json")
+            .send();
+
+      //then
+      Assertions.assertThat(response.getStatus()).isEqualTo(400);
+   }
+
    @Test
    public void shouldConflictWhenTryingToReplaceExistingEntryUsingPost() throws Exception {
       //given
@@ -875,4 +1057,30 @@ public String toString() {
                '}';
       }
    }
+
+   static class FailingKeyInterceptor extends BaseCustomAsyncInterceptor {
+      @Override
+      public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
+         failIfRequested(command.getKey());
+         return super.visitPutKeyValueCommand(ctx, command);
+      }
+
+      @Override
+      public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) throws Throwable {
+         command.getMap().keySet().forEach(this::failIfRequested);
+         return super.visitPutMapCommand(ctx, command);
+      }
+
+      @Override
+      public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) throws Throwable {
+         failIfRequested(command.getKey());
+         return super.visitRemoveCommand(ctx, command);
+      }
+
+      private void failIfRequested(Object key) {
+         if ("fail".equals(key)) {
+            throw new CacheException("Induced failure");
+         }
+      }
+   }
 }
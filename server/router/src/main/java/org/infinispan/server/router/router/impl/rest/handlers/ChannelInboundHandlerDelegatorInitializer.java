@@ -7,6 +7,7 @@
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
 
 /**
  * Initializer for REST Handlers.
@@ -26,6 +27,7 @@ protected void initChannel(Channel channel) throws Exception {
       channel.pipeline().addLast(new HttpRequestDecoder());
       channel.pipeline().addLast(new HttpResponseEncoder());
       channel.pipeline().addLast(new HttpObjectAggregator(1024*100));
+      channel.pipeline().addLast(new ChunkedWriteHandler());
       channel.pipeline().addLast(new ChannelInboundHandlerDelegator(routingTable));
    }
 }